@@ -136,6 +136,19 @@ public class JWT implements JWTRegister<JWT> {
         return this;
     }
 
+    /**
+     * Creates an independent copy of this JWT with the same claims, charset, signer and parsed token segments. Changes
+     * made to the copy, such as setting claims or a signer, do not affect this instance.
+     *
+     * @return a new JWT instance
+     */
+    public JWT copy() {
+        final JWT copy = new JWT().setCharset(this.charset).addHeaders(getHeaders()).addPayloads(getPayloads());
+        copy.signer = this.signer;
+        copy.tokens = null == this.tokens ? null : List.copyOf(this.tokens);
+        return copy;
+    }
+
     /**
      * Sets the character encoding used by the JWT.
      *
@@ -0,0 +1,239 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.auth.metric.jwt;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.miaixz.bus.auth.metric.JWT;
+import org.miaixz.bus.auth.metric.jwt.signature.JWTSigner;
+import org.miaixz.bus.core.lang.Assert;
+import org.miaixz.bus.core.lang.exception.JWTException;
+import org.miaixz.bus.core.lang.exception.ValidateException;
+
+/**
+ * Bounded cache of verified JWT tokens.
+ * <p>
+ * Verifying a token means decoding Base64URL, parsing the header and payload JSON and recomputing the signature. A
+ * bearer token is usually presented many times during its lifetime, so this cache verifies each distinct token once
+ * with the configured {@link JWTSigner} and then answers from memory, checking only the time window on every hit:
+ * <ul>
+ * <li>expiresAt (exp): a cached token is rejected and evicted once it has expired.</li>
+ * <li>notBefore (nbf): a cached token is rejected, but kept, until it becomes effective.</li>
+ * </ul>
+ * Tokens that fail verification are never cached, so invalid tokens cannot displace valid ones. When the cache is full,
+ * expired tokens are pruned first and then arbitrary entries until it is below capacity again.
+ * </p>
+ * <p>
+ * The cache is keyed by the token string itself, so a hit is a hash lookup plus one equality check and two tokens can
+ * never be confused. Every call returns its own {@link JWT#copy() copy} of the cached token, so callers may modify the
+ * returned instance without affecting the cache or each other.
+ * </p>
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class JWTCache {
+
+    /**
+     * The default maximum number of cached tokens.
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    /**
+     * The signer used to verify tokens on a cache miss.
+     */
+    private final JWTSigner signer;
+
+    /**
+     * The maximum number of cached tokens.
+     */
+    private final int capacity;
+
+    /**
+     * The tolerance in seconds applied to the time-based claims.
+     */
+    private final long leeway;
+
+    /**
+     * The verified tokens.
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Whether a thread is currently pruning the cache.
+     */
+    private final AtomicBoolean pruning = new AtomicBoolean();
+
+    /**
+     * Constructs a cache with {@link #DEFAULT_CAPACITY} and no leeway.
+     *
+     * @param signer the signer used to verify tokens
+     */
+    public JWTCache(final JWTSigner signer) {
+        this(signer, DEFAULT_CAPACITY, 0L);
+    }
+
+    /**
+     * Constructs a cache.
+     *
+     * @param signer   the signer used to verify tokens
+     * @param capacity the maximum number of cached tokens
+     * @param leeway   the tolerance time in seconds, for leniency in time-based checks
+     */
+    public JWTCache(final JWTSigner signer, final int capacity, final long leeway) {
+        this.signer = Assert.notNull(signer, "Signer must be not null!");
+        this.capacity = Math.max(1, capacity);
+        this.leeway = Math.max(0L, leeway);
+    }
+
+    /**
+     * Creates a cache with {@link #DEFAULT_CAPACITY} and no leeway.
+     *
+     * @param signer the signer used to verify tokens
+     * @return a new {@link JWTCache} instance
+     */
+    public static JWTCache of(final JWTSigner signer) {
+        return new JWTCache(signer);
+    }
+
+    /**
+     * Verifies a token, including algorithm, signature and time-based claims, and returns the parsed JWT.
+     *
+     * @param token the JWT token string
+     * @return a copy of the verified {@link JWT}
+     * @throws ValidateException if the algorithm, the signature or a time-based claim is invalid
+     * @throws JWTException      if the token is malformed
+     */
+    public JWT verify(final String token) throws ValidateException {
+        Assert.notBlank(token, "Token String must be not blank!");
+        final long now = System.currentTimeMillis() / 1000 * 1000;
+        final Entry entry = this.entries.get(token);
+        if (null != entry) {
+            if (entry.expiresAt < now) {
+                this.entries.remove(token, entry);
+                throw new ValidateException("'{}' is before now:[{}]", JWTPayload.EXPIRES_AT, new Date(now));
+            }
+            if (entry.notBefore > now) {
+                throw new ValidateException("'{}' is after now:[{}]", JWTPayload.NOT_BEFORE, new Date(now));
+            }
+            return entry.jwt.copy();
+        }
+
+        final JWT jwt = JWT.of(token);
+        JWTVerifier.of(jwt).validateAlgorithm(this.signer).validateDate(new Date(now), this.leeway);
+        if (this.entries.size() >= this.capacity) {
+            prune(now);
+        }
+        this.entries.put(token, new Entry(jwt.copy(), bound(jwt, JWTPayload.NOT_BEFORE, Long.MIN_VALUE, -this.leeway),
+                bound(jwt, JWTPayload.EXPIRES_AT, Long.MAX_VALUE, this.leeway)));
+        return jwt;
+    }
+
+    /**
+     * Checks whether a token is valid, including algorithm, signature and time-based claims.
+     *
+     * @param token the JWT token string
+     * @return true if the token is valid, false otherwise
+     */
+    public boolean validate(final String token) {
+        try {
+            verify(token);
+            return true;
+        } catch (final ValidateException | JWTException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Removes a token from the cache, e.g. after it has been revoked.
+     *
+     * @param token the JWT token string
+     */
+    public void invalidate(final String token) {
+        this.entries.remove(token);
+    }
+
+    /**
+     * Removes all tokens from the cache.
+     */
+    public void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * Returns the number of cached tokens.
+     *
+     * @return the number of cached tokens
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Makes room for new tokens: removes expired tokens and, if the cache is still full, arbitrary tokens until it is
+     * at seven eighths of its capacity. Only one thread prunes at a time; the others insert without waiting.
+     *
+     * @param now the current time in milliseconds
+     */
+    private void prune(final long now) {
+        if (!this.pruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.entries.values().removeIf(entry -> entry.expiresAt < now);
+            final int target = this.capacity - this.capacity / 8 - 1;
+            final Iterator<String> iterator = this.entries.keySet().iterator();
+            while (this.entries.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            this.pruning.set(false);
+        }
+    }
+
+    /**
+     * Reads a time-based claim as a millisecond bound shifted by the leeway.
+     *
+     * @param jwt    the verified JWT
+     * @param name   the claim name
+     * @param absent the bound to use when the claim is not set
+     * @param leeway the tolerance time in seconds added to the claim
+     * @return the bound in milliseconds
+     */
+    private static long bound(final JWT jwt, final String name, final long absent, final long leeway) {
+        return jwt.getPayload(name) instanceof Number seconds ? (seconds.longValue() + leeway) * 1000 : absent;
+    }
+
+    /**
+     * A verified token with its validity window.
+     *
+     * @param jwt       the parsed JWT
+     * @param notBefore the time in milliseconds from which the token is effective
+     * @param expiresAt the time in milliseconds after which the token has expired
+     */
+    private record Entry(JWT jwt, long notBefore, long expiresAt) {
+    }
+
+}
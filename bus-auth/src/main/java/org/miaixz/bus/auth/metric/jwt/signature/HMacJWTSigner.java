@@ -22,6 +22,7 @@ package org.miaixz.bus.auth.metric.jwt.signature;
 import java.security.Key;
 
 import org.miaixz.bus.core.lang.Charset;
+import org.miaixz.bus.core.lang.exception.CryptoException;
 import org.miaixz.bus.core.xyz.ByteKit;
 import org.miaixz.bus.core.xyz.StringKit;
 import org.miaixz.bus.crypto.center.HMac;
@@ -32,6 +33,10 @@ import org.miaixz.bus.crypto.center.HMac;
  * Implements the {@link JWTSigner} interface, using HMAC algorithms (e.g., HS256, HS384, HS512) for JWT signing and
  * verification. Supports custom encoding, with UTF-8 as the default.
  * </p>
+ * <p>
+ * The key is bound to the MAC engine once at construction. Signing and verification borrow pooled engine copies, so
+ * one signer can be shared by all request threads.
+ * </p>
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -57,7 +62,7 @@ public class HMacJWTSigner implements JWTSigner {
      */
     public HMacJWTSigner(final String algorithm, final byte[] key) {
         // Initialize the HMAC algorithm instance
-        this.hMac = new HMac(algorithm, key);
+        this.hMac = concurrent(new HMac(algorithm, key));
     }
 
     /**
@@ -69,7 +74,23 @@ public class HMacJWTSigner implements JWTSigner {
      */
     public HMacJWTSigner(final String algorithm, final Key key) {
         // Initialize the HMAC algorithm instance
-        this.hMac = new HMac(algorithm, key);
+        this.hMac = concurrent(new HMac(algorithm, key));
+    }
+
+    /**
+     * Switches the HMAC instance to pooled engine copies so the signer is safe for concurrent use. Engines that cannot
+     * be copied keep the single engine.
+     *
+     * @param hMac the HMAC instance
+     * @return the same HMAC instance
+     */
+    private static HMac concurrent(final HMac hMac) {
+        try {
+            hMac.setConcurrent(true);
+        } catch (final CryptoException e) {
+            // The engine does not support copies, keep using it directly
+        }
+        return hMac;
     }
 
     /**
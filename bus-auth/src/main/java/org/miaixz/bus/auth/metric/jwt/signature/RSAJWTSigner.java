@@ -37,6 +37,10 @@ import org.miaixz.bus.crypto.center.Sign;
  * verification. Supports public key for signature verification and private key for signature generation. Default
  * encoding is UTF-8.
  * </p>
+ * <p>
+ * The underlying {@link Sign} runs in concurrent mode: each thread works on a pooled {@link java.security.Signature}
+ * that stays initialized with this signer's key, so keys are bound once instead of on every call.
+ * </p>
  *
  * @see JWTSigner
  * @author Kimi Liu
@@ -70,7 +74,7 @@ public class RSAJWTSigner implements JWTSigner {
         final PublicKey publicKey = key instanceof PublicKey ? (PublicKey) key : null;
         final PrivateKey privateKey = key instanceof PrivateKey ? (PrivateKey) key : null;
         // Initialize the signer with a KeyPair
-        this.sign = new Sign(algorithm, new KeyPair(publicKey, privateKey));
+        this.sign = new Sign(algorithm, new KeyPair(publicKey, privateKey)).setConcurrent(true);
     }
 
     /**
@@ -85,7 +89,7 @@ public class RSAJWTSigner implements JWTSigner {
      */
     public RSAJWTSigner(final String algorithm, final KeyPair keyPair) {
         // Initialize the signer with the KeyPair
-        this.sign = new Sign(algorithm, keyPair);
+        this.sign = new Sign(algorithm, keyPair).setConcurrent(true);
     }
 
     /**
@@ -20,15 +20,11 @@
 package org.miaixz.bus.core.bean.copier;
 
 import java.lang.reflect.Type;
-import java.util.Map;
 
-import org.miaixz.bus.core.bean.desc.PropDesc;
 import org.miaixz.bus.core.lang.Assert;
 import org.miaixz.bus.core.lang.exception.BeanException;
 import org.miaixz.bus.core.lang.mutable.MutableEntry;
-import org.miaixz.bus.core.xyz.MapKit;
 import org.miaixz.bus.core.xyz.StringKit;
-import org.miaixz.bus.core.xyz.TypeKit;
 
 /**
  * A copier that copies properties from one Bean to another Bean.
@@ -77,66 +73,57 @@ public class BeanToBeanCopier<S, T> extends AbstractCopier<S, T> {
                     copyOptions.editable.getName());
             actualEditable = copyOptions.editable;
         }
-        final Map<String, PropDesc> targetPropDescMap = getBeanDesc(actualEditable).getPropMap(copyOptions.ignoreCase);
-        if (MapKit.isEmpty(targetPropDescMap)) {
+        final CopyPlan plan = CopyPlan.of(source.getClass(), actualEditable, this.targetType, copyOptions,
+                this::getBeanDesc);
+        if (plan.isTargetEmpty()) {
             if (copyOptions.ignoreError) {
                 return target;
             }
             throw new BeanException("No properties for target: {}", actualEditable);
         }
-
-        final Map<String, PropDesc> sourcePropDescMap = getBeanDesc(source.getClass())
-                .getPropMap(copyOptions.ignoreCase);
-        if (MapKit.isEmpty(sourcePropDescMap)) {
+        if (plan.isSourceEmpty()) {
             if (copyOptions.ignoreError) {
                 return target;
             }
             throw new BeanException("No properties for source: {}", source.getClass());
         }
-        sourcePropDescMap.forEach((sFieldName, sDesc) -> {
-            if (null == sFieldName || !sDesc.isReadable(copyOptions.transientSupport)) {
-                // Field is null or not readable, skip.
-                return;
-            }
 
+        // Without a field editor the target of every source property was already matched when the plan was built.
+        final boolean direct = CopyPlan.isDirect(copyOptions);
+        for (final CopyPlan.Reader reader : plan.readers()) {
             // Check if the source object property is filtered.
-            Object sValue = sDesc.getValue(this.source, copyOptions.ignoreError);
-            if (!this.copyOptions.testPropertyFilter(sDesc.getField(), sValue)) {
-                return;
+            Object sValue = reader.read(this.source, copyOptions.ignoreError);
+            if (!copyOptions.testPropertyFilter(reader.field(), sValue)) {
+                continue;
             }
 
-            // Edit key-value pair.
-            final MutableEntry<Object, Object> entry = copyOptions.editField(sFieldName, sValue);
-            if (null == entry) {
-                return;
-            }
-            sFieldName = StringKit.toStringOrNull(entry.getKey());
-            // If the key is null after conversion, skip.
-            if (null == sFieldName) {
-                return;
+            final CopyPlan.Writer writer;
+            if (direct) {
+                writer = reader.writer();
+            } else {
+                // Edit key-value pair.
+                final MutableEntry<Object, Object> entry = copyOptions.editField(reader.name(), sValue);
+                if (null == entry) {
+                    continue;
+                }
+                final String sFieldName = StringKit.toStringOrNull(entry.getKey());
+                // If the key is null after conversion, skip.
+                if (null == sFieldName) {
+                    continue;
+                }
+                sValue = entry.getValue();
+                // Target field check is performed after key-value pair editing, because the key might be modified.
+                writer = plan.writer(copyOptions.findPropDesc(plan.targetProps(), sFieldName));
             }
-            sValue = entry.getValue();
-
-            // Check target field writability.
-            // Target field check is performed after key-value pair editing, because the key might be modified.
-            final PropDesc tDesc = copyOptions.findPropDesc(targetPropDescMap, sFieldName);
-            if (null == tDesc || !tDesc.isWritable(copyOptions.transientSupport)) {
-                // Field is not writable, skip.
-                return;
+            if (null == writer) {
+                // Field is missing or not writable, skip.
+                continue;
             }
 
-            // Get the actual type of the target field and convert the source value.
-            final Type fieldType = TypeKit.getActualType(this.targetType, tDesc.getFieldType());
-            sValue = copyOptions.convertField(fieldType, sValue);
-
-            // Assign to target.
-            tDesc.setValue(
-                    this.target,
-                    sValue,
-                    copyOptions.ignoreNullValue,
-                    copyOptions.ignoreError,
-                    copyOptions.override);
-        });
+            // Convert the source value to the actual type of the target field and assign it.
+            sValue = copyOptions.convertField(writer.fieldType(this.targetType), sValue);
+            writer.write(this.target, sValue, copyOptions);
+        }
         return this.target;
     }
 
@@ -22,7 +22,6 @@ package org.miaixz.bus.core.bean.copier;
 import java.lang.reflect.Type;
 import java.util.Map;
 
-import org.miaixz.bus.core.bean.desc.PropDesc;
 import org.miaixz.bus.core.lang.Assert;
 import org.miaixz.bus.core.lang.mutable.MutableEntry;
 import org.miaixz.bus.core.xyz.StringKit;
@@ -74,30 +73,29 @@ public class BeanToMapCopier extends AbstractCopier<Object, Map> {
             actualEditable = copyOptions.editable;
         }
 
-        final Map<String, PropDesc> sourcePropDescMap = getBeanDesc(actualEditable).getPropMap(copyOptions.ignoreCase);
-        sourcePropDescMap.forEach((sFieldName, sDesc) -> {
-            if (null == sFieldName || !sDesc.isReadable(copyOptions.transientSupport)) {
-                // Field is null or not readable, skip.
-                return;
-            }
-
+        final CopyPlan plan = CopyPlan.of(actualEditable, null, null, copyOptions, this::getBeanDesc);
+        final boolean direct = CopyPlan.isDirect(copyOptions);
+        for (final CopyPlan.Reader reader : plan.readers()) {
             // Check if the source object property is filtered.
-            Object sValue = sDesc.getValue(this.source, copyOptions.ignoreError);
-            if (!copyOptions.testPropertyFilter(sDesc.getField(), sValue)) {
-                return;
+            Object sValue = reader.read(this.source, copyOptions.ignoreError);
+            if (!copyOptions.testPropertyFilter(reader.field(), sValue)) {
+                continue;
             }
 
-            // Edit key-value pair.
-            final MutableEntry<Object, Object> entry = copyOptions.editField(sFieldName, sValue);
-            if (null == entry) {
-                return;
+            String sFieldName = reader.name();
+            if (!direct) {
+                // Edit key-value pair.
+                final MutableEntry<Object, Object> entry = copyOptions.editField(sFieldName, sValue);
+                if (null == entry) {
+                    continue;
+                }
+                sFieldName = StringKit.toStringOrNull(entry.getKey());
+                // If the key is null after conversion, skip.
+                if (null == sFieldName) {
+                    continue;
+                }
+                sValue = entry.getValue();
             }
-            sFieldName = StringKit.toStringOrNull(entry.getKey());
-            // If the key is null after conversion, skip.
-            if (null == sFieldName) {
-                return;
-            }
-            sValue = entry.getValue();
 
             // Get the actual type of the target value and convert the source value.
             if (null != typeArguments && typeArguments.length > 1) {
@@ -108,7 +106,7 @@ public class BeanToMapCopier extends AbstractCopier<Object, Map> {
             if (null != sValue || !copyOptions.ignoreNullValue) {
                 target.put(sFieldName, sValue);
             }
-        });
+        }
         return this.target;
     }
 
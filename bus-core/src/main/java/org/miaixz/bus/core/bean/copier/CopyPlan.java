@@ -0,0 +1,532 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.core.bean.copier;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.miaixz.bus.core.bean.desc.BeanDesc;
+import org.miaixz.bus.core.bean.desc.PropDesc;
+import org.miaixz.bus.core.center.map.reference.WeakKeyConcurrentMap;
+import org.miaixz.bus.core.convert.Convert;
+import org.miaixz.bus.core.lang.exception.BeanException;
+import org.miaixz.bus.core.lang.reflect.Invoker;
+import org.miaixz.bus.core.lang.reflect.method.MethodInvoker;
+import org.miaixz.bus.core.xyz.ClassKit;
+import org.miaixz.bus.core.xyz.LambdaKit;
+import org.miaixz.bus.core.xyz.MapKit;
+import org.miaixz.bus.core.xyz.ModifierKit;
+import org.miaixz.bus.core.xyz.StringKit;
+import org.miaixz.bus.core.xyz.TypeKit;
+
+/**
+ * A cached copy routine for one combination of source class, target class and the structural parts of
+ * {@link CopyOptions}.
+ * <p>
+ * Building a plan walks both {@link BeanDesc}s once: readable source properties and writable target properties are
+ * collected in iteration order, getters and setters are bound to {@code LambdaMetafactory} functions through
+ * {@link LambdaKit}, generic field types are resolved against the target type and every source property is matched
+ * to its target property. Copiers then run a flat loop over the plan instead of repeating the lookups and the
+ * reflective {@link Invoker} calls for every property of every copy.
+ * <p>
+ * Only options that change the shape of the plan (ignore case, transient support, camel-case matching and the
+ * {@link BeanDesc} class) are part of the cache key. Property filters, field editors and converters are still
+ * applied per value, so a plan can be shared by any {@link CopyOptions} with the same structure. Accessors that cannot
+ * be bound (public fields, static or inaccessible methods) fall back to the {@link PropDesc} reflective path.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+final class CopyPlan {
+
+    /**
+     * Plans keyed by the source bean class (or the target class for copies without a source bean), then by the rest of
+     * the plan key.
+     */
+    private static final WeakKeyConcurrentMap<Class<?>, Map<Key, CopyPlan>> CACHE = new WeakKeyConcurrentMap<>();
+
+    /**
+     * Readable source properties in {@link BeanDesc} iteration order, empty when there is no source bean.
+     */
+    private final List<Reader> readers;
+
+    /**
+     * The property map of the target bean, used for lookups by edited field names; {@code null} for non-bean targets.
+     */
+    private final Map<String, PropDesc> targetProps;
+
+    /**
+     * Writable target properties keyed by identity of their descriptor.
+     */
+    private final Map<PropDesc, Writer> writers;
+
+    /**
+     * Whether the source bean exposes no properties at all.
+     */
+    private final boolean sourceEmpty;
+
+    /**
+     * Constructs a new plan.
+     *
+     * @param readers     The readable source properties.
+     * @param targetProps The target property map.
+     * @param writers     The writable target properties.
+     * @param sourceEmpty Whether the source bean has no properties.
+     */
+    private CopyPlan(
+            final List<Reader> readers,
+            final Map<String, PropDesc> targetProps,
+            final Map<PropDesc, Writer> writers,
+            final boolean sourceEmpty) {
+        this.readers = readers;
+        this.targetProps = targetProps;
+        this.writers = writers;
+        this.sourceEmpty = sourceEmpty;
+    }
+
+    /**
+     * Returns the cached plan for the given classes and options, building it on first use.
+     *
+     * @param sourceClass The source bean class, or {@code null} if the source is not a bean.
+     * @param targetClass The target bean class, or {@code null} if the target is not a bean.
+     * @param targetType  The generic target type; only {@code null} or a {@link Class} is resolved into the plan.
+     * @param options     The copy options.
+     * @param descFactory The factory producing the {@link BeanDesc} of a class, normally the copier's
+     *                    {@code getBeanDesc}.
+     * @return The copy plan.
+     */
+    static CopyPlan of(
+            final Class<?> sourceClass,
+            final Class<?> targetClass,
+            final Type targetType,
+            final CopyOptions options,
+            final Function<Class<?>, BeanDesc> descFactory) {
+        // Parameterized target types are resolved per copy so that arbitrary Type implementations never grow the cache
+        final boolean generic = null != targetType && !(targetType instanceof Class);
+        final Key key = new Key(sourceClass, targetClass, generic ? null : targetType, generic, options.beanDescClass,
+                options.ignoreCase, options.transientSupport, options.autoTransCamelCase);
+        return CACHE.computeIfAbsent(null != sourceClass ? sourceClass : targetClass, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> build(k, descFactory));
+    }
+
+    /**
+     * Builds a plan for the given key.
+     *
+     * @param key         The plan key.
+     * @param descFactory The {@link BeanDesc} factory.
+     * @return The new plan.
+     */
+    private static CopyPlan build(final Key key, final Function<Class<?>, BeanDesc> descFactory) {
+        Map<String, PropDesc> targetProps = null;
+        final Map<PropDesc, Writer> writers = new IdentityHashMap<>();
+        if (null != key.targetClass) {
+            targetProps = descFactory.apply(key.targetClass).getPropMap(key.ignoreCase);
+            for (final PropDesc desc : targetProps.values()) {
+                if (null != desc && desc.isWritable(key.transientSupport)) {
+                    writers.put(desc, new Writer(desc, key.targetType, key.generic));
+                }
+            }
+        }
+
+        final List<Reader> readers = new ArrayList<>();
+        boolean sourceEmpty = true;
+        if (null != key.sourceClass) {
+            final Map<String, PropDesc> sourceProps = descFactory.apply(key.sourceClass).getPropMap(key.ignoreCase);
+            sourceEmpty = MapKit.isEmpty(sourceProps);
+            for (final Map.Entry<String, PropDesc> entry : sourceProps.entrySet()) {
+                final PropDesc desc = entry.getValue();
+                if (null == entry.getKey() || !desc.isReadable(key.transientSupport)) {
+                    continue;
+                }
+                final Writer writer = null == targetProps ? null
+                        : writers.get(findPropDesc(targetProps, entry.getKey(), key.autoTransCamelCase));
+                readers.add(new Reader(entry.getKey(), desc, writer));
+            }
+        }
+        return new CopyPlan(Collections.unmodifiableList(readers), targetProps, writers, sourceEmpty);
+    }
+
+    /**
+     * Finds a target property the same way the default {@link CopyOptions#findPropDesc(Map, String)} does.
+     *
+     * @param targetProps        The target property map.
+     * @param sourceKey          The source field name.
+     * @param autoTransCamelCase Whether to retry with the camel-case form of the name.
+     * @return The matching property, or {@code null}.
+     */
+    private static PropDesc findPropDesc(
+            final Map<String, PropDesc> targetProps,
+            final String sourceKey,
+            final boolean autoTransCamelCase) {
+        PropDesc propDesc = targetProps.get(sourceKey);
+        if (null == propDesc && autoTransCamelCase) {
+            final String camelCaseKey = StringKit.toCamelCase(sourceKey);
+            if (!StringKit.equals(sourceKey, camelCaseKey)) {
+                propDesc = targetProps.get(camelCaseKey);
+            }
+        }
+        return propDesc;
+    }
+
+    /**
+     * Whether the pre-matched {@link Reader#writer()} can be used for the given options, i.e. the field name cannot be
+     * edited and target lookup follows the default rules.
+     *
+     * @param options The copy options.
+     * @return {@code true} if source-to-target matching from the plan is valid.
+     */
+    static boolean isDirect(final CopyOptions options) {
+        return null == options.fieldEditor && CopyOptions.class == options.getClass();
+    }
+
+    /**
+     * Returns the readable source properties.
+     *
+     * @return The source property readers.
+     */
+    List<Reader> readers() {
+        return this.readers;
+    }
+
+    /**
+     * Returns the target property map.
+     *
+     * @return The target property map, or {@code null} for non-bean targets.
+     */
+    Map<String, PropDesc> targetProps() {
+        return this.targetProps;
+    }
+
+    /**
+     * Returns the writer of a target property.
+     *
+     * @param desc The target property, may be {@code null}.
+     * @return The writer, or {@code null} if the property is missing or not writable.
+     */
+    Writer writer(final PropDesc desc) {
+        return null == desc ? null : this.writers.get(desc);
+    }
+
+    /**
+     * Whether the source bean exposes no properties.
+     *
+     * @return {@code true} if the source bean has no properties.
+     */
+    boolean isSourceEmpty() {
+        return this.sourceEmpty;
+    }
+
+    /**
+     * Whether the target bean exposes no properties.
+     *
+     * @return {@code true} if the target bean has no properties.
+     */
+    boolean isTargetEmpty() {
+        return MapKit.isEmpty(this.targetProps);
+    }
+
+    /**
+     * The structural part of a copy that determines a plan.
+     *
+     * @param sourceClass        The source bean class.
+     * @param targetClass        The target bean class.
+     * @param targetType         The target type resolved into the plan.
+     * @param generic            Whether the copier's target type is parameterized and resolved per copy.
+     * @param beanDescClass      The custom {@link BeanDesc} class.
+     * @param ignoreCase         Whether property names are case-insensitive.
+     * @param transientSupport   Whether transient properties are skipped.
+     * @param autoTransCamelCase Whether camel-case matching is enabled.
+     */
+    private record Key(Class<?> sourceClass, Class<?> targetClass, Type targetType, boolean generic,
+            Class<?> beanDescClass, boolean ignoreCase, boolean transientSupport, boolean autoTransCamelCase) {
+    }
+
+    /**
+     * A readable source property with its bound getter.
+     */
+    static final class Reader {
+
+        /**
+         * The property name as exposed by the source property map.
+         */
+        private final String name;
+
+        /**
+         * The property descriptor.
+         */
+        private final PropDesc desc;
+
+        /**
+         * The backing field, passed to property filters.
+         */
+        private final Field field;
+
+        /**
+         * The bound getter, or {@code null} to read through the descriptor.
+         */
+        private final Function<Object, Object> getter;
+
+        /**
+         * The target property matched by name, or {@code null}.
+         */
+        private final Writer writer;
+
+        /**
+         * Constructs a new reader.
+         *
+         * @param name   The property name.
+         * @param desc   The property descriptor.
+         * @param writer The matched target property.
+         */
+        private Reader(final String name, final PropDesc desc, final Writer writer) {
+            this.name = name;
+            this.desc = desc;
+            this.field = desc.getField();
+            this.writer = writer;
+            final Method method = bindable(desc.getGetter(), 0);
+            this.getter = null == method ? null : bind(() -> LambdaKit.buildGetter(method));
+        }
+
+        /**
+         * Returns the property name.
+         *
+         * @return The property name.
+         */
+        String name() {
+            return this.name;
+        }
+
+        /**
+         * Returns the backing field.
+         *
+         * @return The field, or {@code null}.
+         */
+        Field field() {
+            return this.field;
+        }
+
+        /**
+         * Returns the target property matched by name when the plan was built.
+         *
+         * @return The matched writer, or {@code null}.
+         */
+        Writer writer() {
+            return this.writer;
+        }
+
+        /**
+         * Reads the property, with the same error handling as {@link PropDesc#getValue(Object, boolean)}.
+         *
+         * @param bean        The source bean.
+         * @param ignoreError Whether to return {@code null} instead of throwing on failure.
+         * @return The property value.
+         */
+        Object read(final Object bean, final boolean ignoreError) {
+            if (null == this.getter) {
+                return this.desc.getValue(bean, ignoreError);
+            }
+            try {
+                return this.getter.apply(bean);
+            } catch (final Exception e) {
+                if (!ignoreError) {
+                    throw new BeanException(e, "Get value of [{}] error!", this.desc.getFieldName());
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A writable target property with its resolved type and bound setter.
+     */
+    static final class Writer {
+
+        /**
+         * The property descriptor.
+         */
+        private final PropDesc desc;
+
+        /**
+         * The field type, resolved against the planned target type unless {@link #generic} is set.
+         */
+        private final Type fieldType;
+
+        /**
+         * Whether {@link #fieldType} still has to be resolved against the copier's parameterized target type.
+         */
+        private final boolean generic;
+
+        /**
+         * The property class used for the final default conversion.
+         */
+        private final Class<?> propClass;
+
+        /**
+         * The bound setter, or {@code null} to write through the descriptor.
+         */
+        private final BiConsumer<Object, Object> setter;
+
+        /**
+         * The boxed setter parameter class; values of other classes are written through the descriptor.
+         */
+        private final Class<?> paramClass;
+
+        /**
+         * The value passed to the setter for {@code null}, matching the defaults applied by {@link MethodInvoker}.
+         */
+        private final Object nullValue;
+
+        /**
+         * Constructs a new writer.
+         *
+         * @param desc       The property descriptor.
+         * @param targetType The planned target type.
+         * @param generic    Whether the copier's target type is parameterized.
+         */
+        private Writer(final PropDesc desc, final Type targetType, final boolean generic) {
+            this.desc = desc;
+            final Type rawType = desc.getFieldType();
+            this.generic = generic && !(rawType instanceof Class);
+            this.fieldType = this.generic ? rawType : TypeKit.getActualType(targetType, rawType);
+            this.propClass = desc.getFieldClass();
+
+            final Method method = bindable(desc.getSetter(), 1);
+            this.setter = null == method ? null : bind(() -> LambdaKit.buildSetter(method));
+            final Class<?> paramType = null == method ? null : method.getParameterTypes()[0];
+            this.paramClass = null == paramType ? null : Convert.wrap(paramType);
+            this.nullValue = null == paramType ? null : ClassKit.getDefaultValue(paramType);
+        }
+
+        /**
+         * Returns the actual field type for a copy.
+         *
+         * @param targetType The copier's target type.
+         * @return The field type used for conversion.
+         */
+        Type fieldType(final Type targetType) {
+            return this.generic ? TypeKit.getActualType(targetType, this.fieldType) : this.fieldType;
+        }
+
+        /**
+         * Returns the backing field.
+         *
+         * @return The field, or {@code null}.
+         */
+        Field field() {
+            return this.desc.getField();
+        }
+
+        /**
+         * Writes a value with the same semantics as
+         * {@link PropDesc#setValue(Object, Object, boolean, boolean, boolean)}.
+         *
+         * @param bean    The target bean.
+         * @param value   The value to write.
+         * @param options The copy options supplying null, error and override handling.
+         */
+        void write(final Object bean, Object value, final CopyOptions options) {
+            final boolean ignoreNull = options.ignoreNullValue;
+            if (null == value && ignoreNull) {
+                return;
+            }
+            // In non-override mode, if the target value already exists, skip it.
+            if (!options.override && null != this.desc.getValue(bean, options.ignoreError)) {
+                return;
+            }
+            if (null != value && !this.propClass.isInstance(value)) {
+                value = Convert.convertWithCheck(this.propClass, value, null, options.ignoreError);
+            }
+            if (null != value || !ignoreNull) {
+                try {
+                    set(bean, value);
+                } catch (final Exception e) {
+                    if (!options.ignoreError) {
+                        throw new BeanException(e, "Set value of [{}] error!", this.desc.getFieldName());
+                    }
+                    // Ignore injection failure.
+                }
+            }
+        }
+
+        /**
+         * Invokes the bound setter when the value fits its parameter, otherwise the descriptor which converts the
+         * argument like {@link MethodInvoker} does.
+         *
+         * @param bean  The target bean.
+         * @param value The value to write.
+         */
+        private void set(final Object bean, final Object value) {
+            if (null != this.setter) {
+                if (null == value) {
+                    this.setter.accept(bean, this.nullValue);
+                    return;
+                }
+                if (this.paramClass.isInstance(value)) {
+                    this.setter.accept(bean, value);
+                    return;
+                }
+            }
+            this.desc.setValue(bean, value);
+        }
+    }
+
+    /**
+     * Returns the method behind an accessor if it can be bound to a lambda.
+     *
+     * @param invoker    The accessor invoker.
+     * @param paramCount The expected parameter count.
+     * @return The instance method, or {@code null} if the accessor is not a bindable method.
+     */
+    private static Method bindable(final Invoker invoker, final int paramCount) {
+        if (invoker instanceof MethodInvoker methodInvoker) {
+            final Method method = methodInvoker.getMethod();
+            if (!ModifierKit.isStatic(method) && method.getParameterCount() == paramCount) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Binds an accessor, returning {@code null} when the method cannot be linked through {@code LambdaMetafactory}.
+     *
+     * @param binder The binding action.
+     * @param <F>    The function type.
+     * @return The bound function, or {@code null}.
+     */
+    private static <F> F bind(final Supplier<F> binder) {
+        try {
+            return binder.get();
+        } catch (final RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+}
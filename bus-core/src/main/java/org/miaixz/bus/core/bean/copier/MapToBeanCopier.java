@@ -22,12 +22,10 @@ package org.miaixz.bus.core.bean.copier;
 import java.lang.reflect.Type;
 import java.util.Map;
 
-import org.miaixz.bus.core.bean.desc.PropDesc;
 import org.miaixz.bus.core.center.map.CaseInsensitiveMap;
 import org.miaixz.bus.core.center.map.MapWrapper;
 import org.miaixz.bus.core.lang.Assert;
 import org.miaixz.bus.core.lang.mutable.MutableEntry;
-import org.miaixz.bus.core.xyz.TypeKit;
 
 /**
  * A copier that copies properties from a Map to a Bean.
@@ -83,7 +81,7 @@ public class MapToBeanCopier<T> extends AbstractCopier<Map<?, ?>, T> {
                     copyOptions.editable.getName());
             actualEditable = copyOptions.editable;
         }
-        final Map<String, PropDesc> targetPropDescMap = getBeanDesc(actualEditable).getPropMap(copyOptions.ignoreCase);
+        final CopyPlan plan = CopyPlan.of(null, actualEditable, this.targetType, copyOptions, this::getBeanDesc);
 
         this.source.forEach((sKey, sValue) -> {
             if (null == sKey) {
@@ -103,29 +101,22 @@ public class MapToBeanCopier<T> extends AbstractCopier<Map<?, ?>, T> {
 
             // Check target field writability.
             // Target field check is performed after key-value pair editing, because the key might be modified.
-            final PropDesc tDesc = this.copyOptions.findPropDesc(targetPropDescMap, sFieldName.toString());
-            if (null == tDesc || !tDesc.isWritable(this.copyOptions.transientSupport)) {
+            final CopyPlan.Writer writer = plan
+                    .writer(this.copyOptions.findPropDesc(plan.targetProps(), sFieldName.toString()));
+            if (null == writer) {
                 // Field is not writable, skip.
                 return;
             }
 
             Object newValue = entry.getValue();
             // Check if the target property is filtered.
-            if (!copyOptions.testPropertyFilter(tDesc.getField(), newValue)) {
+            if (!copyOptions.testPropertyFilter(writer.field(), newValue)) {
                 return;
             }
 
-            // Get the actual type of the target field and convert the source value.
-            final Type fieldType = TypeKit.getActualType(this.targetType, tDesc.getFieldType());
-            newValue = this.copyOptions.convertField(fieldType, newValue);
-
-            // Assign to target.
-            tDesc.setValue(
-                    this.target,
-                    newValue,
-                    copyOptions.ignoreNullValue,
-                    copyOptions.ignoreError,
-                    copyOptions.override);
+            // Convert the source value to the actual type of the target field and assign it.
+            newValue = this.copyOptions.convertField(writer.fieldType(this.targetType), newValue);
+            writer.write(this.target, newValue, copyOptions);
         });
         return this.target;
     }
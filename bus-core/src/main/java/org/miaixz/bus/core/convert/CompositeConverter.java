@@ -22,11 +22,14 @@ package org.miaixz.bus.core.convert;
 import java.io.Serial;
 import java.io.Serializable;
 import java.lang.reflect.Type;
+import java.util.Map;
 
+import org.miaixz.bus.core.center.map.reference.WeakKeyConcurrentMap;
 import org.miaixz.bus.core.lang.Optional;
 import org.miaixz.bus.core.lang.exception.ConvertException;
 import org.miaixz.bus.core.lang.reflect.TypeReference;
 import org.miaixz.bus.core.xyz.BeanKit;
+import org.miaixz.bus.core.xyz.CastKit;
 import org.miaixz.bus.core.xyz.ObjectKit;
 import org.miaixz.bus.core.xyz.TypeKit;
 
@@ -43,6 +46,10 @@ import org.miaixz.bus.core.xyz.TypeKit;
  * {@link Enum}).</li>
  * <li>Finally, attempt conversion to a JavaBean.</li>
  * </ol>
+ * <p>
+ * The converter chosen by this chain is cached by target type and value class, so repeated conversions skip the
+ * lookup. The cache is dropped whenever a custom converter is registered, and it is bypassed while any
+ * {@link MatcherConverter} is registered.
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -62,6 +69,12 @@ public class CompositeConverter implements Converter, Serializable {
      */
     private SpecialConverter specialConverter;
 
+    /**
+     * Resolved converter routes, keyed by target type and then by the class of the value. Replaced whenever a custom
+     * converter is registered.
+     */
+    private transient volatile RouteCache routes;
+
     /**
      * Private constructor to prevent direct instantiation.
      */
@@ -89,6 +102,7 @@ public class CompositeConverter implements Converter, Serializable {
      */
     public CompositeConverter register(final MatcherConverter converter) {
         registerConverter.register(converter);
+        this.routes = null;
         return this;
     }
 
@@ -103,6 +117,7 @@ public class CompositeConverter implements Converter, Serializable {
      */
     public CompositeConverter register(final Type type, final Converter converter) {
         registerConverter.register(type, converter);
+        this.routes = null;
         return this;
     }
 
@@ -152,17 +167,17 @@ public class CompositeConverter implements Converter, Serializable {
         }
         if (TypeKit.isUnknown(type)) {
             if (null == defaultValue) {
-                return (T) value; // Return original value if target type is unknown and no default is set.
+                return CastKit.cast(value); // Return original value if target type is unknown and no default is set.
             }
             type = defaultValue.getClass();
         }
 
         // Unwrap Optional types
         if (value instanceof Optional<?>) {
-            value = ((Optional<T>) value).getOrNull();
+            value = ((Optional<?>) value).getOrNull();
         }
         if (value instanceof java.util.Optional) {
-            value = ((Optional<T>) value).orElse(null);
+            value = ((java.util.Optional<?>) value).orElse(null);
         }
         if (ObjectKit.isNull(value)) {
             return defaultValue;
@@ -177,36 +192,220 @@ public class CompositeConverter implements Converter, Serializable {
             type = ((TypeReference<?>) type).getType();
         }
 
+        // Dispatch through the cached route when it depends only on the target type and the class of the value.
+        final Route route = isCustomFirst ? getRoute(type, value) : null;
+        if (null != route && !(route.emptySensitive() && ObjectKit.isEmpty(value))) {
+            if (!route.special()) {
+                return route.converter().convert(type, value, defaultValue);
+            }
+            if (null != route.converter()) {
+                final T result = CastKit.cast(route.converter().convert(type, value));
+                if (null != result) {
+                    return result;
+                }
+            }
+            return convertToBean(type, CastKit.<Class<T>>cast(TypeKit.getClass(type)), value);
+        }
+
         // Find and apply a suitable standard or custom converter.
         final Converter converter = registerConverter.getConverter(type, value, isCustomFirst);
         if (null != converter) {
             return converter.convert(type, value, defaultValue);
         }
 
-        Class<T> rawType = (Class<T>) TypeKit.getClass(type);
+        Class<T> rawType = CastKit.cast(TypeKit.getClass(type));
         if (null == rawType) {
             if (null != defaultValue) {
-                rawType = (Class<T>) defaultValue.getClass();
+                rawType = CastKit.cast(defaultValue.getClass());
             } else {
                 throw new ConvertException("Cannot determine raw class from type: {}", type);
             }
         }
 
         // Attempt conversion for special types (Collection, Map, Array, etc.).
-        final T result = (T) specialConverter.convert(type, rawType, value);
+        final T result = CastKit.cast(specialConverter.convert(type, rawType, value));
         if (null != result) {
             return result;
         }
+        return convertToBean(type, rawType, value);
+    }
 
-        // Attempt to convert to a JavaBean.
+    /**
+     * Converts the value to a JavaBean as the last resort, after all registered and special converters failed.
+     *
+     * @param <T>     The target type.
+     * @param type    The target type.
+     * @param rawType The raw class of the target type.
+     * @param value   The value to convert.
+     * @return The converted bean.
+     * @throws ConvertException if the target type is not a writable bean.
+     */
+    private <T> T convertToBean(final Type type, final Class<T> rawType, final Object value) {
         if (BeanKit.isWritableBean(rawType)) {
-            return (T) BeanConverter.INSTANCE.convert(type, value);
+            return CastKit.cast(BeanConverter.INSTANCE.convert(type, value));
         }
 
         throw new ConvertException("No suitable converter found for from {}: [{}] to [{}]", value.getClass().getName(),
                 value, type.getTypeName());
     }
 
+    /**
+     * Gets the cached route for converting values of the given value's class to the target type, resolving it on first
+     * use. Routes are only cached while no {@link MatcherConverter} is registered, because such converters may decide
+     * on the value itself.
+     *
+     * @param type  The target type.
+     * @param value The value to convert.
+     * @return The route, or {@code null} if conversion must go through the uncached lookup.
+     */
+    private Route getRoute(final Type type, final Object value) {
+        if (registerConverter.hasMatcherConverter()) {
+            return null;
+        }
+        RouteCache routes = this.routes;
+        if (null == routes) {
+            routes = new RouteCache();
+            this.routes = routes;
+        }
+        final Map<Class<?>, Route> byValueClass = routes.get(type);
+        Route route = byValueClass.get(value.getClass());
+        if (null == route) {
+            route = byValueClass.computeIfAbsent(value.getClass(), key -> resolveRoute(type, value));
+        }
+        return Route.UNCACHED == route ? null : route;
+    }
+
+    /**
+     * Resolves the route for values of the given value's class, the same way the uncached lookup would, and swaps in a
+     * fast path for the most common number and string conversions.
+     *
+     * @param type  The target type.
+     * @param value A sample of the values to convert.
+     * @return The route, or {@link Route#UNCACHED} if the target type has no raw class.
+     */
+    private Route resolveRoute(final Type type, final Object value) {
+        final Converter converter = registerConverter.getConverter(type, value, true);
+        if (null != converter) {
+            return new Route(converter, false, false);
+        }
+
+        final Class<?> rawType = TypeKit.getClass(type);
+        if (null == rawType) {
+            return Route.UNCACHED;
+        }
+        final Route route = specialConverter.getRoute(type, rawType, value);
+        final Class<?> valueClass = value.getClass();
+        if (String.class == valueClass) {
+            if (Integer.class == rawType || int.class == rawType) {
+                return new Route(new DecimalConverter(route.converter(), false), true, route.emptySensitive());
+            } else if (Long.class == rawType || long.class == rawType) {
+                return new Route(new DecimalConverter(route.converter(), true), true, route.emptySensitive());
+            }
+        } else if (rawType.isPrimitive() && Convert.wrap(rawType) == valueClass) {
+            // Wrapped values of a primitive target are returned unchanged by the primitive converter.
+            return new Route(Converter.identity(), true, route.emptySensitive());
+        }
+        return route;
+    }
+
+    /**
+     * A resolved conversion route.
+     *
+     * @param converter      The converter, or {@code null} if no registered or special converter applies.
+     * @param special        Whether the converter is a special converter, whose {@code null} result falls back to bean
+     *                       conversion; otherwise it is a registered converter applied with the default value.
+     * @param emptySensitive Whether empty values must take the uncached lookup because {@link EmptyBeanConverter}
+     *                       would claim them first.
+     */
+    record Route(Converter converter, boolean special, boolean emptySensitive) {
+
+        /**
+         * Marker for target types whose routes cannot be cached.
+         */
+        static final Route UNCACHED = new Route(null, false, false);
+
+    }
+
+    /**
+     * The first level of the route cache. Plain class targets are looked up through a {@link ClassValue}, which avoids
+     * allocating a weak key per lookup; parameterized and other non-class targets use a weak-keyed map. The routes of
+     * each target type are held in a weak-keyed map as well, so caching a route never keeps the class of a converted
+     * value, or its class loader, reachable.
+     */
+    private static final class RouteCache {
+
+        /**
+         * Routes of plain class targets.
+         */
+        private final ClassValue<Map<Class<?>, Route>> byClass = new ClassValue<>() {
+
+            @Override
+            protected Map<Class<?>, Route> computeValue(final Class<?> type) {
+                return new WeakKeyConcurrentMap<>();
+            }
+
+        };
+
+        /**
+         * Routes of non-class targets.
+         */
+        private final Map<Type, Map<Class<?>, Route>> byType = new WeakKeyConcurrentMap<>();
+
+        /**
+         * Gets the routes of a target type, keyed by the class of the value.
+         *
+         * @param type The target type.
+         * @return The routes of the target type.
+         */
+        Map<Class<?>, Route> get(final Type type) {
+            if (type instanceof Class<?> clazz) {
+                return byClass.get(clazz);
+            }
+            return byType.computeIfAbsent(type, key -> new WeakKeyConcurrentMap<>());
+        }
+
+    }
+
+    /**
+     * A fast path for converting plain decimal strings to {@code int} and {@code long} values. Strings made of an
+     * optional minus sign and at most 9 (or 18) digits always fit, and parse to the same value as the number
+     * converters produce; anything else is handed to the resolved converter.
+     *
+     * @param delegate The converter resolved for the route.
+     * @param isLong   {@code true} to parse {@code long} values, {@code false} for {@code int} values.
+     */
+    private record DecimalConverter(Converter delegate, boolean isLong) implements Converter {
+
+        /**
+         * Converts a string value, parsing it directly when it is a plain decimal number.
+         *
+         * @param targetType The target type.
+         * @param value      The string value.
+         * @return The parsed number, or the result of the delegate.
+         */
+        @Override
+        public Object convert(final Type targetType, final Object value) {
+            final String text = (String) value;
+            final int length = text.length();
+            final int start = (length > 0 && '-' == text.charAt(0)) ? 1 : 0;
+            final int digits = length - start;
+            if (digits > 0 && digits <= (isLong ? 18 : 9)) {
+                boolean plain = true;
+                for (int i = start; i < length && plain; i++) {
+                    final char c = text.charAt(i);
+                    plain = c >= '0' && c <= '9';
+                }
+                if (plain && isLong) {
+                    return Long.parseLong(text);
+                } else if (plain) {
+                    return Integer.parseInt(text);
+                }
+            }
+            return null == delegate ? null : delegate.convert(targetType, value);
+        }
+
+    }
+
     /**
      * A static inner class that holds the singleton instance, ensuring lazy initialization and thread safety.
      *
@@ -228,9 +228,23 @@ public class RegisterConverter extends ConverterWithRoot implements Serializable
      * @return the converter
      */
     public Converter getCustomConverter(final Type type, final Object value) {
+        if (!hasMatcherConverter()) {
+            return null;
+        }
         return StreamKit.of(converterSet).filter((predicate) -> predicate.match(type, value)).findFirst().orElse(null);
     }
 
+    /**
+     * Checks whether any {@link MatcherConverter} has been registered. Matcher converters may decide on the value
+     * itself, so while none is registered the resolved converter depends only on the target type.
+     *
+     * @return {@code true} if at least one matcher converter is registered
+     */
+    public boolean hasMatcherConverter() {
+        final Set<MatcherConverter> converterSet = this.converterSet;
+        return null != converterSet && !converterSet.isEmpty();
+    }
+
     /**
      * Gets the custom converter for the specified type.
      *
@@ -153,4 +153,27 @@ public class SpecialConverter extends ConverterWithRoot implements Serializable
         return getConverterFromSet(this.converterSet, type, rawType, value);
     }
 
+    /**
+     * Resolves the route for every value of the given value's class. Apart from {@link EmptyBeanConverter}, which
+     * matches on the emptiness of the value, the default matchers only look at the target type and the class of the
+     * value, so the route can be cached by the caller; it records whether an empty value would be claimed by
+     * {@link EmptyBeanConverter} before the resolved converter.
+     *
+     * @param type    the type
+     * @param rawType the Class of target type
+     * @param value   a sample of the values to convert
+     * @return the route, whose converter is {@code null} if no special converter matches
+     */
+    CompositeConverter.Route getRoute(final Type type, final Class<?> rawType, final Object value) {
+        boolean emptySensitive = false;
+        for (final MatcherConverter converter : this.converterSet) {
+            if (converter instanceof EmptyBeanConverter) {
+                emptySensitive = true;
+            } else if (converter.match(type, rawType, value)) {
+                return new CompositeConverter.Route(converter, true, emptySensitive);
+            }
+        }
+        return new CompositeConverter.Route(null, true, emptySensitive);
+    }
+
 }
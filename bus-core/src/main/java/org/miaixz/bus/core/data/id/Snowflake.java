@@ -22,6 +22,7 @@ package org.miaixz.bus.core.data.id;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.miaixz.bus.core.center.date.NonClock;
 import org.miaixz.bus.core.lang.Assert;
@@ -44,6 +45,10 @@ import org.miaixz.bus.core.xyz.RandomKit;
  * counter supports 4096 IDs per node per millisecond). The generation time, datacenterId, and workerId can be
  * reverse-engineered from the generated ID. Reference: http://www.cnblogs.com/relucent/p/4955340.html For the issue of
  * whether the length is 18 or 19, see: https://blog.csdn.net/unifirst/article/details/80408050
+ * <p>
+ * The generator is lock-free: the relative timestamp and the sequence are packed into a single {@link AtomicLong} and
+ * advanced with compare-and-set, so a sequence overflow carries into the next millisecond ("borrowing" from the future)
+ * and a clock moving backwards simply continues from the last issued state instead of failing.
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -125,15 +130,10 @@ public class Snowflake implements Serializable {
     private final long randomSequenceLimit;
 
     /**
-     * The sequence number. In high-frequency mode, when N IDs are generated in the same millisecond, this sequence
-     * number is incremented to avoid ID duplication.
+     * The last issued state: the timestamp relative to {@link #twepoch} shifted left by {@link #SEQUENCE_BITS}, OR-ed
+     * with the sequence number. Incrementing it increments the sequence and, on overflow, the timestamp.
      */
-    private long sequence = 0L;
-
-    /**
-     * The last timestamp.
-     */
-    private long lastTimestamp = -1L;
+    private final AtomicLong state = new AtomicLong();
 
     /**
      * Constructor, uses automatically generated worker ID and data center ID.
@@ -244,33 +244,42 @@ public class Snowflake implements Serializable {
      *
      * @return The next ID.
      */
-    public synchronized Long next() {
-        long timestamp = genTime();
-        if (timestamp < this.lastTimestamp) {
-            // If the clock moves backwards, use the last timestamp.
-            timestamp = lastTimestamp;
-        }
+    public Long next() {
+        final long now = genTime() - twepoch;
+        long prev;
+        long next;
+        do {
+            prev = this.state.get();
+            // A new millisecond starts a new sequence. In the same millisecond, or if the clock moved backwards, the
+            // last state is incremented, and an overflowing sequence carries into the next millisecond.
+            next = now > (prev >>> SEQUENCE_BITS) ? (now << SEQUENCE_BITS) | randomSequence() : prev + 1;
+        } while (!this.state.compareAndSet(prev, next));
+        return compose(next);
+    }
 
-        if (timestamp == this.lastTimestamp) {
-            // If the timestamp is the same, increment the sequence.
-            final long sequence = (this.sequence + 1) & SEQUENCE_MASK;
-            if (sequence == 0) {
-                // If the sequence overflows, instead of waiting for the time to catch up,
-                // we "borrow" from the future by incrementing the timestamp.
-                // This avoids system pauses and allows the ID to catch up when the generation rate slows down.
-                timestamp += 1;
-            }
-            this.sequence = sequence;
-        } else {
-            // Use a random number to avoid the problem of the sequence number always being 0 in low-frequency
-            // generation.
-            sequence = randomSequenceLimit > 1 ? RandomKit.randomLong(randomSequenceLimit) : 0L;
+    /**
+     * Generates a batch of IDs with a single reservation, which is cheaper than calling {@link #next()} repeatedly
+     * under contention. The IDs are consecutive and increasing; a batch larger than the remaining sequence range of
+     * the current millisecond borrows the following milliseconds.
+     *
+     * @param count The number of IDs, must be greater than 0.
+     * @return The generated IDs.
+     */
+    public long[] nextBatch(final int count) {
+        Assert.isTrue(count > 0, "Batch count must be greater than 0");
+        final long now = genTime() - twepoch;
+        long prev;
+        long first;
+        do {
+            prev = this.state.get();
+            first = now > (prev >>> SEQUENCE_BITS) ? (now << SEQUENCE_BITS) | randomSequence() : prev + 1;
+        } while (!this.state.compareAndSet(prev, first + count - 1));
+
+        final long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = compose(first + i);
         }
-
-        lastTimestamp = timestamp;
-
-        return ((timestamp - twepoch) << TIMESTAMP_LEFT_SHIFT) | (dataCenterId << DATA_CENTER_ID_SHIFT)
-                | (workerId << WORKER_ID_SHIFT) | sequence;
+        return ids;
     }
 
     /**
@@ -320,6 +329,27 @@ public class Snowflake implements Serializable {
         }
     }
 
+    /**
+     * Builds an ID from a packed state.
+     *
+     * @param state The relative timestamp shifted left by {@link #SEQUENCE_BITS}, OR-ed with the sequence number.
+     * @return The ID.
+     */
+    private long compose(final long state) {
+        return ((state >>> SEQUENCE_BITS) << TIMESTAMP_LEFT_SHIFT) | (dataCenterId << DATA_CENTER_ID_SHIFT)
+                | (workerId << WORKER_ID_SHIFT) | (state & SEQUENCE_MASK);
+    }
+
+    /**
+     * Gets the first sequence number of a new millisecond. A random number is used to avoid the problem of the sequence
+     * number always being 0 in low-frequency generation.
+     *
+     * @return The first sequence number.
+     */
+    private long randomSequence() {
+        return randomSequenceLimit > 1 ? RandomKit.randomLong(randomSequenceLimit) : 0L;
+    }
+
     /**
      * Generates a timestamp.
      *
@@ -0,0 +1,436 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.core.io.compress;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.miaixz.bus.core.lang.Normal;
+
+/**
+ * Block-parallel raw deflate, in the style of pigz.
+ * <p>
+ * Data of one deflate stream is cut into fixed-size blocks which are compressed independently on a
+ * {@link ForkJoinPool}. Every block except the last ends with a sync flush, so it stops on a byte boundary without
+ * closing the stream, and the last 32 KiB of the previous block are preset as dictionary so back-references keep
+ * working across blocks. Concatenated in order, the blocks form one standard deflate stream.
+ * <p>
+ * Compressed blocks and container headers are queued as chunks and written to the target stream in order by the
+ * calling thread. The number of queued chunks is bounded, so at most a few blocks per worker are held in memory no
+ * matter how large the input is.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+final class BlockDeflater {
+
+    /**
+     * Size of the uncompressed blocks compressed by one task.
+     */
+    static final int BLOCK_SIZE = 128 * 1024;
+
+    /**
+     * Size of the deflate window, which is also the size of the dictionary carried over between blocks.
+     */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    /**
+     * Raw deflaters of the worker threads, one per compression level from -1 to 9.
+     */
+    private static final ThreadLocal<Deflater[]> DEFLATERS = ThreadLocal.withInitial(() -> new Deflater[11]);
+
+    /**
+     * The target output stream.
+     */
+    private final OutputStream out;
+
+    /**
+     * The pool compressing the blocks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The maximum number of queued chunks before the calling thread waits for the oldest one.
+     */
+    private final int maxPending;
+
+    /**
+     * Chunks waiting to be written, in output order.
+     */
+    private final ArrayDeque<Chunk> pending = new ArrayDeque<>();
+
+    /**
+     * The checksum of the current deflate stream.
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * The compression level of new blocks.
+     */
+    private int level = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * The number of bytes written to the target stream.
+     */
+    private long position;
+
+    /**
+     * The summary of the current deflate stream, {@code null} between streams.
+     */
+    private Summary current;
+
+    /**
+     * The block being filled.
+     */
+    private byte[] block;
+
+    /**
+     * The number of bytes in {@link #block}.
+     */
+    private int blockLength;
+
+    /**
+     * The previous full block of the current stream, used as dictionary for the next one.
+     */
+    private byte[] previous;
+
+    /**
+     * Constructs a new block deflater.
+     *
+     * @param out  The target output stream.
+     * @param pool The pool compressing the blocks.
+     */
+    BlockDeflater(final OutputStream out, final ForkJoinPool pool) {
+        this.out = out;
+        this.pool = pool;
+        this.maxPending = Math.max(2, pool.getParallelism() * 2);
+    }
+
+    /**
+     * Sets the compression level of blocks submitted from now on.
+     *
+     * @param level The compression level, from 0 to 9, or -1 for the default level.
+     */
+    void setLevel(final int level) {
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("invalid compression level");
+        }
+        this.level = level;
+    }
+
+    /**
+     * Returns the number of bytes written to the target stream so far. Queued chunks are not counted until
+     * {@link #finish()} writes them.
+     *
+     * @return The number of bytes written.
+     */
+    long position() {
+        return this.position;
+    }
+
+    /**
+     * Starts a new deflate stream.
+     */
+    void begin() {
+        this.crc.reset();
+        this.current = new Summary();
+        this.block = new byte[BLOCK_SIZE];
+        this.blockLength = 0;
+        this.previous = null;
+    }
+
+    /**
+     * Whether a deflate stream has been started and not yet ended.
+     *
+     * @return {@code true} inside a deflate stream.
+     */
+    boolean isOpen() {
+        return null != this.current;
+    }
+
+    /**
+     * Appends data to the current deflate stream, submitting every block that becomes full.
+     *
+     * @param b   The data.
+     * @param off The start offset in the data.
+     * @param len The number of bytes to write.
+     * @throws IOException If writing queued chunks fails.
+     */
+    void write(final byte[] b, int off, int len) throws IOException {
+        this.crc.update(b, off, len);
+        this.current.size += len;
+        while (len > 0) {
+            final int n = Math.min(len, BLOCK_SIZE - this.blockLength);
+            System.arraycopy(b, off, this.block, this.blockLength, n);
+            this.blockLength += n;
+            off += n;
+            len -= n;
+            if (this.blockLength == BLOCK_SIZE) {
+                submit(false);
+                this.previous = this.block;
+                this.block = new byte[BLOCK_SIZE];
+                this.blockLength = 0;
+            }
+        }
+    }
+
+    /**
+     * Ends the current deflate stream by submitting its last block.
+     *
+     * @return The summary of the stream; its compressed size is known once the stream's chunks have been written.
+     * @throws IOException If writing queued chunks fails.
+     */
+    Summary end() throws IOException {
+        final Summary summary = this.current;
+        summary.crc = this.crc.getValue();
+        submit(true);
+        this.current = null;
+        this.block = null;
+        this.previous = null;
+        return summary;
+    }
+
+    /**
+     * Queues container data, such as a header or trailer, behind everything queued so far.
+     *
+     * @param chunk Produces the data from the position it will be written at, once all earlier chunks are written.
+     * @throws IOException If writing queued chunks fails.
+     */
+    void emit(final LongFunction<byte[]> chunk) throws IOException {
+        enqueue(chunk::apply);
+    }
+
+    /**
+     * Writes all queued chunks.
+     *
+     * @throws IOException If a block failed to compress or writing fails.
+     */
+    void finish() throws IOException {
+        drain(0);
+    }
+
+    /**
+     * Cancels all queued blocks without writing them.
+     */
+    void cancel() {
+        for (final Chunk chunk : this.pending) {
+            if (chunk instanceof BlockChunk blockChunk) {
+                blockChunk.future.cancel(true);
+            }
+        }
+        this.pending.clear();
+    }
+
+    /**
+     * Submits the block being filled for compression.
+     *
+     * @param last Whether it is the last block of the stream.
+     * @throws IOException If writing queued chunks fails.
+     */
+    private void submit(final boolean last) throws IOException {
+        final byte[] data = this.block;
+        final int length = this.blockLength;
+        final byte[] dictionary = this.previous;
+        final int level = this.level;
+        final Future<byte[]> future = this.pool.submit(() -> deflate(data, length, dictionary, level, last));
+        enqueue(new BlockChunk(future, this.current));
+    }
+
+    /**
+     * Queues a chunk, writing finished chunks and waiting for the oldest one while too many are queued.
+     *
+     * @param chunk The chunk.
+     * @throws IOException If writing queued chunks fails.
+     */
+    private void enqueue(final Chunk chunk) throws IOException {
+        this.pending.addLast(chunk);
+        drain(this.maxPending);
+    }
+
+    /**
+     * Writes queued chunks in order until at most {@code keep} remain, then keeps writing as long as the oldest chunk
+     * is ready.
+     *
+     * @param keep The number of chunks that may stay queued.
+     * @throws IOException If a block failed to compress or writing fails.
+     */
+    private void drain(final int keep) throws IOException {
+        Chunk chunk;
+        while (null != (chunk = this.pending.peekFirst()) && (this.pending.size() > keep || chunk.isReady())) {
+            this.pending.removeFirst();
+            final byte[] data;
+            try {
+                data = chunk.take(this.position);
+            } catch (final IOException e) {
+                cancel();
+                throw e;
+            }
+            this.out.write(data);
+            this.position += data.length;
+        }
+    }
+
+    /**
+     * Compresses one block into raw deflate data. Blocks other than the last end with a sync flush.
+     *
+     * @param data       The block data.
+     * @param length     The number of bytes in the block.
+     * @param dictionary The previous block of the stream, or {@code null} for the first block.
+     * @param level      The compression level.
+     * @param last       Whether it is the last block of the stream.
+     * @return The compressed data.
+     */
+    private static byte[] deflate(
+            final byte[] data,
+            final int length,
+            final byte[] dictionary,
+            final int level,
+            final boolean last) {
+        final Deflater[] deflaters = DEFLATERS.get();
+        Deflater deflater = deflaters[level + 1];
+        if (null == deflater) {
+            deflater = new Deflater(level, true);
+            deflaters[level + 1] = deflater;
+        }
+        deflater.reset();
+        if (null != dictionary) {
+            deflater.setDictionary(dictionary, dictionary.length - DICTIONARY_SIZE, DICTIONARY_SIZE);
+        }
+        deflater.setInput(data, 0, length);
+        if (last) {
+            deflater.finish();
+        }
+
+        byte[] buffer = new byte[Math.max(Normal._1024, length >> 1)];
+        int count = 0;
+        while (true) {
+            final int available = buffer.length - count;
+            final int n = deflater.deflate(buffer, count, available, last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+            count += n;
+            // A sync flush is complete once it leaves output space unused; the last block once the stream finished.
+            if (last ? deflater.finished() : n < available) {
+                break;
+            }
+            if (count == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length << 1);
+            }
+        }
+        deflater.setInput(Normal.EMPTY_BYTE_ARRAY);
+        return Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * The checksum and sizes of one deflate stream.
+     */
+    static final class Summary {
+
+        /**
+         * The CRC-32 of the uncompressed data.
+         */
+        long crc;
+
+        /**
+         * The number of uncompressed bytes.
+         */
+        long size;
+
+        /**
+         * The number of compressed bytes written so far.
+         */
+        long compressedSize;
+
+    }
+
+    /**
+     * A queued piece of output.
+     */
+    private interface Chunk {
+
+        /**
+         * Whether the data can be taken without waiting.
+         *
+         * @return {@code true} if the chunk is ready.
+         */
+        default boolean isReady() {
+            return true;
+        }
+
+        /**
+         * Takes the data of the chunk, waiting for it if necessary.
+         *
+         * @param position The position the data will be written at.
+         * @return The data.
+         * @throws IOException If the data could not be produced.
+         */
+        byte[] take(long position) throws IOException;
+
+    }
+
+    /**
+     * A compressed block.
+     *
+     * @param future  The compression task.
+     * @param summary The summary of the stream the block belongs to.
+     */
+    private record BlockChunk(Future<byte[]> future, Summary summary) implements Chunk {
+
+        /**
+         * Whether the block has been compressed.
+         *
+         * @return {@code true} if the compression task is done.
+         */
+        @Override
+        public boolean isReady() {
+            return future.isDone();
+        }
+
+        /**
+         * Waits for the compressed block and adds its length to the stream's compressed size.
+         *
+         * @param position The position the data will be written at.
+         * @return The compressed block.
+         * @throws IOException If compression failed or the wait was interrupted.
+         */
+        @Override
+        public byte[] take(final long position) throws IOException {
+            final byte[] data;
+            try {
+                data = future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } catch (final ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+            summary.compressedSize += data.length;
+            return data;
+        }
+
+    }
+
+}
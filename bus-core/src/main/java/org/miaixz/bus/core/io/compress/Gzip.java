@@ -23,6 +23,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.concurrent.ForkJoinPool;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -47,6 +48,11 @@ public class Gzip implements Closeable {
      */
     private OutputStream target;
 
+    /**
+     * The pool compressing blocks in parallel, {@code null} to compress on the calling thread.
+     */
+    private ForkJoinPool pool;
+
     /**
      * Constructs a new Gzip instance.
      *
@@ -78,6 +84,19 @@ public class Gzip implements Closeable {
         return this.target;
     }
 
+    /**
+     * Compresses in parallel on the given pool, in the style of pigz. The output is a single standard gzip member,
+     * readable by {@link GZIPInputStream}. Has no effect when the target is already a {@link GZIPOutputStream}.
+     *
+     * @param pool The pool compressing the blocks, {@code null} to compress on the calling thread.
+     * @return This Gzip instance.
+     * @see ParallelGzipOutputStream
+     */
+    public Gzip parallel(final ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
     /**
      * Compresses the normal data stream.
      *
@@ -85,6 +104,13 @@ public class Gzip implements Closeable {
      */
     public Gzip gzip() {
         try {
+            if (null != this.pool && !(target instanceof GZIPOutputStream)) {
+                final ParallelGzipOutputStream gzip = new ParallelGzipOutputStream(target, this.pool);
+                target = gzip;
+                IoKit.copy(source, gzip);
+                gzip.finish();
+                return this;
+            }
             target = (target instanceof GZIPOutputStream) ? (GZIPOutputStream) target : new GZIPOutputStream(target);
             IoKit.copy(source, target);
             ((GZIPOutputStream) target).finish();
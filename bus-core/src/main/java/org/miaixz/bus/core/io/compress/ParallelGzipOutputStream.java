@@ -0,0 +1,184 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.core.io.compress;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A gzip output stream that compresses on a {@link ForkJoinPool}, in the style of pigz. The input is cut into blocks
+ * that are deflated in parallel and stitched into a single gzip member, so the output is readable by
+ * {@link java.util.zip.GZIPInputStream} and any other gzip implementation. At most two blocks per worker are held in
+ * memory at a time.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    /**
+     * The gzip member header: magic number, deflate method, no flags, no modification time, no extra flags, unknown
+     * operating system. This is the header written by {@link GZIPOutputStream}.
+     */
+    private static final byte[] HEADER = { 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    /**
+     * The target output stream.
+     */
+    private final OutputStream out;
+
+    /**
+     * The parallel block compressor.
+     */
+    private final BlockDeflater deflater;
+
+    /**
+     * Whether the gzip trailer has been written.
+     */
+    private boolean finished;
+
+    /**
+     * Constructs a new stream compressing on the common pool.
+     *
+     * @param out The target output stream.
+     * @throws IOException If the header cannot be written.
+     */
+    public ParallelGzipOutputStream(final OutputStream out) throws IOException {
+        this(out, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new stream compressing on the given pool.
+     *
+     * @param out  The target output stream.
+     * @param pool The pool compressing the blocks.
+     * @throws IOException If the header cannot be written.
+     */
+    public ParallelGzipOutputStream(final OutputStream out, final ForkJoinPool pool) throws IOException {
+        this.out = out;
+        this.deflater = new BlockDeflater(out, pool);
+        this.deflater.emit(position -> HEADER.clone());
+        this.deflater.begin();
+    }
+
+    /**
+     * Sets the compression level of data written from now on.
+     *
+     * @param level The compression level, from 0 to 9, or -1 for the default level.
+     * @return This stream.
+     */
+    public ParallelGzipOutputStream setLevel(final int level) {
+        this.deflater.setLevel(level);
+        return this;
+    }
+
+    /**
+     * Writes a byte.
+     *
+     * @param b The byte.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    /**
+     * Writes data to be compressed.
+     *
+     * @param b   The data.
+     * @param off The start offset in the data.
+     * @param len The number of bytes to write.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (this.finished) {
+            throw new IOException("write beyond end of stream");
+        }
+        if (off < 0 || len < 0 || off > b.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        this.deflater.write(b, off, len);
+    }
+
+    /**
+     * Flushes the target stream. Blocks still being compressed are not forced out, so flushing does not stall the
+     * pipeline.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    /**
+     * Finishes writing compressed data and the gzip trailer without closing the target stream.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void finish() throws IOException {
+        if (this.finished) {
+            return;
+        }
+        this.finished = true;
+        final BlockDeflater.Summary summary = this.deflater.end();
+        this.deflater.emit(position -> {
+            final byte[] trailer = new byte[8];
+            writeInt(trailer, 0, summary.crc);
+            writeInt(trailer, 4, summary.size);
+            return trailer;
+        });
+        this.deflater.finish();
+    }
+
+    /**
+     * Finishes the gzip member and closes the target stream.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            this.deflater.cancel();
+            this.out.close();
+        }
+    }
+
+    /**
+     * Writes the low 32 bits of a value in little-endian byte order.
+     *
+     * @param buffer The buffer.
+     * @param offset The offset in the buffer.
+     * @param value  The value.
+     */
+    private static void writeInt(final byte[] buffer, final int offset, final long value) {
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >>> 8);
+        buffer[offset + 2] = (byte) (value >>> 16);
+        buffer[offset + 3] = (byte) (value >>> 24);
+    }
+
+}
@@ -0,0 +1,573 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.core.io.compress;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A zip output stream that compresses on a {@link ForkJoinPool}, in the style of pigz.
+ * <p>
+ * Entry data is cut into blocks that are deflated in parallel; blocks of consecutive entries are pipelined, so both a
+ * few large files and many small files keep the workers busy. Entries are written with data descriptors, and Zip64
+ * records are added exactly where {@link ZipOutputStream} adds them (entries or offsets beyond 4 GiB, more than 65534
+ * entries), so the archive is readable by {@link java.util.zip.ZipFile} and {@link java.util.zip.ZipInputStream}. At
+ * most two blocks per worker are held in memory at a time.
+ * <p>
+ * Only {@link ZipEntry#DEFLATED} entries are supported.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class ParallelZipOutputStream extends ZipOutputStream {
+
+    /**
+     * Signature of a local file header.
+     */
+    private static final int LOCSIG = 0x04034b50;
+
+    /**
+     * Signature of a data descriptor.
+     */
+    private static final int EXTSIG = 0x08074b50;
+
+    /**
+     * Signature of a central directory file header.
+     */
+    private static final int CENSIG = 0x02014b50;
+
+    /**
+     * Signature of the end of central directory record.
+     */
+    private static final int ENDSIG = 0x06054b50;
+
+    /**
+     * Signature of the Zip64 end of central directory record.
+     */
+    private static final int ZIP64_ENDSIG = 0x06064b50;
+
+    /**
+     * Signature of the Zip64 end of central directory locator.
+     */
+    private static final int ZIP64_LOCSIG = 0x07064b50;
+
+    /**
+     * Header ID of the Zip64 extended information extra field.
+     */
+    private static final int ZIP64_EXTID = 0x0001;
+
+    /**
+     * Sizes and offsets at or beyond this value are stored in Zip64 fields.
+     */
+    private static final long ZIP64_MAGICVAL = 0xFFFFFFFFL;
+
+    /**
+     * Entry counts at or beyond this value are stored in Zip64 records.
+     */
+    private static final int ZIP64_MAGICCOUNT = 0xFFFF;
+
+    /**
+     * Version needed to extract deflated entries.
+     */
+    private static final int VERSION_20 = 20;
+
+    /**
+     * Version needed to extract Zip64 entries.
+     */
+    private static final int VERSION_45 = 45;
+
+    /**
+     * General purpose flag: sizes and CRC follow the data in a data descriptor.
+     */
+    private static final int FLAG_DATA_DESCRIPTOR = 0x08;
+
+    /**
+     * General purpose flag: entry names and comments are encoded in UTF-8.
+     */
+    private static final int FLAG_UTF8 = 0x800;
+
+    /**
+     * The charset of entry names and the archive comment.
+     */
+    private final Charset charset;
+
+    /**
+     * The parallel block compressor.
+     */
+    private final BlockDeflater deflater;
+
+    /**
+     * Entries written so far, in order.
+     */
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Names of the entries written so far.
+     */
+    private final Set<String> names = new HashSet<>();
+
+    /**
+     * The archive comment, encoded.
+     */
+    private byte[] comment;
+
+    /**
+     * The entry being written, {@code null} between entries.
+     */
+    private Entry current;
+
+    /**
+     * Whether the central directory has been written.
+     */
+    private boolean finished;
+
+    /**
+     * Constructs a new stream compressing on the common pool.
+     *
+     * @param out     The target output stream.
+     * @param charset The charset of entry names and the archive comment.
+     */
+    public ParallelZipOutputStream(final OutputStream out, final Charset charset) {
+        this(out, charset, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new stream compressing on the given pool.
+     *
+     * @param out     The target output stream.
+     * @param charset The charset of entry names and the archive comment.
+     * @param pool    The pool compressing the blocks.
+     */
+    public ParallelZipOutputStream(final OutputStream out, final Charset charset, final ForkJoinPool pool) {
+        super(out, charset);
+        this.charset = charset;
+        this.deflater = new BlockDeflater(out, pool);
+    }
+
+    /**
+     * Sets the archive comment.
+     *
+     * @param comment The comment, or {@code null} for none.
+     * @throws IllegalArgumentException If the encoded comment is longer than 65535 bytes.
+     */
+    @Override
+    public void setComment(final String comment) {
+        if (null == comment) {
+            this.comment = null;
+            return;
+        }
+        final byte[] bytes = comment.getBytes(this.charset);
+        if (bytes.length > 0xffff) {
+            throw new IllegalArgumentException("ZIP file comment too long.");
+        }
+        this.comment = bytes;
+    }
+
+    /**
+     * Sets the default compression method. Only {@link ZipEntry#DEFLATED} is supported.
+     *
+     * @param method The compression method.
+     * @throws IllegalArgumentException If the method is not {@link ZipEntry#DEFLATED}.
+     */
+    @Override
+    public void setMethod(final int method) {
+        if (DEFLATED != method) {
+            throw new IllegalArgumentException("Parallel zip only supports DEFLATED entries");
+        }
+    }
+
+    /**
+     * Sets the compression level of data written from now on.
+     *
+     * @param level The compression level, from 0 to 9, or -1 for the default level.
+     */
+    @Override
+    public void setLevel(final int level) {
+        this.deflater.setLevel(level);
+    }
+
+    /**
+     * Begins a new entry, closing the current one if any.
+     *
+     * @param e The entry.
+     * @throws IOException If an I/O error occurs or the entry is a duplicate or not deflated.
+     */
+    @Override
+    public void putNextEntry(final ZipEntry e) throws IOException {
+        ensureOpen();
+        if (null != this.current) {
+            closeEntry();
+        }
+        if (STORED == e.getMethod()) {
+            throw new ZipException("Parallel zip only supports DEFLATED entries: " + e.getName());
+        }
+        if (!this.names.add(e.getName())) {
+            throw new ZipException("duplicate entry: " + e.getName());
+        }
+        final byte[] name = e.getName().getBytes(this.charset);
+        if (name.length > 0xffff) {
+            throw new IllegalArgumentException("entry name too long");
+        }
+        final int flag = FLAG_DATA_DESCRIPTOR | (StandardCharsets.UTF_8.equals(this.charset) ? FLAG_UTF8 : 0);
+        final long time = -1 == e.getTime() ? System.currentTimeMillis() : e.getTime();
+        final Entry entry = new Entry(name, flag, dosTime(time));
+        this.entries.add(entry);
+        this.current = entry;
+
+        this.deflater.emit(position -> {
+            entry.offset = position;
+            final ByteArrayOutputStream header = new ByteArrayOutputStream(30 + name.length);
+            writeInt(header, LOCSIG);
+            writeShort(header, VERSION_20);
+            writeShort(header, entry.flag);
+            writeShort(header, DEFLATED);
+            writeInt(header, entry.time);
+            // CRC and sizes follow in the data descriptor
+            writeInt(header, 0);
+            writeInt(header, 0);
+            writeInt(header, 0);
+            writeShort(header, name.length);
+            writeShort(header, 0);
+            header.writeBytes(name);
+            return header.toByteArray();
+        });
+        this.deflater.begin();
+    }
+
+    /**
+     * Writes data of the current entry.
+     *
+     * @param b   The data.
+     * @param off The start offset in the data.
+     * @param len The number of bytes to write.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public synchronized void write(final byte[] b, final int off, final int len) throws IOException {
+        ensureOpen();
+        if (off < 0 || len < 0 || off > b.length - len) {
+            throw new IndexOutOfBoundsException();
+        } else if (len == 0) {
+            return;
+        }
+        if (null == this.current) {
+            throw new ZipException("no current ZIP entry");
+        }
+        this.deflater.write(b, off, len);
+    }
+
+    /**
+     * Closes the current entry. Its data may still be compressing; the data descriptor is queued behind it.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void closeEntry() throws IOException {
+        ensureOpen();
+        final Entry entry = this.current;
+        if (null == entry) {
+            return;
+        }
+        this.current = null;
+        entry.summary = this.deflater.end();
+        this.deflater.emit(position -> {
+            final BlockDeflater.Summary summary = entry.summary;
+            final ByteArrayOutputStream descriptor = new ByteArrayOutputStream(24);
+            writeInt(descriptor, EXTSIG);
+            writeInt(descriptor, summary.crc);
+            if (summary.compressedSize >= ZIP64_MAGICVAL || summary.size >= ZIP64_MAGICVAL) {
+                writeLong(descriptor, summary.compressedSize);
+                writeLong(descriptor, summary.size);
+            } else {
+                writeInt(descriptor, summary.compressedSize);
+                writeInt(descriptor, summary.size);
+            }
+            return descriptor.toByteArray();
+        });
+    }
+
+    /**
+     * Finishes writing the entries and the central directory without closing the target stream.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void finish() throws IOException {
+        if (this.finished) {
+            return;
+        }
+        if (null != this.current) {
+            closeEntry();
+        }
+        this.deflater.finish();
+        this.finished = true;
+
+        final long offset = this.deflater.position();
+        long length = 0;
+        for (final Entry entry : this.entries) {
+            final byte[] header = centralHeader(entry);
+            this.out.write(header);
+            length += header.length;
+        }
+        this.out.write(end(offset, length, offset + length));
+    }
+
+    /**
+     * Finishes the archive and closes the target stream.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            this.deflater.cancel();
+        }
+    }
+
+    /**
+     * Checks that the stream has not been finished.
+     *
+     * @throws IOException If the central directory has already been written.
+     */
+    private void ensureOpen() throws IOException {
+        if (this.finished) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * Builds the central directory file header of an entry.
+     *
+     * @param entry The entry.
+     * @return The header.
+     */
+    private static byte[] centralHeader(final Entry entry) {
+        final BlockDeflater.Summary summary = entry.summary;
+        long compressedSize = summary.compressedSize;
+        long size = summary.size;
+        long offset = entry.offset;
+        int zip64Length = 0;
+        if (size >= ZIP64_MAGICVAL) {
+            size = ZIP64_MAGICVAL;
+            zip64Length += 8;
+        }
+        if (compressedSize >= ZIP64_MAGICVAL) {
+            compressedSize = ZIP64_MAGICVAL;
+            zip64Length += 8;
+        }
+        if (offset >= ZIP64_MAGICVAL) {
+            offset = ZIP64_MAGICVAL;
+            zip64Length += 8;
+        }
+        final int version = 0 == zip64Length ? VERSION_20 : VERSION_45;
+        final ByteArrayOutputStream header = new ByteArrayOutputStream(46 + entry.name.length + 28);
+        writeInt(header, CENSIG);
+        writeShort(header, version);
+        writeShort(header, version);
+        writeShort(header, entry.flag);
+        writeShort(header, DEFLATED);
+        writeInt(header, entry.time);
+        writeInt(header, summary.crc);
+        writeInt(header, compressedSize);
+        writeInt(header, size);
+        writeShort(header, entry.name.length);
+        writeShort(header, 0 == zip64Length ? 0 : zip64Length + 4);
+        // Comment length, disk number, internal and external attributes
+        writeShort(header, 0);
+        writeShort(header, 0);
+        writeShort(header, 0);
+        writeInt(header, 0);
+        writeInt(header, offset);
+        header.writeBytes(entry.name);
+        if (0 != zip64Length) {
+            writeShort(header, ZIP64_EXTID);
+            writeShort(header, zip64Length);
+            if (ZIP64_MAGICVAL == size) {
+                writeLong(header, summary.size);
+            }
+            if (ZIP64_MAGICVAL == compressedSize) {
+                writeLong(header, summary.compressedSize);
+            }
+            if (ZIP64_MAGICVAL == offset) {
+                writeLong(header, entry.offset);
+            }
+        }
+        return header.toByteArray();
+    }
+
+    /**
+     * Builds the end of central directory record, preceded by the Zip64 record and locator when needed.
+     *
+     * @param offset    The offset of the central directory.
+     * @param length    The length of the central directory.
+     * @param zip64Base The offset the Zip64 record would be written at.
+     * @return The end records.
+     */
+    private byte[] end(final long offset, final long length, final long zip64Base) {
+        final int count = this.entries.size();
+        final boolean zip64 = offset >= ZIP64_MAGICVAL || length >= ZIP64_MAGICVAL || count >= ZIP64_MAGICCOUNT;
+        final ByteArrayOutputStream end = new ByteArrayOutputStream(98);
+        if (zip64) {
+            writeInt(end, ZIP64_ENDSIG);
+            // Size of the remaining record
+            writeLong(end, 44);
+            writeShort(end, VERSION_45);
+            writeShort(end, VERSION_45);
+            writeInt(end, 0);
+            writeInt(end, 0);
+            writeLong(end, count);
+            writeLong(end, count);
+            writeLong(end, length);
+            writeLong(end, offset);
+
+            writeInt(end, ZIP64_LOCSIG);
+            writeInt(end, 0);
+            writeLong(end, zip64Base);
+            writeInt(end, 1);
+        }
+        writeInt(end, ENDSIG);
+        writeShort(end, 0);
+        writeShort(end, 0);
+        writeShort(end, Math.min(count, ZIP64_MAGICCOUNT));
+        writeShort(end, Math.min(count, ZIP64_MAGICCOUNT));
+        writeInt(end, Math.min(length, ZIP64_MAGICVAL));
+        writeInt(end, Math.min(offset, ZIP64_MAGICVAL));
+        if (null == this.comment) {
+            writeShort(end, 0);
+        } else {
+            writeShort(end, this.comment.length);
+            end.writeBytes(this.comment);
+        }
+        return end.toByteArray();
+    }
+
+    /**
+     * Converts a Java time to an MS-DOS date and time, as stored in zip headers.
+     *
+     * @param time The time in milliseconds.
+     * @return The MS-DOS date and time.
+     */
+    private static long dosTime(final long time) {
+        final LocalDateTime local = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        final int year = local.getYear();
+        if (year < 1980) {
+            // 1980-01-01 00:00, the earliest MS-DOS date
+            return (1 << 21) | (1 << 16);
+        }
+        return ((long) (year - 1980) << 25) | ((long) local.getMonthValue() << 21)
+                | ((long) local.getDayOfMonth() << 16) | ((long) local.getHour() << 11)
+                | ((long) local.getMinute() << 5) | ((long) local.getSecond() >> 1);
+    }
+
+    /**
+     * Writes a 16-bit value in little-endian byte order.
+     *
+     * @param out The buffer.
+     * @param v   The value.
+     */
+    private static void writeShort(final ByteArrayOutputStream out, final int v) {
+        out.write(v & 0xff);
+        out.write((v >>> 8) & 0xff);
+    }
+
+    /**
+     * Writes the low 32 bits of a value in little-endian byte order.
+     *
+     * @param out The buffer.
+     * @param v   The value.
+     */
+    private static void writeInt(final ByteArrayOutputStream out, final long v) {
+        writeShort(out, (int) (v & 0xffff));
+        writeShort(out, (int) ((v >>> 16) & 0xffff));
+    }
+
+    /**
+     * Writes a 64-bit value in little-endian byte order.
+     *
+     * @param out The buffer.
+     * @param v   The value.
+     */
+    private static void writeLong(final ByteArrayOutputStream out, final long v) {
+        writeInt(out, v);
+        writeInt(out, v >>> 32);
+    }
+
+    /**
+     * An entry of the archive.
+     */
+    private static final class Entry {
+
+        /**
+         * The encoded entry name.
+         */
+        final byte[] name;
+
+        /**
+         * The general purpose flag.
+         */
+        final int flag;
+
+        /**
+         * The MS-DOS modification date and time.
+         */
+        final long time;
+
+        /**
+         * The offset of the local file header, known once the header is written.
+         */
+        long offset;
+
+        /**
+         * The checksum and sizes of the entry data, known once the entry is closed.
+         */
+        BlockDeflater.Summary summary;
+
+        /**
+         * Constructs a new entry.
+         *
+         * @param name The encoded entry name.
+         * @param flag The general purpose flag.
+         * @param time The MS-DOS modification date and time.
+         */
+        Entry(final byte[] name, final int flag, final long time) {
+            this.name = name;
+            this.flag = flag;
+            this.time = time;
+        }
+
+    }
+
+}
@@ -21,6 +21,7 @@ package org.miaixz.bus.core.io.compress;
 
 import java.io.*;
 import java.nio.charset.Charset;
+import java.util.concurrent.ForkJoinPool;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -105,6 +106,36 @@ public class ZipWriter implements Closeable {
         return new ZipWriter(out, charset);
     }
 
+    /**
+     * Creates a new ZipWriter instance that compresses entries in parallel on the given pool. The resulting archive is
+     * readable by {@link java.util.zip.ZipFile}; only deflated entries are supported.
+     *
+     * @param zipFile The Zip file to be generated.
+     * @param charset The character set to be used for Zip entry names.
+     * @param pool    The pool compressing the data, e.g. {@link ForkJoinPool#commonPool()}.
+     * @return A new ZipWriter instance.
+     * @see ParallelZipOutputStream
+     */
+    public static ZipWriter ofParallel(final File zipFile, final Charset charset, final ForkJoinPool pool) {
+        final ZipWriter writer = ofParallel(FileKit.getOutputStream(zipFile), charset, pool);
+        writer.zipFile = zipFile;
+        return writer;
+    }
+
+    /**
+     * Creates a new ZipWriter instance that compresses entries in parallel on the given pool. The resulting archive is
+     * readable by {@link java.util.zip.ZipFile}; only deflated entries are supported.
+     *
+     * @param out     The output stream to write Zip data to.
+     * @param charset The character set to be used for Zip entry names.
+     * @param pool    The pool compressing the data, e.g. {@link ForkJoinPool#commonPool()}.
+     * @return A new ZipWriter instance.
+     * @see ParallelZipOutputStream
+     */
+    public static ZipWriter ofParallel(final OutputStream out, final Charset charset, final ForkJoinPool pool) {
+        return new ZipWriter(new ParallelZipOutputStream(out, charset, pool));
+    }
+
     /**
      * Obtains a {@link ZipOutputStream} for the given Zip file and charset.
      *
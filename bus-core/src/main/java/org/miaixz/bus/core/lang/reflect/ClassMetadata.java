@@ -0,0 +1,444 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.core.lang.reflect;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.miaixz.bus.core.lang.Symbol;
+import org.miaixz.bus.core.lang.exception.InternalException;
+import org.miaixz.bus.core.xyz.IoKit;
+
+/**
+ * Class information read directly from a class file, without loading the class. Only the constant pool, the access
+ * flags, the super types and the runtime visible class annotations are parsed, which is enough for a
+ * {@link ClassScanner} to decide whether a class is worth loading.
+ * <p>
+ * Super type checks walk the hierarchy through a resolver supplied by the scanner. When part of the hierarchy cannot be
+ * read, the checks answer {@code true}, so that the class is loaded and checked exactly instead of being missed.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class ClassMetadata {
+
+    /**
+     * Magic number of class files.
+     */
+    private static final int MAGIC = 0xCAFEBABE;
+
+    /**
+     * Access flag of module descriptors.
+     */
+    private static final int ACC_MODULE = 0x8000;
+
+    /**
+     * Access flag of annotation interfaces.
+     */
+    private static final int ACC_ANNOTATION = 0x2000;
+
+    /**
+     * Name of the class attribute holding the runtime visible annotations.
+     */
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    /**
+     * The binary name of the class, e.g. {@code org.miaixz.Foo$Bar}.
+     */
+    private final String className;
+
+    /**
+     * The binary name of the super class, {@code null} for {@code java.lang.Object} and module descriptors.
+     */
+    private final String superClassName;
+
+    /**
+     * The binary names of the directly implemented interfaces.
+     */
+    private final Set<String> interfaceNames;
+
+    /**
+     * The binary names of the runtime visible annotations declared on the class.
+     */
+    private final Set<String> annotationNames;
+
+    /**
+     * The access flags of the class.
+     */
+    private final int access;
+
+    /**
+     * Resolves the metadata of other classes by binary name, returning {@code null} if it cannot be read.
+     */
+    private volatile Function<String, ClassMetadata> resolver;
+
+    /**
+     * Constructs a new {@code ClassMetadata}.
+     *
+     * @param className       The binary name of the class.
+     * @param superClassName  The binary name of the super class.
+     * @param interfaceNames  The binary names of the directly implemented interfaces.
+     * @param annotationNames The binary names of the runtime visible annotations.
+     * @param access          The access flags.
+     */
+    private ClassMetadata(final String className, final String superClassName, final Set<String> interfaceNames,
+            final Set<String> annotationNames, final int access) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+        this.annotationNames = annotationNames;
+        this.access = access;
+    }
+
+    /**
+     * Reads the metadata from class file bytes.
+     *
+     * @param bytes The class file bytes.
+     * @return The class metadata.
+     * @throws InternalException If the bytes are not a valid class file.
+     */
+    public static ClassMetadata of(final byte[] bytes) throws InternalException {
+        return of(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Reads the metadata from a class file stream. The stream is closed after reading.
+     *
+     * @param in The class file stream.
+     * @return The class metadata.
+     * @throws InternalException If an I/O error occurs or the stream is not a valid class file.
+     */
+    public static ClassMetadata of(final InputStream in) throws InternalException {
+        try (final DataInputStream data = new DataInputStream(IoKit.toBuffered(in))) {
+            return read(data);
+        } catch (final IOException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Gets the binary name of the class.
+     *
+     * @return The binary name of the class.
+     */
+    public String getClassName() {
+        return this.className;
+    }
+
+    /**
+     * Gets the binary name of the super class.
+     *
+     * @return The binary name of the super class, {@code null} for {@code java.lang.Object}.
+     */
+    public String getSuperClassName() {
+        return this.superClassName;
+    }
+
+    /**
+     * Gets the binary names of the directly implemented interfaces.
+     *
+     * @return The interface names.
+     */
+    public Set<String> getInterfaceNames() {
+        return this.interfaceNames;
+    }
+
+    /**
+     * Gets the binary names of the runtime visible annotations declared on the class.
+     *
+     * @return The annotation names.
+     */
+    public Set<String> getAnnotationNames() {
+        return this.annotationNames;
+    }
+
+    /**
+     * Gets the access flags of the class.
+     *
+     * @return The access flags.
+     */
+    public int getAccess() {
+        return this.access;
+    }
+
+    /**
+     * Whether the class is an interface, including annotation interfaces.
+     *
+     * @return {@code true} if the class is an interface.
+     */
+    public boolean isInterface() {
+        return Modifier.isInterface(this.access);
+    }
+
+    /**
+     * Whether the class is an annotation interface.
+     *
+     * @return {@code true} if the class is an annotation interface.
+     */
+    public boolean isAnnotation() {
+        return (this.access & ACC_ANNOTATION) != 0;
+    }
+
+    /**
+     * Whether the class is abstract, including interfaces.
+     *
+     * @return {@code true} if the class is abstract.
+     */
+    public boolean isAbstract() {
+        return Modifier.isAbstract(this.access);
+    }
+
+    /**
+     * Whether the class file is a module descriptor ({@code module-info.class}).
+     *
+     * @return {@code true} if the class file is a module descriptor.
+     */
+    public boolean isModule() {
+        return (this.access & ACC_MODULE) != 0;
+    }
+
+    /**
+     * Whether the class carries the given annotation.
+     *
+     * @param annotationName The binary name of the annotation.
+     * @param inherited      Whether to also look at super classes, as for {@link java.lang.annotation.Inherited}
+     *                       annotations.
+     * @return {@code true} if the annotation is present, or if it may be inherited from a super class that cannot be
+     *         read.
+     */
+    public boolean hasAnnotation(final String annotationName, final boolean inherited) {
+        if (this.annotationNames.contains(annotationName)) {
+            return true;
+        }
+        if (!inherited || null == this.superClassName) {
+            return false;
+        }
+        final ClassMetadata parent = resolve(this.superClassName);
+        return null == parent || parent.hasAnnotation(annotationName, true);
+    }
+
+    /**
+     * Whether the class is a subtype of the given type, excluding the type itself.
+     *
+     * @param typeName The binary name of the super class or interface.
+     * @return {@code true} if the class extends or implements the type, or if part of its hierarchy cannot be read.
+     */
+    public boolean isSubtypeOf(final String typeName) {
+        if (typeName.equals(this.superClassName) || this.interfaceNames.contains(typeName)) {
+            return true;
+        }
+        if (null != this.superClassName) {
+            final ClassMetadata parent = resolve(this.superClassName);
+            if (null == parent || parent.isSubtypeOf(typeName)) {
+                return true;
+            }
+        }
+        for (final String interfaceName : this.interfaceNames) {
+            final ClassMetadata parent = resolve(interfaceName);
+            if (null == parent || parent.isSubtypeOf(typeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the resolver used to read the metadata of super types.
+     *
+     * @param resolver Resolves metadata by binary name, returning {@code null} if it cannot be read.
+     * @return this
+     */
+    ClassMetadata setResolver(final Function<String, ClassMetadata> resolver) {
+        this.resolver = resolver;
+        return this;
+    }
+
+    /**
+     * Returns the class name.
+     *
+     * @return The class name.
+     */
+    @Override
+    public String toString() {
+        return this.className;
+    }
+
+    /**
+     * Resolves the metadata of a super type.
+     *
+     * @param name The binary name of the super type.
+     * @return The metadata, or {@code null} if no resolver is set or the class file cannot be read.
+     */
+    private ClassMetadata resolve(final String name) {
+        final Function<String, ClassMetadata> resolver = this.resolver;
+        return null == resolver ? null : resolver.apply(name);
+    }
+
+    /**
+     * Parses a class file.
+     *
+     * @param data The class file stream.
+     * @return The class metadata.
+     * @throws IOException If an I/O error occurs or the stream is not a valid class file.
+     */
+    private static ClassMetadata read(final DataInputStream data) throws IOException {
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        // minor_version, major_version
+        data.skipBytes(4);
+
+        // Only UTF-8 entries and class references are kept, everything else is skipped
+        final int poolSize = data.readUnsignedShort();
+        final String[] utf8 = new String[poolSize];
+        final int[] classes = new int[poolSize];
+        for (int i = 1; i < poolSize; i++) {
+            final int tag = data.readUnsignedByte();
+            switch (tag) {
+                case 1 -> utf8[i] = data.readUTF();
+                case 7 -> classes[i] = data.readUnsignedShort();
+                case 8, 16, 19, 20 -> data.skipBytes(2);
+                case 15 -> data.skipBytes(3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> data.skipBytes(4);
+                case 5, 6 -> {
+                    data.skipBytes(8);
+                    // Long and double constants take two slots
+                    i++;
+                }
+                default -> throw new IOException("Unknown constant pool tag: " + tag);
+            }
+        }
+
+        final int access = data.readUnsignedShort();
+        final String className = classNameAt(utf8, classes, data.readUnsignedShort());
+        final String superClassName = classNameAt(utf8, classes, data.readUnsignedShort());
+        final int interfaceCount = data.readUnsignedShort();
+        final Set<String> interfaceNames = new HashSet<>(interfaceCount * 2);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaceNames.add(classNameAt(utf8, classes, data.readUnsignedShort()));
+        }
+
+        // Fields and methods
+        for (int m = 0; m < 2; m++) {
+            final int memberCount = data.readUnsignedShort();
+            for (int i = 0; i < memberCount; i++) {
+                // access_flags, name_index, descriptor_index
+                data.skipBytes(6);
+                skipAttributes(data);
+            }
+        }
+
+        Set<String> annotationNames = Collections.emptySet();
+        final int attributeCount = data.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            final String name = utf8[data.readUnsignedShort()];
+            final int length = data.readInt();
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(name)) {
+                final int annotationCount = data.readUnsignedShort();
+                annotationNames = new HashSet<>(annotationCount * 2);
+                for (int j = 0; j < annotationCount; j++) {
+                    annotationNames.add(readAnnotation(data, utf8));
+                }
+            } else {
+                data.skipBytes(length);
+            }
+        }
+
+        return new ClassMetadata(className, superClassName, Collections.unmodifiableSet(interfaceNames),
+                Collections.unmodifiableSet(annotationNames), access);
+    }
+
+    /**
+     * Skips the attribute table of a field or method.
+     *
+     * @param data The class file stream.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void skipAttributes(final DataInputStream data) throws IOException {
+        final int attributeCount = data.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            data.skipBytes(2);
+            data.skipBytes(data.readInt());
+        }
+    }
+
+    /**
+     * Reads an annotation and skips its element values.
+     *
+     * @param data The class file stream.
+     * @param utf8 The UTF-8 entries of the constant pool.
+     * @return The binary name of the annotation type.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static String readAnnotation(final DataInputStream data, final String[] utf8) throws IOException {
+        final String descriptor = utf8[data.readUnsignedShort()];
+        final int pairCount = data.readUnsignedShort();
+        for (int i = 0; i < pairCount; i++) {
+            // element_name_index
+            data.skipBytes(2);
+            skipElementValue(data, utf8);
+        }
+        // Descriptor form: Lorg/miaixz/Foo;
+        return descriptor.substring(1, descriptor.length() - 1).replace(Symbol.C_SLASH, Symbol.C_DOT);
+    }
+
+    /**
+     * Skips an annotation element value.
+     *
+     * @param data The class file stream.
+     * @param utf8 The UTF-8 entries of the constant pool.
+     * @throws IOException If an I/O error occurs or the tag is unknown.
+     */
+    private static void skipElementValue(final DataInputStream data, final String[] utf8) throws IOException {
+        final int tag = data.readUnsignedByte();
+        switch (tag) {
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> data.skipBytes(2);
+            case 'e' -> data.skipBytes(4);
+            case '@' -> readAnnotation(data, utf8);
+            case '[' -> {
+                final int count = data.readUnsignedShort();
+                for (int i = 0; i < count; i++) {
+                    skipElementValue(data, utf8);
+                }
+            }
+            default -> throw new IOException("Unknown element value tag: " + (char) tag);
+        }
+    }
+
+    /**
+     * Gets the binary name of a class constant.
+     *
+     * @param utf8    The UTF-8 entries of the constant pool.
+     * @param classes The name indexes of the class constants.
+     * @param index   The index of the class constant, {@code 0} for none.
+     * @return The binary name, or {@code null} if the index is {@code 0}.
+     */
+    private static String classNameAt(final String[] utf8, final int[] classes, final int index) {
+        return 0 == index ? null : utf8[classes[index]].replace(Symbol.C_SLASH, Symbol.C_DOT);
+    }
+
+}
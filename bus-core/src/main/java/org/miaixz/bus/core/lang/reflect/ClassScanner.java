@@ -21,13 +21,20 @@ package org.miaixz.bus.core.lang.reflect;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serial;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -46,6 +53,12 @@ import org.miaixz.bus.core.xyz.*;
 /**
  * Scans classes in packages, JARs, and classpaths. This class provides methods to find classes based on package name,
  * annotations, or superclasses/interfaces.
+ * <p>
+ * By default every class found is loaded and passed to the class filter. When a metadata filter is set (see
+ * {@link #setMetadataFilter(PredicateX)}), class files are read as {@link ClassMetadata} instead, JARs are read in
+ * parallel, and only the classes accepted by the metadata filter are loaded. The annotation and super type shortcuts
+ * use this mode. If {@link #setUseIndex(boolean)} is enabled, classpath directories and JARs that ship an
+ * {@value #INDEX_FILE} file (see {@link #writeIndex(File)}) are not walked; the listed class names are used instead.
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -55,6 +68,11 @@ public class ClassScanner implements Serializable {
     @Serial
     private static final long serialVersionUID = 2852276616111L;
 
+    /**
+     * Classpath resource listing the classes of a classpath entry, one binary class name per line.
+     */
+    public static final String INDEX_FILE = Normal.META_INF + "/class.index";
+
     /**
      * The package name to scan.
      */
@@ -92,9 +110,31 @@ public class ClassScanner implements Serializable {
     private final Set<Class<?>> classes = new HashSet<>();
 
     /**
-     * A set of class names that failed to load during scanning, if {@code ignoreLoadError} is true.
+     * A set of class names that failed to load during scanning.
+     */
+    private final Set<String> classesOfLoadError = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Metadata cache used to resolve super types in metadata mode, {@link Optional#empty()} marks unreadable classes.
+     * Created by each scan.
+     */
+    private transient Map<String, Optional<ClassMetadata>> metadataCache;
+
+    /**
+     * JAR files found while walking the classpath in metadata mode, read in parallel once the walk is done. Created by
+     * each scan.
      */
-    private final Set<String> classesOfLoadError = new HashSet<>();
+    private transient List<JarFile> pendingJars;
+
+    /**
+     * The class metadata filter. If set, class files are read without loading and only accepted classes are loaded.
+     */
+    private PredicateX<ClassMetadata> metadataFilter;
+
+    /**
+     * Flag indicating whether to use {@link #INDEX_FILE} files instead of walking the classpath, if any exist.
+     */
+    private boolean useIndex;
 
     /**
      * The class loader to use for loading classes.
@@ -167,7 +207,7 @@ public class ClassScanner implements Serializable {
     public static Set<Class<?>> scanAllPackageByAnnotation(
             final String packageName,
             final Class<? extends Annotation> annotationClass) {
-        return scanAllPackage(packageName, clazz -> clazz.isAnnotationPresent(annotationClass));
+        return byAnnotation(packageName, annotationClass).scan(true);
     }
 
     /**
@@ -181,7 +221,7 @@ public class ClassScanner implements Serializable {
     public static Set<Class<?>> scanPackageByAnnotation(
             final String packageName,
             final Class<? extends Annotation> annotationClass) {
-        return scanPackage(packageName, clazz -> clazz.isAnnotationPresent(annotationClass));
+        return byAnnotation(packageName, annotationClass).scan();
     }
 
     /**
@@ -193,7 +233,7 @@ public class ClassScanner implements Serializable {
      * @return A set of classes that are subclasses or implementations of the specified superclass/interface.
      */
     public static Set<Class<?>> scanAllPackageBySuper(final String packageName, final Class<?> superClass) {
-        return scanAllPackage(packageName, clazz -> superClass.isAssignableFrom(clazz) && !superClass.equals(clazz));
+        return bySuper(packageName, superClass).scan(true);
     }
 
     /**
@@ -206,7 +246,7 @@ public class ClassScanner implements Serializable {
      * @return A set of classes that are subclasses or implementations of the specified superclass/interface.
      */
     public static Set<Class<?>> scanPackageBySuper(final String packageName, final Class<?> superClass) {
-        return scanPackage(packageName, clazz -> superClass.isAssignableFrom(clazz) && !superClass.equals(clazz));
+        return bySuper(packageName, superClass).scan();
     }
 
     /**
@@ -266,6 +306,26 @@ public class ClassScanner implements Serializable {
         return new ClassScanner(packageName, classFilter).scan();
     }
 
+    /**
+     * Writes the {@value #INDEX_FILE} file of a compiled classes directory, typically as a build step, so that scanners
+     * with {@link #setUseIndex(boolean)} enabled can skip walking it.
+     *
+     * @param classesDir The root directory of the compiled classes.
+     * @return The written index file.
+     */
+    public static File writeIndex(final File classesDir) {
+        final String rootDir = StringKit.addSuffixIfNot(classesDir.getAbsolutePath(), File.separator);
+        final List<String> classNames = new ArrayList<>();
+        for (final File file : FileKit.loopFiles(classesDir, file -> file.getName().endsWith(FileType.CLASS))) {
+            final String fileName = file.getAbsolutePath();
+            classNames.add(
+                    fileName.substring(rootDir.length(), fileName.length() - 6)
+                            .replace(File.separatorChar, Symbol.C_DOT));
+        }
+        Collections.sort(classNames);
+        return FileKit.writeUtf8Lines(classNames, FileKit.file(classesDir, INDEX_FILE));
+    }
+
     /**
      * Scans all class files in the package path that satisfy the class filter conditions. This method first scans the
      * resource directories of the specified package. If no classes are found, it then scans all loaded classes in the
@@ -287,11 +347,16 @@ public class ClassScanner implements Serializable {
         // Clear previous scan history for multiple scans
         this.classes.clear();
         this.classesOfLoadError.clear();
+        this.metadataCache = new ConcurrentHashMap<>();
+        this.pendingJars = new ArrayList<>();
 
         for (final URL url : ResourceKit.getResourceUrlIter(this.packagePath, this.classLoader)) {
             switch (url.getProtocol()) {
                 case "file":
-                    scanFile(new File(UrlDecoder.decode(url.getFile(), this.charset)), null);
+                    final File dir = new File(UrlDecoder.decode(url.getFile(), this.charset));
+                    if (!scanIndex(new File(subPathBeforePackage(dir)))) {
+                        scanFile(dir, null);
+                    }
                     break;
 
                 case "jar":
@@ -299,10 +364,12 @@ public class ClassScanner implements Serializable {
                     break;
             }
         }
+        scanPendingJars();
 
         // If no classes are found in the classpath, or if forced, scan other JARs in the classpath.
         if (forceScanJavaClassPaths || CollKit.isEmpty(this.classes)) {
             scanJavaClassPaths();
+            scanPendingJars();
         }
 
         return Collections.unmodifiableSet(this.classes);
@@ -337,6 +404,26 @@ public class ClassScanner implements Serializable {
         this.initialize = initialize;
     }
 
+    /**
+     * Sets the class metadata filter. If set, class files are read as {@link ClassMetadata} without loading them, JARs
+     * are read in parallel, and only the classes accepted by this filter are loaded and passed to the class filter.
+     *
+     * @param metadataFilter The class metadata filter, {@code null} to load every class found.
+     */
+    public void setMetadataFilter(final PredicateX<ClassMetadata> metadataFilter) {
+        this.metadataFilter = metadataFilter;
+    }
+
+    /**
+     * Sets whether to use the {@value #INDEX_FILE} files of the classpath instead of walking directories and JARs. Each
+     * directory or JAR without an index file is still walked.
+     *
+     * @param useIndex {@code true} to use index files, {@code false} otherwise.
+     */
+    public void setUseIndex(final boolean useIndex) {
+        this.useIndex = useIndex;
+    }
+
     /**
      * Sets a custom class loader to be used for loading classes during the scan.
      *
@@ -356,7 +443,10 @@ public class ClassScanner implements Serializable {
             // Bug fix: JARs not found due to spaces and Chinese characters in the path.
             classPath = UrlDecoder.decode(classPath, Charset.defaultCharset());
 
-            scanFile(new File(classPath), null);
+            final File file = new File(classPath);
+            if (!scanIndex(file)) {
+                scanFile(file, null);
+            }
         }
     }
 
@@ -376,7 +466,11 @@ public class ClassScanner implements Serializable {
                         .substring(rootDir.length(), fileName.length() - 6)//
                         .replace(File.separatorChar, Symbol.C_DOT);//
                 // Add classes that meet the conditions
-                addIfAccept(className);
+                if (null == this.metadataFilter) {
+                    addIfAccept(className);
+                } else if (acceptPackage(className)) {
+                    addIfAccept(className, readMetadata(className, FileKit.getInputStream(file)));
+                }
             } else if (fileName.endsWith(FileType.JAR)) {
                 try {
                     scanJar(new JarFile(file));
@@ -395,11 +489,29 @@ public class ClassScanner implements Serializable {
     }
 
     /**
-     * Scans a JAR file for classes. The JAR file is closed after scanning.
+     * Scans a JAR file for classes, through its {@value #INDEX_FILE} entry if enabled and present. The JAR file is
+     * closed after scanning.
      *
      * @param jar The JAR file to scan.
      */
     private void scanJar(final JarFile jar) {
+        if (this.useIndex) {
+            final JarEntry index = jar.getJarEntry(INDEX_FILE);
+            if (null != index) {
+                try {
+                    scanIndex(jar.getInputStream(index));
+                } catch (final IOException e) {
+                    throw new InternalException(e);
+                } finally {
+                    IoKit.closeQuietly(jar);
+                }
+                return;
+            }
+        }
+        if (null != this.metadataFilter) {
+            this.pendingJars.add(jar);
+            return;
+        }
         try {
             String name;
             for (final JarEntry entry : new EnumerationIterator<>(jar.entries())) {
@@ -419,18 +531,164 @@ public class ClassScanner implements Serializable {
     }
 
     /**
-     * Loads a class by its fully qualified name.
+     * Reads the JARs collected in metadata mode in parallel, then loads the accepted classes.
+     */
+    private void scanPendingJars() {
+        if (this.pendingJars.isEmpty()) {
+            return;
+        }
+        final List<JarFile> jars = new ArrayList<>(this.pendingJars);
+        this.pendingJars.clear();
+        final List<String> accepted = jars.parallelStream().flatMap(jar -> readJar(jar).stream()).toList();
+        for (final String className : accepted) {
+            addIfAccept(loadClass(className));
+        }
+    }
+
+    /**
+     * Reads the class files of a JAR as {@link ClassMetadata} and returns the names of the classes accepted by the
+     * metadata filter. The JAR file is closed after reading.
      *
-     * @param className The fully qualified name of the class to load.
-     * @return The loaded {@code Class} object, or {@code null} if the class could not be loaded.
+     * @param jar The JAR file to read.
+     * @return The names of the accepted classes.
      */
-    protected Class<?> loadClass(final String className) {
+    private List<String> readJar(final JarFile jar) {
+        final List<String> accepted = new ArrayList<>();
+        try {
+            String name;
+            for (final JarEntry entry : new EnumerationIterator<>(jar.entries())) {
+                name = StringKit.removePrefix(entry.getName(), Symbol.SLASH);
+                if ((StringKit.isEmpty(packagePath) || name.startsWith(this.packagePath))
+                        && name.endsWith(FileType.CLASS) && !entry.isDirectory()) {
+                    final String className = name.substring(0, name.length() - 6).replace(Symbol.C_SLASH, Symbol.C_DOT);
+                    if (acceptPackage(className)) {
+                        final ClassMetadata metadata = readMetadata(className, jar.getInputStream(entry));
+                        // Unreadable class files are loaded and checked by the class filter alone
+                        if (null == metadata || this.metadataFilter.test(metadata)) {
+                            accepted.add(className);
+                        }
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new InternalException(e);
+        } finally {
+            IoKit.closeQuietly(jar);
+        }
+        return accepted;
+    }
+
+    /**
+     * Uses the {@value #INDEX_FILE} file of a classpath directory as the list of its classes, if enabled and present.
+     *
+     * @param root The root directory of the classpath entry.
+     * @return {@code true} if the index file was used, {@code false} if the directory must be walked.
+     */
+    private boolean scanIndex(final File root) {
+        if (!this.useIndex || !root.isDirectory()) {
+            return false;
+        }
+        final File index = FileKit.file(root, INDEX_FILE);
+        if (!index.isFile()) {
+            return false;
+        }
+        scanIndex(FileKit.getInputStream(index));
+        return true;
+    }
+
+    /**
+     * Scans the classes listed in an {@value #INDEX_FILE} file. The stream is closed after reading.
+     *
+     * @param index The index file stream.
+     */
+    private void scanIndex(final InputStream index) {
+        final List<String> classNames = new ArrayList<>();
+        try (final InputStream in = index) {
+            IoKit.readLines(in, classNames);
+        } catch (final IOException e) {
+            throw new InternalException(e);
+        }
+        for (final String line : classNames) {
+            final String className = StringKit.trim(line);
+            if (null == this.metadataFilter) {
+                addIfAccept(className);
+            } else if (acceptPackage(className)) {
+                addIfAccept(className, readMetadata(className, null));
+            }
+        }
+    }
+
+    /**
+     * Reads the metadata of a class file and caches it for super type resolution.
+     *
+     * @param className The binary name of the class.
+     * @param in        The class file stream, {@code null} to look it up through the class loader.
+     * @return The metadata, or {@code null} if the class file cannot be found or parsed.
+     */
+    private ClassMetadata readMetadata(final String className, InputStream in) {
+        if (null == in) {
+            in = getClassLoader().getResourceAsStream(className.replace(Symbol.C_DOT, Symbol.C_SLASH) + FileType.CLASS);
+            if (null == in) {
+                return null;
+            }
+        }
+        ClassMetadata metadata = null;
+        try {
+            metadata = ClassMetadata.of(in).setResolver(this::resolveMetadata);
+        } catch (final InternalException e) {
+            // Left to loadClass and the class filter
+        }
+        this.metadataCache.put(className, Optional.ofNullable(metadata));
+        return metadata;
+    }
+
+    /**
+     * Resolves the metadata of a super type, reading its class file through the class loader if it was not scanned.
+     *
+     * @param className The binary name of the class.
+     * @return The metadata, or {@code null} if the class file cannot be read.
+     */
+    private ClassMetadata resolveMetadata(final String className) {
+        final Optional<ClassMetadata> cached = this.metadataCache.get(className);
+        return null != cached ? cached.orElse(null) : readMetadata(className, null);
+    }
+
+    /**
+     * Checks whether a class name lies within the scanned package.
+     *
+     * @param className The binary name of the class.
+     * @return {@code true} if the class belongs to the scanned package.
+     */
+    private boolean acceptPackage(final String className) {
+        if (StringKit.isBlank(className)) {
+            return false;
+        }
+        return className.equals(this.packageName) || Symbol.DOT.equals(this.packageNameWithDot)
+                || className.startsWith(this.packageNameWithDot);
+    }
+
+    /**
+     * Gets the class loader, defaulting to {@link ClassKit#getClassLoader()}.
+     *
+     * @return The class loader.
+     */
+    private ClassLoader getClassLoader() {
         ClassLoader loader = this.classLoader;
         if (null == loader) {
             loader = ClassKit.getClassLoader();
             this.classLoader = loader;
         }
+        return loader;
+    }
 
+    /**
+     * Loads a class by its fully qualified name.
+     *
+     * @param className The fully qualified name of the class to load.
+     * @return The loaded {@code Class} object, or {@code null} if the class could not be loaded.
+     */
+    protected Class<?> loadClass(final String className) {
+        final ClassLoader loader = getClassLoader();
         Class<?> clazz = null;
         try {
             clazz = Class.forName(className, this.initialize, loader);
@@ -475,6 +733,19 @@ public class ClassScanner implements Serializable {
         }
     }
 
+    /**
+     * Loads a class read in metadata mode and adds it to the results if it satisfies both filters. If the class file
+     * could not be read, the class is loaded and checked by the class filter alone.
+     *
+     * @param className The binary name of the class.
+     * @param metadata  The class metadata, {@code null} if the class file could not be read.
+     */
+    private void addIfAccept(final String className, final ClassMetadata metadata) {
+        if (null == metadata || this.metadataFilter.test(metadata)) {
+            addIfAccept(loadClass(className));
+        }
+    }
+
     /**
      * Adds a class to the results if it is not {@code null} and satisfies the class filter.
      *
@@ -489,6 +760,40 @@ public class ClassScanner implements Serializable {
         }
     }
 
+    /**
+     * Creates a scanner for classes annotated with the given annotation, pre-filtered on the class file annotations.
+     *
+     * @param packageName     The package path.
+     * @param annotationClass The annotation class to search for.
+     * @return The scanner.
+     */
+    private static ClassScanner byAnnotation(
+            final String packageName,
+            final Class<? extends Annotation> annotationClass) {
+        final ClassScanner scanner = new ClassScanner(packageName,
+                clazz -> clazz.isAnnotationPresent(annotationClass));
+        final String annotationName = annotationClass.getName();
+        final boolean inherited = annotationClass.isAnnotationPresent(Inherited.class);
+        scanner.setMetadataFilter(metadata -> metadata.hasAnnotation(annotationName, inherited));
+        return scanner;
+    }
+
+    /**
+     * Creates a scanner for subclasses or implementations of the given type, pre-filtered on the class file super
+     * types.
+     *
+     * @param packageName The package path.
+     * @param superClass  The superclass or interface (excluded from results).
+     * @return The scanner.
+     */
+    private static ClassScanner bySuper(final String packageName, final Class<?> superClass) {
+        final ClassScanner scanner = new ClassScanner(packageName,
+                clazz -> superClass.isAssignableFrom(clazz) && !superClass.equals(clazz));
+        final String superClassName = superClass.getName();
+        scanner.setMetadataFilter(metadata -> metadata.isSubtypeOf(superClassName));
+        return scanner;
+    }
+
     /**
      * Extracts the path segment before the package name from an absolute file path.
      *
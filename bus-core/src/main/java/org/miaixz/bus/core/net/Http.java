@@ -1659,6 +1659,16 @@ public final class Http {
          */
         public static final String PROTOCOL = "Sec-WebSocket-Protocol";
 
+        /**
+         * WebSocket extension negotiation header name.
+         */
+        public static final String EXTENSIONS = "Sec-WebSocket-Extensions";
+
+        /**
+         * RFC 7692 per-message DEFLATE extension token.
+         */
+        public static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
         /**
          * WebSocket HTTP upgrade token.
          */
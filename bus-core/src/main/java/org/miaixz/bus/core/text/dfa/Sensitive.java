@@ -19,6 +19,7 @@
 */
 package org.miaixz.bus.core.text.dfa;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -34,6 +35,9 @@ import org.miaixz.bus.core.xyz.ThreadKit;
 /**
  * Filters sensitive words based on the DFA (Deterministic Finite Automaton) algorithm. This class provides methods to
  * initialize a sensitive word dictionary and perform sensitive word detection and filtering.
+ * <p>
+ * The dictionary is compiled into an immutable {@link WordTrie} which is swapped in atomically, so texts scanned during
+ * a re-initialization see either the old or the new dictionary, never a partial one.
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -53,9 +57,19 @@ public class Sensitive {
     public static final String DEFAULT_SEPARATOR = Symbol.COMMA;
 
     /**
-     * The underlying {@link WordTree} instance used to store and search for sensitive words.
+     * The sensitive words the dictionary was built from, kept to rebuild it when the character filter changes.
      */
-    private static final WordTree sensitiveTree = new WordTree();
+    private static volatile List<String> sensitiveWords = new ArrayList<>();
+
+    /**
+     * The character filter applied to the sensitive words and the scanned texts.
+     */
+    private static volatile PredicateX<Character> charFilter = StopChar::isNotStopChar;
+
+    /**
+     * The underlying {@link WordTrie} instance used to search for sensitive words.
+     */
+    private static volatile WordTrie sensitiveTrie = WordTrie.of();
 
     /**
      * Checks if the sensitive word tree has been initialized with sensitive words.
@@ -63,7 +77,7 @@ public class Sensitive {
      * @return {@code true} if the sensitive word tree is not empty, {@code false} otherwise.
      */
     public static boolean isInitialized() {
-        return !sensitiveTree.isEmpty();
+        return !sensitiveTrie.isEmpty();
     }
 
     /**
@@ -90,9 +104,10 @@ public class Sensitive {
      *
      * @param sensitiveWords The collection of sensitive words to add.
      */
-    public static void init(final Collection<String> sensitiveWords) {
-        sensitiveTree.clear();
-        sensitiveTree.addWords(sensitiveWords);
+    public static synchronized void init(final Collection<String> sensitiveWords) {
+        final List<String> words = new ArrayList<>(sensitiveWords);
+        sensitiveTrie = WordTrie.of(words, charFilter);
+        Sensitive.sensitiveWords = words;
     }
 
     /**
@@ -123,15 +138,16 @@ public class Sensitive {
     }
 
     /**
-     * Sets the character filtering rule for the underlying {@link WordTree}. Characters for which the predicate returns
-     * {@code false} will be ignored during sensitive word matching.
+     * Sets the character filtering rule for the underlying {@link WordTrie}. Characters for which the predicate returns
+     * {@code false} will be ignored during sensitive word matching. The dictionary is rebuilt with the new filter.
      *
      * @param charFilter The filtering function. If {@code charFilter.test(char)} returns {@code false}, the character
      *                   is skipped.
      */
-    public static void setCharFilter(final PredicateX<Character> charFilter) {
+    public static synchronized void setCharFilter(final PredicateX<Character> charFilter) {
         if (charFilter != null) {
-            sensitiveTree.setCharFilter(charFilter);
+            Sensitive.charFilter = charFilter;
+            sensitiveTrie = WordTrie.of(sensitiveWords, charFilter);
         }
     }
 
@@ -142,7 +158,7 @@ public class Sensitive {
      * @return {@code true} if the text contains any sensitive word, {@code false} otherwise.
      */
     public static boolean containsSensitive(final String text) {
-        return sensitiveTree.isMatch(text);
+        return sensitiveTrie.isMatch(text);
     }
 
     /**
@@ -153,7 +169,7 @@ public class Sensitive {
      *         word is found.
      */
     public static FoundWord getFoundFirstSensitive(final String text) {
-        return sensitiveTree.matchWord(text);
+        return sensitiveTrie.matchWord(text);
     }
 
     /**
@@ -163,7 +179,7 @@ public class Sensitive {
      * @return A list of {@link FoundWord} objects representing all sensitive words found.
      */
     public static List<FoundWord> getFoundAllSensitive(final String text) {
-        return sensitiveTree.matchAllWords(text);
+        return sensitiveTrie.matchAllWords(text);
     }
 
     /**
@@ -181,7 +197,7 @@ public class Sensitive {
             final String text,
             final boolean isDensityMatch,
             final boolean isGreedMatch) {
-        return sensitiveTree.matchAllWords(text, -1, isDensityMatch, isGreedMatch);
+        return sensitiveTrie.matchAllWords(text, -1, isDensityMatch, isGreedMatch);
     }
 
     /**
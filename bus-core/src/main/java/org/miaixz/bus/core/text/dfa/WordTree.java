@@ -31,7 +31,8 @@ import org.miaixz.bus.core.xyz.StringKit;
 
 /**
  * A DFA (Deterministic Finite Automaton) word tree, commonly used to quickly find occurrences of a set of keywords
- * within a large body of text.
+ * within a large body of text. For a word list that does not change after loading, {@link WordTrie} holds the same
+ * words in compact immutable arrays and matches without boxing characters.
  *
  * @author Kimi Liu
  * @since Java 21+
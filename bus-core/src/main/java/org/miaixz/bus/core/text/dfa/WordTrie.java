@@ -0,0 +1,599 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.core.text.dfa;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.CharBuffer;
+import java.util.*;
+
+import org.miaixz.bus.core.center.function.PredicateX;
+import org.miaixz.bus.core.xyz.CollKit;
+
+/**
+ * An immutable double-array trie holding the same words as a {@link WordTree}, built once from a word list and then
+ * shared between threads. A transition is two array reads ({@code base} and {@code check}) instead of a boxed
+ * {@link Character} hash lookup, and the character filter is evaluated once per character value at build time, so
+ * scanning a text allocates nothing per character.
+ * <p>
+ * The matching methods follow {@link WordTree} step by step and report the same {@link FoundWord} results.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class WordTrie implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2852235672252L;
+
+    /**
+     * Marks a free slot of {@link #check}.
+     */
+    private static final int FREE = -1;
+
+    /**
+     * Number of {@code char} values.
+     */
+    private static final int CHAR_COUNT = Character.MAX_VALUE + 1;
+
+    /**
+     * Alphabet code of each character, {@code 0} for characters that appear in no word.
+     */
+    private final char[] codes;
+
+    /**
+     * Bit set of the characters rejected by the character filter, which are skipped while matching.
+     */
+    private final long[] stopChars;
+
+    /**
+     * Base offset of each state, the child for alphabet code {@code c} lives at {@code base[s] + c}.
+     */
+    private final int[] base;
+
+    /**
+     * Parent state of each slot, {@link #FREE} if the slot is unused.
+     */
+    private final int[] check;
+
+    /**
+     * Bit set of the states at which a word ends.
+     */
+    private final long[] ends;
+
+    /**
+     * Number of distinct words.
+     */
+    private final int size;
+
+    /**
+     * Constructs a new {@code WordTrie}.
+     *
+     * @param codes     Alphabet code of each character.
+     * @param stopChars Bit set of the filtered characters.
+     * @param base      Base offsets.
+     * @param check     Parent states.
+     * @param ends      Bit set of the final states.
+     * @param size      Number of distinct words.
+     */
+    private WordTrie(final char[] codes, final long[] stopChars, final int[] base, final int[] check,
+            final long[] ends, final int size) {
+        this.codes = codes;
+        this.stopChars = stopChars;
+        this.base = base;
+        this.check = check;
+        this.ends = ends;
+        this.size = size;
+    }
+
+    /**
+     * Builds a {@code WordTrie} from the given words with the default {@link StopChar} filter.
+     *
+     * @param words The words.
+     * @return A new {@code WordTrie} instance.
+     */
+    public static WordTrie of(final String... words) {
+        return of(Arrays.asList(words));
+    }
+
+    /**
+     * Builds a {@code WordTrie} from the given words with the default {@link StopChar} filter.
+     *
+     * @param words The words.
+     * @return A new {@code WordTrie} instance.
+     */
+    public static WordTrie of(final Collection<String> words) {
+        return of(words, StopChar::isNotStopChar);
+    }
+
+    /**
+     * Builds a {@code WordTrie} from the given words. Characters rejected by the filter are removed from the words and
+     * skipped in the scanned texts, as with {@link WordTree#setCharFilter(PredicateX)}. The filter is evaluated once
+     * for every {@code char} value while building, so it must not depend on anything but its argument.
+     *
+     * @param words      The words, {@code null} elements are ignored.
+     * @param charFilter The character filter, {@code null} to keep all characters.
+     * @return A new {@code WordTrie} instance.
+     */
+    public static WordTrie of(final Collection<String> words, final PredicateX<Character> charFilter) {
+        final long[] stopChars = new long[CHAR_COUNT >>> 6];
+        if (null != charFilter) {
+            for (int c = 0; c < CHAR_COUNT; c++) {
+                if (!charFilter.test((char) c)) {
+                    stopChars[c >>> 6] |= 1L << c;
+                }
+            }
+        }
+
+        // Filter and sort the words, then assign dense alphabet codes in character order
+        final TreeSet<String> filtered = new TreeSet<>();
+        final StringBuilder builder = new StringBuilder();
+        for (final String word : null == words ? Collections.<String>emptyList() : words) {
+            if (null == word) {
+                continue;
+            }
+            builder.setLength(0);
+            for (int i = 0; i < word.length(); i++) {
+                final char c = word.charAt(i);
+                if (!isSet(stopChars, c)) {
+                    builder.append(c);
+                }
+            }
+            if (!builder.isEmpty()) {
+                filtered.add(builder.toString());
+            }
+        }
+        final char[] codes = new char[CHAR_COUNT];
+        int alphabetSize = 0;
+        for (final String word : filtered) {
+            for (int i = 0; i < word.length(); i++) {
+                if (0 == codes[word.charAt(i)]) {
+                    codes[word.charAt(i)] = 1;
+                }
+            }
+        }
+        for (int c = 0; c < CHAR_COUNT; c++) {
+            if (0 != codes[c]) {
+                codes[c] = (char) ++alphabetSize;
+            }
+        }
+
+        final Builder trie = new Builder(codes, filtered.size() * 2 + alphabetSize + 1);
+        trie.insert(0, filtered.toArray(new String[0]), 0, filtered.size(), 0);
+        return trie.build(stopChars, filtered.size());
+    }
+
+    /**
+     * Gets the number of distinct words.
+     *
+     * @return The number of words.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Whether the trie holds no word.
+     *
+     * @return {@code true} if empty.
+     */
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    /**
+     * Checks if the given text contains any of the words.
+     *
+     * @param text The text to be checked.
+     * @return {@code true} if a match is found.
+     */
+    public boolean isMatch(final CharSequence text) {
+        return null != matchWord(text);
+    }
+
+    /**
+     * Finds the first occurrence of a word in the text.
+     *
+     * @param text The text to be checked.
+     * @return The matched content, or {@code null} if no match is found.
+     */
+    public String match(final CharSequence text) {
+        final FoundWord foundWord = matchWord(text);
+        return null != foundWord ? foundWord.toString() : null;
+    }
+
+    /**
+     * Finds the first occurrence of a word in the text.
+     *
+     * @param text The text to be checked.
+     * @return The {@link FoundWord}, or {@code null} if no match is found.
+     */
+    public FoundWord matchWord(final CharSequence text) {
+        if (null == text) {
+            return null;
+        }
+        return CollKit.get(matchAllWords(text, 1), 0);
+    }
+
+    /**
+     * Finds all occurrences of words in the text.
+     *
+     * @param text The text to be checked.
+     * @return A list of matched contents.
+     */
+    public List<String> matchAll(final CharSequence text) {
+        return matchAll(text, -1, false, false);
+    }
+
+    /**
+     * Finds all matching words in the text with configurable matching strategies.
+     *
+     * @param text           The text to be checked.
+     * @param limit          The maximum number of matches to find, all matches if less than or equal to 0.
+     * @param isDensityMatch If {@code true}, performs a dense match.
+     * @param isGreedMatch   If {@code true}, performs a greedy (longest) match.
+     * @return A list of matched contents.
+     */
+    public List<String> matchAll(
+            final CharSequence text,
+            final int limit,
+            final boolean isDensityMatch,
+            final boolean isGreedMatch) {
+        return CollKit.map(matchAllWords(text, limit, isDensityMatch, isGreedMatch), FoundWord::toString);
+    }
+
+    /**
+     * Finds all occurrences of words in the text.
+     *
+     * @param text The text to be checked.
+     * @return A list of {@link FoundWord} objects.
+     */
+    public List<FoundWord> matchAllWords(final CharSequence text) {
+        return matchAllWords(text, -1);
+    }
+
+    /**
+     * Finds all occurrences of words in the text, up to a specified limit.
+     *
+     * @param text  The text to be checked.
+     * @param limit The maximum number of matches to find. If less than or equal to 0, all matches are returned.
+     * @return A list of {@link FoundWord} objects.
+     */
+    public List<FoundWord> matchAllWords(final CharSequence text, final int limit) {
+        return matchAllWords(text, limit, false, false);
+    }
+
+    /**
+     * Finds all matching words in a character array with configurable matching strategies.
+     *
+     * @param text           The characters to be checked.
+     * @param limit          The maximum number of matches to find, all matches if less than or equal to 0.
+     * @param isDensityMatch If {@code true}, performs a dense match.
+     * @param isGreedMatch   If {@code true}, performs a greedy (longest) match.
+     * @return A list of {@link FoundWord} objects.
+     */
+    public List<FoundWord> matchAllWords(
+            final char[] text,
+            final int limit,
+            final boolean isDensityMatch,
+            final boolean isGreedMatch) {
+        return null == text ? null : matchAllWords(CharBuffer.wrap(text), limit, isDensityMatch, isGreedMatch);
+    }
+
+    /**
+     * Finds all matching words in the text with configurable matching strategies, see
+     * {@link WordTree#matchAllWords(String, int, boolean, boolean)}.
+     *
+     * @param text           The text to be checked.
+     * @param limit          The maximum number of matches to find, all matches if less than or equal to 0.
+     * @param isDensityMatch If {@code true}, performs a dense match (e.g., for "abab" and words "ab", "b", finds
+     *                       [ab, b, ab]).
+     * @param isGreedMatch   If {@code true}, performs a greedy (longest) match (e.g., for "ab" and words "a", "ab",
+     *                       finds [ab]).
+     * @return A list of {@link FoundWord} objects.
+     */
+    public List<FoundWord> matchAllWords(
+            final CharSequence text,
+            final int limit,
+            final boolean isDensityMatch,
+            final boolean isGreedMatch) {
+        if (null == text) {
+            return null;
+        }
+
+        final List<FoundWord> foundWords = limit > 0 ? new ArrayList<>(limit) : new ArrayList<>();
+        final int length = text.length();
+        int current;
+        char currentChar;
+        for (int i = 0; i < length; i++) {
+            current = 0;
+            // Start of the matched content, -1 while nothing has been accepted yet
+            int wordStart = -1;
+
+            int foundStart = -1;
+            int foundBegin = -1;
+            int foundEnd = -1;
+            for (int j = i; j < length; j++) {
+                currentChar = text.charAt(j);
+                if (isSet(this.stopChars, currentChar)) {
+                    if (wordStart < 0) {
+                        i++;
+                    }
+                    continue;
+                }
+                final int next = transition(current, currentChar);
+                if (next < 0) {
+                    break;
+                }
+                if (wordStart < 0) {
+                    wordStart = j;
+                }
+                if (isSet(this.ends, next)) {
+                    foundStart = wordStart;
+                    foundBegin = i;
+                    foundEnd = j;
+                    if (!isDensityMatch) {
+                        i = j;
+                    }
+                    if (!isGreedMatch) {
+                        break;
+                    }
+                }
+                current = next;
+            }
+
+            if (foundEnd >= 0) {
+                foundWords.add(foundWord(text, foundStart, foundBegin, foundEnd));
+                if (limit > 0 && foundWords.size() >= limit) {
+                    return foundWords;
+                }
+            }
+        }
+        return foundWords;
+    }
+
+    /**
+     * Follows the transition of a state for a character.
+     *
+     * @param state The state.
+     * @param c     The character.
+     * @return The next state, or {@code -1} if there is no such transition.
+     */
+    private int transition(final int state, final char c) {
+        final char code = this.codes[c];
+        if (0 == code) {
+            return -1;
+        }
+        final int next = this.base[state] + code;
+        return next < this.check.length && this.check[next] == state ? next : -1;
+    }
+
+    /**
+     * Creates the {@link FoundWord} of a match.
+     *
+     * @param text     The scanned text.
+     * @param start    Index of the first matched character.
+     * @param beginIdx Begin index reported for the match.
+     * @param end      Index of the last matched character.
+     * @return The found word.
+     */
+    private FoundWord foundWord(final CharSequence text, final int start, final int beginIdx, final int end) {
+        final String content = text.subSequence(start, end + 1).toString();
+        final StringBuilder word = new StringBuilder(content.length());
+        for (int k = 0; k < content.length(); k++) {
+            if (!isSet(this.stopChars, content.charAt(k))) {
+                word.append(content.charAt(k));
+            }
+        }
+        return new FoundWord(word.toString(), content, beginIdx, end);
+    }
+
+    /**
+     * Tests a bit of a bit set.
+     *
+     * @param bits  The bit set.
+     * @param index The bit index.
+     * @return {@code true} if the bit is set.
+     */
+    private static boolean isSet(final long[] bits, final int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Mutable double-array under construction. Words are inserted from a sorted array, one sibling group at a time, and
+     * each group is placed at the first base where all of its slots are free.
+     */
+    private static final class Builder {
+
+        /**
+         * Alphabet code of each character.
+         */
+        private final char[] codes;
+
+        /**
+         * Base offsets.
+         */
+        private int[] base;
+
+        /**
+         * Parent states.
+         */
+        private int[] check;
+
+        /**
+         * Bit set of the final states.
+         */
+        private long[] ends;
+
+        /**
+         * Ratio of used slots above which the search start {@link #nextCheckPos} skips ahead.
+         */
+        private static final double DENSE_RATIO = 0.95;
+
+        /**
+         * Slot at which the search for a free base starts.
+         */
+        private int nextCheckPos = 1;
+
+        /**
+         * Highest used slot.
+         */
+        private int maxState;
+
+        /**
+         * Constructs a new {@code Builder}.
+         *
+         * @param codes    Alphabet code of each character.
+         * @param capacity Initial number of slots.
+         */
+        private Builder(final char[] codes, final int capacity) {
+            this.codes = codes;
+            this.base = new int[capacity];
+            this.check = new int[capacity];
+            this.ends = new long[(capacity >>> 6) + 1];
+            Arrays.fill(this.check, FREE);
+            // The root occupies slot 0
+            this.check[0] = 0;
+        }
+
+        /**
+         * Inserts the children of a state. All words in {@code [from, to)} share the first {@code depth} characters,
+         * which lead to {@code state}.
+         *
+         * @param state The state.
+         * @param words The sorted words.
+         * @param from  First word, inclusive.
+         * @param to    Last word, exclusive.
+         * @param depth Length of the shared prefix.
+         */
+        private void insert(final int state, final String[] words, int from, final int to, final int depth) {
+            // A word equal to the prefix sorts first and ends at this state
+            if (from < to && words[from].length() == depth) {
+                setEnd(state);
+                from++;
+            }
+            if (from >= to) {
+                return;
+            }
+
+            // Collect the sibling groups: distinct characters at this depth, with their word ranges
+            final List<int[]> groups = new ArrayList<>();
+            int groupStart = from;
+            for (int k = from + 1; k <= to; k++) {
+                if (k == to || words[k].charAt(depth) != words[groupStart].charAt(depth)) {
+                    groups.add(new int[] { this.codes[words[groupStart].charAt(depth)], groupStart, k });
+                    groupStart = k;
+                }
+            }
+
+            final int offset = place(groups);
+            this.base[state] = offset;
+            for (final int[] group : groups) {
+                this.check[offset + group[0]] = state;
+            }
+            for (final int[] group : groups) {
+                insert(offset + group[0], words, group[1], group[2], depth + 1);
+            }
+        }
+
+        /**
+         * Finds a base offset at which all slots of a sibling group are free. The search starts at
+         * {@link #nextCheckPos}, which moves forward once the slots it skips are almost all used, so the crowded head
+         * of the arrays is not rescanned for every group.
+         *
+         * @param groups The sibling groups, sorted by alphabet code.
+         * @return The base offset.
+         */
+        private int place(final List<int[]> groups) {
+            final int firstCode = groups.get(0)[0];
+            final int lastCode = groups.get(groups.size() - 1)[0];
+            int position = Math.max(this.nextCheckPos, firstCode + 1) - 1;
+            int occupied = 0;
+            boolean firstFreeSeen = false;
+            int offset;
+            outer: while (true) {
+                position++;
+                ensureCapacity(position + 1);
+                if (this.check[position] != FREE) {
+                    occupied++;
+                    continue;
+                }
+                if (!firstFreeSeen) {
+                    this.nextCheckPos = position;
+                    firstFreeSeen = true;
+                }
+                offset = position - firstCode;
+                ensureCapacity(offset + lastCode + 1);
+                for (final int[] group : groups) {
+                    if (this.check[offset + group[0]] != FREE) {
+                        continue outer;
+                    }
+                }
+                break;
+            }
+            if (occupied >= DENSE_RATIO * (position - this.nextCheckPos + 1)) {
+                this.nextCheckPos = position;
+            }
+            this.maxState = Math.max(this.maxState, offset + lastCode);
+            return offset;
+        }
+
+        /**
+         * Marks a state as final.
+         *
+         * @param state The state.
+         */
+        private void setEnd(final int state) {
+            this.ends[state >>> 6] |= 1L << state;
+        }
+
+        /**
+         * Grows the arrays to hold at least the given number of slots.
+         *
+         * @param capacity The required number of slots.
+         */
+        private void ensureCapacity(final int capacity) {
+            if (capacity <= this.check.length) {
+                return;
+            }
+            final int newCapacity = Math.max(capacity, this.check.length + (this.check.length >> 1));
+            final int oldCapacity = this.check.length;
+            this.base = Arrays.copyOf(this.base, newCapacity);
+            this.check = Arrays.copyOf(this.check, newCapacity);
+            Arrays.fill(this.check, oldCapacity, newCapacity, FREE);
+            this.ends = Arrays.copyOf(this.ends, (newCapacity >>> 6) + 1);
+        }
+
+        /**
+         * Trims the arrays and creates the immutable trie.
+         *
+         * @param stopChars Bit set of the filtered characters.
+         * @param size      Number of distinct words.
+         * @return The trie.
+         */
+        private WordTrie build(final long[] stopChars, final int size) {
+            final int length = this.maxState + 1;
+            return new WordTrie(this.codes, stopChars, Arrays.copyOf(this.base, length),
+                    Arrays.copyOf(this.check, length), Arrays.copyOf(this.ends, (length >>> 6) + 1), size);
+        }
+
+    }
+
+}
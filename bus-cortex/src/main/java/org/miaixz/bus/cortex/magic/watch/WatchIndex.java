@@ -0,0 +1,234 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.cortex.magic.watch;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.miaixz.bus.core.lang.Symbol;
+import org.miaixz.bus.cortex.Assets;
+import org.miaixz.bus.cortex.Instance;
+import org.miaixz.bus.cortex.Vector;
+
+/**
+ * Registration-time index of watch subscriptions, used to find the candidate watchers of one change without visiting
+ * every subscription.
+ * <p>
+ * Subscriptions are grouped by namespace, then by selector type, then by selector id (the watched key). Lookups return
+ * a superset of the matching watch identifiers; callers still apply the full matcher to each candidate, so indexing
+ * never changes which watchers receive an event.
+ * </p>
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+final class WatchIndex {
+
+    /**
+     * Type key used for selectors without a type.
+     */
+    private static final Integer ANY_TYPE = Integer.MIN_VALUE;
+
+    /**
+     * Levels keyed by namespace and selector type.
+     */
+    private final Map<String, Map<Integer, Level>> namespaces = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes one subscription.
+     *
+     * @param watchId watch identifier
+     * @param vector  normalized watch selector
+     */
+    void add(String watchId, Vector vector) {
+        Level level = namespaces.computeIfAbsent(vector.getNamespace_id(), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(typeOf(vector), key -> new Level());
+        String id = vector.getId();
+        if (id == null || id.isBlank()) {
+            level.any.add(watchId);
+            return;
+        }
+        level.byId.compute(id, (key, ids) -> {
+            Set<String> set = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            set.add(watchId);
+            return set;
+        });
+    }
+
+    /**
+     * Removes one subscription from the index.
+     *
+     * @param watchId watch identifier
+     * @param vector  normalized watch selector
+     */
+    void remove(String watchId, Vector vector) {
+        Map<Integer, Level> types = namespaces.get(vector.getNamespace_id());
+        Level level = types == null ? null : types.get(typeOf(vector));
+        if (level == null) {
+            return;
+        }
+        String id = vector.getId();
+        if (id == null || id.isBlank()) {
+            level.any.remove(watchId);
+            return;
+        }
+        level.byId.computeIfPresent(id, (key, ids) -> {
+            ids.remove(watchId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Removes all subscriptions from the index.
+     */
+    void clear() {
+        namespaces.clear();
+    }
+
+    /**
+     * Collects the candidate watchers of an asset change: selectors in the asset namespace whose type is unset or
+     * equal to the asset type and whose id is unset or equal to the asset id.
+     *
+     * @param asset changed asset
+     * @param out   receives candidate watch identifiers
+     */
+    void collect(Assets asset, Set<String> out) {
+        Map<Integer, Level> types = asset.getNamespace_id() == null ? null : namespaces.get(asset.getNamespace_id());
+        if (types == null) {
+            return;
+        }
+        collect(types.get(ANY_TYPE), out, asset.getId());
+        if (asset.getType() != null) {
+            collect(types.get(asset.getType()), out, asset.getId());
+        }
+    }
+
+    /**
+     * Collects the candidate watchers of an instance change. Instance matching ignores the selector type, so every
+     * type level of the namespace is visited.
+     *
+     * @param instance changed instance
+     * @param out      receives candidate watch identifiers
+     */
+    void collect(Instance instance, Set<String> out) {
+        Map<Integer, Level> types = instance.getNamespace_id() == null ? null
+                : namespaces.get(instance.getNamespace_id());
+        if (types == null) {
+            return;
+        }
+        for (Level level : types.values()) {
+            collect(level, out, instance.getServiceId(), instance.getFingerprint());
+        }
+    }
+
+    /**
+     * Collects the candidate watchers of a key change in every namespace. A selector key matches when it equals a run
+     * of whole colon-separated segments of the changed key, so each such run is looked up.
+     *
+     * @param key changed key
+     * @param out receives candidate watch identifiers
+     */
+    void collect(String key, Set<String> out) {
+        String[] runs = runs(key);
+        for (Map<Integer, Level> types : namespaces.values()) {
+            for (Level level : types.values()) {
+                collect(level, out, runs);
+            }
+        }
+    }
+
+    /**
+     * Collects the wildcard watchers of one level and the watchers of the given ids.
+     *
+     * @param level index level, may be {@code null}
+     * @param out   receives candidate watch identifiers
+     * @param ids   selector ids to look up; {@code null} elements are skipped
+     */
+    private static void collect(Level level, Set<String> out, String... ids) {
+        if (level == null) {
+            return;
+        }
+        out.addAll(level.any);
+        if (level.byId.isEmpty()) {
+            return;
+        }
+        for (String id : ids) {
+            Collection<String> watchers = id == null ? null : level.byId.get(id);
+            if (watchers != null) {
+                out.addAll(watchers);
+            }
+        }
+    }
+
+    /**
+     * Enumerates every run of whole colon-separated segments of a key.
+     *
+     * @param key changed key
+     * @return segment runs, empty when the key is blank
+     */
+    private static String[] runs(String key) {
+        if (key == null || key.isBlank()) {
+            return new String[0];
+        }
+        String[] segments = key.split(Symbol.COLON, -1);
+        int[] starts = new int[segments.length + 1];
+        for (int i = 0; i < segments.length; i++) {
+            starts[i + 1] = starts[i] + segments[i].length() + 1;
+        }
+        String[] runs = new String[segments.length * (segments.length + 1) / 2];
+        int index = 0;
+        for (int from = 0; from < segments.length; from++) {
+            for (int to = from + 1; to <= segments.length; to++) {
+                runs[index++] = key.substring(starts[from], starts[to] - 1);
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Resolves the type key of a selector.
+     *
+     * @param vector watch selector
+     * @return selector type or {@link #ANY_TYPE}
+     */
+    private static Integer typeOf(Vector vector) {
+        return vector.getType() == null ? ANY_TYPE : vector.getType();
+    }
+
+    /**
+     * Watchers of one namespace and selector type.
+     */
+    private static final class Level {
+
+        /**
+         * Watchers without a selector id.
+         */
+        private final Set<String> any = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Watchers keyed by selector id.
+         */
+        private final Map<String, Set<String>> byId = new ConcurrentHashMap<>();
+
+    }
+
+}
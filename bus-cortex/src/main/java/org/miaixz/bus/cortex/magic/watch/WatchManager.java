@@ -21,10 +21,12 @@ package org.miaixz.bus.cortex.magic.watch;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
@@ -127,6 +129,11 @@ public class WatchManager implements AutoCloseable, CortexLifecycle, CortexDiagn
      */
     private final Map<String, WatchSubscription<?>> entries = new ConcurrentHashMap<>();
 
+    /**
+     * Selector index used to visit only candidate subscriptions when a change is published.
+     */
+    private final WatchIndex index = new WatchIndex();
+
     /**
      * Maximum number of watch subscriptions allowed per namespace.
      */
@@ -248,6 +255,7 @@ public class WatchManager implements AutoCloseable, CortexLifecycle, CortexDiagn
         WatchSubscription<T> entry = new WatchSubscription<>(normalized, ns, listener, now);
         entry.touch(now, watchExpireMs);
         entries.put(watchId, entry);
+        index.add(watchId, normalized);
         return watchId;
     }
 
@@ -259,6 +267,7 @@ public class WatchManager implements AutoCloseable, CortexLifecycle, CortexDiagn
     public void remove(String watchId) {
         WatchSubscription<?> removed = entries.remove(watchId);
         if (removed != null) {
+            index.remove(watchId, removed.getVector());
             decrementNamespaceCount(removed.getNamespace_id());
         }
     }
@@ -320,18 +329,27 @@ public class WatchManager implements AutoCloseable, CortexLifecycle, CortexDiagn
         if (closed) {
             return;
         }
-        for (Map.Entry<String, WatchSubscription<?>> item : entries.entrySet()) {
-            Vector vector = item.getValue().getVector();
-            if (!matches(vector, key, newValue)) {
+        String effectiveEventType = eventType == null || eventType.isBlank() ? "update" : eventType;
+        Set<String> candidates = new HashSet<>();
+        if (newValue instanceof Assets asset) {
+            index.collect(asset, candidates);
+        } else if (newValue instanceof Instance instance) {
+            index.collect(instance, candidates);
+        } else {
+            index.collect(key, candidates);
+        }
+        for (String watchId : candidates) {
+            WatchSubscription<?> subscription = entries.get(watchId);
+            if (subscription == null || !matches(subscription.getVector(), key, newValue)) {
                 continue;
             }
             long now = System.currentTimeMillis();
-            item.getValue().touch(now, watchExpireMs);
-            WatchSubscription<T> typed = (WatchSubscription<T>) item.getValue();
+            subscription.touch(now, watchExpireMs);
+            WatchSubscription<T> typed = (WatchSubscription<T>) subscription;
             Watch<T> event = createEvent(
-                    item.getKey(),
+                    watchId,
                     typed,
-                    eventType == null || eventType.isBlank() ? "update" : eventType,
+                    effectiveEventType,
                     sequenceKey == null || sequenceKey.isBlank() ? "watch:generic" : sequenceKey,
                     source == null || source.isBlank() ? "WatchManager" : source,
                     now);
@@ -341,7 +359,7 @@ public class WatchManager implements AutoCloseable, CortexLifecycle, CortexDiagn
             }
             event.setUpdated(newValue != null ? List.of(newValue) : List.of());
             event.setSummary(summary == null || summary.isBlank() ? "Generic watch update" : summary);
-            dispatch(item.getKey(), typed, event);
+            dispatch(watchId, typed, event, coalesceKey(effectiveEventType, key));
         }
     }
 
@@ -373,21 +391,25 @@ public class WatchManager implements AutoCloseable, CortexLifecycle, CortexDiagn
         if (closed) {
             return;
         }
-        for (Map.Entry<String, WatchSubscription<?>> item : entries.entrySet()) {
-            Vector vector = item.getValue().getVector();
+        String effectiveEventType = eventType == null || eventType.isBlank()
+                ? content == null ? SETTING_DELETE_EVENT : SETTING_UPDATE_EVENT
+                : eventType;
+        Set<String> candidates = new HashSet<>();
+        index.collect(key, candidates);
+        for (String watchId : candidates) {
+            WatchSubscription<?> subscription = entries.get(watchId);
+            Vector vector = subscription != null ? subscription.getVector() : null;
             String watchKey = vector != null ? vector.getId() : null;
-            if (!matchesSettingKey(key, watchKey)) {
+            if (subscription == null || !matchesSettingKey(key, watchKey)) {
                 continue;
             }
             long now = System.currentTimeMillis();
-            item.getValue().touch(now, watchExpireMs);
-            WatchSubscription<String> typed = (WatchSubscription<String>) item.getValue();
+            subscription.touch(now, watchExpireMs);
+            WatchSubscription<String> typed = (WatchSubscription<String>) subscription;
             Watch<String> event = createEvent(
-                    item.getKey(),
+                    watchId,
                     typed,
-                    eventType == null || eventType.isBlank()
-                            ? content == null ? SETTING_DELETE_EVENT : SETTING_UPDATE_EVENT
-                            : eventType,
+                    effectiveEventType,
                     "watch:setting",
                     source == null || source.isBlank() ? SETTING_SOURCE : source,
                     now);
@@ -396,7 +418,7 @@ public class WatchManager implements AutoCloseable, CortexLifecycle, CortexDiagn
             event.setSummary(
                     summary == null || summary.isBlank() ? content == null ? "Setting removed" : "Setting updated"
                             : summary);
-            dispatch(item.getKey(), typed, event);
+            dispatch(watchId, typed, event, coalesceKey(effectiveEventType, key));
         }
     }
 
@@ -448,20 +470,41 @@ public class WatchManager implements AutoCloseable, CortexLifecycle, CortexDiagn
         Type assetType = Type.tryFromKey(asset.getType()).orElse(null);
         String sequenceKey = "watch:registry:" + (assetType == null ? "unknown" : assetType.name().toLowerCase());
         String matchKey = registryWatchKey(asset, currentRuntime, previousRuntime);
-        for (Map.Entry<String, WatchSubscription<?>> item : entries.entrySet()) {
-            Vector vector = item.getValue().getVector();
-            if (!matchesRegistry(vector, matchKey, asset, previousAsset, currentRuntime, previousRuntime)) {
+        Instance runtime = currentRuntime != null ? currentRuntime : previousRuntime;
+        String coalesceKey = coalesceKey(
+                effectiveEventType,
+                asset.getId() + Symbol.AT + (runtime == null ? null : runtime.getFingerprint()));
+        Set<String> candidates = new HashSet<>();
+        index.collect(asset, candidates);
+        if (previousAsset != null) {
+            index.collect(previousAsset, candidates);
+        }
+        if (currentRuntime != null) {
+            index.collect(currentRuntime, candidates);
+        }
+        if (previousRuntime != null) {
+            index.collect(previousRuntime, candidates);
+        }
+        for (String watchId : candidates) {
+            WatchSubscription<?> subscription = entries.get(watchId);
+            if (subscription == null || !matchesRegistry(
+                    subscription.getVector(),
+                    matchKey,
+                    asset,
+                    previousAsset,
+                    currentRuntime,
+                    previousRuntime)) {
                 continue;
             }
             long now = System.currentTimeMillis();
-            item.getValue().touch(now, watchExpireMs);
-            WatchSubscription<T> typed = (WatchSubscription<T>) item.getValue();
-            Watch<T> event = createEvent(item.getKey(), typed, effectiveEventType, sequenceKey, REGISTRY_SOURCE, now);
+            subscription.touch(now, watchExpireMs);
+            WatchSubscription<T> typed = (WatchSubscription<T>) subscription;
+            Watch<T> event = createEvent(watchId, typed, effectiveEventType, sequenceKey, REGISTRY_SOURCE, now);
             event.setNamespace_id(asset.getNamespace_id());
             event.setType(assetType);
             fillRegistryPayload(event, action, effectiveEventType, asset, previousAsset);
             event.setSummary(registrySummary(effectiveEventType));
-            dispatch(item.getKey(), typed, event);
+            dispatch(watchId, typed, event, coalesceKey);
         }
     }
 
@@ -473,6 +516,7 @@ public class WatchManager implements AutoCloseable, CortexLifecycle, CortexDiagn
         entries.entrySet().removeIf(e -> {
             boolean expired = e.getValue().getExpiresAt() > 0L && now > e.getValue().getExpiresAt();
             if (expired) {
+                index.remove(e.getKey(), e.getValue().getVector());
                 decrementNamespaceCount(e.getValue().getNamespace_id());
             }
             return expired;
@@ -532,7 +576,9 @@ public class WatchManager implements AutoCloseable, CortexLifecycle, CortexDiagn
                         "dropped",
                         entries.values().stream().mapToLong(WatchSubscription::getDroppedCount).sum(),
                         "failed",
-                        entries.values().stream().mapToLong(WatchSubscription::getFailureCount).sum()));
+                        entries.values().stream().mapToLong(WatchSubscription::getFailureCount).sum(),
+                        "coalesced",
+                        entries.values().stream().mapToLong(WatchSubscription::getCoalescedCount).sum()));
         snapshot.setUpdatedAt(System.currentTimeMillis());
         return snapshot;
     }
@@ -544,6 +590,7 @@ public class WatchManager implements AutoCloseable, CortexLifecycle, CortexDiagn
     public void close() {
         closed = true;
         entries.clear();
+        index.clear();
         namespaceCounts.clear();
         globalListeners.clear();
         dispatcher.shutdownNow();
@@ -693,61 +740,94 @@ public class WatchManager implements AutoCloseable, CortexLifecycle, CortexDiagn
             try {
                 listener.onEvent((Watch<Object>) event);
             } catch (Exception e) {
-                listener.onError((Watch<Object>) event, e);
+                try {
+                    listener.onError((Watch<Object>) event, e);
+                } catch (Exception errorHandlerFailure) {
+                    Logger.warn(
+                            false,
+                            "Cortex",
+                            "Global watch listener error handler failed: {}",
+                            errorHandlerFailure.getMessage());
+                }
                 Logger.warn(false, "Cortex", "Global watch listener execution failed: {}", e.getMessage());
             }
         }
     }
 
     /**
-     * Dispatches one watch event asynchronously and records listener execution state.
+     * Dispatches one watch event asynchronously and records listener execution state. Events sharing a coalescing key
+     * that are still queued for the same subscription collapse into the latest one.
      *
      * @param watchId      watch identifier
      * @param subscription watch subscription
      * @param event        emitted event
+     * @param coalesceKey  coalescing key, or {@code null} to always deliver the event
      * @param <T>          watched payload type
      */
-    private <T> void dispatch(String watchId, WatchSubscription<T> subscription, Watch<T> event) {
+    private <T> void dispatch(String watchId, WatchSubscription<T> subscription, Watch<T> event, String coalesceKey) {
         long now = System.currentTimeMillis();
-        if (!subscription.reservePending(maxPendingPerWatch)) {
-            handleOverflow(watchId, subscription, event, now);
-            return;
-        }
         try {
-            subscription.enqueueDispatch(() -> {
-                try {
-                    subscription.setDispatchCount(subscription.getDispatchCount() + 1);
-                    long deliveredAt = System.currentTimeMillis();
-                    subscription.setLastEventAt(deliveredAt);
-                    subscription.getListener().onEvent(event);
-                } catch (Exception e) {
-                    subscription.setFailureCount(subscription.getFailureCount() + 1);
-                    subscription.setLastError(e.getMessage());
-                    event.setErrorMessage(e.getMessage());
-                    try {
-                        subscription.getListener().onError(event, e);
-                    } catch (Exception errorHandlerFailure) {
-                        Logger.warn(
-                                false,
-                                "Cortex",
-                                "Watch listener error handler failed {}: {}",
-                                watchId,
-                                errorHandlerFailure.getMessage());
-                    }
-                    Logger.warn(false, "Cortex", "Watch listener execution failed {}: {}", watchId, e.getMessage());
-                } finally {
-                    subscription.completeDelivery(System.currentTimeMillis());
-                }
-                dispatchGlobal(event);
-            }, dispatcher);
+            if (!subscription.offer(
+                    coalesceKey,
+                    event,
+                    maxPendingPerWatch,
+                    queued -> deliver(watchId, subscription, queued),
+                    dispatcher)) {
+                handleOverflow(watchId, subscription, event, now);
+            }
         } catch (RejectedExecutionException e) {
-            subscription.releasePending();
             subscription.recordDrop(now, e.getMessage());
             event.setErrorMessage(e.getMessage());
             Logger.warn(false, "Cortex", "Watch dispatch rejected {}: {}", watchId, e.getMessage());
         }
     }
 
+    /**
+     * Delivers one queued watch event to its listener and to global listeners.
+     *
+     * @param watchId      watch identifier
+     * @param subscription watch subscription
+     * @param event        queued event
+     * @param <T>          watched payload type
+     */
+    private <T> void deliver(String watchId, WatchSubscription<T> subscription, Watch<T> event) {
+        try {
+            subscription.setDispatchCount(subscription.getDispatchCount() + 1);
+            long deliveredAt = System.currentTimeMillis();
+            subscription.setLastEventAt(deliveredAt);
+            subscription.getListener().onEvent(event);
+        } catch (Exception e) {
+            subscription.setFailureCount(subscription.getFailureCount() + 1);
+            subscription.setLastError(e.getMessage());
+            event.setErrorMessage(e.getMessage());
+            try {
+                subscription.getListener().onError(event, e);
+            } catch (Exception errorHandlerFailure) {
+                Logger.warn(
+                        false,
+                        "Cortex",
+                        "Watch listener error handler failed {}: {}",
+                        watchId,
+                        errorHandlerFailure.getMessage());
+            }
+            Logger.warn(false, "Cortex", "Watch listener execution failed {}: {}", watchId, e.getMessage());
+        } finally {
+            subscription.completeDelivery(System.currentTimeMillis());
+        }
+        dispatchGlobal(event);
+    }
+
+    /**
+     * Builds the per-subscription coalescing key of one change.
+     *
+     * @param eventType logical event type
+     * @param key       changed logical key
+     * @return coalescing key, or {@code null} when the change has no key
+     */
+    private String coalesceKey(String eventType, String key) {
+        return key == null ? null : eventType + Symbol.C_HASH + key;
+    }
+
     /**
      * Records one dropped event caused by subscription backlog overflow.
      *
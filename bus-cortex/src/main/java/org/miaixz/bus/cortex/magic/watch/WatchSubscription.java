@@ -19,9 +19,17 @@
 */
 package org.miaixz.bus.cortex.magic.watch;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -127,6 +135,25 @@ public class WatchSubscription<T> {
      */
     private long lastDeliveredAt;
 
+    /**
+     * Number of queued events replaced by a newer event with the same coalescing key before delivery.
+     */
+    private long coalescedCount;
+
+    /**
+     * Events accepted but not yet handed to the listener, keyed by coalescing key in delivery order.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<Object, Watch<T>> backlog = new LinkedHashMap<>();
+
+    /**
+     * Whether a drain task for {@link #backlog} is currently scheduled or running.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean draining;
+
     /**
      * Creates one watch subscription with common lifecycle timestamps initialized.
      *
@@ -165,6 +192,52 @@ public class WatchSubscription<T> {
         dispatchTail = dispatchTail.handle((ignored, failure) -> null).thenRunAsync(task, executor);
     }
 
+    /**
+     * Offers one event to this subscription's coalescing backlog. A queued event with the same coalescing key is
+     * replaced by the newer event, which moves to the tail so the listener still observes the latest state last. The
+     * sequence chain of the remaining events is relinked around the replaced event. Events are delivered in batches by
+     * a single drain task on the serial dispatch chain.
+     *
+     * @param key        coalescing key, or {@code null} to never coalesce the event
+     * @param event      event to deliver
+     * @param maxPending maximum allowed pending event count, or {@code <= 0} for unlimited
+     * @param delivery   callback delivering one event to the listener; must complete one pending slot, even when
+     *                   it throws
+     * @param executor   executor that runs listener callbacks
+     * @return {@code false} when the backlog is full and the event was not accepted
+     * @throws RejectedExecutionException if the drain task cannot be scheduled; the event is discarded
+     */
+    public synchronized boolean offer(
+            String key,
+            Watch<T> event,
+            int maxPending,
+            Consumer<Watch<T>> delivery,
+            Executor executor) {
+        Object slot = key != null ? key : new Object();
+        Watch<T> replaced = key != null ? unlink(slot) : null;
+        if (replaced != null) {
+            if (event.getPreviousSequence() == replaced.getSequence()) {
+                event.setPreviousSequence(replaced.getPreviousSequence());
+            }
+            coalescedCount++;
+        } else if (!reservePending(maxPending)) {
+            return false;
+        }
+        backlog.put(slot, event);
+        if (!draining) {
+            draining = true;
+            try {
+                enqueueDispatch(() -> drain(delivery, executor), executor);
+            } catch (RejectedExecutionException e) {
+                draining = false;
+                backlog.remove(slot);
+                releasePending();
+                throw e;
+            }
+        }
+        return true;
+    }
+
     /**
      * Reserves one slot in the subscription backlog before an event enters the serial dispatch chain.
      *
@@ -215,4 +288,107 @@ public class WatchSubscription<T> {
         }
     }
 
+    /**
+     * Delivers queued events batch by batch until the backlog is empty. Events offered while a batch is being
+     * delivered join the next batch, so a burst costs one scheduled task instead of one task per event. A delivery
+     * that throws is recorded as a failure and does not stop the remaining events. Should the drain still end
+     * abnormally, the undelivered rest of the batch returns to the head of the backlog, the drain flag is reset and a
+     * new drain is scheduled, so the subscription keeps delivering.
+     *
+     * @param delivery callback delivering one event to the listener
+     * @param executor executor that runs listener callbacks
+     */
+    private void drain(Consumer<Watch<T>> delivery, Executor executor) {
+        List<Map.Entry<Object, Watch<T>>> batch = List.of();
+        int next = 0;
+        boolean completed = false;
+        try {
+            while (true) {
+                synchronized (this) {
+                    if (backlog.isEmpty()) {
+                        draining = false;
+                        completed = true;
+                        return;
+                    }
+                    batch = new ArrayList<>(backlog.size());
+                    for (Map.Entry<Object, Watch<T>> item : backlog.entrySet()) {
+                        batch.add(Map.entry(item.getKey(), item.getValue()));
+                    }
+                    backlog.clear();
+                }
+                for (next = 0; next < batch.size(); next++) {
+                    try {
+                        delivery.accept(batch.get(next).getValue());
+                    } catch (RuntimeException e) {
+                        synchronized (this) {
+                            failureCount++;
+                            lastError = e.getMessage();
+                        }
+                    }
+                }
+            }
+        } finally {
+            if (!completed) {
+                restore(batch.subList(Math.min(next + 1, batch.size()), batch.size()), delivery, executor);
+            }
+        }
+    }
+
+    /**
+     * Returns undelivered events of an abnormally ended drain to the head of the backlog and schedules a new drain.
+     * Events that were replaced by a newer event with the same coalescing key in the meantime are discarded.
+     *
+     * @param undelivered events that were taken from the backlog but not delivered
+     * @param delivery    callback delivering one event to the listener
+     * @param executor    executor that runs listener callbacks
+     */
+    private synchronized void restore(
+            List<Map.Entry<Object, Watch<T>>> undelivered,
+            Consumer<Watch<T>> delivery,
+            Executor executor) {
+        Map<Object, Watch<T>> restored = new LinkedHashMap<>();
+        for (Map.Entry<Object, Watch<T>> item : undelivered) {
+            if (!backlog.containsKey(item.getKey())) {
+                restored.put(item.getKey(), item.getValue());
+            }
+        }
+        restored.putAll(backlog);
+        backlog.clear();
+        backlog.putAll(restored);
+        draining = !backlog.isEmpty();
+        if (draining) {
+            try {
+                enqueueDispatch(() -> drain(delivery, executor), executor);
+            } catch (RejectedExecutionException e) {
+                draining = false;
+            }
+        }
+    }
+
+    /**
+     * Removes the queued event stored under one coalescing key and relinks the previous sequence of its successor.
+     *
+     * @param slot coalescing key
+     * @return removed event, or {@code null} when none was queued
+     */
+    private Watch<T> unlink(Object slot) {
+        if (!backlog.containsKey(slot)) {
+            return null;
+        }
+        Watch<T> replaced = null;
+        Iterator<Map.Entry<Object, Watch<T>>> iterator = backlog.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Object, Watch<T>> item = iterator.next();
+            if (replaced != null) {
+                item.getValue().setPreviousSequence(replaced.getPreviousSequence());
+                break;
+            }
+            if (item.getKey().equals(slot)) {
+                replaced = item.getValue();
+                iterator.remove();
+            }
+        }
+        return replaced;
+    }
+
 }
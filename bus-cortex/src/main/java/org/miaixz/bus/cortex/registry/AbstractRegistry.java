@@ -65,6 +65,12 @@ public abstract class AbstractRegistry<T extends Assets> implements Registry<T>
      */
     protected final Keying<Keying.RegistrySpec> keying;
 
+    /**
+     * Materialized view of cached entries used by {@link #query(Vector)}.
+     */
+    private final RegistryIndex<T> index = new RegistryIndex<>(RegistryIndex.DEFAULT_REFRESH,
+            entry -> deserialize(JsonKit.toJsonString(entry)));
+
     /**
      * Constructs an AbstractRegistry with shared infrastructure components.
      *
@@ -113,7 +119,9 @@ public abstract class AbstractRegistry<T extends Assets> implements Registry<T>
                 entry.getNamespace_id(),
                 entry.getId(),
                 ttl);
-        cacheX.write(key, JsonKit.toJsonString(entry), ttl);
+        String json = JsonKit.toJsonString(entry);
+        cacheX.write(key, json, ttl);
+        index.put(RegistryIdentity.namespace(entry.getNamespace_id()), entry.getId(), () -> deserialize(json), ttl);
         Logger.debug(
                 false,
                 "Cortex",
@@ -142,6 +150,7 @@ public abstract class AbstractRegistry<T extends Assets> implements Registry<T>
                 id,
                 key);
         cacheX.remove(key);
+        index.remove(RegistryIdentity.namespace(namespace), id);
         Logger.debug(
                 false,
                 "Cortex",
@@ -153,6 +162,12 @@ public abstract class AbstractRegistry<T extends Assets> implements Registry<T>
 
     /**
      * Queries entries matching the given criteria with offset/limit pagination.
+     * <p>
+     * Queries are answered from a materialized index of the cached entries, loaded once per namespace and kept current
+     * by this registry's writes, so the cost is proportional to the returned page rather than to the namespace size.
+     * Id, application, method, version and labels are matched. Returned entries are private copies and may be
+     * modified freely.
+     * </p>
      *
      * @param vector vector parameters including namespace, id filter, offset and limit
      * @return paginated list of matching entries
@@ -171,31 +186,15 @@ public abstract class AbstractRegistry<T extends Assets> implements Registry<T>
                 ns,
                 criteria.getId(),
                 prefix);
-        Map<String, Object> raw = cacheX.scan(prefix);
-        List<T> result = new ArrayList<>();
-        for (Object value : raw.values()) {
-            T entry = deserialize(value);
-            if (entry == null) {
-                continue;
-            }
-            if (criteria.getId() != null && !criteria.getId().equals(entry.getId())) {
-                continue;
-            }
-            result.add(entry);
-        }
         int offset = criteria.getOffset() > 0 ? criteria.getOffset() : 0;
         int limit = criteria.getLimit() > 0 ? criteria.getLimit() : 100;
-        int fromIdx = Math.min(offset, result.size());
-        int toIdx = Math.min(fromIdx + limit, result.size());
-        List<T> page = result.subList(fromIdx, toIdx);
+        List<T> page = index.query(ns, criteria, offset, limit, () -> scan(prefix));
         Logger.debug(
                 false,
                 "Cortex",
-                "Registry query completed: type={}, namespace={}, rawCount={}, matchedCount={}, returnedCount={}, offset={}, limit={}",
+                "Registry query completed: type={}, namespace={}, returnedCount={}, offset={}, limit={}",
                 registryType,
                 ns,
-                raw.size(),
-                result.size(),
                 page.size(),
                 offset,
                 limit);
@@ -243,6 +242,46 @@ public abstract class AbstractRegistry<T extends Assets> implements Registry<T>
         Logger.info(false, "Cortex", "Registry unwatch completed: type={}, watchId={}", registryType, watch_id);
     }
 
+    /**
+     * Drops an entry from the query index after it has been removed from the cache outside {@link #deregister}.
+     *
+     * @param namespace entry namespace
+     * @param id        entry identifier
+     */
+    protected void evictIndex(String namespace, String id) {
+        index.remove(RegistryIdentity.namespace(namespace), id);
+    }
+
+    /**
+     * Drops the query index of a namespace so the next query reloads it from the cache.
+     *
+     * @param namespace namespace
+     */
+    protected void invalidateIndex(String namespace) {
+        index.invalidate(RegistryIdentity.namespace(namespace));
+    }
+
+    /**
+     * Loads and deserializes every cached entry under the given key prefix.
+     *
+     * @param prefix cache key prefix
+     * @return deserialized entries
+     */
+    private List<T> scan(String prefix) {
+        Map<String, Object> raw = cacheX.scan(prefix);
+        if (raw == null || raw.isEmpty()) {
+            return List.of();
+        }
+        List<T> entries = new ArrayList<>(raw.size());
+        for (Object value : raw.values()) {
+            T entry = deserialize(value);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
     /**
      * Deserializes a raw cache value into the managed asset type.
      *
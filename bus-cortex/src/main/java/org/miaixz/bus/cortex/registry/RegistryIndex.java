@@ -0,0 +1,544 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.cortex.registry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.miaixz.bus.core.lang.Symbol;
+import org.miaixz.bus.cortex.Assets;
+import org.miaixz.bus.cortex.Vector;
+
+/**
+ * Materialized, already-deserialized view of the cached entries of one registry type.
+ * <p>
+ * A namespace partition is loaded from one cache scan on its first query and afterwards maintained incrementally by
+ * the registry's own cache writes and removals, so a query no longer decodes every entry of the namespace. Each
+ * partition keeps entries in registration order together with secondary indexes on application, version and labels; a
+ * query walks the smallest matching candidate set and stops once the requested page is filled.
+ * </p>
+ * <p>
+ * Entries written through the registry expire with their TTL. Because the cache may also be written by other nodes, a
+ * partition is reloaded from the cache once it is older than the configured refresh interval. The reload runs outside
+ * the partition map: an empty partition is installed first, writes arriving while it loads are applied to it and take
+ * precedence over the loaded snapshot, and queries wait until it is filled.
+ * </p>
+ * <p>
+ * Indexed entries never leave the index: queries return copies made by the configured copier.
+ * </p>
+ *
+ * @param <T> registered asset type
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+final class RegistryIndex<T extends Assets> {
+
+    /**
+     * Default interval after which a partition is reloaded from the cache.
+     */
+    static final long DEFAULT_REFRESH = 30_000L;
+
+    /**
+     * Interval in milliseconds after which a partition is reloaded from the cache.
+     */
+    private final long refresh;
+
+    /**
+     * Produces the private copy of an indexed entry handed out by queries.
+     */
+    private final UnaryOperator<T> copier;
+
+    /**
+     * Loaded partitions keyed by namespace.
+     */
+    private final Map<String, Partition<T>> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an index with the given refresh interval.
+     *
+     * @param refresh interval in milliseconds after which a partition is reloaded; non-positive disables reloading
+     * @param copier  produces the copy of an indexed entry returned by queries
+     */
+    RegistryIndex(long refresh, UnaryOperator<T> copier) {
+        this.refresh = refresh;
+        this.copier = Objects.requireNonNull(copier, "copier");
+    }
+
+    /**
+     * Queries one namespace, loading its partition first when it is absent or stale.
+     *
+     * @param namespace normalized namespace
+     * @param criteria  query criteria; id, app, method, version and labels are matched
+     * @param offset    number of matching entries to skip
+     * @param limit     maximum number of entries to return
+     * @param loader    loads all entries of the namespace when the partition must be (re)built
+     * @return copies of the matching entries
+     */
+    List<T> query(String namespace, Vector criteria, int offset, int limit, Supplier<Collection<T>> loader) {
+        long now = System.currentTimeMillis();
+        Partition<T> partition = partitions.get(namespace);
+        if (partition == null || refresh > 0 && now - partition.loadedAt > refresh) {
+            Partition<T> stale = partition;
+            Partition<T> fresh = new Partition<>(now);
+            partition = partitions.compute(namespace, (key, current) -> current == stale ? fresh : current);
+            if (partition == fresh) {
+                load(namespace, fresh, loader);
+            }
+        }
+        partition.await();
+        List<T> page = partition.query(criteria, now, offset, limit);
+        List<T> copies = new ArrayList<>(page.size());
+        for (T entry : page) {
+            copies.add(copier.apply(entry));
+        }
+        return copies;
+    }
+
+    /**
+     * Adds or replaces an entry in a loaded partition. Partitions not loaded yet are left alone, so the entry is only
+     * materialized when the namespace is actually queried.
+     *
+     * @param namespace normalized namespace
+     * @param id        entry identifier
+     * @param entry     supplies a private copy of the written entry
+     * @param ttl       entry time-to-live in milliseconds
+     */
+    void put(String namespace, String id, Supplier<T> entry, long ttl) {
+        if (id == null) {
+            return;
+        }
+        partitions.computeIfPresent(namespace, (key, partition) -> {
+            T value = entry.get();
+            if (value == null) {
+                partition.remove(id);
+            } else {
+                partition.put(id, value, System.currentTimeMillis() + ttl);
+            }
+            return partition;
+        });
+    }
+
+    /**
+     * Removes an entry from a loaded partition.
+     *
+     * @param namespace normalized namespace
+     * @param id        entry identifier
+     */
+    void remove(String namespace, String id) {
+        if (id == null) {
+            return;
+        }
+        partitions.computeIfPresent(namespace, (key, partition) -> {
+            partition.remove(id);
+            return partition;
+        });
+    }
+
+    /**
+     * Drops a partition so the next query reloads it from the cache.
+     *
+     * @param namespace normalized namespace
+     */
+    void invalidate(String namespace) {
+        partitions.remove(namespace);
+    }
+
+    /**
+     * Fills a freshly installed partition from all entries of a namespace. A failed load uninstalls the partition so
+     * the next query tries again.
+     *
+     * @param namespace normalized namespace
+     * @param partition installed, still empty partition
+     * @param loader    entry loader
+     */
+    private void load(String namespace, Partition<T> partition, Supplier<Collection<T>> loader) {
+        try {
+            partition.fill(loader.get());
+        } catch (RuntimeException | Error e) {
+            partitions.remove(namespace, partition);
+            partition.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Indexed entry together with its expiry time.
+     *
+     * @param entry    entry snapshot
+     * @param expireAt expiry time in milliseconds
+     * @param <T>      asset type
+     */
+    private record Slot<T>(T entry, long expireAt) {
+    }
+
+    /**
+     * Entries of one namespace with their secondary indexes.
+     *
+     * @param <T> asset type
+     */
+    private static final class Partition<T extends Assets> {
+
+        /**
+         * Time at which the partition was loaded from the cache.
+         */
+        private final long loadedAt;
+
+        /**
+         * Completed once the partition has been filled from the cache.
+         */
+        private final CompletableFuture<Void> ready = new CompletableFuture<>();
+
+        /**
+         * Guards the maps below; queries share the read lock.
+         */
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /**
+         * Ids written or removed while the partition is being filled, whose loaded state is older; {@code null} once
+         * filled.
+         */
+        private Set<String> touched = new HashSet<>();
+
+        /**
+         * Entries keyed by id in registration order.
+         */
+        private final Map<String, Slot<T>> byId = new LinkedHashMap<>();
+
+        /**
+         * Entry ids keyed by application identifier.
+         */
+        private final Map<String, Set<String>> byApp = new HashMap<>();
+
+        /**
+         * Entry ids keyed by version.
+         */
+        private final Map<String, Set<String>> byVersion = new HashMap<>();
+
+        /**
+         * Entry ids keyed by {@code label=value}.
+         */
+        private final Map<String, Set<String>> byLabel = new HashMap<>();
+
+        /**
+         * Creates an empty partition.
+         *
+         * @param loadedAt load time
+         */
+        private Partition(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        /**
+         * Adds or replaces an entry, keeping the registration order of replaced entries.
+         *
+         * @param id       entry identifier
+         * @param entry    entry snapshot
+         * @param expireAt expiry time in milliseconds
+         */
+        private void put(String id, T entry, long expireAt) {
+            lock.writeLock().lock();
+            try {
+                if (touched != null) {
+                    touched.add(id);
+                }
+                store(id, entry, expireAt);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Fills the partition with the entries loaded from the cache, keeping entries written or removed meanwhile, and
+         * releases waiting queries.
+         *
+         * @param entries loaded entries, may be {@code null}
+         */
+        private void fill(Collection<T> entries) {
+            lock.writeLock().lock();
+            try {
+                if (entries != null) {
+                    for (T entry : entries) {
+                        if (entry != null && entry.getId() != null && !touched.contains(entry.getId())) {
+                            store(entry.getId(), entry, Long.MAX_VALUE);
+                        }
+                    }
+                }
+                touched = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready.complete(null);
+        }
+
+        /**
+         * Releases waiting queries with the failure of the load.
+         *
+         * @param cause load failure
+         */
+        private void fail(Throwable cause) {
+            ready.completeExceptionally(cause);
+        }
+
+        /**
+         * Waits until the partition has been filled, rethrowing the load failure.
+         */
+        private void await() {
+            if (ready.isDone() && !ready.isCompletedExceptionally()) {
+                return;
+            }
+            try {
+                ready.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Removes an entry.
+         *
+         * @param id entry identifier
+         */
+        private void remove(String id) {
+            lock.writeLock().lock();
+            try {
+                if (touched != null) {
+                    touched.add(id);
+                }
+                Slot<T> previous = byId.remove(id);
+                if (previous != null) {
+                    unlink(id, previous.entry());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Adds or replaces an entry and its secondary-index keys. The caller holds the write lock.
+         *
+         * @param id       entry identifier
+         * @param entry    entry snapshot
+         * @param expireAt expiry time in milliseconds
+         */
+        private void store(String id, T entry, long expireAt) {
+            Slot<T> previous = byId.put(id, new Slot<>(entry, expireAt));
+            if (previous != null) {
+                unlink(id, previous.entry());
+            }
+            link(id, entry);
+        }
+
+        /**
+         * Returns one page of live entries matching the criteria.
+         *
+         * @param criteria query criteria
+         * @param now      current time in milliseconds
+         * @param offset   number of matching entries to skip
+         * @param limit    maximum number of entries to return
+         * @return matching entries
+         */
+        private List<T> query(Vector criteria, long now, int offset, int limit) {
+            lock.readLock().lock();
+            try {
+                String id = criteria.getId();
+                if (id != null) {
+                    Slot<T> slot = byId.get(id);
+                    return slot != null && offset == 0 && matches(slot, criteria, now) ? List.of(slot.entry())
+                            : List.of();
+                }
+                Collection<String> candidates = candidates(criteria);
+                List<T> page = new ArrayList<>(Math.min(limit, candidates == null ? byId.size() : candidates.size()));
+                int skip = offset;
+                for (Slot<T> slot : candidates == null ? byId.values() : slots(candidates)) {
+                    if (!matches(slot, criteria, now)) {
+                        continue;
+                    }
+                    if (skip > 0) {
+                        skip--;
+                        continue;
+                    }
+                    page.add(slot.entry());
+                    if (page.size() >= limit) {
+                        break;
+                    }
+                }
+                return page;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Picks the smallest secondary-index set selected by the criteria.
+         *
+         * @param criteria query criteria
+         * @return candidate ids, or {@code null} when no indexed criterion is set
+         */
+        private Collection<String> candidates(Vector criteria) {
+            Collection<String> best = null;
+            if (criteria.getApp_id() != null) {
+                best = smaller(best, byApp.getOrDefault(criteria.getApp_id(), Set.of()));
+            }
+            if (criteria.getVersion() != null) {
+                best = smaller(best, byVersion.getOrDefault(criteria.getVersion(), Set.of()));
+            }
+            if (criteria.getLabels() != null) {
+                for (Map.Entry<String, String> label : criteria.getLabels().entrySet()) {
+                    best = smaller(best, byLabel.getOrDefault(label(label.getKey(), label.getValue()), Set.of()));
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Resolves candidate ids to their slots.
+         *
+         * @param ids candidate ids
+         * @return slots in candidate order
+         */
+        private Iterable<Slot<T>> slots(Collection<String> ids) {
+            return () -> ids.stream().map(byId::get).filter(Objects::nonNull).iterator();
+        }
+
+        /**
+         * Returns whether a slot is live and satisfies every criterion.
+         *
+         * @param slot     indexed slot
+         * @param criteria query criteria
+         * @param now      current time in milliseconds
+         * @return {@code true} when the entry matches
+         */
+        private boolean matches(Slot<T> slot, Vector criteria, long now) {
+            if (slot.expireAt() < now) {
+                return false;
+            }
+            T entry = slot.entry();
+            if (criteria.getApp_id() != null && !criteria.getApp_id().equals(entry.getApp_id())) {
+                return false;
+            }
+            if (criteria.getMethod() != null && !criteria.getMethod().equals(entry.getMethod())) {
+                return false;
+            }
+            if (criteria.getVersion() != null && !criteria.getVersion().equals(entry.getVersion())) {
+                return false;
+            }
+            if (criteria.getLabels() != null) {
+                Map<String, String> labels = entry.getLabels();
+                for (Map.Entry<String, String> label : criteria.getLabels().entrySet()) {
+                    if (labels == null || !Objects.equals(label.getValue(), labels.get(label.getKey()))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Adds an entry to the secondary indexes.
+         *
+         * @param id    entry identifier
+         * @param entry entry snapshot
+         */
+        private void link(String id, T entry) {
+            apply(entry, (index, key) -> index.computeIfAbsent(key, ignored -> new LinkedHashSet<>()).add(id));
+        }
+
+        /**
+         * Removes an entry from the secondary indexes.
+         *
+         * @param id    entry identifier
+         * @param entry entry snapshot
+         */
+        private void unlink(String id, T entry) {
+            apply(entry, (index, key) -> {
+                Set<String> ids = index.get(key);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    index.remove(key);
+                }
+            });
+        }
+
+        /**
+         * Visits every secondary-index key of an entry.
+         *
+         * @param entry  entry snapshot
+         * @param action applied to each secondary index and key
+         */
+        private void apply(T entry, BiConsumer<Map<String, Set<String>>, String> action) {
+            if (entry.getApp_id() != null) {
+                action.accept(byApp, entry.getApp_id());
+            }
+            if (entry.getVersion() != null) {
+                action.accept(byVersion, entry.getVersion());
+            }
+            if (entry.getLabels() != null) {
+                for (Map.Entry<String, String> item : entry.getLabels().entrySet()) {
+                    action.accept(byLabel, label(item.getKey(), item.getValue()));
+                }
+            }
+        }
+
+        /**
+         * Returns the smaller of two candidate sets.
+         *
+         * @param current current candidate set, may be {@code null}
+         * @param other   other candidate set
+         * @return the smaller set
+         */
+        private static Collection<String> smaller(Collection<String> current, Collection<String> other) {
+            return current == null || other.size() < current.size() ? other : current;
+        }
+
+        /**
+         * Builds the label index key.
+         *
+         * @param name  label name
+         * @param value label value
+         * @return index key
+         */
+        private static String label(String name, String value) {
+            return name + Symbol.EQUAL + value;
+        }
+
+    }
+
+}
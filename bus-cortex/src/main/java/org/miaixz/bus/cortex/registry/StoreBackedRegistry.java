@@ -184,6 +184,7 @@ public class StoreBackedRegistry<T extends Assets> extends AbstractRegistry<T> {
         T loaded = store.find(registryType, ns, id);
         if (loaded == null) {
             cacheX.remove(keying.key(Keying.RegistrySpec.entry(ns, registryType, id)));
+            evictIndex(ns, id);
             return null;
         }
         T prepared = normalizeEntry(loaded);
@@ -229,7 +230,9 @@ public class StoreBackedRegistry<T extends Assets> extends AbstractRegistry<T> {
         if (id == null) {
             return;
         }
-        cacheX.remove(keying.key(Keying.RegistrySpec.entry(normalizeNamespace(namespace), registryType, id)));
+        String ns = normalizeNamespace(namespace);
+        cacheX.remove(keying.key(Keying.RegistrySpec.entry(ns, registryType, id)));
+        evictIndex(ns, id);
     }
 
     /**
@@ -288,6 +291,7 @@ public class StoreBackedRegistry<T extends Assets> extends AbstractRegistry<T> {
         if (current != null && !current.isEmpty()) {
             cacheX.remove(current.keySet().toArray(String[]::new));
         }
+        invalidateIndex(criteria.getNamespace_id());
         return refresh(criteria);
     }
 
@@ -354,6 +358,7 @@ public class StoreBackedRegistry<T extends Assets> extends AbstractRegistry<T> {
         T existing = find(ns, id);
         if (existing == null) {
             cacheX.remove(keying.key(Keying.RegistrySpec.entry(ns, registryType, id)));
+            evictIndex(ns, id);
             return;
         }
         long tombstoneTime = System.currentTimeMillis();
@@ -374,6 +379,7 @@ public class StoreBackedRegistry<T extends Assets> extends AbstractRegistry<T> {
         String ns = normalizeNamespace(namespace);
         if (existing == null) {
             cacheX.remove(keying.key(Keying.RegistrySpec.entry(ns, registryType, id)));
+            evictIndex(ns, id);
             return;
         }
         T previous = normalizeEntry(existing);
@@ -670,6 +676,7 @@ public class StoreBackedRegistry<T extends Assets> extends AbstractRegistry<T> {
             capabilityFallback("delete", Trait.DURABLE, "cache remove");
         }
         cacheX.remove(keying.key(Keying.RegistrySpec.entry(namespace, registryType, id)));
+        evictIndex(namespace, id);
     }
 
     /**
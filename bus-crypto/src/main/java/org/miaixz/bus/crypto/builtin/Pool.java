@@ -0,0 +1,119 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.crypto.builtin;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.miaixz.bus.core.lang.Assert;
+
+/**
+ * A lock-free pool of reusable cryptographic engines such as ciphers, message digests and MACs, which are not
+ * thread-safe themselves. Borrowing never blocks: the most recently released idle engine is handed out first, and a new
+ * one is created when none is idle. At most {@code capacity} idle engines are retained, so a burst of threads does not
+ * pin its peak number of engines forever.
+ *
+ * @param <T> The engine type.
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class Pool<T> {
+
+    /**
+     * Creates new engines when the pool has none idle.
+     */
+    private final Supplier<T> factory;
+
+    /**
+     * The maximum number of idle engines retained.
+     */
+    private final int capacity;
+
+    /**
+     * The idle engines, most recently released first.
+     */
+    private final Deque<T> idle = new ConcurrentLinkedDeque<>();
+
+    /**
+     * The number of idle engines, tracked separately because {@link ConcurrentLinkedDeque#size()} is linear.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Constructs a pool retaining up to twice the number of available processors idle engines.
+     *
+     * @param factory Creates new engines.
+     */
+    public Pool(final Supplier<T> factory) {
+        this(factory, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Constructs a pool.
+     *
+     * @param factory  Creates new engines.
+     * @param capacity The maximum number of idle engines retained.
+     */
+    public Pool(final Supplier<T> factory, final int capacity) {
+        this.factory = Assert.notNull(factory, "factory must not be null");
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Borrows an engine, creating a new one if none is idle. The caller has exclusive use of it until it is passed to
+     * {@link #release(Object)}.
+     *
+     * @return The engine.
+     */
+    public T borrow() {
+        final T engine = this.idle.pollFirst();
+        if (null == engine) {
+            return this.factory.get();
+        }
+        this.size.decrementAndGet();
+        return engine;
+    }
+
+    /**
+     * Returns a borrowed engine to the pool. The engine is dropped if the pool already retains {@code capacity} idle
+     * engines.
+     *
+     * @param engine The engine, which must no longer be used by the caller.
+     */
+    public void release(final T engine) {
+        if (null != engine && this.size.incrementAndGet() <= this.capacity) {
+            this.idle.offerFirst(engine);
+        } else if (null != engine) {
+            this.size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of idle engines currently retained.
+     *
+     * @return The idle count.
+     */
+    public int idle() {
+        return this.size.get();
+    }
+
+}
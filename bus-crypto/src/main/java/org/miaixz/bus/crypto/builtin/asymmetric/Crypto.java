@@ -31,6 +31,7 @@ import org.miaixz.bus.core.lang.exception.CryptoException;
 import org.miaixz.bus.crypto.Builder;
 import org.miaixz.bus.crypto.Cipher;
 import org.miaixz.bus.crypto.Keeper;
+import org.miaixz.bus.crypto.builtin.Pool;
 import org.miaixz.bus.crypto.cipher.JceCipher;
 import org.miaixz.bus.logger.Logger;
 
@@ -48,6 +49,9 @@ import org.miaixz.bus.logger.Logger;
  * information to the public key owner. This information might be tampered with by others, but it cannot be obtained by
  * others.</li>
  * </ol>
+ * <p>
+ * By default encryption and decryption share one {@link Cipher} guarded by the lock. With
+ * {@link #setConcurrent(boolean)} enabled, each operation borrows a cipher from a pool instead.
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -84,6 +88,16 @@ public class Crypto extends AbstractCrypto<Crypto> {
      */
     private SecureRandom random;
 
+    /**
+     * Whether operations use pooled ciphers instead of the shared, locked cipher.
+     */
+    private volatile boolean concurrent;
+
+    /**
+     * The pool of ciphers used in concurrent mode, created lazily and discarded when the cipher is re-initialized.
+     */
+    private transient volatile Pool<Cipher> pool;
+
     /**
      * Constructs an asymmetric crypto instance, generating a new private-public key pair.
      *
@@ -266,6 +280,28 @@ public class Crypto extends AbstractCrypto<Crypto> {
         return this;
     }
 
+    /**
+     * Returns whether operations use pooled ciphers.
+     *
+     * @return {@code true} if concurrent mode is enabled.
+     */
+    public boolean isConcurrent() {
+        return this.concurrent;
+    }
+
+    /**
+     * Enables or disables concurrent mode. When enabled, each encryption or decryption borrows a cipher created by
+     * {@link #createCipher()} from a pool and initializes it with the requested key, so threads sharing this instance
+     * run in parallel instead of serializing on the lock.
+     *
+     * @param concurrent {@code true} to enable concurrent mode.
+     * @return This {@code Crypto} instance.
+     */
+    public Crypto setConcurrent(final boolean concurrent) {
+        this.concurrent = concurrent;
+        return this;
+    }
+
     /**
      * Description inherited from parent class or interface.
      *
@@ -290,9 +326,10 @@ public class Crypto extends AbstractCrypto<Crypto> {
     @Override
     public byte[] encrypt(final byte[] data, final KeyType keyType) {
         final Key key = getKeyByType(keyType);
-        lock.lock();
+        final Lease lease = acquire();
+        final Cipher cipher = lease.cipher();
         try {
-            final Cipher cipher = initMode(Algorithm.Type.ENCRYPT, key);
+            initMode(cipher, Algorithm.Type.ENCRYPT, key);
 
             if (this.encryptBlockSize < 0) {
                 // If BC library is introduced, automatically get block size
@@ -302,7 +339,7 @@ public class Crypto extends AbstractCrypto<Crypto> {
                 }
             }
 
-            return doFinal(data, this.encryptBlockSize < 0 ? data.length : this.encryptBlockSize);
+            return doFinal(cipher, data, this.encryptBlockSize < 0 ? data.length : this.encryptBlockSize);
         } catch (final Exception e) {
             Logger.warn(
                     false,
@@ -316,7 +353,7 @@ public class Crypto extends AbstractCrypto<Crypto> {
                     e.getClass().getSimpleName());
             throw new CryptoException(e);
         } finally {
-            lock.unlock();
+            release(lease);
         }
     }
 
@@ -330,9 +367,10 @@ public class Crypto extends AbstractCrypto<Crypto> {
     @Override
     public byte[] decrypt(final byte[] data, final KeyType keyType) {
         final Key key = getKeyByType(keyType);
-        lock.lock();
+        final Lease lease = acquire();
+        final Cipher cipher = lease.cipher();
         try {
-            final Cipher cipher = initMode(Algorithm.Type.DECRYPT, key);
+            initMode(cipher, Algorithm.Type.DECRYPT, key);
 
             if (this.decryptBlockSize < 0) {
                 // If BC library is introduced, automatically get block size
@@ -342,7 +380,7 @@ public class Crypto extends AbstractCrypto<Crypto> {
                 }
             }
 
-            return doFinal(data, this.decryptBlockSize < 0 ? data.length : this.decryptBlockSize);
+            return doFinal(cipher, data, this.decryptBlockSize < 0 ? data.length : this.decryptBlockSize);
         } catch (final Exception e) {
             Logger.warn(
                     false,
@@ -356,7 +394,7 @@ public class Crypto extends AbstractCrypto<Crypto> {
                     e.getClass().getSimpleName());
             throw new CryptoException(e);
         } finally {
-            lock.unlock();
+            release(lease);
         }
     }
 
@@ -373,39 +411,100 @@ public class Crypto extends AbstractCrypto<Crypto> {
      * Initializes the {@link Cipher}, attempting to load the Bouncy Castle provider by default.
      */
     protected void initCipher() {
-        this.cipher = new JceCipher(this.algorithm);
+        this.cipher = createCipher();
+        this.pool = null;
+    }
+
+    /**
+     * Creates a new, uninitialized {@link Cipher} for the current algorithm. Used for the shared cipher and for the
+     * pooled ciphers of concurrent mode.
+     *
+     * @return The new cipher.
+     */
+    protected Cipher createCipher() {
+        return new JceCipher(this.algorithm);
+    }
+
+    /**
+     * Obtains a cipher for one operation: a pooled cipher in concurrent mode, otherwise the shared cipher with the lock
+     * held. Every call must be paired with {@link #release(Lease)}.
+     *
+     * @return The lease on the cipher to use.
+     */
+    private Lease acquire() {
+        if (this.concurrent) {
+            final Pool<Cipher> pool = pool();
+            return new Lease(pool.borrow(), pool);
+        }
+        lock.lock();
+        return new Lease(this.cipher, null);
+    }
+
+    /**
+     * Releases a cipher obtained from {@link #acquire()}: unlocks the shared cipher, or returns a pooled cipher to the
+     * pool it was borrowed from, even if the pool has since been replaced by re-initialization.
+     *
+     * @param lease The lease returned by {@link #acquire()}.
+     */
+    private void release(final Lease lease) {
+        if (lease.shared()) {
+            lock.unlock();
+        } else {
+            lease.pool().release(lease.cipher());
+        }
+    }
+
+    /**
+     * Returns the cipher pool, creating it on first use.
+     *
+     * @return The cipher pool.
+     */
+    private Pool<Cipher> pool() {
+        Pool<Cipher> pool = this.pool;
+        if (null == pool) {
+            synchronized (this) {
+                pool = this.pool;
+                if (null == pool) {
+                    pool = this.pool = new Pool<>(this::createCipher);
+                }
+            }
+        }
+        return pool;
     }
 
     /**
      * Performs the final encryption or decryption operation on the given data. Data is processed in blocks if its
      * length exceeds {@code maxBlockSize}.
      *
+     * @param cipher       The initialized cipher.
      * @param data         The content data to be encrypted or decrypted.
      * @param maxBlockSize The maximum block size for processing data in segments.
      * @return The encrypted or decrypted data.
      * @throws IOException     This exception should theoretically not be triggered in this context.
      * @throws CryptoException if the cryptographic operation fails.
      */
-    private byte[] doFinal(final byte[] data, final int maxBlockSize) throws IOException {
+    private byte[] doFinal(final Cipher cipher, final byte[] data, final int maxBlockSize) throws IOException {
         // If data length is less than or equal to maxBlockSize, process in one go
         if (data.length <= maxBlockSize) {
-            return this.cipher.processFinal(data, 0, data.length);
+            return cipher.processFinal(data, 0, data.length);
         }
 
         // Process in blocks
-        return doFinalWithBlock(data, maxBlockSize);
+        return doFinalWithBlock(cipher, data, maxBlockSize);
     }
 
     /**
      * Performs encryption or decryption in blocks (segments).
      *
+     * @param cipher       The initialized cipher.
      * @param data         The data to be encrypted or decrypted.
      * @param maxBlockSize The maximum size of each segment. Must be greater than 0.
      * @return The encrypted or decrypted data.
      * @throws IOException     This exception should theoretically not be triggered in this context.
      * @throws CryptoException if the cryptographic operation fails.
      */
-    private byte[] doFinalWithBlock(final byte[] data, final int maxBlockSize) throws IOException {
+    private byte[] doFinalWithBlock(final Cipher cipher, final byte[] data, final int maxBlockSize)
+            throws IOException {
         final int dataLength = data.length;
         final FastByteArrayOutputStream out = new FastByteArrayOutputStream();
 
@@ -416,7 +515,7 @@ public class Crypto extends AbstractCrypto<Crypto> {
         // Process data in segments
         while (remainLength > 0) {
             blockSize = Math.min(remainLength, maxBlockSize);
-            out.write(this.cipher.processFinal(data, offSet, blockSize));
+            out.write(cipher.processFinal(data, offSet, blockSize));
 
             offSet += blockSize;
             remainLength = dataLength - offSet;
@@ -428,15 +527,35 @@ public class Crypto extends AbstractCrypto<Crypto> {
     /**
      * Initializes the {@link Cipher} with the specified mode (encryption or decryption) and key.
      *
-     * @param mode The operation mode, either {@link Algorithm.Type#ENCRYPT} or {@link Algorithm.Type#DECRYPT}.
-     * @param key  The cryptographic key.
+     * @param cipher The cipher to initialize, either the shared cipher or a pooled one.
+     * @param mode   The operation mode, either {@link Algorithm.Type#ENCRYPT} or {@link Algorithm.Type#DECRYPT}.
+     * @param key    The cryptographic key.
      * @return The initialized {@link Cipher} instance.
      * @throws CryptoException if cipher initialization fails.
      */
-    private Cipher initMode(final Algorithm.Type mode, final Key key) {
-        final Cipher cipher = this.cipher;
+    private Cipher initMode(final Cipher cipher, final Algorithm.Type mode, final Key key) {
         cipher.init(mode, new JceCipher.JceParameters(key, this.algorithmParameterSpec, this.random));
         return cipher;
     }
 
+    /**
+     * A cipher obtained from {@link #acquire()}, recording how it was obtained so that {@link #release(Lease)} undoes
+     * exactly that.
+     *
+     * @param cipher The cipher to use.
+     * @param pool   The pool the cipher was borrowed from, or {@code null} for the shared cipher guarded by the lock.
+     */
+    private record Lease(Cipher cipher, Pool<Cipher> pool) {
+
+        /**
+         * Returns whether this lease holds the shared cipher and the lock.
+         *
+         * @return {@code true} if the shared cipher was acquired under the lock.
+         */
+        boolean shared() {
+            return null == this.pool;
+        }
+
+    }
+
 }
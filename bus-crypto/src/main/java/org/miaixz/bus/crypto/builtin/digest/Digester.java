@@ -32,13 +32,15 @@ import org.miaixz.bus.core.lang.wrapper.SimpleWrapper;
 import org.miaixz.bus.core.xyz.*;
 import org.miaixz.bus.crypto.Builder;
 import org.miaixz.bus.crypto.Holder;
+import org.miaixz.bus.crypto.builtin.Pool;
 import org.miaixz.bus.logger.Logger;
 
 /**
  * Abstract base class for digest algorithms. This class provides common functionality for computing message digests,
  * including support for salting and repeated hashing.
  * <p>
- * Note: Instances of this object are not thread-safe after instantiation.
+ * Note: Instances of this object are not thread-safe after instantiation, unless {@link #setConcurrent(boolean)} is
+ * enabled, in which case every digest computation uses its own {@link MessageDigest} borrowed from a pool.
  * </p>
  *
  * @author Kimi Liu
@@ -64,6 +66,16 @@ public class Digester extends SimpleWrapper<MessageDigest> implements Serializab
      */
     protected int digestCount;
 
+    /**
+     * Whether digest computations use pooled {@link MessageDigest} copies instead of the wrapped instance.
+     */
+    private volatile boolean concurrent;
+
+    /**
+     * The pool of {@link MessageDigest} copies used in concurrent mode, created lazily.
+     */
+    private transient volatile Pool<MessageDigest> pool;
+
     /**
      * Constructs a Digester with the specified algorithm.
      *
@@ -155,6 +167,28 @@ public class Digester extends SimpleWrapper<MessageDigest> implements Serializab
         return this;
     }
 
+    /**
+     * Returns whether digest computations use pooled {@link MessageDigest} copies.
+     *
+     * @return {@code true} if concurrent mode is enabled.
+     */
+    public boolean isConcurrent() {
+        return this.concurrent;
+    }
+
+    /**
+     * Enables or disables concurrent mode. When enabled, each digest computation borrows a copy of the wrapped
+     * {@link MessageDigest} from a pool, so one instance can be shared by several threads. The salt, salt position and
+     * digest count must not be changed while the instance is in use.
+     *
+     * @param concurrent {@code true} to enable concurrent mode.
+     * @return This Digester instance.
+     */
+    public Digester setConcurrent(final boolean concurrent) {
+        this.concurrent = concurrent;
+        return this;
+    }
+
     /**
      * Resets the underlying {@link MessageDigest} to its initial state.
      *
@@ -244,26 +278,30 @@ public class Digester extends SimpleWrapper<MessageDigest> implements Serializab
      * @return The message digest as a byte array.
      */
     public byte[] digest(final byte[] data) {
-        final byte[] result;
-        if (this.saltPosition <= 0) {
-            // Salt at the beginning, automatically ignore empty salt
-            result = doDigest(this.salt, data);
-        } else if (this.saltPosition >= data.length) {
-            // Salt at the end, automatically ignore empty salt
-            result = doDigest(data, this.salt);
-        } else if (ArrayKit.isNotEmpty(this.salt)) {
-            final MessageDigest digest = this.raw;
-            // Salt in the middle
-            digest.update(data, 0, this.saltPosition);
-            digest.update(this.salt);
-            digest.update(data, this.saltPosition, data.length - this.saltPosition);
-            result = digest.digest();
-        } else {
-            // No salt
-            result = doDigest(data);
-        }
+        final MessageDigest digest = acquire();
+        try {
+            final byte[] result;
+            if (this.saltPosition <= 0) {
+                // Salt at the beginning, automatically ignore empty salt
+                result = doDigest(digest, this.salt, data);
+            } else if (this.saltPosition >= data.length) {
+                // Salt at the end, automatically ignore empty salt
+                result = doDigest(digest, data, this.salt);
+            } else if (ArrayKit.isNotEmpty(this.salt)) {
+                // Salt in the middle
+                digest.update(data, 0, this.saltPosition);
+                digest.update(this.salt);
+                digest.update(data, this.saltPosition, data.length - this.saltPosition);
+                result = digest.digest();
+            } else {
+                // No salt
+                result = doDigest(digest, data);
+            }
 
-        return resetAndRepeatDigest(result);
+            return resetAndRepeatDigest(digest, result);
+        } finally {
+            release(digest);
+        }
     }
 
     /**
@@ -314,13 +352,15 @@ public class Digester extends SimpleWrapper<MessageDigest> implements Serializab
             bufferLength = Normal._8192;
         }
 
-        final byte[] result;
+        final MessageDigest digest = acquire();
         try {
+            final byte[] result;
             if (ArrayKit.isEmpty(this.salt)) {
-                result = digestWithoutSalt(data, bufferLength);
+                result = digestWithoutSalt(digest, data, bufferLength);
             } else {
-                result = digestWithSalt(data, bufferLength);
+                result = digestWithSalt(digest, data, bufferLength);
             }
+            return resetAndRepeatDigest(digest, result);
         } catch (final IOException e) {
             Logger.warn(
                     false,
@@ -331,9 +371,9 @@ public class Digester extends SimpleWrapper<MessageDigest> implements Serializab
                     false,
                     e.getClass().getSimpleName());
             throw new InternalException(e);
+        } finally {
+            release(digest);
         }
-
-        return resetAndRepeatDigest(result);
     }
 
     /**
@@ -359,16 +399,66 @@ public class Digester extends SimpleWrapper<MessageDigest> implements Serializab
         return this.raw.getDigestLength();
     }
 
+    /**
+     * Obtains the {@link MessageDigest} for one computation: a pooled copy in concurrent mode, otherwise the wrapped
+     * instance. Every call must be paired with {@link #release(MessageDigest)}.
+     *
+     * @return The message digest to use.
+     */
+    private MessageDigest acquire() {
+        return this.concurrent ? pool().borrow() : this.raw;
+    }
+
+    /**
+     * Releases a {@link MessageDigest} obtained from {@link #acquire()}, returning pooled copies in their initial
+     * state.
+     *
+     * @param digest The message digest.
+     */
+    private void release(final MessageDigest digest) {
+        if (digest != this.raw) {
+            digest.reset();
+            pool().release(digest);
+        }
+    }
+
+    /**
+     * Returns the {@link MessageDigest} pool, creating it on first use. Pooled instances are clones of the wrapped
+     * instance, or new instances of the same algorithm and provider if it cannot be cloned.
+     *
+     * @return The message digest pool.
+     */
+    private Pool<MessageDigest> pool() {
+        Pool<MessageDigest> pool = this.pool;
+        if (null == pool) {
+            synchronized (this) {
+                pool = this.pool;
+                if (null == pool) {
+                    final MessageDigest prototype = this.raw;
+                    pool = this.pool = new Pool<>(() -> {
+                        try {
+                            return (MessageDigest) prototype.clone();
+                        } catch (final CloneNotSupportedException e) {
+                            return Builder.createMessageDigest(prototype.getAlgorithm(), prototype.getProvider());
+                        }
+                    });
+                }
+            }
+        }
+        return pool;
+    }
+
     /**
      * Generates a message digest for the data from the given input stream without using salt.
      *
+     * @param digest       The {@link MessageDigest} to use.
      * @param data         The {@link InputStream} containing the data to be digested.
      * @param bufferLength The buffer length to use for reading the stream.
      * @return The message digest as a byte array.
      * @throws IOException if an I/O error occurs during stream reading.
      */
-    private byte[] digestWithoutSalt(final InputStream data, final int bufferLength) throws IOException {
-        final MessageDigest digest = this.raw;
+    private byte[] digestWithoutSalt(final MessageDigest digest, final InputStream data, final int bufferLength)
+            throws IOException {
         final byte[] buffer = new byte[bufferLength];
         int read;
         while ((read = data.read(buffer, 0, bufferLength)) > -1) {
@@ -381,13 +471,14 @@ public class Digester extends SimpleWrapper<MessageDigest> implements Serializab
      * Generates a message digest for the data from the given input stream with salt. The salt is inserted at the
      * {@link #saltPosition}.
      *
+     * @param digest       The {@link MessageDigest} to use.
      * @param data         The {@link InputStream} containing the data to be digested.
      * @param bufferLength The buffer length to use for reading the stream.
      * @return The message digest as a byte array.
      * @throws IOException if an I/O error occurs during stream reading.
      */
-    private byte[] digestWithSalt(final InputStream data, final int bufferLength) throws IOException {
-        final MessageDigest digest = this.raw;
+    private byte[] digestWithSalt(final MessageDigest digest, final InputStream data, final int bufferLength)
+            throws IOException {
         if (this.saltPosition <= 0) {
             // Salt at the beginning
             digest.update(this.salt);
@@ -421,11 +512,11 @@ public class Digester extends SimpleWrapper<MessageDigest> implements Serializab
     /**
      * Performs the actual digest operation on one or more byte arrays.
      *
-     * @param datas One or more byte arrays to be digested.
+     * @param digest The {@link MessageDigest} to use.
+     * @param datas  One or more byte arrays to be digested.
      * @return The message digest as a byte array.
      */
-    private byte[] doDigest(final byte[]... datas) {
-        final MessageDigest digest = this.raw;
+    private byte[] doDigest(final MessageDigest digest, final byte[]... datas) {
         for (final byte[] data : datas) {
             if (null != data) {
                 digest.update(data);
@@ -438,15 +529,16 @@ public class Digester extends SimpleWrapper<MessageDigest> implements Serializab
      * Resets the digester and repeats the digest operation {@link #digestCount} times. The digester is reset before
      * each repeated digest calculation.
      *
+     * @param digest     The {@link MessageDigest} to use.
      * @param digestData The data that has been digested once.
      * @return The final message digest after repeated hashing.
      */
-    private byte[] resetAndRepeatDigest(byte[] digestData) {
+    private byte[] resetAndRepeatDigest(final MessageDigest digest, byte[] digestData) {
         final int digestCount = Math.max(1, this.digestCount);
-        reset();
+        digest.reset();
         for (int i = 0; i < digestCount - 1; i++) {
-            digestData = doDigest(digestData);
-            reset();
+            digestData = doDigest(digest, digestData);
+            digest.reset();
         }
         return digestData;
     }
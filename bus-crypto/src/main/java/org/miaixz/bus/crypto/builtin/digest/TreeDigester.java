@@ -0,0 +1,410 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.crypto.builtin.digest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+import org.miaixz.bus.core.lang.Algorithm;
+import org.miaixz.bus.core.lang.Assert;
+import org.miaixz.bus.core.lang.Normal;
+import org.miaixz.bus.core.lang.exception.InternalException;
+import org.miaixz.bus.core.xyz.HexKit;
+import org.miaixz.bus.crypto.Builder;
+import org.miaixz.bus.crypto.builtin.Pool;
+
+/**
+ * Tree hashing for large inputs, computed in parallel on the common {@link ForkJoinPool}. The input is split into
+ * fixed-size leaves and hashed as a Merkle tree in the form of RFC 6962, section 2.1:
+ *
+ * <pre>
+ * MTH({})       = H()
+ * MTH({d0})     = H(0x00 || d0)
+ * MTH(D[0..n))  = H(0x01 || MTH(D[0..k)) || MTH(D[k..n)))   where k is the largest power of two below n
+ * </pre>
+ *
+ * The root depends on the algorithm and the leaf size, so both must be agreed on by producer and verifier. Any
+ * {@link MessageDigest} algorithm can be used, for example SHA-256 or SM3 with the BouncyCastle provider. The result is
+ * not the plain digest of the input.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class TreeDigester {
+
+    /**
+     * The default leaf size: 1 MiB.
+     */
+    public static final int DEFAULT_LEAF_SIZE = Normal._1024 * Normal._1024;
+
+    /**
+     * Subtrees covering at most this many bytes are hashed on one thread.
+     */
+    private static final long SEQUENTIAL_BYTES = 4L * Normal._1024 * Normal._1024;
+
+    /**
+     * The domain separation prefix of leaf hashes.
+     */
+    private static final byte LEAF = 0x00;
+
+    /**
+     * The domain separation prefix of interior node hashes.
+     */
+    private static final byte NODE = 0x01;
+
+    /**
+     * The leaf size in bytes.
+     */
+    private final int leafSize;
+
+    /**
+     * Message digests for the algorithm, one per hashing thread.
+     */
+    private final Pool<MessageDigest> pool;
+
+    /**
+     * Constructs a tree digester with the default leaf size.
+     *
+     * @param algorithm The digest algorithm.
+     */
+    public TreeDigester(final Algorithm algorithm) {
+        this(algorithm.getValue(), DEFAULT_LEAF_SIZE);
+    }
+
+    /**
+     * Constructs a tree digester with the default leaf size.
+     *
+     * @param algorithm The digest algorithm name, such as "SHA-256" or "SM3".
+     */
+    public TreeDigester(final String algorithm) {
+        this(algorithm, DEFAULT_LEAF_SIZE);
+    }
+
+    /**
+     * Constructs a tree digester.
+     *
+     * @param algorithm The digest algorithm name, such as "SHA-256" or "SM3".
+     * @param leafSize  The leaf size in bytes, at least 1 KiB.
+     */
+    public TreeDigester(final String algorithm, final int leafSize) {
+        Assert.isTrue(leafSize >= Normal._1024, "leafSize must be at least {}", Normal._1024);
+        this.leafSize = leafSize;
+        // Resolve the algorithm eagerly so that an unknown name fails here rather than on a worker thread.
+        final MessageDigest prototype = Builder.createMessageDigest(algorithm, null);
+        this.pool = new Pool<>(() -> Builder.createMessageDigest(algorithm, prototype.getProvider()));
+        this.pool.release(prototype);
+    }
+
+    /**
+     * Returns the leaf size.
+     *
+     * @return The leaf size in bytes.
+     */
+    public int getLeafSize() {
+        return this.leafSize;
+    }
+
+    /**
+     * Computes the tree hash of a byte array.
+     *
+     * @param data The data.
+     * @return The root hash.
+     */
+    public byte[] digest(final byte[] data) {
+        final ByteBuffer buffer = ByteBuffer.wrap(data).asReadOnlyBuffer();
+        return root(data.length, index -> slice(buffer, index * this.leafSize, data.length));
+    }
+
+    /**
+     * Computes the tree hash of a byte array as a hex string.
+     *
+     * @param data The data.
+     * @return The root hash in hex.
+     */
+    public String digestHex(final byte[] data) {
+        return HexKit.encodeString(digest(data));
+    }
+
+    /**
+     * Computes the tree hash of a file, reading its leaves through memory mapping.
+     *
+     * @param file The file.
+     * @return The root hash.
+     * @throws InternalException if an I/O error occurs.
+     */
+    public byte[] digest(final Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            return root(size, index -> {
+                final long position = index * this.leafSize;
+                try {
+                    return channel.map(
+                            FileChannel.MapMode.READ_ONLY,
+                            position,
+                            Math.min(this.leafSize, size - position));
+                } catch (final IOException e) {
+                    throw new InternalException(e);
+                }
+            });
+        } catch (final IOException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Computes the tree hash of a file as a hex string.
+     *
+     * @param file The file.
+     * @return The root hash in hex.
+     */
+    public String digestHex(final Path file) {
+        return HexKit.encodeString(digest(file));
+    }
+
+    /**
+     * Computes the tree hash of a stream. Leaves are hashed in parallel while the stream is read, with at most twice
+     * the common pool parallelism leaves held in memory.
+     *
+     * @param data The stream, which is not closed.
+     * @return The root hash.
+     * @throws InternalException if an I/O error occurs.
+     */
+    public byte[] digest(final InputStream data) {
+        final int window = Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2);
+        final Deque<CompletableFuture<byte[]>> inflight = new ArrayDeque<>(window);
+        final List<byte[]> leaves = new ArrayList<>();
+        try {
+            byte[] leaf;
+            while ((leaf = data.readNBytes(this.leafSize)).length > 0) {
+                final ByteBuffer buffer = ByteBuffer.wrap(leaf);
+                inflight.add(CompletableFuture.supplyAsync(() -> leaf(buffer), ForkJoinPool.commonPool()));
+                if (inflight.size() >= window) {
+                    leaves.add(join(inflight.poll()));
+                }
+                if (leaf.length < this.leafSize) {
+                    break;
+                }
+            }
+            while (!inflight.isEmpty()) {
+                leaves.add(join(inflight.poll()));
+            }
+        } catch (final IOException e) {
+            throw new InternalException(e);
+        } finally {
+            inflight.forEach(future -> future.cancel(false));
+        }
+        return leaves.isEmpty() ? empty() : combine(leaves, 0, leaves.size());
+    }
+
+    /**
+     * Computes the tree hash of a stream as a hex string.
+     *
+     * @param data The stream, which is not closed.
+     * @return The root hash in hex.
+     */
+    public String digestHex(final InputStream data) {
+        return HexKit.encodeString(digest(data));
+    }
+
+    /**
+     * Computes the root over random-access leaves.
+     *
+     * @param size   The total input size.
+     * @param leaves Returns the bytes of the leaf with the given index.
+     * @return The root hash.
+     */
+    private byte[] root(final long size, final LongFunction<ByteBuffer> leaves) {
+        if (0 == size) {
+            return empty();
+        }
+        final long count = (size + this.leafSize - 1) / this.leafSize;
+        return ForkJoinPool.commonPool().invoke(new Subtree(leaves, 0, count));
+    }
+
+    /**
+     * Combines precomputed leaf hashes into the root of the range {@code [from, to)}.
+     *
+     * @param leaves The leaf hashes.
+     * @param from   The first leaf, inclusive.
+     * @param to     The last leaf, exclusive.
+     * @return The subtree hash.
+     */
+    private byte[] combine(final List<byte[]> leaves, final int from, final int to) {
+        if (to - from == 1) {
+            return leaves.get(from);
+        }
+        final int split = from + Integer.highestOneBit(to - from - 1);
+        return node(combine(leaves, from, split), combine(leaves, split, to));
+    }
+
+    /**
+     * Returns the hash of the empty input.
+     *
+     * @return The hash of no bytes.
+     */
+    private byte[] empty() {
+        final MessageDigest digest = this.pool.borrow();
+        try {
+            return digest.digest();
+        } finally {
+            this.pool.release(digest);
+        }
+    }
+
+    /**
+     * Hashes one leaf.
+     *
+     * @param data The leaf bytes.
+     * @return The leaf hash.
+     */
+    private byte[] leaf(final ByteBuffer data) {
+        final MessageDigest digest = this.pool.borrow();
+        try {
+            digest.update(LEAF);
+            digest.update(data);
+            return digest.digest();
+        } finally {
+            digest.reset();
+            this.pool.release(digest);
+        }
+    }
+
+    /**
+     * Hashes an interior node.
+     *
+     * @param left  The left child hash.
+     * @param right The right child hash.
+     * @return The node hash.
+     */
+    private byte[] node(final byte[] left, final byte[] right) {
+        final MessageDigest digest = this.pool.borrow();
+        try {
+            digest.update(NODE);
+            digest.update(left);
+            digest.update(right);
+            return digest.digest();
+        } finally {
+            digest.reset();
+            this.pool.release(digest);
+        }
+    }
+
+    /**
+     * Returns a view of one leaf of a buffer.
+     *
+     * @param buffer The whole input.
+     * @param offset The leaf offset.
+     * @param size   The input size.
+     * @return The leaf view.
+     */
+    private ByteBuffer slice(final ByteBuffer buffer, final long offset, final int size) {
+        return buffer.slice((int) offset, (int) Math.min(this.leafSize, size - offset));
+    }
+
+    /**
+     * Waits for a leaf hash, rethrowing the task's own exception.
+     *
+     * @param future The leaf hash.
+     * @return The hash.
+     */
+    private static byte[] join(final CompletableFuture<byte[]> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Computes the hash of the subtree over the leaves {@code [from, to)}, forking the left half while the subtree is
+     * larger than {@link #SEQUENTIAL_BYTES}.
+     */
+    private final class Subtree extends RecursiveTask<byte[]> {
+
+        /**
+         * Returns the bytes of the leaf with the given index.
+         */
+        private final LongFunction<ByteBuffer> leaves;
+
+        /**
+         * The first leaf, inclusive.
+         */
+        private final long from;
+
+        /**
+         * The last leaf, exclusive.
+         */
+        private final long to;
+
+        /**
+         * Constructs a subtree task.
+         *
+         * @param leaves Returns the bytes of the leaf with the given index.
+         * @param from   The first leaf, inclusive.
+         * @param to     The last leaf, exclusive.
+         */
+        private Subtree(final LongFunction<ByteBuffer> leaves, final long from, final long to) {
+            this.leaves = leaves;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Computes the subtree hash.
+         *
+         * @return The subtree hash.
+         */
+        @Override
+        protected byte[] compute() {
+            final long count = this.to - this.from;
+            if (count == 1) {
+                return leaf(this.leaves.apply(this.from));
+            }
+            final long split = this.from + Long.highestOneBit(count - 1);
+            final Subtree left = new Subtree(this.leaves, this.from, split);
+            final Subtree right = new Subtree(this.leaves, split, this.to);
+            if (count * leafSize <= SEQUENTIAL_BYTES) {
+                return node(left.compute(), right.compute());
+            }
+            left.fork();
+            final byte[] hash = right.compute();
+            return node(left.join(), hash);
+        }
+
+    }
+
+}
@@ -21,7 +21,9 @@ package org.miaixz.bus.crypto.builtin.digest.mac;
 
 import org.bouncycastle.crypto.CipherParameters;
 import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.util.Memoable;
 
+import org.miaixz.bus.core.lang.exception.CryptoException;
 import org.miaixz.bus.core.lang.wrapper.SimpleWrapper;
 
 /**
@@ -44,6 +46,15 @@ public class BCMac extends SimpleWrapper<org.bouncycastle.crypto.Mac> implements
         super(initMac(mac, params));
     }
 
+    /**
+     * Constructs a BCMac wrapping an already initialized MAC.
+     *
+     * @param mac The initialized MAC.
+     */
+    private BCMac(final org.bouncycastle.crypto.Mac mac) {
+        super(mac);
+    }
+
     /**
      * Initializes the BouncyCastle MAC instance with the given parameters.
      *
@@ -110,4 +121,21 @@ public class BCMac extends SimpleWrapper<org.bouncycastle.crypto.Mac> implements
         return this.raw.getAlgorithmName();
     }
 
+    /**
+     * Creates a copy of engines implementing {@link Memoable}, such as HMAC, which keeps the key without re-running the
+     * key schedule.
+     *
+     * @return The copy.
+     * @throws CryptoException if the underlying MAC does not implement {@link Memoable}.
+     */
+    @Override
+    public Mac copy() {
+        if (!(this.raw instanceof Memoable memoable)) {
+            throw new CryptoException("Copying is not supported by MAC engine: {}", getAlgorithm());
+        }
+        final org.bouncycastle.crypto.Mac mac = (org.bouncycastle.crypto.Mac) memoable.copy();
+        mac.reset();
+        return new BCMac(mac);
+    }
+
 }
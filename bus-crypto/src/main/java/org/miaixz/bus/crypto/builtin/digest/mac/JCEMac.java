@@ -39,6 +39,21 @@ import org.miaixz.bus.logger.Logger;
  */
 public class JCEMac extends SimpleWrapper<javax.crypto.Mac> implements Mac {
 
+    /**
+     * The MAC algorithm name, kept to re-create the MAC when the provider's implementation cannot be cloned.
+     */
+    private String algorithm;
+
+    /**
+     * The caller-supplied key, or {@code null} if a random key was generated or the MAC was supplied initialized.
+     */
+    private Key key;
+
+    /**
+     * The caller-supplied algorithm parameters, if any.
+     */
+    private AlgorithmParameterSpec spec;
+
     /**
      * Constructs a {@code JCEMac} instance with the specified algorithm and key material.
      *
@@ -69,6 +84,18 @@ public class JCEMac extends SimpleWrapper<javax.crypto.Mac> implements Mac {
      */
     public JCEMac(final String algorithm, final Key key, final AlgorithmParameterSpec spec) {
         super(initMac(algorithm, key, spec));
+        this.algorithm = algorithm;
+        this.key = key;
+        this.spec = spec;
+    }
+
+    /**
+     * Constructs a JCEMac wrapping an already initialized {@link javax.crypto.Mac}.
+     *
+     * @param mac The initialized MAC.
+     */
+    public JCEMac(final javax.crypto.Mac mac) {
+        super(mac);
     }
 
     /**
@@ -167,4 +194,26 @@ public class JCEMac extends SimpleWrapper<javax.crypto.Mac> implements Mac {
         return this.raw.getAlgorithm();
     }
 
+    /**
+     * Creates a copy by cloning the underlying {@link javax.crypto.Mac}, which keeps its key without re-running the key
+     * schedule. Providers whose MACs cannot be cloned get a new MAC initialized with the same key and parameters.
+     *
+     * @return The copy.
+     * @throws CryptoException if the MAC cannot be cloned and its key is unknown, because it was randomly generated or
+     *                         the MAC was supplied already initialized.
+     */
+    @Override
+    public Mac copy() {
+        try {
+            final javax.crypto.Mac mac = (javax.crypto.Mac) this.raw.clone();
+            mac.reset();
+            return new JCEMac(mac);
+        } catch (final CloneNotSupportedException e) {
+            if (null == this.key) {
+                throw new CryptoException(e);
+            }
+            return new JCEMac(this.algorithm, this.key, this.spec);
+        }
+    }
+
 }
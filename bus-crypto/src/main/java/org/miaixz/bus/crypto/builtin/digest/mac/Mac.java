@@ -125,4 +125,15 @@ public interface Mac {
      */
     String getAlgorithm();
 
+    /**
+     * Creates an independent copy of this engine with the same algorithm and key, in its initial state. Used to give
+     * each thread its own engine when one MAC is shared concurrently.
+     *
+     * @return The copy.
+     * @throws CryptoException if the engine cannot be copied.
+     */
+    default Mac copy() {
+        throw new CryptoException("Copying is not supported by MAC engine: {}", getAlgorithm());
+    }
+
 }
@@ -0,0 +1,727 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.crypto.builtin.symmetric;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.miaixz.bus.core.io.stream.FastByteArrayOutputStream;
+import org.miaixz.bus.core.lang.Assert;
+import org.miaixz.bus.core.lang.Normal;
+import org.miaixz.bus.core.lang.exception.CryptoException;
+import org.miaixz.bus.core.lang.exception.InternalException;
+import org.miaixz.bus.core.xyz.IoKit;
+import org.miaixz.bus.core.xyz.RandomKit;
+import org.miaixz.bus.crypto.Builder;
+import org.miaixz.bus.crypto.Keeper;
+import org.miaixz.bus.crypto.builtin.Pool;
+
+/**
+ * Chunked authenticated encryption for large streams and files. The input is split into fixed-size chunks that are
+ * sealed independently with AES-GCM or SM4-GCM, so encryption and decryption use several cores and decryption can
+ * release each chunk as soon as it has been authenticated.
+ * <p>
+ * The output is a self-describing container:
+ *
+ * <pre>
+ * header : magic "BUSC" (4) | version (1) | suite (1) | reserved (2) | chunk size (4) | nonce prefix (8)
+ * chunk  : ciphertext | tag (16)
+ * </pre>
+ *
+ * Every chunk but the last holds exactly {@code chunk size} plaintext bytes; the last one is always shorter, possibly
+ * empty. Chunk {@code i} uses the nonce {@code prefix || i} and authenticates the header, {@code i} and a last-chunk
+ * flag as additional data, so reordered, dropped, truncated or appended chunks are all rejected. The nonce prefix is
+ * random per container, so one key may seal about 2<sup>32</sup> containers of at most 2<sup>32</sup> chunks each.
+ * <p>
+ * Decryption writes each chunk only after verifying it. When an exception is thrown, the output written so far is
+ * authentic but incomplete and must be discarded by the caller.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class ChunkedCrypto implements Encryptor, Decryptor {
+
+    /**
+     * The length of the container header in bytes.
+     */
+    public static final int HEADER_LENGTH = 20;
+
+    /**
+     * The length of the GCM tag appended to each chunk in bytes.
+     */
+    public static final int TAG_LENGTH = Normal._16;
+
+    /**
+     * The default chunk size: 1 MiB.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = Normal._1024 * Normal._1024;
+
+    /**
+     * The smallest accepted chunk size.
+     */
+    private static final int MIN_CHUNK_SIZE = Normal._1024;
+
+    /**
+     * The largest accepted chunk size, which also bounds the memory a hostile header can make decryption allocate.
+     */
+    private static final int MAX_CHUNK_SIZE = 64 * Normal._1024 * Normal._1024;
+
+    /**
+     * The maximum number of chunks in one container, bounded by the 32-bit chunk counter in the nonce.
+     */
+    private static final long MAX_CHUNKS = 1L << 32;
+
+    /**
+     * The container magic.
+     */
+    private static final byte[] MAGIC = { 'B', 'U', 'S', 'C' };
+
+    /**
+     * The container format version.
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * The cipher suite.
+     */
+    private final Suite suite;
+
+    /**
+     * The secret key.
+     */
+    private final SecretKey key;
+
+    /**
+     * The plaintext chunk size used for encryption.
+     */
+    private final int chunkSize;
+
+    /**
+     * The number of chunks processed concurrently.
+     */
+    private final int parallelism;
+
+    /**
+     * Ciphers for the suite, one per chunk in flight.
+     */
+    private final Pool<Cipher> pool;
+
+    /**
+     * The source of nonce prefixes, or {@code null} for the default.
+     */
+    private SecureRandom random;
+
+    /**
+     * Constructs a chunked crypto with the default chunk size and one chunk per available processor in flight.
+     *
+     * @param suite The cipher suite.
+     * @param key   The raw key, 16 bytes for SM4 and 16, 24 or 32 bytes for AES.
+     */
+    public ChunkedCrypto(final Suite suite, final byte[] key) {
+        this(suite, key, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a chunked crypto.
+     *
+     * @param suite       The cipher suite.
+     * @param key         The raw key, 16 bytes for SM4 and 16, 24 or 32 bytes for AES.
+     * @param chunkSize   The plaintext chunk size used for encryption, between 1 KiB and 64 MiB.
+     * @param parallelism The number of chunks processed concurrently; 1 processes chunks on the calling thread.
+     */
+    public ChunkedCrypto(final Suite suite, final byte[] key, final int chunkSize, final int parallelism) {
+        this(suite, Keeper.generateKey(suite.algorithm, Assert.notNull(key, "key must not be null")), chunkSize,
+                parallelism);
+    }
+
+    /**
+     * Constructs a chunked crypto.
+     *
+     * @param suite       The cipher suite.
+     * @param key         The secret key.
+     * @param chunkSize   The plaintext chunk size used for encryption, between 1 KiB and 64 MiB.
+     * @param parallelism The number of chunks processed concurrently; 1 processes chunks on the calling thread.
+     */
+    public ChunkedCrypto(final Suite suite, final SecretKey key, final int chunkSize, final int parallelism) {
+        this.suite = Assert.notNull(suite, "suite must not be null");
+        this.key = Assert.notNull(key, "key must not be null");
+        Assert.isTrue(
+                chunkSize >= MIN_CHUNK_SIZE && chunkSize <= MAX_CHUNK_SIZE,
+                "chunkSize must be between {} and {}",
+                MIN_CHUNK_SIZE,
+                MAX_CHUNK_SIZE);
+        this.chunkSize = chunkSize;
+        this.parallelism = Math.max(1, parallelism);
+        this.pool = new Pool<>(() -> Builder.createCipher(suite.transformation), this.parallelism * 2);
+    }
+
+    /**
+     * Sets the {@link SecureRandom} used to generate nonce prefixes.
+     *
+     * @param random The random source.
+     * @return this instance.
+     */
+    public ChunkedCrypto setRandom(final SecureRandom random) {
+        this.random = random;
+        return this;
+    }
+
+    /**
+     * Encrypts a byte array into a container.
+     *
+     * @param data The plaintext.
+     * @return The container bytes.
+     */
+    @Override
+    public byte[] encrypt(final byte[] data) {
+        final FastByteArrayOutputStream out = new FastByteArrayOutputStream(
+                HEADER_LENGTH + data.length + (data.length / this.chunkSize + 1) * TAG_LENGTH);
+        encrypt(new ByteArrayInputStream(data), out, false);
+        return out.toByteArray();
+    }
+
+    /**
+     * Encrypts a stream into a container, reading ahead up to twice the parallelism in chunks.
+     *
+     * @param data    The plaintext stream.
+     * @param out     The container output.
+     * @param isClose Whether to close the input stream afterwards.
+     * @throws InternalException if an I/O error occurs.
+     * @throws CryptoException   if a chunk cannot be sealed.
+     */
+    @Override
+    public void encrypt(final InputStream data, final OutputStream out, final boolean isClose) {
+        try {
+            final byte[] header = header();
+            out.write(header);
+            pipeline(new StreamChunks(data, this.chunkSize, 0), chunk -> seal(header, chunk), out);
+        } catch (final IOException e) {
+            throw new InternalException(e);
+        } finally {
+            if (isClose) {
+                IoKit.closeQuietly(data);
+            }
+        }
+    }
+
+    /**
+     * Encrypts a file into a container, reading its chunks through memory mapping instead of copying them onto the
+     * heap.
+     *
+     * @param file The plaintext file.
+     * @param out  The container output.
+     * @throws InternalException if an I/O error occurs.
+     * @throws CryptoException   if a chunk cannot be sealed.
+     */
+    public void encrypt(final Path file, final OutputStream out) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final byte[] header = header();
+            out.write(header);
+            pipeline(
+                    new MappedChunks(channel, 0, channel.size(), this.chunkSize, 0),
+                    chunk -> seal(header, chunk),
+                    out);
+        } catch (final IOException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Decrypts a container held in a byte array.
+     *
+     * @param bytes The container bytes.
+     * @return The plaintext.
+     */
+    @Override
+    public byte[] decrypt(final byte[] bytes) {
+        final FastByteArrayOutputStream out = new FastByteArrayOutputStream(bytes.length);
+        decrypt(new ByteArrayInputStream(bytes), out, false);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decrypts a container stream, writing each chunk once it has been authenticated.
+     *
+     * @param data    The container stream.
+     * @param out     The plaintext output.
+     * @param isClose Whether to close the input stream afterwards.
+     * @throws InternalException if an I/O error occurs.
+     * @throws CryptoException   if the header is invalid or a chunk fails authentication.
+     */
+    @Override
+    public void decrypt(final InputStream data, final OutputStream out, final boolean isClose) {
+        try {
+            final byte[] header = data.readNBytes(HEADER_LENGTH);
+            final int size = parse(header);
+            pipeline(new StreamChunks(data, size + TAG_LENGTH, TAG_LENGTH), chunk -> open(header, chunk), out);
+        } catch (final IOException e) {
+            throw new InternalException(e);
+        } finally {
+            if (isClose) {
+                IoKit.closeQuietly(data);
+            }
+        }
+    }
+
+    /**
+     * Decrypts a container file, reading its chunks through memory mapping.
+     *
+     * @param file The container file.
+     * @param out  The plaintext output.
+     * @throws InternalException if an I/O error occurs.
+     * @throws CryptoException   if the header is invalid or a chunk fails authentication.
+     */
+    public void decrypt(final Path file, final OutputStream out) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH);
+            while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+                // Keep reading until the header is complete or the file ends.
+            }
+            final byte[] header = Arrays.copyOf(buffer.array(), buffer.position());
+            final int size = parse(header);
+            pipeline(
+                    new MappedChunks(channel, HEADER_LENGTH, channel.size() - HEADER_LENGTH, size + TAG_LENGTH,
+                            TAG_LENGTH),
+                    chunk -> open(header, chunk),
+                    out);
+        } catch (final IOException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Returns the cipher suite.
+     *
+     * @return The suite.
+     */
+    public Suite getSuite() {
+        return this.suite;
+    }
+
+    /**
+     * Returns the plaintext chunk size used for encryption.
+     *
+     * @return The chunk size in bytes.
+     */
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * Runs the chunk task over all chunks with up to twice the parallelism in flight and writes the results in chunk
+     * order.
+     *
+     * @param chunks The chunks.
+     * @param task   Seals or opens one chunk.
+     * @param out    The output.
+     * @throws IOException if writing fails.
+     */
+    private void pipeline(final Iterator<Chunk> chunks, final Function<Chunk, byte[]> task, final OutputStream out)
+            throws IOException {
+        if (this.parallelism == 1) {
+            while (chunks.hasNext()) {
+                out.write(task.apply(chunks.next()));
+            }
+            return;
+        }
+        final int window = this.parallelism * 2;
+        final Deque<CompletableFuture<byte[]>> inflight = new ArrayDeque<>(window);
+        try {
+            while (chunks.hasNext()) {
+                final Chunk chunk = chunks.next();
+                inflight.add(CompletableFuture.supplyAsync(() -> task.apply(chunk), ForkJoinPool.commonPool()));
+                if (inflight.size() >= window) {
+                    out.write(join(inflight.poll()));
+                }
+            }
+            while (!inflight.isEmpty()) {
+                out.write(join(inflight.poll()));
+            }
+        } finally {
+            inflight.forEach(future -> future.cancel(false));
+        }
+    }
+
+    /**
+     * Waits for a chunk result, rethrowing the chunk's own exception.
+     *
+     * @param future The chunk result.
+     * @return The chunk bytes.
+     */
+    private static byte[] join(final CompletableFuture<byte[]> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates the header of a new container with a random nonce prefix.
+     *
+     * @return The header.
+     */
+    private byte[] header() {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.put(MAGIC).put(VERSION).put(this.suite.id).putShort((short) 0).putInt(this.chunkSize);
+        final byte[] prefix = new byte[8];
+        (null == this.random ? RandomKit.getSecureRandom() : this.random).nextBytes(prefix);
+        return header.put(prefix).array();
+    }
+
+    /**
+     * Validates a container header against this instance.
+     *
+     * @param header The header bytes.
+     * @return The container's plaintext chunk size.
+     * @throws CryptoException if the header is truncated, malformed or was written for another suite.
+     */
+    private int parse(final byte[] header) {
+        if (header.length < HEADER_LENGTH) {
+            throw new CryptoException("Chunked container is truncated: missing header");
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(header);
+        final byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC) || buffer.get() != VERSION) {
+            throw new CryptoException("Not a chunked container or unsupported version");
+        }
+        if (buffer.get() != this.suite.id) {
+            throw new CryptoException("Chunked container was not sealed with {}", this.suite);
+        }
+        buffer.getShort();
+        final int size = buffer.getInt();
+        if (size < MIN_CHUNK_SIZE || size > MAX_CHUNK_SIZE) {
+            throw new CryptoException("Invalid chunk size in container header: {}", size);
+        }
+        return size;
+    }
+
+    /**
+     * Encrypts one chunk.
+     *
+     * @param header The container header.
+     * @param chunk  The plaintext chunk.
+     * @return The ciphertext and tag.
+     */
+    private byte[] seal(final byte[] header, final Chunk chunk) {
+        return crypt(Cipher.ENCRYPT_MODE, header, chunk);
+    }
+
+    /**
+     * Decrypts and authenticates one chunk.
+     *
+     * @param header The container header.
+     * @param chunk  The ciphertext and tag.
+     * @return The plaintext.
+     */
+    private byte[] open(final byte[] header, final Chunk chunk) {
+        return crypt(Cipher.DECRYPT_MODE, header, chunk);
+    }
+
+    /**
+     * Seals or opens one chunk with a pooled cipher.
+     *
+     * @param mode   {@link Cipher#ENCRYPT_MODE} or {@link Cipher#DECRYPT_MODE}.
+     * @param header The container header.
+     * @param chunk  The chunk.
+     * @return The output bytes.
+     * @throws CryptoException if the chunk cannot be processed or fails authentication.
+     */
+    private byte[] crypt(final int mode, final byte[] header, final Chunk chunk) {
+        if (chunk.index() >= MAX_CHUNKS) {
+            throw new CryptoException("Chunked container exceeds {} chunks", MAX_CHUNKS);
+        }
+        final byte[] nonce = ByteBuffer.allocate(12).put(header, HEADER_LENGTH - 8, 8).putInt((int) chunk.index())
+                .array();
+        final byte[] aad = ByteBuffer.allocate(HEADER_LENGTH + 9).put(header).putLong(chunk.index())
+                .put((byte) (chunk.last() ? 1 : 0)).array();
+        final Cipher cipher = this.pool.borrow();
+        try {
+            cipher.init(mode, this.key, new GCMParameterSpec(TAG_LENGTH * 8, nonce));
+            cipher.updateAAD(aad);
+            final ByteBuffer output = ByteBuffer.allocate(cipher.getOutputSize(chunk.data().remaining()));
+            cipher.doFinal(chunk.data(), output);
+            return output.position() == output.capacity() ? output.array()
+                    : Arrays.copyOf(output.array(), output.position());
+        } catch (final AEADBadTagException e) {
+            throw new CryptoException(e, "Chunk {} failed authentication", chunk.index());
+        } catch (final GeneralSecurityException e) {
+            throw new CryptoException(e);
+        } finally {
+            this.pool.release(cipher);
+        }
+    }
+
+    /**
+     * The supported cipher suites.
+     */
+    public enum Suite {
+
+        /**
+         * AES in Galois/Counter Mode.
+         */
+        AES_GCM((byte) 1, "AES", "AES/GCM/NoPadding"),
+
+        /**
+         * SM4 in Galois/Counter Mode, which requires the BouncyCastle provider.
+         */
+        SM4_GCM((byte) 2, "SM4", "SM4/GCM/NoPadding");
+
+        /**
+         * The suite identifier stored in the header.
+         */
+        private final byte id;
+
+        /**
+         * The key algorithm.
+         */
+        private final String algorithm;
+
+        /**
+         * The cipher transformation.
+         */
+        private final String transformation;
+
+        /**
+         * Constructs a suite.
+         *
+         * @param id             The suite identifier stored in the header.
+         * @param algorithm      The key algorithm.
+         * @param transformation The cipher transformation.
+         */
+        Suite(final byte id, final String algorithm, final String transformation) {
+            this.id = id;
+            this.algorithm = algorithm;
+            this.transformation = transformation;
+        }
+
+    }
+
+    /**
+     * One chunk of input.
+     *
+     * @param index The zero-based chunk index.
+     * @param data  The chunk bytes.
+     * @param last  Whether this is the last chunk.
+     */
+    private record Chunk(long index, ByteBuffer data, boolean last) {
+
+    }
+
+    /**
+     * Splits a stream into chunks of a fixed length. The last chunk is the first one shorter than the length.
+     */
+    private static final class StreamChunks implements Iterator<Chunk> {
+
+        /**
+         * The input.
+         */
+        private final InputStream in;
+
+        /**
+         * The length of every chunk but the last.
+         */
+        private final int length;
+
+        /**
+         * The minimum length of the last chunk.
+         */
+        private final int minimum;
+
+        /**
+         * The index of the next chunk.
+         */
+        private long index;
+
+        /**
+         * Whether the last chunk has been returned.
+         */
+        private boolean done;
+
+        /**
+         * Constructs a stream splitter.
+         *
+         * @param in      The input.
+         * @param length  The length of every chunk but the last.
+         * @param minimum The minimum length of the last chunk.
+         */
+        private StreamChunks(final InputStream in, final int length, final int minimum) {
+            this.in = in;
+            this.length = length;
+            this.minimum = minimum;
+        }
+
+        /**
+         * Returns whether the last chunk has not been returned yet.
+         *
+         * @return {@code true} if more chunks follow.
+         */
+        @Override
+        public boolean hasNext() {
+            return !this.done;
+        }
+
+        /**
+         * Reads the next chunk.
+         *
+         * @return The chunk.
+         * @throws InternalException if reading fails.
+         * @throws CryptoException   if the last chunk is shorter than the minimum.
+         */
+        @Override
+        public Chunk next() {
+            if (this.done) {
+                throw new NoSuchElementException();
+            }
+            final byte[] data;
+            try {
+                data = this.in.readNBytes(this.length);
+            } catch (final IOException e) {
+                throw new InternalException(e);
+            }
+            this.done = data.length < this.length;
+            if (this.done && data.length < this.minimum) {
+                throw new CryptoException("Chunked container is truncated after chunk {}", this.index);
+            }
+            return new Chunk(this.index++, ByteBuffer.wrap(data), this.done);
+        }
+
+    }
+
+    /**
+     * Splits a file region into memory-mapped chunks of a fixed length. The last chunk is the remainder, which is
+     * always shorter than the length.
+     */
+    private static final class MappedChunks implements Iterator<Chunk> {
+
+        /**
+         * The file channel.
+         */
+        private final FileChannel channel;
+
+        /**
+         * The file offset of the region.
+         */
+        private final long offset;
+
+        /**
+         * The length of every chunk but the last.
+         */
+        private final int length;
+
+        /**
+         * The number of chunks, including the last one.
+         */
+        private final long count;
+
+        /**
+         * The length of the last chunk.
+         */
+        private final int remainder;
+
+        /**
+         * The index of the next chunk.
+         */
+        private long index;
+
+        /**
+         * Constructs a file splitter.
+         *
+         * @param channel The file channel.
+         * @param offset  The file offset of the region.
+         * @param size    The size of the region.
+         * @param length  The length of every chunk but the last.
+         * @param minimum The minimum length of the last chunk.
+         * @throws CryptoException if the region is too small or its last chunk is shorter than the minimum.
+         */
+        private MappedChunks(final FileChannel channel, final long offset, final long size, final int length,
+                final int minimum) {
+            this.channel = channel;
+            this.offset = offset;
+            this.length = length;
+            this.count = size / length + 1;
+            this.remainder = (int) (size % length);
+            if (size < 0 || this.remainder < minimum) {
+                throw new CryptoException("Chunked container is truncated");
+            }
+        }
+
+        /**
+         * Returns whether chunks remain.
+         *
+         * @return {@code true} if more chunks follow.
+         */
+        @Override
+        public boolean hasNext() {
+            return this.index < this.count;
+        }
+
+        /**
+         * Maps the next chunk.
+         *
+         * @return The chunk.
+         * @throws InternalException if mapping fails.
+         */
+        @Override
+        public Chunk next() {
+            if (this.index >= this.count) {
+                throw new NoSuchElementException();
+            }
+            final boolean last = this.index == this.count - 1;
+            final int size = last ? this.remainder : this.length;
+            final ByteBuffer data;
+            try {
+                data = 0 == size ? ByteBuffer.allocate(0)
+                        : this.channel.map(FileChannel.MapMode.READ_ONLY, this.offset + this.index * this.length, size);
+            } catch (final IOException e) {
+                throw new InternalException(e);
+            }
+            return new Chunk(this.index++, data, last);
+        }
+
+    }
+
+}
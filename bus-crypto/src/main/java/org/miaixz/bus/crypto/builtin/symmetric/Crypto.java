@@ -41,6 +41,7 @@ import org.miaixz.bus.core.lang.exception.InternalException;
 import org.miaixz.bus.core.xyz.*;
 import org.miaixz.bus.crypto.Keeper;
 import org.miaixz.bus.crypto.Padding;
+import org.miaixz.bus.crypto.builtin.Pool;
 import org.miaixz.bus.crypto.builtin.SaltMagic;
 import org.miaixz.bus.crypto.builtin.SaltParser;
 import org.miaixz.bus.crypto.cipher.JceCipher;
@@ -53,6 +54,11 @@ import org.miaixz.bus.logger.Logger;
  * algorithm, turning it into complex ciphertext. To decrypt the message, the recipient must use the same key and the
  * inverse of the algorithm. In symmetric encryption, only one key is used by both parties for encryption and
  * decryption, which requires the decrypting party to know the key in advance.
+ * <p>
+ * By default all operations share one {@link Cipher} guarded by a lock. With {@link #setConcurrent(boolean)} enabled,
+ * the one-shot {@code encrypt} and {@code decrypt} methods instead borrow a cipher from a pool, so threads sharing an
+ * instance no longer serialize on the lock. The multi-part {@link #setMode(Algorithm.Type)}, {@link #update(byte[])}
+ * and {@link #doFinal()} methods always use the shared cipher.
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -92,6 +98,16 @@ public class Crypto implements Encryptor, Decryptor, Serializable {
      */
     private boolean isZeroPadding;
 
+    /**
+     * Whether one-shot operations use pooled ciphers instead of the shared, locked cipher.
+     */
+    private volatile boolean concurrent;
+
+    /**
+     * The pool of ciphers used in concurrent mode, created lazily and discarded when the cipher is re-initialized.
+     */
+    private transient volatile Pool<JceCipher> pool;
+
     /**
      * Constructor, uses a random key.
      *
@@ -220,6 +236,7 @@ public class Crypto implements Encryptor, Decryptor, Serializable {
         }
 
         this.cipher = new JceCipher(algorithm);
+        this.pool = null;
         return this;
     }
 
@@ -241,6 +258,29 @@ public class Crypto implements Encryptor, Decryptor, Serializable {
         return cipher.getRaw();
     }
 
+    /**
+     * Returns whether one-shot operations use pooled ciphers.
+     *
+     * @return {@code true} if concurrent mode is enabled.
+     */
+    public boolean isConcurrent() {
+        return this.concurrent;
+    }
+
+    /**
+     * Enables or disables concurrent mode. When enabled, the one-shot {@code encrypt} and {@code decrypt} methods each
+     * borrow a cipher for the same algorithm from a pool and initialize it with this instance's key and parameters, so
+     * threads sharing this instance run in parallel. Pooled ciphers never see the multi-part {@link #update(byte[])}
+     * state.
+     *
+     * @param concurrent {@code true} to enable concurrent mode.
+     * @return this instance.
+     */
+    public Crypto setConcurrent(final boolean concurrent) {
+        this.concurrent = concurrent;
+        return this;
+    }
+
     /**
      * Sets the {@link AlgorithmParameterSpec}, typically used for salt or an initialization vector (IV).
      *
@@ -303,7 +343,7 @@ public class Crypto implements Encryptor, Decryptor, Serializable {
     public Crypto setMode(final Algorithm.Type mode, final byte[] salt) {
         lock.lock();
         try {
-            initMode(mode, salt);
+            initMode(this.cipher, true, mode, salt);
         } finally {
             lock.unlock();
         }
@@ -404,12 +444,13 @@ public class Crypto implements Encryptor, Decryptor, Serializable {
      */
     public byte[] encrypt(final byte[] data, final byte[] salt) {
         byte[] result;
-        lock.lock();
+        final Lease lease = acquire();
+        final JceCipher cipher = lease.cipher();
         try {
-            final JceCipher cipher = initMode(Algorithm.Type.ENCRYPT, salt);
+            initMode(cipher, lease.shared(), Algorithm.Type.ENCRYPT, salt);
             result = cipher.processFinal(paddingDataWithZero(data, cipher.getBlockSize()));
         } finally {
-            lock.unlock();
+            release(lease);
         }
         return SaltMagic.addMagic(result, salt);
     }
@@ -426,9 +467,10 @@ public class Crypto implements Encryptor, Decryptor, Serializable {
     public void encrypt(final InputStream data, final OutputStream out, final boolean isClose)
             throws InternalException {
         CipherOutputStream cipherOutputStream = null;
-        lock.lock();
+        final Lease lease = acquire();
+        final JceCipher cipher = lease.cipher();
         try {
-            final JceCipher cipher = initMode(Algorithm.Type.ENCRYPT, null);
+            initMode(cipher, lease.shared(), Algorithm.Type.ENCRYPT, null);
             cipherOutputStream = new CipherOutputStream(out, cipher.getRaw());
             final long length = IoKit.copy(data, cipherOutputStream);
             if (this.isZeroPadding) {
@@ -464,9 +506,9 @@ public class Crypto implements Encryptor, Decryptor, Serializable {
                     e.getClass().getSimpleName());
             throw new CryptoException(e);
         } finally {
-            lock.unlock();
             // The CipherOutputStream must be closed to ensure all data is written.
             IoKit.closeQuietly(cipherOutputStream);
+            release(lease);
             if (isClose) {
                 IoKit.closeQuietly(data);
             }
@@ -483,10 +525,11 @@ public class Crypto implements Encryptor, Decryptor, Serializable {
     public byte[] decrypt(final byte[] bytes) {
         final int blockSize;
         final byte[] decryptData;
-        lock.lock();
+        final Lease lease = acquire();
+        final JceCipher cipher = lease.cipher();
         try {
             final byte[] salt = SaltMagic.getSalt(bytes);
-            final JceCipher cipher = initMode(Algorithm.Type.DECRYPT, salt);
+            initMode(cipher, lease.shared(), Algorithm.Type.DECRYPT, salt);
             blockSize = cipher.getBlockSize();
             decryptData = cipher.processFinal(SaltMagic.getData(bytes));
         } catch (final Exception e) {
@@ -500,7 +543,7 @@ public class Crypto implements Encryptor, Decryptor, Serializable {
                     e.getClass().getSimpleName());
             throw new CryptoException(e);
         } finally {
-            lock.unlock();
+            release(lease);
         }
 
         return removePadding(decryptData, blockSize);
@@ -518,9 +561,10 @@ public class Crypto implements Encryptor, Decryptor, Serializable {
     public void decrypt(final InputStream data, final OutputStream out, final boolean isClose)
             throws InternalException {
         CipherInputStream cipherInputStream = null;
-        lock.lock();
+        final Lease lease = acquire();
+        final JceCipher cipher = lease.cipher();
         try {
-            final JceCipher cipher = initMode(Algorithm.Type.DECRYPT, null);
+            initMode(cipher, lease.shared(), Algorithm.Type.DECRYPT, null);
             cipherInputStream = new CipherInputStream(data, cipher.getRaw());
             if (this.isZeroPadding) {
                 final int blockSize = cipher.getBlockSize();
@@ -561,9 +605,9 @@ public class Crypto implements Encryptor, Decryptor, Serializable {
                     e.getClass().getSimpleName());
             throw new CryptoException(e);
         } finally {
-            lock.unlock();
             // The CipherInputStream must be closed to read all data.
             IoKit.closeQuietly(cipherInputStream);
+            release(lease);
             if (isClose) {
                 IoKit.closeQuietly(data);
             }
@@ -600,26 +644,81 @@ public class Crypto implements Encryptor, Decryptor, Serializable {
     }
 
     /**
-     * Initializes the {@link JceCipher} for encryption or decryption mode.
+     * Obtains a cipher for a one-shot operation: a pooled cipher in concurrent mode, otherwise the shared cipher with
+     * the lock held. Every call must be paired with {@link #release(Lease)}.
      *
-     * @param mode The mode, see {@link Algorithm.Type#ENCRYPT} or {@link Algorithm.Type#DECRYPT}.
-     * @param salt The salt for key derivation (optional, can be null).
+     * @return The lease on the cipher to use.
+     */
+    private Lease acquire() {
+        if (this.concurrent) {
+            final Pool<JceCipher> pool = pool();
+            return new Lease(pool.borrow(), pool);
+        }
+        lock.lock();
+        return new Lease(this.cipher, null);
+    }
+
+    /**
+     * Releases a cipher obtained from {@link #acquire()}: unlocks the shared cipher, or returns a pooled cipher to the
+     * pool it was borrowed from, even if the pool has since been replaced by re-initialization.
+     *
+     * @param lease The lease returned by {@link #acquire()}.
+     */
+    private void release(final Lease lease) {
+        if (lease.shared()) {
+            lock.unlock();
+        } else {
+            lease.pool().release(lease.cipher());
+        }
+    }
+
+    /**
+     * Returns the cipher pool, creating it on first use.
+     *
+     * @return The cipher pool.
+     */
+    private Pool<JceCipher> pool() {
+        Pool<JceCipher> pool = this.pool;
+        if (null == pool) {
+            synchronized (this) {
+                pool = this.pool;
+                if (null == pool) {
+                    final String algorithm = getCipher().getAlgorithm();
+                    pool = this.pool = new Pool<>(() -> new JceCipher(algorithm));
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Initializes a {@link JceCipher} for encryption or decryption mode.
+     *
+     * @param cipher The cipher to initialize, either the shared cipher or a pooled one.
+     * @param shared Whether {@code cipher} is the shared cipher, held under the lock.
+     * @param mode   The mode, see {@link Algorithm.Type#ENCRYPT} or {@link Algorithm.Type#DECRYPT}.
+     * @param salt   The salt for key derivation (optional, can be null).
      * @return The initialized {@link JceCipher}.
      */
-    private JceCipher initMode(final Algorithm.Type mode, final byte[] salt) {
+    private JceCipher initMode(final JceCipher cipher, final boolean shared, final Algorithm.Type mode,
+            final byte[] salt) {
         SecretKey secretKey = this.secretKey;
+        AlgorithmParameterSpec paramsSpec = this.algorithmParameterSpec;
         if (null != salt) {
             // Provide compatibility support for OpenSSL format.
             final String algorithm = getCipher().getAlgorithm();
             final byte[][] keyAndIV = SaltParser.ofMd5(32, algorithm).getKeyAndIV(secretKey.getEncoded(), salt);
             secretKey = Keeper.generateKey(algorithm, keyAndIV[0]);
             if (ArrayKit.isNotEmpty(keyAndIV[1])) {
-                setAlgorithmParameterSpec(new IvParameterSpec(keyAndIV[1]));
+                paramsSpec = new IvParameterSpec(keyAndIV[1]);
+                if (shared) {
+                    // The shared cipher keeps the derived IV, as multi-part operations may follow.
+                    setAlgorithmParameterSpec(paramsSpec);
+                }
             }
         }
 
-        final JceCipher cipher = this.cipher;
-        cipher.init(mode, new JceCipher.JceParameters(secretKey, this.algorithmParameterSpec, this.random));
+        cipher.init(mode, new JceCipher.JceParameters(secretKey, paramsSpec, this.random));
         return cipher;
     }
 
@@ -674,4 +773,24 @@ public class Crypto implements Encryptor, Decryptor, Serializable {
         return data;
     }
 
+    /**
+     * A cipher obtained from {@link #acquire()}, recording how it was obtained so that {@link #release(Lease)} undoes
+     * exactly that.
+     *
+     * @param cipher The cipher to use.
+     * @param pool   The pool the cipher was borrowed from, or {@code null} for the shared cipher guarded by the lock.
+     */
+    private record Lease(JceCipher cipher, Pool<JceCipher> pool) {
+
+        /**
+         * Returns whether this lease holds the shared cipher and the lock.
+         *
+         * @return {@code true} if the shared cipher was acquired under the lock.
+         */
+        boolean shared() {
+            return null == this.pool;
+        }
+
+    }
+
 }
@@ -30,13 +30,14 @@ import org.miaixz.bus.core.xyz.ByteKit;
 import org.miaixz.bus.core.xyz.FileKit;
 import org.miaixz.bus.core.xyz.HexKit;
 import org.miaixz.bus.core.xyz.IoKit;
+import org.miaixz.bus.crypto.builtin.Pool;
 
 /**
  * MAC (Message Authentication Code) digest algorithm. This class is compatible with JCE's {@code javax.crypto.Mac} and
  * Bouncy Castle's {@code org.bouncycastle.crypto.Mac} objects. MAC, which stands for "Message Authentication Code",
  * primarily uses a specified algorithm to generate a message digest from a key and a message as input. Generally, a MAC
  * is used to verify messages transmitted between two parties that share a secret key. Note: This object is not
- * thread-safe after instantiation!
+ * thread-safe after instantiation, unless {@link #setConcurrent(boolean)} is enabled!
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -51,6 +52,16 @@ public class Mac implements Serializable {
      */
     private final org.miaixz.bus.crypto.builtin.digest.mac.Mac engine;
 
+    /**
+     * Whether digests use pooled engine copies instead of the single engine.
+     */
+    private volatile boolean concurrent;
+
+    /**
+     * The pool of engine copies used in concurrent mode, created lazily.
+     */
+    private transient volatile Pool<org.miaixz.bus.crypto.builtin.digest.mac.Mac> pool;
+
     /**
      * Constructor.
      *
@@ -69,6 +80,32 @@ public class Mac implements Serializable {
         return this.engine;
     }
 
+    /**
+     * Returns whether digests use pooled engine copies.
+     *
+     * @return {@code true} if concurrent mode is enabled.
+     */
+    public boolean isConcurrent() {
+        return this.concurrent;
+    }
+
+    /**
+     * Enables or disables concurrent mode. When enabled, each digest borrows a copy of the engine (see
+     * {@link org.miaixz.bus.crypto.builtin.digest.mac.Mac#copy()}) from a pool, so one instance can be shared by
+     * several threads.
+     *
+     * @param concurrent {@code true} to enable concurrent mode.
+     * @return this instance.
+     * @throws CryptoException if concurrent mode is enabled for an engine that cannot be copied.
+     */
+    public Mac setConcurrent(final boolean concurrent) {
+        if (concurrent) {
+            pool();
+        }
+        this.concurrent = concurrent;
+        return this;
+    }
+
     /**
      * Generates a digest.
      *
@@ -210,7 +247,16 @@ public class Mac implements Serializable {
      * @return The digest as a byte array.
      */
     public byte[] digest(final InputStream data, final int bufferLength) {
-        return this.engine.digest(data, bufferLength);
+        if (!this.concurrent) {
+            return this.engine.digest(data, bufferLength);
+        }
+        final Pool<org.miaixz.bus.crypto.builtin.digest.mac.Mac> pool = pool();
+        final org.miaixz.bus.crypto.builtin.digest.mac.Mac engine = pool.borrow();
+        try {
+            return engine.digest(data, bufferLength);
+        } finally {
+            pool.release(engine);
+        }
     }
 
     /**
@@ -254,4 +300,24 @@ public class Mac implements Serializable {
         return this.engine.getAlgorithm();
     }
 
+    /**
+     * Returns the engine pool, creating it on first use. Pooled engines are copies of a private prototype copied once
+     * from the engine, so the engine itself is never read while it might be in use.
+     *
+     * @return The engine pool.
+     */
+    private Pool<org.miaixz.bus.crypto.builtin.digest.mac.Mac> pool() {
+        Pool<org.miaixz.bus.crypto.builtin.digest.mac.Mac> pool = this.pool;
+        if (null == pool) {
+            synchronized (this) {
+                pool = this.pool;
+                if (null == pool) {
+                    final org.miaixz.bus.crypto.builtin.digest.mac.Mac prototype = this.engine.copy();
+                    pool = this.pool = new Pool<>(prototype::copy);
+                }
+            }
+        }
+        return pool;
+    }
+
 }
@@ -23,7 +23,11 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.Serial;
 import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.Key;
 import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
 import java.security.Signature;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
@@ -38,11 +42,17 @@ import org.miaixz.bus.core.xyz.CollKit;
 import org.miaixz.bus.core.xyz.HexKit;
 import org.miaixz.bus.crypto.Builder;
 import org.miaixz.bus.crypto.Keeper;
+import org.miaixz.bus.crypto.builtin.Pool;
 import org.miaixz.bus.crypto.builtin.asymmetric.Asymmetric;
 import org.miaixz.bus.logger.Logger;
 
 /**
  * Signature wrapper class for {@link Signature}.
+ * <p>
+ * By default all operations share one {@link Signature} guarded by the lock. With {@link #setConcurrent(boolean)}
+ * enabled, each operation borrows a signature from a pool instead; pooled signatures stay initialized with the key they
+ * last used, so repeated operations with the same key skip {@code initSign}/{@code initVerify}.
+ * </p>
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -57,6 +67,28 @@ public class Sign extends Asymmetric<Sign> {
      */
     protected Signature signature;
 
+    /**
+     * The algorithm parameters set on the signature, replayed on pooled signatures in concurrent mode.
+     */
+    private AlgorithmParameterSpec params;
+
+    /**
+     * Whether operations use pooled signatures instead of the shared, locked signature.
+     */
+    private volatile boolean concurrent;
+
+    /**
+     * The pool of signatures used for signing in concurrent mode, created lazily and discarded when the signature is
+     * replaced.
+     */
+    private transient volatile Pool<Engine> signers;
+
+    /**
+     * The pool of signatures used for verification in concurrent mode, created lazily and discarded when the signature
+     * is replaced.
+     */
+    private transient volatile Pool<Engine> verifiers;
+
     /**
      * Constructs a {@code Sign} instance, generating a new private-public key pair.
      *
@@ -166,10 +198,34 @@ public class Sign extends Asymmetric<Sign> {
     @Override
     public Sign init(final String algorithm, final KeyPair keyPair) {
         signature = Builder.createSignature(algorithm);
+        this.params = null;
+        this.signers = null;
+        this.verifiers = null;
         super.init(algorithm, keyPair);
         return this;
     }
 
+    /**
+     * Returns whether operations use pooled signatures.
+     *
+     * @return {@code true} if concurrent mode is enabled.
+     */
+    public boolean isConcurrent() {
+        return this.concurrent;
+    }
+
+    /**
+     * Enables or disables concurrent mode. When enabled, each signing or verification borrows a signature of the same
+     * algorithm from a pool, so threads sharing this instance run in parallel instead of serializing on the lock.
+     *
+     * @param concurrent {@code true} to enable concurrent mode.
+     * @return This {@code Sign} instance.
+     */
+    public Sign setConcurrent(final boolean concurrent) {
+        this.concurrent = concurrent;
+        return this;
+    }
+
     /**
      * Sets the algorithm parameters for the signature operation.
      *
@@ -180,6 +236,9 @@ public class Sign extends Asymmetric<Sign> {
     public Sign setParameter(final AlgorithmParameterSpec params) {
         try {
             this.signature.setParameter(params);
+            this.params = params;
+            this.signers = null;
+            this.verifiers = null;
         } catch (final InvalidAlgorithmParameterException e) {
             Logger.warn(
                     false,
@@ -263,6 +322,9 @@ public class Sign extends Asymmetric<Sign> {
         }
 
         final byte[] buffer = new byte[bufferLength];
+        if (this.concurrent) {
+            return sign(pool(true), data, buffer);
+        }
         lock.lock();
         try {
             signature.initSign(this.privateKey);
@@ -310,6 +372,9 @@ public class Sign extends Asymmetric<Sign> {
      * @throws CryptoException if the verification operation fails.
      */
     public boolean verify(final byte[] data, final byte[] sign) {
+        if (this.concurrent) {
+            return verify(pool(false), data, sign);
+        }
         lock.lock();
         try {
             signature.initVerify(this.publicKey);
@@ -347,6 +412,8 @@ public class Sign extends Asymmetric<Sign> {
      */
     public Sign setSignature(final Signature signature) {
         this.signature = signature;
+        this.signers = null;
+        this.verifiers = null;
         return this;
     }
 
@@ -380,4 +447,136 @@ public class Sign extends Asymmetric<Sign> {
         return this;
     }
 
+    /**
+     * Signs the stream with a pooled signature. The signature is returned to the pool only if the operation completes,
+     * so a signature left in an unknown state by a failure is never reused.
+     *
+     * @param pool   The signer pool.
+     * @param data   The {@link InputStream} containing the data to be signed.
+     * @param buffer The read buffer.
+     * @return The generated signature as a byte array.
+     * @throws CryptoException if the signing operation fails.
+     */
+    private byte[] sign(final Pool<Engine> pool, final InputStream data, final byte[] buffer) {
+        try {
+            final Engine engine = borrow(pool, this.privateKey);
+            int read = data.read(buffer, 0, buffer.length);
+            while (read > -1) {
+                engine.signature().update(buffer, 0, read);
+                read = data.read(buffer, 0, buffer.length);
+            }
+            final byte[] result = engine.signature().sign();
+            pool.release(engine);
+            return result;
+        } catch (final Exception e) {
+            Logger.warn(
+                    false,
+                    "Crypto",
+                    e,
+                    "Crypto operation failed: provider={}, recoverable={}, exception={}",
+                    "Sign",
+                    false,
+                    e.getClass().getSimpleName());
+            throw new CryptoException(e);
+        }
+    }
+
+    /**
+     * Verifies the signature with a pooled signature. The signature is returned to the pool only if the operation
+     * completes, so a signature left in an unknown state by a failure is never reused.
+     *
+     * @param pool The verifier pool.
+     * @param data The original data that was signed.
+     * @param sign The digital signature to verify.
+     * @return {@code true} if the signature is valid, {@code false} otherwise.
+     * @throws CryptoException if the verification operation fails.
+     */
+    private boolean verify(final Pool<Engine> pool, final byte[] data, final byte[] sign) {
+        try {
+            final Engine engine = borrow(pool, this.publicKey);
+            engine.signature().update(data);
+            final boolean result = engine.signature().verify(sign);
+            pool.release(engine);
+            return result;
+        } catch (final Exception e) {
+            Logger.warn(
+                    false,
+                    "Crypto",
+                    e,
+                    "Crypto operation failed: provider={}, recoverable={}, exception={}",
+                    "Sign",
+                    false,
+                    e.getClass().getSimpleName());
+            throw new CryptoException(e);
+        }
+    }
+
+    /**
+     * Borrows a pooled signature initialized with the given key. A completed {@code sign()} or {@code verify()} resets
+     * a signature to its initialized state, so the signature is only re-initialized when the key has changed.
+     *
+     * @param pool The pool to borrow from.
+     * @param key  The private key for signing or the public key for verification.
+     * @return The signature, initialized with the key.
+     * @throws InvalidKeyException if the key is invalid.
+     */
+    private static Engine borrow(final Pool<Engine> pool, final Key key) throws InvalidKeyException {
+        final Engine engine = pool.borrow();
+        if (null != key && engine.key() == key) {
+            return engine;
+        }
+        if (key instanceof PrivateKey privateKey) {
+            engine.signature().initSign(privateKey);
+        } else {
+            engine.signature().initVerify((PublicKey) key);
+        }
+        return new Engine(engine.signature(), key);
+    }
+
+    /**
+     * Returns the signer or verifier pool, creating it on first use. Pooled signatures use the algorithm of the current
+     * signature and the parameters set through {@link #setParameter(AlgorithmParameterSpec)}.
+     *
+     * @param signing {@code true} for the signer pool, {@code false} for the verifier pool.
+     * @return The pool.
+     */
+    private Pool<Engine> pool(final boolean signing) {
+        Pool<Engine> pool = signing ? this.signers : this.verifiers;
+        if (null == pool) {
+            synchronized (this) {
+                pool = signing ? this.signers : this.verifiers;
+                if (null == pool) {
+                    final String algorithm = this.signature.getAlgorithm();
+                    final AlgorithmParameterSpec params = this.params;
+                    pool = new Pool<>(() -> {
+                        final Signature signature = Builder.createSignature(algorithm);
+                        if (null != params) {
+                            try {
+                                signature.setParameter(params);
+                            } catch (final InvalidAlgorithmParameterException e) {
+                                throw new CryptoException(e);
+                            }
+                        }
+                        return new Engine(signature, null);
+                    });
+                    if (signing) {
+                        this.signers = pool;
+                    } else {
+                        this.verifiers = pool;
+                    }
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * A pooled signature together with the key it is currently initialized with.
+     *
+     * @param signature The signature.
+     * @param key       The key the signature is initialized with, or {@code null} if not yet initialized.
+     */
+    private record Engine(Signature signature, Key key) {
+    }
+
 }
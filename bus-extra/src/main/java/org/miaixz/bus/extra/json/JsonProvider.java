@@ -19,14 +19,21 @@
 */
 package org.miaixz.bus.extra.json;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.miaixz.bus.core.Provider;
 import org.miaixz.bus.core.lang.EnumValue;
 import org.miaixz.bus.core.lang.exception.InternalException;
+import org.miaixz.bus.core.lang.reflect.ParameterizedType;
 
 /**
  * Defines the contract for a JSON service provider. This interface specifies a set of common methods for JSON
@@ -147,6 +154,130 @@ public interface JsonProvider extends Provider {
         return read(json, type);
     }
 
+    /**
+     * Serializes a value as UTF-8 JSON into an output stream. The stream is flushed; callers remain responsible for
+     * closing it.
+     *
+     * @param object value to serialize
+     * @param output target stream
+     * @throws InternalException if the stream cannot be written
+     */
+    default void write(Object object, OutputStream output) {
+        try {
+            output.write(write(object));
+            output.flush();
+        } catch (IOException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Serializes a value as UTF-8 JSON into an output stream using framework-independent options. Providers backed by
+     * a streaming engine override this method to encode directly into the stream instead of building an intermediate
+     * document. The stream is flushed; callers remain responsible for closing it.
+     *
+     * @param object  value to serialize
+     * @param options serialization options
+     * @param output  target stream
+     * @throws InternalException if the stream cannot be written or the options are not supported
+     */
+    default void write(Object object, JsonWriteOptions options, OutputStream output) {
+        try {
+            output.write(write(object, options));
+            output.flush();
+        } catch (IOException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Deserializes a range of UTF-8 JSON bytes into the specified Java type.
+     *
+     * @param <T>    target value type
+     * @param json   buffer holding UTF-8 JSON bytes
+     * @param offset index of the first JSON byte
+     * @param length number of JSON bytes
+     * @param type   target Java type
+     * @return deserialized value
+     */
+    default <T> T read(byte[] json, int offset, int length, Type type) {
+        return read(offset == 0 && length == json.length ? json : Arrays.copyOfRange(json, offset, offset + length),
+                type);
+    }
+
+    /**
+     * Deserializes the remaining UTF-8 JSON bytes of a buffer into the specified Java type. Heap buffers are read in
+     * place; the buffer position is advanced to its limit.
+     *
+     * @param <T>  target value type
+     * @param json buffer holding UTF-8 JSON bytes between its position and limit
+     * @param type target Java type
+     * @return deserialized value
+     */
+    default <T> T read(ByteBuffer json, Type type) {
+        int length = json.remaining();
+        if (json.hasArray()) {
+            T value = read(json.array(), json.arrayOffset() + json.position(), length, type);
+            json.position(json.limit());
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        json.get(bytes);
+        return read(bytes, type);
+    }
+
+    /**
+     * Deserializes a UTF-8 JSON stream into the specified Java type. Providers backed by a streaming engine override
+     * this method to decode directly from the stream. Callers remain responsible for closing the stream.
+     *
+     * @param <T>   target value type
+     * @param input source stream
+     * @param type  target Java type
+     * @return deserialized value
+     * @throws InternalException if the stream cannot be read
+     */
+    default <T> T read(InputStream input, Type type) {
+        try {
+            return read(input.readAllBytes(), type);
+        } catch (IOException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Deserializes a UTF-8 JSON stream after validating the requested Java type against framework-independent options.
+     *
+     * @param <T>     target value type
+     * @param input   source stream
+     * @param type    target Java type
+     * @param options deserialization options
+     * @return deserialized value
+     * @throws IllegalArgumentException if the requested type is rejected
+     */
+    default <T> T read(InputStream input, Type type, JsonReadOptions options) {
+        JsonReadOptions resolved = options == null ? JsonReadOptions.defaults() : options;
+        resolved.validate(type);
+        return read(input, type);
+    }
+
+    /**
+     * Reads a top-level JSON array from a UTF-8 stream and hands each element to the consumer as soon as it is
+     * decoded. Providers backed by a streaming engine override this method so large arrays are never materialized as
+     * one list; the default implementation decodes the whole array first.
+     *
+     * @param <T>         element type
+     * @param input       source stream positioned at a JSON array
+     * @param elementType Java type of each element
+     * @param consumer    receives each decoded element in document order
+     * @throws InternalException if the stream cannot be read or does not hold a JSON array
+     */
+    default <T> void readArray(InputStream input, Type elementType, Consumer<? super T> consumer) {
+        List<T> items = read(input, new ParameterizedType(new Type[] { elementType }, null, List.class));
+        if (items != null) {
+            items.forEach(consumer);
+        }
+    }
+
     /**
      * Converts a {@link Map} into a plain old Java object (POJO) of the specified class.
      *
@@ -19,19 +19,25 @@
 */
 package org.miaixz.bus.extra.json.provider;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONReader;
 import com.alibaba.fastjson2.JSONWriter;
 import com.alibaba.fastjson2.filter.Filter;
 import com.alibaba.fastjson2.filter.PropertyFilter;
 import com.alibaba.fastjson2.filter.ValueFilter;
 
+import org.miaixz.bus.core.lang.exception.InternalException;
 import org.miaixz.bus.extra.json.JsonPropertyFilter;
 import org.miaixz.bus.extra.json.JsonWriteOptions;
 
@@ -106,13 +112,104 @@ public class FastJsonProvider extends AbstractJsonProvider {
     @Override
     public byte[] write(Object object, JsonWriteOptions options) {
         JsonWriteOptions resolved = options == null ? JsonWriteOptions.defaults() : options;
-        List<Filter> filters = new ArrayList<>(List.of(FILTERS));
-        filters.add((PropertyFilter) resolved.propertyFilter()::accept);
         JSONWriter.Feature[] features = resolved.writeNulls() ? WRITER_FEATURES : NON_NULL_WRITER_FEATURES;
-        String json = resolved.dateFormat() == null
-                ? JSON.toJSONString(object, filters.toArray(Filter[]::new), features)
-                : JSON.toJSONString(object, resolved.dateFormat(), filters.toArray(Filter[]::new), features);
-        return json.getBytes(StandardCharsets.UTF_8);
+        return resolved.dateFormat() == null ? JSON.toJSONBytes(object, filters(resolved), features)
+                : JSON.toJSONBytes(object, resolved.dateFormat(), filters(resolved), features);
+    }
+
+    /**
+     * Serializes a value to UTF-8 JSON bytes with the default write options.
+     *
+     * @param object value to serialize
+     * @return UTF-8 JSON bytes
+     */
+    @Override
+    public byte[] write(Object object) {
+        return write(object, JsonWriteOptions.defaults());
+    }
+
+    /**
+     * Serializes a value with the shared options by encoding UTF-8 JSON directly into the stream.
+     *
+     * @param object  value to serialize
+     * @param options framework-independent serialization options
+     * @param output  target stream
+     */
+    @Override
+    public void write(Object object, JsonWriteOptions options, OutputStream output) {
+        JsonWriteOptions resolved = options == null ? JsonWriteOptions.defaults() : options;
+        JSONWriter.Feature[] features = resolved.writeNulls() ? WRITER_FEATURES : NON_NULL_WRITER_FEATURES;
+        if (resolved.dateFormat() == null) {
+            JSON.writeTo(output, object, filters(resolved), features);
+        } else {
+            JSON.writeTo(output, object, resolved.dateFormat(), filters(resolved), features);
+        }
+        try {
+            output.flush();
+        } catch (IOException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Deserializes UTF-8 JSON bytes without decoding them into an intermediate string.
+     *
+     * @param <T>  target value type
+     * @param json UTF-8 JSON bytes
+     * @param type target Java type
+     * @return deserialized value
+     */
+    @Override
+    public <T> T read(byte[] json, Type type) {
+        return JSON.parseObject(json, type);
+    }
+
+    /**
+     * Deserializes a range of UTF-8 JSON bytes in place.
+     *
+     * @param <T>    target value type
+     * @param json   buffer holding UTF-8 JSON bytes
+     * @param offset index of the first JSON byte
+     * @param length number of JSON bytes
+     * @param type   target Java type
+     * @return deserialized value
+     */
+    @Override
+    public <T> T read(byte[] json, int offset, int length, Type type) {
+        return JSON.parseObject(json, offset, length, StandardCharsets.UTF_8, type);
+    }
+
+    /**
+     * Deserializes a UTF-8 JSON stream with Fastjson's buffered stream reader.
+     *
+     * @param <T>   target value type
+     * @param input source stream
+     * @param type  target Java type
+     * @return deserialized value
+     */
+    @Override
+    public <T> T read(InputStream input, Type type) {
+        return JSON.parseObject(input, type);
+    }
+
+    /**
+     * Streams the elements of a top-level JSON array, binding one element at a time.
+     *
+     * @param <T>         element type
+     * @param input       source stream positioned at a JSON array
+     * @param elementType Java type of each element
+     * @param consumer    receives each decoded element in document order
+     */
+    @Override
+    public <T> void readArray(InputStream input, Type elementType, Consumer<? super T> consumer) {
+        try (JSONReader reader = JSONReader.of(input, StandardCharsets.UTF_8)) {
+            if (!reader.nextIfArrayStart()) {
+                throw new InternalException("JSON array expected");
+            }
+            while (!reader.nextIfArrayEnd()) {
+                consumer.accept((T) reader.read(elementType));
+            }
+        }
     }
 
     /**
@@ -209,4 +306,16 @@ public class FastJsonProvider extends AbstractJsonProvider {
         return true;
     }
 
+    /**
+     * Builds the serialization filters for one set of write options.
+     *
+     * @param options framework-independent serialization options
+     * @return Fastjson filters
+     */
+    private static Filter[] filters(JsonWriteOptions options) {
+        List<Filter> filters = new ArrayList<>(List.of(FILTERS));
+        filters.add((PropertyFilter) options.propertyFilter()::accept);
+        return filters.toArray(Filter[]::new);
+    }
+
 }
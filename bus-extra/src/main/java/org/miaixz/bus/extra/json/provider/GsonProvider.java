@@ -19,17 +19,27 @@
 */
 package org.miaixz.bus.extra.json.provider;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Consumer;
 
 import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
+import org.miaixz.bus.core.lang.exception.InternalException;
 import org.miaixz.bus.extra.json.JsonPropertyFilter;
 import org.miaixz.bus.extra.json.JsonWriteOptions;
 
@@ -151,6 +161,31 @@ public class GsonProvider extends AbstractJsonProvider {
      */
     @Override
     public byte[] write(Object object, JsonWriteOptions options) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        write(object, options, output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Serializes a value to UTF-8 JSON bytes with the same options as {@link #toJsonString(Object)}.
+     *
+     * @param object value to serialize
+     * @return UTF-8 JSON bytes
+     */
+    @Override
+    public byte[] write(Object object) {
+        return write(object, new JsonWriteOptions(null, false, JsonPropertyFilter.always()));
+    }
+
+    /**
+     * Serializes a value with the shared options by encoding UTF-8 JSON directly into the stream.
+     *
+     * @param object  value to serialize
+     * @param options framework-independent serialization options
+     * @param output  target stream
+     */
+    @Override
+    public void write(Object object, JsonWriteOptions options, OutputStream output) {
         JsonWriteOptions resolved = options == null ? JsonWriteOptions.defaults() : options;
         GsonBuilder builder = gson.newBuilder().registerTypeAdapterFactory(new FilteringTypeAdapterFactory(resolved));
         if (resolved.writeNulls()) {
@@ -159,7 +194,80 @@ public class GsonProvider extends AbstractJsonProvider {
         if (resolved.dateFormat() != null) {
             builder.setDateFormat(resolved.dateFormat());
         }
-        return builder.create().toJson(object).getBytes(StandardCharsets.UTF_8);
+        try {
+            Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+            builder.create().toJson(object, writer);
+            writer.flush();
+        } catch (IOException | JsonIOException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Deserializes UTF-8 JSON bytes without decoding them into an intermediate string.
+     *
+     * @param <T>  target value type
+     * @param json UTF-8 JSON bytes
+     * @param type target Java type
+     * @return deserialized value
+     */
+    @Override
+    public <T> T read(byte[] json, Type type) {
+        return read(json, 0, json.length, type);
+    }
+
+    /**
+     * Deserializes a range of UTF-8 JSON bytes in place.
+     *
+     * @param <T>    target value type
+     * @param json   buffer holding UTF-8 JSON bytes
+     * @param offset index of the first JSON byte
+     * @param length number of JSON bytes
+     * @param type   target Java type
+     * @return deserialized value
+     */
+    @Override
+    public <T> T read(byte[] json, int offset, int length, Type type) {
+        return read(new ByteArrayInputStream(json, offset, length), type);
+    }
+
+    /**
+     * Deserializes a UTF-8 JSON stream with Gson's incremental reader.
+     *
+     * @param <T>   target value type
+     * @param input source stream
+     * @param type  target Java type
+     * @return deserialized value
+     */
+    @Override
+    public <T> T read(InputStream input, Type type) {
+        return gson.fromJson(new InputStreamReader(input, StandardCharsets.UTF_8), type);
+    }
+
+    /**
+     * Streams the elements of a top-level JSON array, binding one element at a time.
+     *
+     * @param <T>         element type
+     * @param input       source stream positioned at a JSON array
+     * @param elementType Java type of each element
+     * @param consumer    receives each decoded element in document order
+     */
+    @Override
+    public <T> void readArray(InputStream input, Type elementType, Consumer<? super T> consumer) {
+        TypeAdapter<T> adapter = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(elementType));
+        try {
+            JsonReader reader = gson.newJsonReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                throw new InternalException("JSON array expected");
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                consumer.accept(adapter.read(reader));
+            }
+            reader.endArray();
+        } catch (IOException e) {
+            throw new InternalException(e);
+        }
     }
 
     /**
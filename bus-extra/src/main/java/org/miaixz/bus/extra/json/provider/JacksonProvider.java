@@ -19,6 +19,8 @@
 */
 package org.miaixz.bus.extra.json.provider;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
@@ -26,6 +28,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -36,8 +39,13 @@ import org.miaixz.bus.extra.json.JsonWriteOptions;
 import org.miaixz.bus.logger.Logger;
 
 import tools.jackson.core.JacksonException;
+import tools.jackson.core.StreamReadFeature;
+import tools.jackson.core.StreamWriteFeature;
 import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.MappingIterator;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
 import tools.jackson.databind.SerializationContext;
 import tools.jackson.databind.json.JsonMapper;
 import tools.jackson.databind.ser.BeanPropertyWriter;
@@ -108,6 +116,17 @@ public class JacksonProvider extends AbstractJsonProvider {
                 StandardCharsets.UTF_8);
     }
 
+    /**
+     * Serializes a value to UTF-8 JSON bytes with the default write options.
+     *
+     * @param object value to serialize
+     * @return UTF-8 JSON bytes
+     */
+    @Override
+    public byte[] write(Object object) {
+        return write(object, JsonWriteOptions.defaults());
+    }
+
     /**
      * Serializes a value with the shared date, null, and property-filtering options.
      *
@@ -117,19 +136,93 @@ public class JacksonProvider extends AbstractJsonProvider {
      */
     @Override
     public byte[] write(Object object, JsonWriteOptions options) {
-        JsonWriteOptions resolved = options == null ? JsonWriteOptions.defaults() : options;
-        SimpleFilterProvider filters = new SimpleFilterProvider()
-                .addFilter(FILTER_ID, new SharedPropertyFilter(resolved));
-        ObjectMapper mapper = objectMapper.rebuild().filterProvider(filters).addMixIn(Object.class, FilterMixIn.class)
-                .changeDefaultPropertyInclusion(
-                        value -> JsonInclude.Value.construct(
-                                resolved.writeNulls() ? JsonInclude.Include.ALWAYS : JsonInclude.Include.NON_NULL,
-                                resolved.writeNulls() ? JsonInclude.Include.ALWAYS : JsonInclude.Include.NON_NULL))
-                .build();
         try {
-            String json = resolved.dateFormat() == null ? mapper.writeValueAsString(object)
-                    : mapper.writer(new SimpleDateFormat(resolved.dateFormat())).writeValueAsString(object);
-            return json.getBytes(StandardCharsets.UTF_8);
+            return writer(options).writeValueAsBytes(object);
+        } catch (JacksonException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Serializes a value with the shared options by generating UTF-8 JSON directly into the stream.
+     *
+     * @param object  value to serialize
+     * @param options framework-independent serialization options
+     * @param output  target stream
+     */
+    @Override
+    public void write(Object object, JsonWriteOptions options, OutputStream output) {
+        try {
+            writer(options).without(StreamWriteFeature.AUTO_CLOSE_TARGET).writeValue(output, object);
+        } catch (JacksonException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Deserializes UTF-8 JSON bytes without decoding them into an intermediate string.
+     *
+     * @param <T>  target value type
+     * @param json UTF-8 JSON bytes
+     * @param type target Java type
+     * @return deserialized value
+     */
+    @Override
+    public <T> T read(byte[] json, Type type) {
+        return read(json, 0, json.length, type);
+    }
+
+    /**
+     * Deserializes a range of UTF-8 JSON bytes in place.
+     *
+     * @param <T>    target value type
+     * @param json   buffer holding UTF-8 JSON bytes
+     * @param offset index of the first JSON byte
+     * @param length number of JSON bytes
+     * @param type   target Java type
+     * @return deserialized value
+     */
+    @Override
+    public <T> T read(byte[] json, int offset, int length, Type type) {
+        try {
+            return objectMapper.readValue(json, offset, length, objectMapper.getTypeFactory().constructType(type));
+        } catch (JacksonException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Deserializes a UTF-8 JSON stream with Jackson's incremental parser.
+     *
+     * @param <T>   target value type
+     * @param input source stream
+     * @param type  target Java type
+     * @return deserialized value
+     */
+    @Override
+    public <T> T read(InputStream input, Type type) {
+        try {
+            return reader(type).readValue(input);
+        } catch (JacksonException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Streams the elements of a top-level JSON array, binding one element at a time.
+     *
+     * @param <T>         element type
+     * @param input       source stream positioned at a JSON array
+     * @param elementType Java type of each element
+     * @param consumer    receives each decoded element in document order
+     */
+    @Override
+    public <T> void readArray(InputStream input, Type elementType, Consumer<? super T> consumer) {
+        try {
+            MappingIterator<T> items = reader(elementType).readValues(input);
+            while (items.hasNext()) {
+                consumer.accept(items.next());
+            }
         } catch (JacksonException e) {
             throw new InternalException(e);
         }
@@ -313,6 +406,37 @@ public class JacksonProvider extends AbstractJsonProvider {
         }
     }
 
+    /**
+     * Creates a writer applying the shared date, null, and property-filtering options.
+     *
+     * @param options framework-independent serialization options
+     * @return configured Jackson writer
+     */
+    private ObjectWriter writer(JsonWriteOptions options) {
+        JsonWriteOptions resolved = options == null ? JsonWriteOptions.defaults() : options;
+        SimpleFilterProvider filters = new SimpleFilterProvider()
+                .addFilter(FILTER_ID, new SharedPropertyFilter(resolved));
+        ObjectMapper mapper = objectMapper.rebuild().filterProvider(filters).addMixIn(Object.class, FilterMixIn.class)
+                .changeDefaultPropertyInclusion(
+                        value -> JsonInclude.Value.construct(
+                                resolved.writeNulls() ? JsonInclude.Include.ALWAYS : JsonInclude.Include.NON_NULL,
+                                resolved.writeNulls() ? JsonInclude.Include.ALWAYS : JsonInclude.Include.NON_NULL))
+                .build();
+        return resolved.dateFormat() == null ? mapper.writer()
+                : mapper.writer(new SimpleDateFormat(resolved.dateFormat()));
+    }
+
+    /**
+     * Creates a reader bound to one target type that leaves caller-owned streams open.
+     *
+     * @param type target Java type
+     * @return configured Jackson reader
+     */
+    private ObjectReader reader(Type type) {
+        return objectMapper.readerFor(objectMapper.getTypeFactory().constructType(type))
+                .without(StreamReadFeature.AUTO_CLOSE_SOURCE);
+    }
+
     /**
      * Applies the shared Jackson property filter to every object through a mix-in.
      */
@@ -55,4 +55,17 @@ public interface Consumer extends Closeable {
         });
     }
 
+    /**
+     * Subscribes with a batch handler. Messages are grouped into batches of at most {@code maxBatchSize} messages;
+     * a partial batch is delivered once {@code lingerMillis} has elapsed since its first message. Providers whose
+     * client library fetches messages in batches hand over each fetched batch directly, using {@code maxBatchSize} as
+     * the prefetch limit where the broker supports one. Providers that receive single messages accumulate them with a
+     * {@link MessageBatcher} owned by the consumer, which {@link #close()} flushes and closes.
+     *
+     * @param handler      The {@link BatchMessageHandler} to process the received batches.
+     * @param maxBatchSize The maximum number of messages per batch.
+     * @param lingerMillis The maximum time in milliseconds a partial batch waits for more messages.
+     */
+    void subscribe(BatchMessageHandler handler, int maxBatchSize, long lingerMillis);
+
 }
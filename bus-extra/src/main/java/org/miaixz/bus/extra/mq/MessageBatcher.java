@@ -0,0 +1,207 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.extra.mq;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.miaixz.bus.core.lang.exception.MQueueException;
+import org.miaixz.bus.core.xyz.ThreadKit;
+
+/**
+ * Provider-neutral accumulator that groups single messages into batches. A batch is handed to the sink as soon as it
+ * reaches the maximum size, or once the linger time has elapsed since its first message, whichever comes first.
+ * Batches are delivered one at a time and in the order they were formed.
+ * <p>
+ * On the producing side the sink is typically {@link Producer#sendBatch(List)}, so the native batching of each broker
+ * client is used; on the consuming side it is a {@link BatchMessageHandler}.
+ * </p>
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class MessageBatcher implements Closeable {
+
+    /**
+     * Maximum number of messages per batch.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Maximum time in nanoseconds the first message of a batch waits for more messages.
+     */
+    private final long lingerNanos;
+
+    /**
+     * Receives every completed batch.
+     */
+    private final BatchMessageHandler sink;
+
+    /**
+     * Guards the open batch.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Serializes batch delivery so batches reach the sink in the order they were formed.
+     */
+    private final ReentrantLock delivery = new ReentrantLock();
+
+    /**
+     * Timer that flushes batches whose linger time has elapsed.
+     */
+    private final ScheduledThreadPoolExecutor timer;
+
+    /**
+     * Messages of the open batch.
+     */
+    private List<Message> messages = new ArrayList<>();
+
+    /**
+     * Completion handles of the open batch, parallel to {@link #messages}.
+     */
+    private List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+    /**
+     * Pending linger flush of the open batch.
+     */
+    private ScheduledFuture<?> lingerTask;
+
+    /**
+     * Whether this batcher has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates a batcher.
+     *
+     * @param maxBatchSize The maximum number of messages per batch.
+     * @param lingerMillis The maximum time in milliseconds a batch waits to fill up; {@code 0} delivers every message
+     *                     at once unless other messages are already waiting.
+     * @param sink         The receiver of completed batches.
+     */
+    public MessageBatcher(final int maxBatchSize, final long lingerMillis, final BatchMessageHandler sink) {
+        if (maxBatchSize <= 0 || lingerMillis < 0) {
+            throw new IllegalArgumentException("Invalid batch size or linger time");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.sink = sink;
+        this.timer = new ScheduledThreadPoolExecutor(1, ThreadKit.newNamedThreadFactory("mq-batcher-", true));
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Adds a message to the open batch.
+     *
+     * @param message The message to add.
+     * @return A future completed when the batch holding the message has been handled, or completed exceptionally
+     *         with the failure of the sink.
+     * @throws MQueueException if the batcher has been closed.
+     */
+    public CompletableFuture<Void> add(final Message message) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final boolean full;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new MQueueException("Message batcher is closed");
+            }
+            messages.add(message);
+            futures.add(future);
+            full = messages.size() >= maxBatchSize || lingerNanos == 0L;
+            if (!full && lingerTask == null) {
+                lingerTask = timer.schedule(this::flush, lingerNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full) {
+            flush();
+        }
+        return future;
+    }
+
+    /**
+     * Hands the open batch to the sink immediately, if it holds any message.
+     */
+    public void flush() {
+        delivery.lock();
+        try {
+            final List<Message> batch;
+            final List<CompletableFuture<Void>> handles;
+            lock.lock();
+            try {
+                if (messages.isEmpty()) {
+                    return;
+                }
+                batch = messages;
+                handles = futures;
+                messages = new ArrayList<>(maxBatchSize);
+                futures = new ArrayList<>(maxBatchSize);
+                if (lingerTask != null) {
+                    lingerTask.cancel(false);
+                    lingerTask = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+            try {
+                sink.handle(batch);
+                handles.forEach(handle -> handle.complete(null));
+            } catch (RuntimeException e) {
+                handles.forEach(handle -> handle.completeExceptionally(e));
+            }
+        } finally {
+            delivery.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of messages waiting in the open batch.
+     *
+     * @return The number of pending messages.
+     */
+    public int pending() {
+        lock.lock();
+        try {
+            return messages.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes the open batch and stops the linger timer. Messages added afterwards are rejected.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        flush();
+        timer.shutdownNow();
+    }
+
+}
@@ -20,6 +20,8 @@
 package org.miaixz.bus.extra.mq;
 
 import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a message producer interface for Message Queue (MQ) systems. This interface defines the contract for
@@ -38,4 +40,45 @@ public interface Producer extends Closeable {
      */
     void send(Message message);
 
+    /**
+     * Sends a {@link Message} without waiting for the broker. Providers whose client library offers asynchronous
+     * acknowledgements override this method; the default implementation sends synchronously and returns a completed
+     * future.
+     *
+     * @param message The {@link Message} object to be sent.
+     * @return A future completed once the broker has accepted the message, or completed exceptionally on failure.
+     */
+    default CompletableFuture<Void> sendAsync(final Message message) {
+        try {
+            send(message);
+            return CompletableFuture.completedFuture(null);
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Sends several messages as one batch. Providers whose client library supports native batching override this
+     * method; the default implementation sends the messages one by one in order.
+     *
+     * @param messages The messages to be sent, in order.
+     */
+    default void sendBatch(final List<? extends Message> messages) {
+        for (final Message message : messages) {
+            send(message);
+        }
+    }
+
+    /**
+     * Creates a {@link MessageBatcher} that accumulates messages and passes them to {@link #sendBatch(List)} when
+     * either the size or the linger limit is reached. The batcher must be closed before this producer.
+     *
+     * @param maxBatchSize The maximum number of messages per batch.
+     * @param lingerMillis The maximum time in milliseconds a batch waits to fill up.
+     * @return A new batcher sending through this producer.
+     */
+    default MessageBatcher batcher(final int maxBatchSize, final long lingerMillis) {
+        return new MessageBatcher(maxBatchSize, lingerMillis, this::sendBatch);
+    }
+
 }
@@ -20,6 +20,8 @@
 package org.miaixz.bus.extra.mq.provider.jms;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import jakarta.jms.BytesMessage;
 import jakarta.jms.JMSException;
@@ -29,8 +31,10 @@ import jakarta.jms.TextMessage;
 import org.miaixz.bus.core.lang.exception.MQueueException;
 import org.miaixz.bus.core.xyz.ByteKit;
 import org.miaixz.bus.core.xyz.IoKit;
+import org.miaixz.bus.extra.mq.BatchMessageHandler;
 import org.miaixz.bus.extra.mq.Consumer;
 import org.miaixz.bus.extra.mq.Message;
+import org.miaixz.bus.extra.mq.MessageBatcher;
 import org.miaixz.bus.extra.mq.MessageHandler;
 import org.miaixz.bus.logger.Logger;
 
@@ -57,6 +61,11 @@ public class JmsConsumer implements Consumer {
      */
     private final MessageConsumer consumer;
 
+    /**
+     * Batchers created by {@link #subscribe(BatchMessageHandler, int, long)}, flushed and closed with this consumer.
+     */
+    private final List<MessageBatcher> batchers = new CopyOnWriteArrayList<>();
+
     /**
      * Constructs a {@code JmsConsumer} with the specified consumer group name and the underlying Jakarta Messaging
      * {@link MessageConsumer}.
@@ -140,7 +149,40 @@ public class JmsConsumer implements Consumer {
     }
 
     /**
-     * Closes the underlying JMS {@link MessageConsumer} and releases any associated resources.
+     * Subscribes with a batch handler. Single messages delivered by the JMS listener are accumulated by a
+     * {@link MessageBatcher} owned by this consumer, which {@link #close()} flushes and closes. A failing batch is
+     * logged once.
+     *
+     * @param handler      The {@link BatchMessageHandler} to process the received batches.
+     * @param maxBatchSize The maximum number of messages per batch.
+     * @param lingerMillis The maximum time in milliseconds a partial batch waits for more messages.
+     */
+    @Override
+    public void subscribe(final BatchMessageHandler handler, final int maxBatchSize, final long lingerMillis) {
+        final MessageBatcher batcher = new MessageBatcher(maxBatchSize, lingerMillis, batch -> {
+            final long handleStartedAt = System.nanoTime();
+            try {
+                handler.handle(batch);
+            } catch (RuntimeException e) {
+                Logger.warn(
+                        false,
+                        "Extra",
+                        e,
+                        "JMS batch handling failed: group={}, batchSize={}, exception={}, elapsedMs={}",
+                        this.consumerGroup,
+                        batch.size(),
+                        e.getClass().getSimpleName(),
+                        (System.nanoTime() - handleStartedAt) / 1_000_000L);
+                throw e;
+            }
+        });
+        this.batchers.add(batcher);
+        subscribe(batcher::add);
+    }
+
+    /**
+     * Closes the underlying JMS {@link MessageConsumer} and releases any associated resources. Batches still being
+     * accumulated are then handed to their handlers before the batchers are closed.
      *
      * @throws IOException if an I/O error occurs during the closing process.
      */
@@ -149,6 +191,8 @@ public class JmsConsumer implements Consumer {
         final long startedAt = System.nanoTime();
         Logger.debug(true, "Extra", "JMS consumer close requested: group={}", consumerGroup);
         IoKit.closeQuietly(this.consumer);
+        this.batchers.forEach(MessageBatcher::close);
+        this.batchers.clear();
         Logger.debug(
                 false,
                 "Extra",
@@ -20,8 +20,11 @@
 package org.miaixz.bus.extra.mq.provider.jms;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import jakarta.jms.BytesMessage;
+import jakarta.jms.CompletionListener;
 import jakarta.jms.JMSException;
 import jakarta.jms.MessageProducer;
 import jakarta.jms.Session;
@@ -109,6 +112,95 @@ public class JmsProducer implements Producer {
         }
     }
 
+    /**
+     * Sends a {@link Message} with the Jakarta Messaging asynchronous send API and completes the returned future from
+     * the {@link CompletionListener}.
+     *
+     * @param message The {@link Message} object to send, containing the topic and content.
+     * @return A future completed once the provider has confirmed the send.
+     */
+    @Override
+    public CompletableFuture<Void> sendAsync(final Message message) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            final BytesMessage bytesMessage = this.session.createBytesMessage();
+            bytesMessage.writeBytes(message.content());
+            this.producer.send(bytesMessage, new CompletionListener() {
+
+                /**
+                 * Completes the future once the provider has confirmed the send.
+                 *
+                 * @param sent sent message
+                 */
+                @Override
+                public void onCompletion(final jakarta.jms.Message sent) {
+                    future.complete(null);
+                }
+
+                /**
+                 * Fails the future with the send error.
+                 *
+                 * @param sent      message that could not be sent
+                 * @param exception send error
+                 */
+                @Override
+                public void onException(final jakarta.jms.Message sent, final Exception exception) {
+                    future.completeExceptionally(exception);
+                }
+            });
+        } catch (final JMSException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Sends several messages as one batch. On a transacted session all messages are sent within one transaction that
+     * is committed once, or rolled back on failure; otherwise the messages are sent one by one.
+     *
+     * @param messages The messages to send, in order.
+     * @throws MQueueException if a JMS error occurs while sending or committing.
+     */
+    @Override
+    public void sendBatch(final List<? extends Message> messages) {
+        final long startedAt = System.nanoTime();
+        try {
+            if (!this.session.getTransacted()) {
+                for (final Message message : messages) {
+                    send(message);
+                }
+                return;
+            }
+            try {
+                for (final Message message : messages) {
+                    final BytesMessage bytesMessage = this.session.createBytesMessage();
+                    bytesMessage.writeBytes(message.content());
+                    this.producer.send(bytesMessage);
+                }
+                this.session.commit();
+            } catch (final JMSException | RuntimeException e) {
+                this.session.rollback();
+                throw e;
+            }
+            Logger.debug(
+                    false,
+                    "Extra",
+                    "JMS batch send committed: batchSize={}, elapsedMs={}",
+                    messages.size(),
+                    (System.nanoTime() - startedAt) / 1_000_000L);
+        } catch (final JMSException e) {
+            Logger.warn(
+                    false,
+                    "Extra",
+                    e,
+                    "JMS batch send failed: batchSize={}, exception={}, elapsedMs={}",
+                    messages.size(),
+                    e.getClass().getSimpleName(),
+                    (System.nanoTime() - startedAt) / 1_000_000L);
+            throw new MQueueException(e);
+        }
+    }
+
     /**
      * Closes the underlying JMS {@link MessageProducer} and releases any associated resources.
      *
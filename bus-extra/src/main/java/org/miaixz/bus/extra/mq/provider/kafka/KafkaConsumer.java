@@ -21,6 +21,8 @@ package org.miaixz.bus.extra.mq.provider.kafka;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 import java.util.regex.Pattern;
 
@@ -28,6 +30,7 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 
 import org.miaixz.bus.core.xyz.IoKit;
 import org.miaixz.bus.core.xyz.ListKit;
+import org.miaixz.bus.extra.mq.BatchMessageHandler;
 import org.miaixz.bus.extra.mq.Consumer;
 import org.miaixz.bus.extra.mq.Message;
 import org.miaixz.bus.extra.mq.MessageHandler;
@@ -142,6 +145,38 @@ public class KafkaConsumer implements Consumer {
         }
     }
 
+    /**
+     * Polls Kafka once and hands the fetched records to the batch handler in chunks of at most {@code maxBatchSize}
+     * messages. Kafka already fetches in batches, so no linger accumulation is applied; the number of records fetched
+     * per poll is bounded by the {@code max.poll.records} consumer property.
+     *
+     * @param handler      The {@link BatchMessageHandler} to process the received batches.
+     * @param maxBatchSize The maximum number of messages per batch.
+     * @param lingerMillis Ignored; the poll timeout of 3000 milliseconds bounds the wait for records.
+     */
+    @Override
+    public void subscribe(final BatchMessageHandler handler, final int maxBatchSize, final long lingerMillis) {
+        final long startedAt = System.nanoTime();
+        var records = this.consumer.poll(Duration.ofMillis(3000));
+        List<Message> batch = new ArrayList<>(Math.min(maxBatchSize, records.count()));
+        for (final ConsumerRecord<String, byte[]> record : records) {
+            batch.add(new RawMessage(record.topic(), record.value()));
+            if (batch.size() >= maxBatchSize) {
+                handler.handle(batch);
+                batch = new ArrayList<>(maxBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            handler.handle(batch);
+        }
+        Logger.debug(
+                false,
+                "Extra",
+                "Kafka batch poll handled: batchSize={}, elapsedMs={}",
+                records.count(),
+                (System.nanoTime() - startedAt) / 1_000_000L);
+    }
+
     /**
      * Closes the underlying Kafka consumer and releases all associated resources. This method ensures that the consumer
      * is properly shut down.
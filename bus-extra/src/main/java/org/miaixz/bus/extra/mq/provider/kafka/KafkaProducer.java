@@ -20,10 +20,17 @@
 package org.miaixz.bus.extra.mq.provider.kafka;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 
+import org.miaixz.bus.core.lang.exception.MQueueException;
 import org.miaixz.bus.core.xyz.IoKit;
 import org.miaixz.bus.extra.mq.Message;
 import org.miaixz.bus.extra.mq.Producer;
@@ -105,6 +112,71 @@ public class KafkaProducer implements Producer {
         }
     }
 
+    /**
+     * Sends a {@link Message} through the Kafka producer's record accumulator and completes the returned future from
+     * the broker acknowledgement callback.
+     *
+     * @param message The {@link Message} object to send, containing the topic and content.
+     * @return A future completed once the broker has acknowledged the record.
+     */
+    @Override
+    public CompletableFuture<Void> sendAsync(final Message message) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            this.producer.send(new ProducerRecord<>(message.topic(), message.content()), (metadata, exception) -> {
+                if (null == exception) {
+                    future.complete(null);
+                } else {
+                    future.completeExceptionally(exception);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Sends several messages as one batch. All records are handed to the Kafka record accumulator first, which groups
+     * them per partition, then the producer is flushed and every acknowledgement is awaited.
+     *
+     * @param messages The messages to send, in order.
+     * @throws MQueueException if any record is rejected by the broker.
+     */
+    @Override
+    public void sendBatch(final List<? extends Message> messages) {
+        final long startedAt = System.nanoTime();
+        final List<Future<RecordMetadata>> results = new ArrayList<>(messages.size());
+        for (final Message message : messages) {
+            results.add(this.producer.send(new ProducerRecord<>(message.topic(), message.content())));
+        }
+        this.producer.flush();
+        try {
+            for (final Future<RecordMetadata> result : results) {
+                result.get();
+            }
+            Logger.debug(
+                    false,
+                    "Extra",
+                    "Kafka batch send completed: batchSize={}, elapsedMs={}",
+                    messages.size(),
+                    (System.nanoTime() - startedAt) / 1_000_000L);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MQueueException(e);
+        } catch (final ExecutionException e) {
+            Logger.warn(
+                    false,
+                    "Extra",
+                    e.getCause(),
+                    "Kafka batch send failed: batchSize={}, exception={}, elapsedMs={}",
+                    messages.size(),
+                    e.getCause().getClass().getSimpleName(),
+                    (System.nanoTime() - startedAt) / 1_000_000L);
+            throw new MQueueException(e.getCause());
+        }
+    }
+
     /**
      * Closes the underlying Kafka producer and releases all associated resources. This method ensures that all buffered
      * records are sent and the producer is properly shut down.
@@ -0,0 +1,161 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.extra.mq.provider.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.miaixz.bus.core.lang.exception.MQueueException;
+import org.miaixz.bus.extra.mq.BatchMessageHandler;
+import org.miaixz.bus.extra.mq.Consumer;
+import org.miaixz.bus.extra.mq.Message;
+import org.miaixz.bus.extra.mq.MessageHandler;
+
+/**
+ * In-memory consumer implementation. Each {@code subscribe} call takes at most one prefetch window of messages from
+ * the broker, waiting up to the poll timeout for the first message, and hands them to the handler.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class MemoryConsumer implements Consumer {
+
+    /**
+     * The maximum time in milliseconds one subscribe call waits for the first message.
+     */
+    private static final long POLL_TIMEOUT = 3000L;
+
+    /**
+     * The in-memory broker supplying the messages.
+     */
+    private final MemoryProvider broker;
+
+    /**
+     * The topics this consumer takes messages from.
+     */
+    private String[] topics = new String[0];
+
+    /**
+     * The maximum number of messages taken from the broker per subscribe call.
+     */
+    private int prefetch = 100;
+
+    /**
+     * Whether this consumer has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a consumer for the given in-memory broker.
+     *
+     * @param broker The in-memory broker supplying the messages.
+     */
+    public MemoryConsumer(final MemoryProvider broker) {
+        this.broker = broker;
+    }
+
+    /**
+     * Sets the topics this consumer takes messages from.
+     *
+     * @param topics The topic names.
+     * @return This {@code MemoryConsumer} instance, allowing for method chaining.
+     */
+    public MemoryConsumer setTopics(final String... topics) {
+        this.topics = null == topics ? new String[0] : topics.clone();
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of messages taken from the broker per subscribe call.
+     *
+     * @param prefetch The prefetch window, at least {@code 1}.
+     * @return This {@code MemoryConsumer} instance, allowing for method chaining.
+     */
+    public MemoryConsumer setPrefetch(final int prefetch) {
+        this.prefetch = Math.max(prefetch, 1);
+        return this;
+    }
+
+    /**
+     * Takes one prefetch window of messages, waiting up to 3000 milliseconds for the first one, and handles them one by
+     * one.
+     *
+     * @param messageHandler The {@link MessageHandler} to process the received messages.
+     */
+    @Override
+    public void subscribe(final MessageHandler messageHandler) {
+        for (final Message message : take(this.prefetch, POLL_TIMEOUT, 0L)) {
+            messageHandler.handle(message);
+        }
+    }
+
+    /**
+     * Takes one batch of at most {@code maxBatchSize} messages and hands it to the handler. After the first message
+     * arrives, the consumer keeps collecting until the batch is full or {@code lingerMillis} has elapsed.
+     *
+     * @param handler      The {@link BatchMessageHandler} to process the received batch.
+     * @param maxBatchSize The maximum number of messages per batch.
+     * @param lingerMillis The maximum time in milliseconds a partial batch waits for more messages.
+     */
+    @Override
+    public void subscribe(final BatchMessageHandler handler, final int maxBatchSize, final long lingerMillis) {
+        final List<Message> batch = take(maxBatchSize, POLL_TIMEOUT, lingerMillis);
+        if (!batch.isEmpty()) {
+            handler.handle(batch);
+        }
+    }
+
+    /**
+     * Closes this consumer. Messages still queued on the broker remain available to other consumers.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+    }
+
+    /**
+     * Takes messages from the broker.
+     *
+     * @param max          The maximum number of messages to take.
+     * @param timeout      The maximum time in milliseconds to wait for the first message.
+     * @param lingerMillis The maximum time in milliseconds to keep collecting after the first message.
+     * @return The taken messages; empty when none arrived in time.
+     * @throws MQueueException if the consumer has been closed or the waiting thread is interrupted.
+     */
+    private List<Message> take(final int max, final long timeout, final long lingerMillis) {
+        if (closed) {
+            throw new MQueueException("Memory consumer is closed");
+        }
+        try {
+            final List<Message> batch = new ArrayList<>(this.broker.poll(this.topics, max, timeout));
+            final long deadline = System.nanoTime() + lingerMillis * 1_000_000L;
+            long remaining = lingerMillis;
+            while (!batch.isEmpty() && batch.size() < max && remaining > 0L) {
+                batch.addAll(this.broker.poll(this.topics, max - batch.size(), remaining));
+                remaining = (deadline - System.nanoTime()) / 1_000_000L;
+            }
+            return batch;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MQueueException(e);
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.extra.mq.provider.memory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.miaixz.bus.core.lang.exception.MQueueException;
+import org.miaixz.bus.extra.mq.Message;
+import org.miaixz.bus.extra.mq.Producer;
+
+/**
+ * In-memory producer implementation. Batches are published atomically, so a batch appears on its topics all at once;
+ * the send and batch counters make batching behaviour observable in tests.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class MemoryProducer implements Producer {
+
+    /**
+     * The in-memory broker receiving the messages.
+     */
+    private final MemoryProvider broker;
+
+    /**
+     * Number of publish operations, each covering one message or one batch.
+     */
+    private final AtomicLong publishCount = new AtomicLong();
+
+    /**
+     * Number of messages published.
+     */
+    private final AtomicLong messageCount = new AtomicLong();
+
+    /**
+     * Whether this producer has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a producer for the given in-memory broker.
+     *
+     * @param broker The in-memory broker receiving the messages.
+     */
+    public MemoryProducer(final MemoryProvider broker) {
+        this.broker = broker;
+    }
+
+    /**
+     * Publishes a single message.
+     *
+     * @param message The {@link Message} object to send.
+     * @throws MQueueException if the producer has been closed.
+     */
+    @Override
+    public void send(final Message message) {
+        sendBatch(List.of(message));
+    }
+
+    /**
+     * Publishes several messages atomically.
+     *
+     * @param messages The messages to send, in order.
+     * @throws MQueueException if the producer has been closed.
+     */
+    @Override
+    public void sendBatch(final List<? extends Message> messages) {
+        if (closed) {
+            throw new MQueueException("Memory producer is closed");
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        this.broker.publish(messages);
+        this.publishCount.incrementAndGet();
+        this.messageCount.addAndGet(messages.size());
+    }
+
+    /**
+     * Returns the number of publish operations performed, where one batch counts as one operation.
+     *
+     * @return The publish operation count.
+     */
+    public long getPublishCount() {
+        return this.publishCount.get();
+    }
+
+    /**
+     * Returns the number of messages published.
+     *
+     * @return The published message count.
+     */
+    public long getMessageCount() {
+        return this.messageCount.get();
+    }
+
+    /**
+     * Closes this producer. Messages already published stay queued on the broker.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+    }
+
+}
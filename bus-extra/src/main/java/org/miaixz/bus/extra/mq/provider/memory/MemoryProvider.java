@@ -0,0 +1,168 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.extra.mq.provider.memory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.miaixz.bus.extra.mq.Consumer;
+import org.miaixz.bus.extra.mq.MQConfig;
+import org.miaixz.bus.extra.mq.MQProvider;
+import org.miaixz.bus.extra.mq.Message;
+import org.miaixz.bus.extra.mq.Producer;
+import org.miaixz.bus.logger.Logger;
+
+/**
+ * In-memory message queue engine. Each provider instance acts as its own broker: producers append messages to
+ * per-topic FIFO queues and consumers take them out, so every message is delivered to exactly one consumer. The
+ * provider is not registered for SPI discovery; select it explicitly with {@link MQConfig#setCustomEngine(Class)} or
+ * instantiate it directly.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class MemoryProvider implements MQProvider {
+
+    /**
+     * Queued messages keyed by topic.
+     */
+    private final Map<String, ArrayDeque<Message>> topics = new HashMap<>();
+
+    /**
+     * Guards {@link #topics}.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Signalled whenever messages are published.
+     */
+    private final Condition arrived = lock.newCondition();
+
+    /**
+     * Constructs an empty in-memory broker.
+     */
+    public MemoryProvider() {
+        // No initialization required.
+    }
+
+    /**
+     * Initializes the provider. The in-memory broker needs no configuration, so the configuration is ignored.
+     *
+     * @param config The {@link MQConfig}, ignored.
+     * @return This {@code MemoryProvider} instance.
+     */
+    @Override
+    public MemoryProvider init(final MQConfig config) {
+        Logger.info(false, "Extra", "Memory MQ provider initialized");
+        return this;
+    }
+
+    /**
+     * Creates a producer publishing into this broker.
+     *
+     * @return A new {@link MemoryProducer}.
+     */
+    @Override
+    public Producer getProducer() {
+        return new MemoryProducer(this);
+    }
+
+    /**
+     * Creates a consumer taking messages from this broker. Set its topics with {@link MemoryConsumer#setTopics}.
+     *
+     * @return A new {@link MemoryConsumer}.
+     */
+    @Override
+    public Consumer getConsumer() {
+        return new MemoryConsumer(this);
+    }
+
+    /**
+     * Returns the number of messages queued on a topic.
+     *
+     * @param topic The topic name.
+     * @return The number of queued messages.
+     */
+    public int size(final String topic) {
+        lock.lock();
+        try {
+            final ArrayDeque<Message> queue = topics.get(topic);
+            return null == queue ? 0 : queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends messages to their topic queues atomically and wakes up waiting consumers.
+     *
+     * @param messages The messages to publish, in order.
+     */
+    void publish(final List<? extends Message> messages) {
+        lock.lock();
+        try {
+            for (final Message message : messages) {
+                topics.computeIfAbsent(message.topic(), key -> new ArrayDeque<>()).addLast(message);
+            }
+            arrived.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes up to {@code max} messages from the given topics, waiting until at least one message is available or the
+     * timeout elapses.
+     *
+     * @param names         The topics to take from, in priority order.
+     * @param max           The maximum number of messages to take.
+     * @param timeoutMillis The maximum time to wait in milliseconds.
+     * @return The taken messages; empty when the timeout elapsed.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    List<Message> poll(final String[] names, final int max, final long timeoutMillis) throws InterruptedException {
+        final List<Message> batch = new ArrayList<>();
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            for (;;) {
+                for (final String name : names) {
+                    final ArrayDeque<Message> queue = topics.get(name);
+                    while (null != queue && !queue.isEmpty() && batch.size() < max) {
+                        batch.add(queue.pollFirst());
+                    }
+                }
+                if (!batch.isEmpty() || remaining <= 0L) {
+                    return batch;
+                }
+                remaining = arrived.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
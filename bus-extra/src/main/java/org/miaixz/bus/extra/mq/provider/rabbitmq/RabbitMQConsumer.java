@@ -20,14 +20,18 @@
 package org.miaixz.bus.extra.mq.provider.rabbitmq;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.DeliverCallback;
 
 import org.miaixz.bus.core.lang.exception.MQueueException;
 import org.miaixz.bus.core.xyz.IoKit;
+import org.miaixz.bus.extra.mq.BatchMessageHandler;
 import org.miaixz.bus.extra.mq.Consumer;
+import org.miaixz.bus.extra.mq.MessageBatcher;
 import org.miaixz.bus.extra.mq.MessageHandler;
 import org.miaixz.bus.extra.mq.RawMessage;
 import org.miaixz.bus.logger.Logger;
@@ -52,6 +56,11 @@ public class RabbitMQConsumer implements Consumer {
      */
     private String topic;
 
+    /**
+     * Batchers created by {@link #subscribe(BatchMessageHandler, int, long)}, flushed and closed with this consumer.
+     */
+    private final List<MessageBatcher> batchers = new CopyOnWriteArrayList<>();
+
     /**
      * Constructs a {@code RabbitMQConsumer} with the specified RabbitMQ channel.
      *
@@ -134,15 +143,50 @@ public class RabbitMQConsumer implements Consumer {
         }
     }
 
+    /**
+     * Subscribes with a batch handler. Single messages delivered by the RabbitMQ listener are accumulated by a
+     * {@link MessageBatcher} owned by this consumer, which {@link #close()} flushes and closes. A failing batch is
+     * logged once.
+     *
+     * @param handler      The {@link BatchMessageHandler} to process the received batches.
+     * @param maxBatchSize The maximum number of messages per batch.
+     * @param lingerMillis The maximum time in milliseconds a partial batch waits for more messages.
+     */
+    @Override
+    public void subscribe(final BatchMessageHandler handler, final int maxBatchSize, final long lingerMillis) {
+        final MessageBatcher batcher = new MessageBatcher(maxBatchSize, lingerMillis, batch -> {
+            final long handleStartedAt = System.nanoTime();
+            try {
+                handler.handle(batch);
+            } catch (RuntimeException e) {
+                Logger.warn(
+                        false,
+                        "Extra",
+                        e,
+                        "RabbitMQ batch handling failed: topic={}, batchSize={}, exception={}, elapsedMs={}",
+                        this.topic,
+                        batch.size(),
+                        e.getClass().getSimpleName(),
+                        (System.nanoTime() - handleStartedAt) / 1_000_000L);
+                throw e;
+            }
+        });
+        this.batchers.add(batcher);
+        subscribe(batcher::add);
+    }
+
     /**
      * Closes the underlying RabbitMQ {@link Channel} and releases any associated resources. This method ensures that
-     * the channel is properly shut down.
+     * the channel is properly shut down. Batches still being accumulated are then handed to their handlers before the
+     * batchers are closed.
      */
     @Override
     public void close() {
         final long startedAt = System.nanoTime();
         Logger.debug(true, "Extra", "RabbitMQ consumer close requested: topic={}", this.topic);
         IoKit.closeQuietly(this.channel);
+        this.batchers.forEach(MessageBatcher::close);
+        this.batchers.clear();
         Logger.debug(
                 false,
                 "Extra",
@@ -20,7 +20,11 @@
 package org.miaixz.bus.extra.mq.provider.rabbitmq;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import com.rabbitmq.client.Channel;
 
@@ -52,6 +56,16 @@ public class RabbitMQProducer implements Producer {
      */
     private String exchange = Normal.EMPTY;
 
+    /**
+     * Futures of published messages awaiting a publisher confirm, keyed by publish sequence number.
+     */
+    private final ConcurrentNavigableMap<Long, CompletableFuture<Void>> confirms = new ConcurrentSkipListMap<>();
+
+    /**
+     * Whether the confirm listener completing {@link #confirms} has been registered on the channel.
+     */
+    private boolean confirmListening;
+
     /**
      * Constructs a {@code RabbitMQProducer} with the specified RabbitMQ channel.
      *
@@ -167,6 +181,83 @@ public class RabbitMQProducer implements Producer {
         }
     }
 
+    /**
+     * Publishes a {@link Message} and completes the returned future from the broker's publisher confirm. When the
+     * channel is not in confirm mode (see {@link Channel#confirmSelect()}), the message is published synchronously and
+     * a completed future is returned.
+     *
+     * @param message The {@link Message} object to send, containing the topic (routing key) and content.
+     * @return A future completed once the broker has confirmed the message.
+     */
+    @Override
+    public CompletableFuture<Void> sendAsync(final Message message) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        synchronized (this.confirms) {
+            final long sequence = this.channel.getNextPublishSeqNo();
+            if (sequence == 0L) {
+                return Producer.super.sendAsync(message);
+            }
+            if (!this.confirmListening) {
+                this.channel.addConfirmListener(
+                        (deliveryTag, multiple) -> confirm(deliveryTag, multiple, null),
+                        (deliveryTag, multiple) -> confirm(
+                                deliveryTag,
+                                multiple,
+                                new MQueueException("RabbitMQ broker rejected message: " + deliveryTag)));
+                this.confirmListening = true;
+            }
+            this.confirms.put(sequence, future);
+            try {
+                this.channel.basicPublish(exchange, message.topic(), null, message.content());
+            } catch (final IOException | RuntimeException e) {
+                this.confirms.remove(sequence);
+                future.completeExceptionally(e);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Publishes several messages and, when the channel is in confirm mode, waits once for the publisher confirms of
+     * the whole batch instead of once per message.
+     *
+     * @param messages The messages to send, in order.
+     * @throws MQueueException if publishing fails or the broker rejects a message.
+     */
+    @Override
+    public void sendBatch(final List<? extends Message> messages) {
+        final long startedAt = System.nanoTime();
+        try {
+            for (final Message message : messages) {
+                this.channel.basicPublish(exchange, message.topic(), null, message.content());
+            }
+            if (this.channel.getNextPublishSeqNo() > 0L) {
+                this.channel.waitForConfirmsOrDie();
+            }
+            Logger.debug(
+                    false,
+                    "Extra",
+                    "RabbitMQ batch send completed: exchange={}, batchSize={}, elapsedMs={}",
+                    exchange,
+                    messages.size(),
+                    (System.nanoTime() - startedAt) / 1_000_000L);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MQueueException(e);
+        } catch (final IOException e) {
+            Logger.warn(
+                    false,
+                    "Extra",
+                    e,
+                    "RabbitMQ batch send failed: exchange={}, batchSize={}, exception={}, elapsedMs={}",
+                    exchange,
+                    messages.size(),
+                    e.getClass().getSimpleName(),
+                    (System.nanoTime() - startedAt) / 1_000_000L);
+            throw new MQueueException(e);
+        }
+    }
+
     /**
      * Closes the underlying RabbitMQ {@link Channel} and releases any associated resources. This method ensures that
      * the channel is properly shut down.
@@ -183,4 +274,24 @@ public class RabbitMQProducer implements Producer {
                 (System.nanoTime() - startedAt) / 1_000_000L);
     }
 
+    /**
+     * Completes the futures covered by one publisher confirm.
+     *
+     * @param deliveryTag confirmed publish sequence number
+     * @param multiple    whether all sequence numbers up to {@code deliveryTag} are confirmed
+     * @param failure     rejection error, or {@code null} for an acknowledgement
+     */
+    private void confirm(final long deliveryTag, final boolean multiple, final MQueueException failure) {
+        final Map<Long, CompletableFuture<Void>> confirmed = multiple ? this.confirms.headMap(deliveryTag, true)
+                : this.confirms.subMap(deliveryTag, true, deliveryTag, true);
+        for (final CompletableFuture<Void> future : confirmed.values()) {
+            if (null == failure) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(failure);
+            }
+        }
+        confirmed.clear();
+    }
+
 }
@@ -20,7 +20,10 @@
 package org.miaixz.bus.extra.mq.provider.rocketmq;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.apache.rocketmq.client.consumer.DefaultMQPushConsumer;
 import org.apache.rocketmq.client.consumer.MQPushConsumer;
 import org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyStatus;
 import org.apache.rocketmq.client.consumer.listener.MessageListenerConcurrently;
@@ -29,6 +32,7 @@ import org.apache.rocketmq.common.message.MessageExt;
 
 import org.miaixz.bus.core.lang.Symbol;
 import org.miaixz.bus.core.lang.exception.MQueueException;
+import org.miaixz.bus.extra.mq.BatchMessageHandler;
 import org.miaixz.bus.extra.mq.Consumer;
 import org.miaixz.bus.extra.mq.Message;
 import org.miaixz.bus.extra.mq.MessageHandler;
@@ -130,6 +134,33 @@ public class RocketMQConsumer implements Consumer {
         Logger.info(false, "Extra", "RocketMQ message listener registered");
     }
 
+    /**
+     * Registers a batch listener. For a {@link DefaultMQPushConsumer} the consume batch size and the pull batch size
+     * are set to {@code maxBatchSize}, so each batch fetched from the broker is handed over as one batch; this must
+     * happen before the consumer is started. Other push consumers deliver the batches their configuration produces.
+     *
+     * @param handler      The {@link BatchMessageHandler} to process the received batches.
+     * @param maxBatchSize The maximum number of messages per batch.
+     * @param lingerMillis Ignored; RocketMQ delivers each pulled batch without delay.
+     */
+    @Override
+    public void subscribe(final BatchMessageHandler handler, final int maxBatchSize, final long lingerMillis) {
+        if (this.consumer instanceof DefaultMQPushConsumer pushConsumer) {
+            pushConsumer.setConsumeMessageBatchMaxSize(maxBatchSize);
+            pushConsumer.setPullBatchSize(Math.max(maxBatchSize, pushConsumer.getPullBatchSize()));
+        }
+        this.consumer.registerMessageListener((MessageListenerConcurrently) (msgs, context) -> {
+            final List<Message> batch = new ArrayList<>(msgs.size());
+            for (final MessageExt msg : msgs) {
+                batch.add(new RawMessage(msg.getTopic(), msg.getBody()));
+            }
+            if (!batch.isEmpty()) {
+                handler.handle(batch);
+            }
+            return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+        });
+    }
+
     /**
      * Closes the underlying RocketMQ push consumer and releases all associated resources. This method ensures that the
      * consumer is properly shut down.
@@ -20,8 +20,15 @@
 package org.miaixz.bus.extra.mq.provider.rocketmq;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.rocketmq.client.producer.MQProducer;
+import org.apache.rocketmq.client.producer.SendCallback;
+import org.apache.rocketmq.client.producer.SendResult;
 
 import org.miaixz.bus.core.lang.exception.MQueueException;
 import org.miaixz.bus.extra.mq.Message;
@@ -95,6 +102,87 @@ public class RocketMQProducer implements Producer {
         }
     }
 
+    /**
+     * Sends a {@link Message} with the RocketMQ asynchronous send API and completes the returned future from the send
+     * callback.
+     *
+     * @param message The {@link Message} object to send, containing the topic and content.
+     * @return A future completed once the broker has stored the message.
+     */
+    @Override
+    public CompletableFuture<Void> sendAsync(final Message message) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            this.producer.send(
+                    new org.apache.rocketmq.common.message.Message(message.topic(), message.content()),
+                    new SendCallback() {
+
+                        /**
+                         * Completes the future once the broker has stored the message.
+                         *
+                         * @param sendResult broker send result
+                         */
+                        @Override
+                        public void onSuccess(final SendResult sendResult) {
+                            future.complete(null);
+                        }
+
+                        /**
+                         * Fails the future with the send error.
+                         *
+                         * @param e send error
+                         */
+                        @Override
+                        public void onException(final Throwable e) {
+                            future.completeExceptionally(e);
+                        }
+                    });
+        } catch (final Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Sends several messages with the RocketMQ batch API. RocketMQ requires all messages of one batch to share a
+     * topic, so the messages are grouped by topic first; each group is sent as one batch, in order of first
+     * appearance.
+     *
+     * @param messages The messages to send, in order.
+     * @throws MQueueException if a batch is rejected by the broker.
+     */
+    @Override
+    public void sendBatch(final List<? extends Message> messages) {
+        final long startedAt = System.nanoTime();
+        final Map<String, List<org.apache.rocketmq.common.message.Message>> topics = new LinkedHashMap<>();
+        for (final Message message : messages) {
+            topics.computeIfAbsent(message.topic(), key -> new ArrayList<>())
+                    .add(new org.apache.rocketmq.common.message.Message(message.topic(), message.content()));
+        }
+        try {
+            for (final List<org.apache.rocketmq.common.message.Message> batch : topics.values()) {
+                this.producer.send(batch);
+            }
+            Logger.debug(
+                    false,
+                    "Extra",
+                    "RocketMQ batch send completed: batchSize={}, topics={}, elapsedMs={}",
+                    messages.size(),
+                    topics.size(),
+                    (System.nanoTime() - startedAt) / 1_000_000L);
+        } catch (final Exception e) {
+            Logger.warn(
+                    false,
+                    "Extra",
+                    e,
+                    "RocketMQ batch send failed: batchSize={}, exception={}, elapsedMs={}",
+                    messages.size(),
+                    e.getClass().getSimpleName(),
+                    (System.nanoTime() - startedAt) / 1_000_000L);
+            throw new MQueueException(e);
+        }
+    }
+
     /**
      * Closes the underlying RocketMQ producer and releases all associated resources. This method ensures that the
      * producer is properly shut down.
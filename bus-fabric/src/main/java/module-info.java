@@ -32,6 +32,7 @@ module bus.fabric {
     requires bus.logger;
 
     requires static jakarta.xml.soap;
+    requires static bus.tracer;
 
     exports org.miaixz.bus.fabric;
     exports org.miaixz.bus.fabric.bridge;
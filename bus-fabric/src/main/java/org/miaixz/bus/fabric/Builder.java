@@ -1037,6 +1037,11 @@ public final class Builder {
      */
     public static final int WEBSOCKET_CLOSE_MESSAGE_TOO_LARGE = 1009;
 
+    /**
+     * WebSocket policy-violation close code, used to evict slow broadcast consumers.
+     */
+    public static final int WEBSOCKET_CLOSE_POLICY_VIOLATION = 1008;
+
     /**
      * WebSocket protocol-error close code.
      */
@@ -1117,6 +1122,11 @@ public final class Builder {
      */
     public static final int WEBSOCKET_RESERVED_NO_STATUS_CODE = 1005;
 
+    /**
+     * WebSocket RSV1 bit marking a per-message compressed data frame.
+     */
+    public static final int WEBSOCKET_RSV1 = 0x40;
+
     /**
      * WebSocket RSV bit mask.
      */
@@ -497,7 +497,10 @@ public interface Payload {
                         continue;
                     }
                     final int count = (int) read;
-                    scratch.read(result, offset, count);
+                    int copied = Normal._0;
+                    while (copied < count) {
+                        copied += scratch.read(result, offset + copied, count - copied);
+                    }
                     offset += count;
                 }
                 if (input.read(scratch, Normal._1) != Normal.__1) {
@@ -19,21 +19,34 @@
 */
 package org.miaixz.bus.fabric.protocol.http;
 
+import static org.miaixz.bus.fabric.Builder.BYTES_16_MIB;
 import static org.miaixz.bus.fabric.Builder.BYTES_64_KIB;
 
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
 import org.miaixz.bus.core.io.buffer.Buffer;
 import org.miaixz.bus.core.io.sink.Sink;
 import org.miaixz.bus.core.io.source.Source;
 import org.miaixz.bus.core.lang.Assert;
+import org.miaixz.bus.core.lang.Normal;
 import org.miaixz.bus.core.lang.Symbol;
 import org.miaixz.bus.core.lang.exception.InternalException;
 import org.miaixz.bus.core.lang.exception.ProtocolException;
@@ -52,12 +65,33 @@ import org.miaixz.bus.logger.Logger;
 
 /**
  * Resumable HTTP download task with Range, progress, pause and cancel support.
+ * <p>
+ * With more than one segment configured, a server that honours byte ranges is asked for the entity in that many
+ * contiguous ranges fetched concurrently. Each range is written into a preallocated part file with positional
+ * {@link FileChannel} writes, and per-segment progress is checkpointed into the metadata sidecar so that a paused or
+ * interrupted transfer resumes every segment where it stopped. Servers without range support fall back to one stream.
+ * </p>
  *
  * @author Kimi Liu
  * @since Java 21+
  */
 public final class HttpDownload {
 
+    /**
+     * Smallest range assigned to one segment.
+     */
+    private static final long SEGMENT_MIN_BYTES = Normal.MEBI;
+
+    /**
+     * Bytes written by one segment between sidecar checkpoints.
+     */
+    private static final long CHECKPOINT_BYTES = BYTES_16_MIB;
+
+    /**
+     * Upper bound on concurrent segments.
+     */
+    private static final int MAX_SEGMENTS = Normal._64;
+
     /**
      * HTTP executor.
      */
@@ -98,6 +132,11 @@ public final class HttpDownload {
      */
     private final AtomicBoolean cancelled;
 
+    /**
+     * Number of concurrent ranges requested in segmented mode; one disables segmentation.
+     */
+    private final int segments;
+
     /**
      * Creates a download task.
      *
@@ -107,9 +146,11 @@ public final class HttpDownload {
      * @param cancellation cancellation scope
      * @param progress     progress callback
      * @param resume       whether partial files may be resumed
+     * @param segments     number of concurrent ranges, one for a single stream
      */
     private HttpDownload(final Exchange exchange, final HttpRequest request, final Path target,
-            final Cancellation cancellation, final BiConsumer<Long, Long> progress, final boolean resume) {
+            final Cancellation cancellation, final BiConsumer<Long, Long> progress, final boolean resume,
+            final int segments) {
         this.exchange = require(exchange, "HTTP download exchange");
         this.request = require(request, "HTTP request");
         this.target = validateTarget(target);
@@ -118,6 +159,7 @@ public final class HttpDownload {
         this.resume = resume;
         this.paused = new AtomicBoolean();
         this.cancelled = new AtomicBoolean();
+        this.segments = validateSegments(segments);
         Assert.isTrue(request.method() == Http.Method.GET, () -> new ValidateException("HTTP download requires GET"));
     }
 
@@ -169,50 +211,19 @@ public final class HttpDownload {
         Logger.info(
                 true,
                 "Fabric",
-                "HTTP download started: method={}, scheme={}, host={}, port={}, path={}, target={}, resume={}",
+                "HTTP download started: method={}, scheme={}, host={}, port={}, path={}, target={}, resume={}, segments={}",
                 request.method().value(),
                 request.url().scheme(),
                 request.url().host(),
                 request.url().port(),
                 request.url().path(),
                 target,
-                resume);
+                resume,
+                segments);
         try {
             createParent(target);
-            long offset = resume && Files.exists(part) ? Files.size(part) : 0L;
-            if (!resume) {
-                deleteQuietly(part);
-                deleteQuietly(meta);
-                offset = 0L;
-            }
-            Logger.info(
-                    false,
-                    "Fabric",
-                    "HTTP download resume state: target={}, part={}, offset={}, resume={}",
-                    target,
-                    part,
-                    offset,
-                    resume);
-            final HttpRequest current = rangedRequest(offset, readValidator(meta));
-            try (HttpResponse response = exchange.execute(current, cancellation)) {
-                final boolean append = offset > 0L && response.code() == Http.Status.PARTIAL_CONTENT;
-                if (!append) {
-                    offset = 0L;
-                    deleteQuietly(part);
-                }
-                validateResponse(response, append);
-                writeValidator(meta, validator(response));
-                final long total = totalLength(response, offset, append);
-                Logger.info(
-                        false,
-                        "Fabric",
-                        "HTTP download response accepted: code={}, append={}, offset={}, total={}, target={}",
-                        response.code(),
-                        append,
-                        offset,
-                        total,
-                        target);
-                copy(response, part, offset, total, append);
+            if (segments == Normal._1 || !segmented(part, meta)) {
+                stream(part, meta);
             }
             Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
             deleteQuietly(meta);
@@ -259,6 +270,346 @@ public final class HttpDownload {
         }
     }
 
+    /**
+     * Downloads the entity over one connection, resuming a partial single-stream transfer when possible.
+     *
+     * @param part part file
+     * @param meta validator sidecar
+     * @throws IOException when local file state cannot be read or written
+     */
+    private void stream(final Path part, final Path meta) throws IOException {
+        if (Plan.read(meta) != null) {
+            deleteQuietly(part);
+            deleteQuietly(meta);
+        }
+        long offset = resume && Files.exists(part) ? Files.size(part) : 0L;
+        if (!resume) {
+            deleteQuietly(part);
+            deleteQuietly(meta);
+            offset = 0L;
+        }
+        Logger.info(
+                false,
+                "Fabric",
+                "HTTP download resume state: target={}, part={}, offset={}, resume={}",
+                target,
+                part,
+                offset,
+                resume);
+        final HttpRequest current = rangedRequest(offset, readValidator(meta));
+        try (HttpResponse response = exchange.execute(current, cancellation)) {
+            final boolean append = offset > 0L && response.code() == Http.Status.PARTIAL_CONTENT;
+            if (!append) {
+                offset = 0L;
+                deleteQuietly(part);
+            }
+            validateResponse(response, append);
+            writeValidator(meta, validator(response));
+            final long total = totalLength(response, offset, append);
+            Logger.info(
+                    false,
+                    "Fabric",
+                    "HTTP download response accepted: code={}, append={}, offset={}, total={}, target={}",
+                    response.code(),
+                    append,
+                    offset,
+                    total,
+                    target);
+            copy(response, part, offset, total, append);
+        }
+    }
+
+    /**
+     * Downloads the entity as concurrent byte ranges into a preallocated part file.
+     * <p>
+     * A resumable sidecar whose length matches the part file is continued without probing the server: every segment
+     * request carries {@code If-Range}, so a changed entity answers with a full response or a different length, which
+     * fails the attempt with a {@link ProtocolException}. Only then is the entity probed again. A server that still
+     * ignores {@code Range} or {@code If-Range}, answering 200 with the full body or a range other than the requested
+     * one, makes the download fall back to a single stream rather than fail.
+     * </p>
+     *
+     * @param part part file
+     * @param meta segment sidecar
+     * @return false when the server does not honour ranges and the caller must stream instead
+     * @throws IOException when local file state cannot be read or written
+     */
+    private boolean segmented(final Path part, final Path meta) throws IOException {
+        Plan saved = resume ? Plan.read(meta) : null;
+        if (saved != null && saved.validator() != null && Files.exists(part) && Files.size(part) == saved.total()) {
+            try {
+                transfer(saved, part, meta, true);
+                return true;
+            } catch (final ProtocolException e) {
+                Logger.info(
+                        false,
+                        "Fabric",
+                        "HTTP download saved segments rejected, probing entity: target={}, reason={}",
+                        target,
+                        e.getMessage());
+                saved = Plan.read(meta);
+            }
+        }
+        final long total;
+        final String validator;
+        try (HttpResponse probe = exchange.execute(
+                request.toBuilder().headers(request.headers().with(Http.Header.RANGE, "bytes=0-0")).build(),
+                cancellation)) {
+            total = probe.code() == Http.Status.PARTIAL_CONTENT
+                    ? contentRangeTotal(probe.headers().get(Http.Header.CONTENT_RANGE))
+                    : -1L;
+            validator = validator(probe);
+        }
+        final int count = (int) Math.min(segments, total / SEGMENT_MIN_BYTES);
+        if (count < Normal._2) {
+            Logger.info(
+                    false,
+                    "Fabric",
+                    "HTTP download segmentation skipped: target={}, total={}, segments={}",
+                    target,
+                    total,
+                    segments);
+            if (saved != null) {
+                deleteQuietly(part);
+                deleteQuietly(meta);
+            }
+            return false;
+        }
+        final boolean reuse = saved != null && saved.resumable(validator, total) && Files.exists(part)
+                && Files.size(part) == total;
+        final Plan plan = reuse ? saved : Plan.create(validator, total, count);
+        if (!reuse) {
+            deleteQuietly(part);
+            try (RandomAccessFile file = new RandomAccessFile(part.toFile(), "rw")) {
+                file.setLength(total);
+            }
+        }
+        try {
+            transfer(plan, part, meta, reuse);
+            return true;
+        } catch (final ProtocolException e) {
+            Logger.info(
+                    false,
+                    "Fabric",
+                    "HTTP download ranges not honoured, falling back to a single stream: target={}, reason={}",
+                    target,
+                    e.getMessage());
+            deleteQuietly(part);
+            deleteQuietly(meta);
+            return false;
+        }
+    }
+
+    /**
+     * Fetches every incomplete segment of a plan into the preallocated part file.
+     * <p>
+     * The executor stays open while the segments are awaited; an interrupt or a failed segment shuts it down
+     * immediately instead of waiting for the remaining fetches to drain.
+     * </p>
+     *
+     * @param plan    segment plan
+     * @param part    part file sized to the entity length
+     * @param meta    segment sidecar
+     * @param resumed whether the plan continues saved progress
+     * @throws IOException when local file state cannot be read or written
+     */
+    private void transfer(final Plan plan, final Path part, final Path meta, final boolean resumed)
+            throws IOException {
+        plan.write(meta);
+        Logger.info(
+                false,
+                "Fabric",
+                "HTTP download segmented: target={}, total={}, segments={}, resumed={}, written={}",
+                target,
+                plan.total(),
+                plan.segments().length,
+                resumed,
+                plan.written());
+        final Cancellation scope = Cancellation.create();
+        final Runnable unregister = cancellation.onCancel(() -> scope.cancel(cancellation.cause()));
+        final ExecutorService executor = Executors
+                .newThreadPerTaskExecutor(Thread.ofVirtual().name("fabric-download-", Normal._0).factory());
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+            final AtomicLong written = new AtomicLong(plan.written());
+            progress(written.get(), plan.total());
+            try {
+                await(fetchAll(executor, plan, channel, meta, scope, written), scope);
+            } catch (final RuntimeException e) {
+                scope.cancel(e);
+                executor.shutdownNow();
+                throw e;
+            } finally {
+                checkpoint(plan, channel, meta);
+            }
+        } finally {
+            executor.shutdown();
+            unregister.run();
+        }
+    }
+
+    /**
+     * Starts one virtual-thread fetch for every incomplete segment.
+     *
+     * @param executor executor running the fetches
+     * @param plan     segment plan
+     * @param channel  part file channel
+     * @param meta     segment sidecar
+     * @param scope    cancellation shared by all segments
+     * @param written  aggregate written bytes
+     * @return pending segment fetches
+     */
+    private List<Future<?>> fetchAll(
+            final ExecutorService executor,
+            final Plan plan,
+            final FileChannel channel,
+            final Path meta,
+            final Cancellation scope,
+            final AtomicLong written) {
+        final List<Future<?>> pending = new ArrayList<>(plan.segments().length);
+        for (final Segment segment : plan.segments()) {
+            if (!segment.complete()) {
+                pending.add(executor.submit(() -> {
+                    try {
+                        fetch(plan, segment, channel, meta, scope, written);
+                    } catch (final RuntimeException e) {
+                        scope.cancel(e);
+                        throw e;
+                    }
+                    return null;
+                }));
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Waits for every segment fetch and rethrows the first meaningful failure.
+     *
+     * @param pending segment fetches
+     * @param scope   shared segment cancellation
+     */
+    private void await(final List<Future<?>> pending, final Cancellation scope) {
+        RuntimeException failure = null;
+        for (final Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                scope.cancel(e);
+                throw new CancellationException("HTTP download interrupted");
+            } catch (final ExecutionException e) {
+                final RuntimeException cause = e.getCause() instanceof RuntimeException runtime ? runtime
+                        : new InternalException("HTTP download segment failed", e.getCause());
+                if (failure == null || cancelled(failure) && !cancelled(cause)) {
+                    failure = cause;
+                }
+            }
+        }
+        cancellation.throwIfCancelled();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns whether a segment failure only reflects the shared cancellation, possibly wrapped by the exchange.
+     *
+     * @param failure segment failure
+     * @return true when a {@link CancellationException} is in the cause chain
+     */
+    private static boolean cancelled(final Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CancellationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fetches the remaining bytes of one segment with a Range request and positional writes. A response other than a
+     * 206 for exactly the requested range fails with a {@link ProtocolException}, which makes the download re-probe
+     * the entity or fall back to a single stream.
+     *
+     * @param plan    segment plan
+     * @param segment segment to fetch
+     * @param channel part file channel
+     * @param meta    segment sidecar
+     * @param scope   cancellation shared by all segments
+     * @param written aggregate written bytes
+     */
+    private void fetch(
+            final Plan plan,
+            final Segment segment,
+            final FileChannel channel,
+            final Path meta,
+            final Cancellation scope,
+            final AtomicLong written) {
+        long position = segment.position();
+        Headers headers = request.headers().with(Http.Header.RANGE,
+                "bytes=" + position + Symbol.MINUS + segment.end());
+        if (plan.validator() != null) {
+            headers = headers.with(Http.Header.IF_RANGE, plan.validator());
+        }
+        try (HttpResponse response = exchange.execute(request.toBuilder().headers(headers).build(), scope);
+                Source input = response.body().source()) {
+            final String range = response.headers().get(Http.Header.CONTENT_RANGE);
+            if (response.code() != Http.Status.PARTIAL_CONTENT || contentRangeStart(range) != position
+                    || contentRangeTotal(range) != plan.total()) {
+                throw new ProtocolException("HTTP download segment requires a matching 206 Partial Content");
+            }
+            final Buffer buffer = new Buffer();
+            final byte[] chunk = new byte[BYTES_64_KIB];
+            long unsaved = Normal.LONG_ZERO;
+            while (position <= segment.end()) {
+                scope.throwIfCancelled();
+                final long read = input.read(buffer, Math.min(BYTES_64_KIB, segment.end() + 1 - position));
+                if (read < 0) {
+                    throw new ProtocolException("HTTP download segment ended before its range");
+                }
+                while (buffer.size() > 0) {
+                    final int count = buffer.read(chunk, Normal._0, (int) Math.min(chunk.length, buffer.size()));
+                    final ByteBuffer source = ByteBuffer.wrap(chunk, Normal._0, count);
+                    while (source.hasRemaining()) {
+                        position += channel.write(source, position);
+                    }
+                }
+                segment.advance(position);
+                unsaved += read;
+                final long total = written.addAndGet(read);
+                synchronized (plan) {
+                    progress(total, plan.total());
+                }
+                if (unsaved >= CHECKPOINT_BYTES) {
+                    checkpoint(plan, channel, meta);
+                    unsaved = Normal.LONG_ZERO;
+                }
+            }
+        } catch (final IOException e) {
+            throw new SocketException("Unable to stream HTTP download segment", e);
+        }
+    }
+
+    /**
+     * Makes written segment bytes durable and records per-segment progress in the sidecar.
+     *
+     * @param plan    segment plan
+     * @param channel part file channel
+     * @param meta    segment sidecar
+     */
+    private static void checkpoint(final Plan plan, final FileChannel channel, final Path meta) {
+        synchronized (plan) {
+            try {
+                if (channel.isOpen()) {
+                    channel.force(false);
+                }
+                plan.write(meta);
+            } catch (final IOException e) {
+                throw new SocketException("Unable to checkpoint HTTP download segments", e);
+            }
+        }
+    }
+
     /**
      * Pauses this download and keeps the part file.
      *
@@ -435,6 +786,28 @@ public final class HttpDownload {
         }
     }
 
+    /**
+     * Parses the first byte position from Content-Range.
+     *
+     * @param value header value
+     * @return first byte position, or -1 when absent or unsatisfied
+     */
+    private static long contentRangeStart(final String value) {
+        if (value == null) {
+            return -1L;
+        }
+        final int space = value.indexOf(Symbol.C_SPACE);
+        final int dash = value.indexOf(Symbol.C_MINUS, space + 1);
+        if (space < 0 || dash < 0) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(value.substring(space + 1, dash).trim());
+        } catch (final NumberFormatException e) {
+            throw new ProtocolException("Invalid Content-Range start", e);
+        }
+    }
+
     /**
      * Returns a resumable validator.
      *
@@ -457,7 +830,8 @@ public final class HttpDownload {
         if (!Files.exists(meta)) {
             return null;
         }
-        final String value = Files.readString(meta).trim();
+        final List<String> lines = Files.readAllLines(meta, StandardCharsets.UTF_8);
+        final String value = lines.isEmpty() ? Normal.EMPTY : lines.get(Normal._0).trim();
         return value.isEmpty() ? null : value;
     }
 
@@ -528,6 +902,19 @@ public final class HttpDownload {
         return checked;
     }
 
+    /**
+     * Validates the configured segment count.
+     *
+     * @param segments candidate segment count
+     * @return validated segment count
+     */
+    private static int validateSegments(final int segments) {
+        Assert.isTrue(
+                segments >= Normal._1 && segments <= MAX_SEGMENTS,
+                () -> new ValidateException("HTTP download segments must be between 1 and 64"));
+        return segments;
+    }
+
     /**
      * Validates required builder and execution inputs.
      *
@@ -540,6 +927,202 @@ public final class HttpDownload {
         return Assert.notNull(value, () -> new ValidateException(name + " must not be null"));
     }
 
+    /**
+     * Segmented transfer state persisted in the metadata sidecar.
+     * <p>
+     * The sidecar starts with the validator line used by single-stream resumes, followed by a {@code segments} header
+     * carrying the entity length and one {@code start end written} line per segment.
+     * </p>
+     *
+     * @param validator ETag or Last-Modified value, or {@code null}
+     * @param total     entity length
+     * @param segments  contiguous segments covering the entity
+     */
+    private record Plan(String validator, long total, Segment[] segments) {
+
+        /**
+         * Sidecar header marking segmented state.
+         */
+        private static final String HEADER = "segments";
+
+        /**
+         * Splits an entity into contiguous segments.
+         *
+         * @param validator entity validator
+         * @param total     entity length
+         * @param count     segment count
+         * @return fresh plan
+         */
+        static Plan create(final String validator, final long total, final int count) {
+            final Segment[] segments = new Segment[count];
+            final long size = (total + count - 1) / count;
+            for (int i = Normal._0; i < count; i++) {
+                final long start = i * size;
+                segments[i] = new Segment(start, Math.min(total, start + size) - 1, start);
+            }
+            return new Plan(validator, total, segments);
+        }
+
+        /**
+         * Reads segmented state from a sidecar.
+         *
+         * @param meta sidecar
+         * @return plan, or {@code null} when the sidecar is absent, single-stream, or unreadable
+         */
+        static Plan read(final Path meta) {
+            try {
+                if (!Files.exists(meta)) {
+                    return null;
+                }
+                final List<String> lines = Files.readAllLines(meta, StandardCharsets.UTF_8);
+                if (lines.size() < Normal._3 || !lines.get(Normal._1).startsWith(HEADER + Symbol.SPACE)) {
+                    return null;
+                }
+                final String validator = lines.get(Normal._0).trim();
+                final long total = Long.parseLong(lines.get(Normal._1).substring(HEADER.length() + 1).trim());
+                final Segment[] segments = new Segment[lines.size() - Normal._2];
+                long expected = Normal.LONG_ZERO;
+                for (int i = Normal._0; i < segments.length; i++) {
+                    final String[] fields = lines.get(i + Normal._2).trim().split(Symbol.SPACE);
+                    final long start = Long.parseLong(fields[Normal._0]);
+                    final long end = Long.parseLong(fields[Normal._1]);
+                    final long position = Long.parseLong(fields[Normal._2]);
+                    if (start != expected || end < start || position < start || position > end + 1) {
+                        return null;
+                    }
+                    segments[i] = new Segment(start, end, position);
+                    expected = end + 1;
+                }
+                return expected == total ? new Plan(validator.isEmpty() ? null : validator, total, segments) : null;
+            } catch (final IOException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Returns whether this saved plan may continue against a freshly probed entity.
+         *
+         * @param current current validator
+         * @param length  current entity length
+         * @return true when both the validator and length match
+         */
+        boolean resumable(final String current, final long length) {
+            return validator != null && validator.equals(current) && total == length;
+        }
+
+        /**
+         * Returns the bytes already written by all segments.
+         *
+         * @return written bytes
+         */
+        long written() {
+            long sum = Normal.LONG_ZERO;
+            for (final Segment segment : segments) {
+                sum += segment.position() - segment.start();
+            }
+            return sum;
+        }
+
+        /**
+         * Atomically replaces the sidecar with the current segment progress.
+         *
+         * @param meta sidecar
+         * @throws IOException when writing fails
+         */
+        void write(final Path meta) throws IOException {
+            final StringBuilder builder = new StringBuilder(validator == null ? Normal.EMPTY : validator)
+                    .append(Symbol.LF).append(HEADER).append(Symbol.SPACE).append(total).append(Symbol.LF);
+            for (final Segment segment : segments) {
+                builder.append(segment.start()).append(Symbol.SPACE).append(segment.end()).append(Symbol.SPACE)
+                        .append(segment.position()).append(Symbol.LF);
+            }
+            final Path temporary = meta.resolveSibling(meta.getFileName() + ".tmp");
+            Files.writeString(temporary, builder, StandardCharsets.UTF_8);
+            Files.move(temporary, meta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+    }
+
+    /**
+     * One contiguous byte range of a segmented transfer.
+     */
+    private static final class Segment {
+
+        /**
+         * First byte position.
+         */
+        private final long start;
+
+        /**
+         * Last byte position, inclusive.
+         */
+        private final long end;
+
+        /**
+         * Next byte position to fetch.
+         */
+        private volatile long position;
+
+        /**
+         * Creates a segment.
+         *
+         * @param start    first byte position
+         * @param end      last byte position, inclusive
+         * @param position next byte position to fetch
+         */
+        private Segment(final long start, final long end, final long position) {
+            this.start = start;
+            this.end = end;
+            this.position = position;
+        }
+
+        /**
+         * Returns the first byte position.
+         *
+         * @return start position
+         */
+        long start() {
+            return start;
+        }
+
+        /**
+         * Returns the last byte position.
+         *
+         * @return inclusive end position
+         */
+        long end() {
+            return end;
+        }
+
+        /**
+         * Returns the next byte position to fetch.
+         *
+         * @return next position
+         */
+        long position() {
+            return position;
+        }
+
+        /**
+         * Records written progress.
+         *
+         * @param next next byte position to fetch
+         */
+        void advance(final long next) {
+            this.position = next;
+        }
+
+        /**
+         * Returns whether every byte of this segment was written.
+         *
+         * @return true when complete
+         */
+        boolean complete() {
+            return position > end;
+        }
+
+    }
+
     /**
      * HTTP exchange abstraction.
      */
@@ -592,6 +1175,11 @@ public final class HttpDownload {
          */
         private boolean resume = true;
 
+        /**
+         * Segment count candidate.
+         */
+        private int segments = Normal._1;
+
         /**
          * Creates a builder bound to the exchange function that performs the actual HTTP call.
          *
@@ -656,13 +1244,25 @@ public final class HttpDownload {
             return this;
         }
 
+        /**
+         * Sets how many byte ranges are fetched concurrently. Values above one enable segmented mode when the server
+         * supports ranges and the entity is at least one MiB per segment.
+         *
+         * @param segments segment count between 1 and 64
+         * @return this builder
+         */
+        public Builder segments(final int segments) {
+            this.segments = validateSegments(segments);
+            return this;
+        }
+
         /**
          * Builds an immutable download task.
          *
          * @return immutable download task built from the current candidates
          */
         public HttpDownload build() {
-            return new HttpDownload(exchange, request, target, cancellation, progress, resume);
+            return new HttpDownload(exchange, request, target, cancellation, progress, resume, segments);
         }
 
         /**
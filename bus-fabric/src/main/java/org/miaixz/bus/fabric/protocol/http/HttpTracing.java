@@ -0,0 +1,67 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.fabric.protocol.http;
+
+import org.miaixz.bus.core.xyz.ClassKit;
+import org.miaixz.bus.fabric.Headers;
+import org.miaixz.bus.tracer.Tracer;
+
+/**
+ * Optional bridge to bus-tracer. When the tracer is on the class path and a span is current on the calling thread,
+ * outgoing requests carry its W3C {@code traceparent} header; otherwise requests are left untouched. Tracer types are
+ * only linked once {@link #PRESENT} has been checked, so the dependency stays optional.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+final class HttpTracing {
+
+    /**
+     * Whether bus-tracer is available.
+     */
+    static final boolean PRESENT = ClassKit.isPresent("org.miaixz.bus.tracer.Tracer",
+            HttpTracing.class.getClassLoader());
+
+    /**
+     * Utility class constructor.
+     */
+    private HttpTracing() {
+        // No initialization required.
+    }
+
+    /**
+     * Returns the request headers carrying the current span's context. The given headers are never modified, so a
+     * reused request builder cannot keep the context of an earlier span. Callers must check {@link #PRESENT} first.
+     *
+     * @param headers the headers of one request
+     * @return a copy with the {@code traceparent} header set, or {@code headers} itself when no span is current
+     */
+    static Headers inject(final Headers headers) {
+        final Headers.Builder[] traced = new Headers.Builder[1];
+        Tracer.inject((name, value) -> {
+            if (traced[0] == null) {
+                traced[0] = headers.newBuilder();
+            }
+            traced[0].set(name, value);
+        });
+        return traced[0] == null ? headers : traced[0].build();
+    }
+
+}
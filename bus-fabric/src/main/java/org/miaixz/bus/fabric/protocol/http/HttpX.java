@@ -1658,14 +1658,16 @@ public final class HttpX {
         }
 
         /**
-         * Builds headers with body metadata.
+         * Builds the headers of one request with body metadata and, when bus-tracer is present, the current span's
+         * context. The builder's own headers are left untouched.
          *
          * @param body     request body supplying content headers
          * @param reusable immutable header snapshot that may be returned when no metadata changes are required
          * @return headers
          */
         private Headers buildHeaders(final PayloadBody body, final Headers reusable) {
-            final Headers current = headers.buildOrReuse(reusable);
+            final Headers current = HttpTracing.PRESENT ? HttpTracing.inject(headers.buildOrReuse(reusable))
+                    : headers.buildOrReuse(reusable);
             final long length = body.length();
             final boolean needsLength = length > 0 && !current.contains(Http.Header.CONTENT_LENGTH);
             final boolean needsType = length != 0 && !current.contains(Http.Header.CONTENT_TYPE);
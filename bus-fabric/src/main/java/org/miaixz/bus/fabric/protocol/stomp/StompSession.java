@@ -46,6 +46,7 @@ import org.miaixz.bus.fabric.protocol.MonoCall;
 import org.miaixz.bus.fabric.protocol.stomp.body.StompBody;
 import org.miaixz.bus.fabric.protocol.stomp.broker.StompReceipt;
 import org.miaixz.bus.fabric.protocol.stomp.broker.StompTopic;
+import org.miaixz.bus.fabric.protocol.stomp.broker.StompTopicIndex;
 import org.miaixz.bus.fabric.protocol.stomp.frame.StompCodec;
 import org.miaixz.bus.fabric.protocol.stomp.frame.StompFrame;
 import org.miaixz.bus.fabric.runtime.Activity;
@@ -89,6 +90,11 @@ public final class StompSession implements Session {
      */
     private final Map<String, Subscription> topics;
 
+    /**
+     * Copy-on-write destination index over {@link #topics}, updated while holding its monitor.
+     */
+    private final StompTopicIndex<Subscription> index;
+
     /**
      * Receipt registry.
      */
@@ -304,6 +310,7 @@ public final class StompSession implements Session {
         } : cancelHook;
         this.codec = new StompCodec();
         this.topics = new LinkedHashMap<>();
+        this.index = new StompTopicIndex<>();
         this.receipts = new StompReceipt();
         this.handler = handler == null ? message -> {
         } : handler;
@@ -486,7 +493,9 @@ public final class StompSession implements Session {
         try {
             write(StompFrame.of(Builder.STOMP_COMMAND_SUBSCRIBE, builder.build(), Payload.empty())).execute();
             synchronized (topics) {
-                topics.put(topic.id(), new Subscription(topic, handler));
+                final Subscription subscription = new Subscription(topic, handler);
+                topics.put(topic.id(), subscription);
+                index.add(topic, subscription);
             }
             Logger.info(
                     false,
@@ -632,7 +641,9 @@ public final class StompSession implements Session {
                             Builder.STOMP_COMMAND_UNSUBSCRIBE,
                             Headers.builder().add(Builder.STOMP_HEADER_ID, topic.id()).build(),
                             Payload.empty())).execute();
-            topics.remove(topic.id(), removed);
+            if (topics.remove(topic.id(), removed)) {
+                index.remove(removed.topic());
+            }
         }
         Logger.info(
                 false,
@@ -796,14 +807,8 @@ public final class StompSession implements Session {
                 destination,
                 received.body().length());
         accept(handler, message);
-        final List<Subscription> snapshot;
-        synchronized (topics) {
-            snapshot = new ArrayList<>(topics.values());
-        }
-        for (final Subscription subscription : snapshot) {
-            if (subscription.topic.matches(message)) {
-                accept(subscription.handler, message);
-            }
+        for (final Subscription subscription : index.match(message.destination())) {
+            accept(subscription.handler, message);
         }
     }
 
@@ -824,6 +829,7 @@ public final class StompSession implements Session {
     private void cleanup(final Throwable cause) {
         synchronized (topics) {
             topics.clear();
+            index.clear();
         }
         receipts.failAll(cause);
         synchronized (codec) {
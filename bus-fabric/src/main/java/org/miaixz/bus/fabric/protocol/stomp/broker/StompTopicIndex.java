@@ -0,0 +1,427 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.fabric.protocol.stomp.broker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.miaixz.bus.core.lang.Assert;
+import org.miaixz.bus.core.lang.Normal;
+import org.miaixz.bus.core.lang.Symbol;
+import org.miaixz.bus.core.lang.exception.ValidateException;
+import org.miaixz.bus.fabric.Builder;
+
+/**
+ * Copy-on-write destination trie for STOMP subscriptions.
+ * <p>
+ * Destinations are split on {@code /} into segments. Exact topics are stored at the node reached by all of their
+ * segments, while trailing {@code /*} and {@code /**} topics are stored at the node of their prefix and match exactly
+ * one, or at least one, further segment. Matching follows the semantics of {@link StompTopic#matches} and costs time
+ * proportional to the destination depth plus the number of matches, independent of the subscription count.
+ * </p>
+ * <p>
+ * Mutations copy only the nodes on the affected path and publish a new root; lookups read the current root without
+ * locking. Matches are returned in subscription order.
+ * </p>
+ *
+ * @param <V> value associated with each subscription
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public final class StompTopicIndex<V> {
+
+    /**
+     * Orders entries by subscription sequence.
+     */
+    private static final Comparator<Entry<?>> ORDER = Comparator.comparingLong(Entry::sequence);
+
+    /**
+     * Published immutable root.
+     */
+    private volatile Node<V> root;
+
+    /**
+     * Next subscription sequence, guarded by this index.
+     */
+    private long sequence;
+
+    /**
+     * Number of indexed subscriptions, guarded by this index.
+     */
+    private int size;
+
+    /**
+     * Creates an empty index.
+     */
+    public StompTopicIndex() {
+        this.root = Node.empty();
+    }
+
+    /**
+     * Indexes one subscription, replacing any entry with the same subscription id under the same destination.
+     *
+     * @param topic subscription topic
+     * @param value value returned for matching destinations
+     * @throws ValidateException if {@code topic} is {@code null}
+     */
+    public synchronized void add(final StompTopic topic, final V value) {
+        final StompTopic checked = Assert.notNull(topic, () -> new ValidateException("STOMP topic must not be null"));
+        final Key key = Key.of(checked.destination());
+        final Node<V> current = root;
+        final Node<V> removed = current.update(key.segments(), Normal._0, key.kind(), checked.id(), null);
+        if (removed != current) {
+            size--;
+        }
+        root = (removed == null ? Node.<V>empty() : removed).update(key.segments(), Normal._0, key.kind(), checked.id(),
+                new Entry<>(checked.id(), sequence++, value));
+        size++;
+    }
+
+    /**
+     * Removes one subscription.
+     *
+     * @param topic subscription topic
+     * @return true when the subscription was indexed
+     * @throws ValidateException if {@code topic} is {@code null}
+     */
+    public synchronized boolean remove(final StompTopic topic) {
+        final StompTopic checked = Assert.notNull(topic, () -> new ValidateException("STOMP topic must not be null"));
+        final Key key = Key.of(checked.destination());
+        final Node<V> current = root;
+        final Node<V> next = current.update(key.segments(), Normal._0, key.kind(), checked.id(), null);
+        if (next == current) {
+            return false;
+        }
+        root = next == null ? Node.empty() : next;
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes every subscription.
+     */
+    public synchronized void clear() {
+        root = Node.empty();
+        size = Normal._0;
+    }
+
+    /**
+     * Returns the number of indexed subscriptions.
+     *
+     * @return subscription count
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the values of every subscription matching a message destination.
+     *
+     * @param destination message destination
+     * @return matching values in subscription order; empty when nothing matches
+     * @throws ValidateException if {@code destination} is {@code null}
+     */
+    public List<V> match(final String destination) {
+        final String value = Assert
+                .notNull(destination, () -> new ValidateException("STOMP destination must not be null"));
+        final int total = segments(value);
+        final List<Entry<V>> matched = new ArrayList<>(Normal._4);
+        Node<V> node = root;
+        int start = Normal._0;
+        for (int consumed = Normal._0; consumed < total && node != null; consumed++) {
+            final int remaining = total - consumed;
+            node.collect(node.multi, matched);
+            if (remaining == Normal._1) {
+                node.collect(node.single, matched);
+            }
+            int end = value.indexOf(Symbol.C_SLASH, start);
+            if (end < Normal._0) {
+                end = value.length();
+            }
+            node = node.child(value.substring(start, end));
+            start = end + Normal._1;
+        }
+        if (node != null) {
+            node.collect(node.exact, matched);
+        }
+        if (matched.isEmpty()) {
+            return List.of();
+        }
+        if (matched.size() > Normal._1) {
+            matched.sort(ORDER);
+        }
+        final List<V> values = new ArrayList<>(matched.size());
+        for (final Entry<V> entry : matched) {
+            values.add(entry.value());
+        }
+        return values;
+    }
+
+    /**
+     * Counts the {@code /}-separated segments of a destination, including empty ones.
+     *
+     * @param value destination
+     * @return segment count
+     */
+    private static int segments(final String value) {
+        int count = Normal._1;
+        for (int i = value.indexOf(Symbol.C_SLASH); i >= Normal._0; i = value.indexOf(Symbol.C_SLASH, i + Normal._1)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Subscription bucket at a trie node.
+     */
+    private enum Kind {
+
+        /**
+         * Exact destination.
+         */
+        EXACT,
+
+        /**
+         * Trailing single-level wildcard.
+         */
+        SINGLE,
+
+        /**
+         * Trailing multi-level wildcard.
+         */
+        MULTI
+
+    }
+
+    /**
+     * Trie path and bucket for one subscribed destination.
+     *
+     * @param segments prefix segments identifying the node
+     * @param kind     bucket within the node
+     */
+    private record Key(String[] segments, Kind kind) {
+
+        /**
+         * Resolves the trie key of a destination pattern.
+         *
+         * @param destination validated destination pattern
+         * @return trie key
+         */
+        static Key of(final String destination) {
+            if (destination.endsWith(Builder.STOMP_TOPIC_MULTI_LEVEL_WILDCARD)) {
+                return new Key(split(destination, Builder.STOMP_TOPIC_MULTI_LEVEL_WILDCARD.length()), Kind.MULTI);
+            }
+            if (destination.endsWith(Builder.STOMP_TOPIC_SINGLE_LEVEL_WILDCARD)) {
+                return new Key(split(destination, Builder.STOMP_TOPIC_SINGLE_LEVEL_WILDCARD.length()), Kind.SINGLE);
+            }
+            return new Key(split(destination, Normal._0), Kind.EXACT);
+        }
+
+        /**
+         * Splits a destination without its wildcard suffix.
+         *
+         * @param destination destination pattern
+         * @param suffix      wildcard suffix length to drop
+         * @return segments, keeping empty ones
+         */
+        private static String[] split(final String destination, final int suffix) {
+            return destination.substring(Normal._0, destination.length() - suffix).split(Symbol.SLASH, Normal.__1);
+        }
+
+    }
+
+    /**
+     * Indexed subscription.
+     *
+     * @param id       subscription id
+     * @param sequence subscription order
+     * @param value    associated value
+     * @param <V>      value type
+     */
+    private record Entry<V>(String id, long sequence, V value) {
+    }
+
+    /**
+     * Immutable trie node.
+     *
+     * @param <V> value type
+     */
+    private static final class Node<V> {
+
+        /**
+         * Shared empty bucket.
+         */
+        private static final Entry<?>[] NONE = new Entry<?>[Normal._0];
+
+        /**
+         * Child nodes keyed by segment.
+         */
+        private final Map<String, Node<V>> children;
+
+        /**
+         * Exact subscriptions ending at this node.
+         */
+        private final Entry<V>[] exact;
+
+        /**
+         * Single-level wildcard subscriptions whose prefix ends at this node.
+         */
+        private final Entry<V>[] single;
+
+        /**
+         * Multi-level wildcard subscriptions whose prefix ends at this node.
+         */
+        private final Entry<V>[] multi;
+
+        /**
+         * Creates a node.
+         *
+         * @param children child nodes
+         * @param exact    exact bucket
+         * @param single   single-level bucket
+         * @param multi    multi-level bucket
+         */
+        private Node(final Map<String, Node<V>> children, final Entry<V>[] exact, final Entry<V>[] single,
+                final Entry<V>[] multi) {
+            this.children = children;
+            this.exact = exact;
+            this.single = single;
+            this.multi = multi;
+        }
+
+        /**
+         * Returns an empty node.
+         *
+         * @param <V> value type
+         * @return empty node
+         */
+        @SuppressWarnings("unchecked")
+        static <V> Node<V> empty() {
+            return new Node<>(Map.of(), (Entry<V>[]) NONE, (Entry<V>[]) NONE, (Entry<V>[]) NONE);
+        }
+
+        /**
+         * Returns a child node.
+         *
+         * @param segment destination segment
+         * @return child, or {@code null}
+         */
+        Node<V> child(final String segment) {
+            return children.get(segment);
+        }
+
+        /**
+         * Appends one bucket to the matches.
+         *
+         * @param bucket  bucket to append
+         * @param matched receives entries
+         */
+        void collect(final Entry<V>[] bucket, final List<Entry<V>> matched) {
+            for (final Entry<V> entry : bucket) {
+                matched.add(entry);
+            }
+        }
+
+        /**
+         * Returns a copy of this subtree with one entry removed and, when {@code entry} is non-null, added.
+         *
+         * @param segments path segments
+         * @param depth    current depth
+         * @param kind     target bucket
+         * @param id       subscription id replaced or removed
+         * @param entry    entry to add, or {@code null} to remove only
+         * @return this node when nothing changed, {@code null} when the copy is empty, otherwise the copied node
+         */
+        Node<V> update(final String[] segments, final int depth, final Kind kind, final String id,
+                final Entry<V> entry) {
+            if (depth == segments.length) {
+                final Entry<V>[] bucket = kind == Kind.EXACT ? exact : kind == Kind.SINGLE ? single : multi;
+                Entry<V>[] next = without(bucket, id);
+                if (entry != null) {
+                    next = Arrays.copyOf(next, next.length + Normal._1);
+                    next[next.length - Normal._1] = entry;
+                } else if (next == bucket) {
+                    return this;
+                }
+                return copy(children, kind == Kind.EXACT ? next : exact, kind == Kind.SINGLE ? next : single,
+                        kind == Kind.MULTI ? next : multi);
+            }
+            final String segment = segments[depth];
+            final Node<V> current = children.get(segment);
+            if (current == null && entry == null) {
+                return this;
+            }
+            final Node<V> next = (current == null ? Node.<V>empty() : current).update(segments, depth + Normal._1,
+                    kind, id, entry);
+            if (next == current) {
+                return this;
+            }
+            final Map<String, Node<V>> copied = new HashMap<>(children);
+            if (next == null) {
+                copied.remove(segment);
+            } else {
+                copied.put(segment, next);
+            }
+            return copy(copied.isEmpty() ? Map.of() : copied, exact, single, multi);
+        }
+
+        /**
+         * Creates a node, or returns {@code null} when it would be empty.
+         *
+         * @param children child nodes
+         * @param exact    exact bucket
+         * @param single   single-level bucket
+         * @param multi    multi-level bucket
+         * @return node or {@code null}
+         */
+        private static <V> Node<V> copy(final Map<String, Node<V>> children, final Entry<V>[] exact,
+                final Entry<V>[] single, final Entry<V>[] multi) {
+            if (children.isEmpty() && exact.length == Normal._0 && single.length == Normal._0
+                    && multi.length == Normal._0) {
+                return null;
+            }
+            return new Node<>(children, exact, single, multi);
+        }
+
+        /**
+         * Returns a bucket without the entry for a subscription id.
+         *
+         * @param bucket source bucket
+         * @param id     subscription id
+         * @return the same bucket when absent, otherwise a shorter copy
+         */
+        private static <V> Entry<V>[] without(final Entry<V>[] bucket, final String id) {
+            for (int i = Normal._0; i < bucket.length; i++) {
+                if (bucket[i].id().equals(id)) {
+                    final Entry<V>[] next = Arrays.copyOf(bucket, bucket.length - Normal._1);
+                    System.arraycopy(bucket, i + Normal._1, next, i, bucket.length - i - Normal._1);
+                    return next;
+                }
+            }
+            return bucket;
+        }
+
+    }
+
+}
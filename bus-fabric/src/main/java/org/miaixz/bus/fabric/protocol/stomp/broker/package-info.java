@@ -23,6 +23,7 @@
  * <p>
  * Broker state values identify subscribed destinations, receipt ids, and acknowledgement state used by a
  * {@code StompSession}. They are local metadata objects and do not implement a broker or persist messages.
+ * {@code StompTopicIndex} resolves a message destination to its matching subscriptions through a copy-on-write trie.
  * </p>
  *
  * @author Kimi Liu
@@ -29,7 +29,9 @@ import org.miaixz.bus.fabric.protocol.websocket.frame.WebSocketFrame;
  * Stateful assembler for WebSocket data and continuation frames.
  * <p>
  * Complete single-frame messages are returned without copying. A buffer is allocated only after the first fragmented
- * data frame and is released immediately when the message completes or the assembler is reset.
+ * data frame and is released immediately when the message completes or the assembler is reset. Messages whose first
+ * frame carries the permessage-deflate RSV1 bit are inflated once complete, and the limit is enforced again on the
+ * inflated size.
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -56,6 +58,11 @@ final class WebSocketAssembler {
      */
     private final long maximumBytes;
 
+    /**
+     * Negotiated permessage-deflate codec, or {@code null} when compression is off.
+     */
+    private final WebSocketCompressor compressor;
+
     /**
      * Fragment buffer, allocated only while a fragmented message is open.
      */
@@ -66,6 +73,11 @@ final class WebSocketAssembler {
      */
     private int opcode;
 
+    /**
+     * Whether the open fragmented message is compressed.
+     */
+    private boolean compressed;
+
     /**
      * Accumulated fragment bytes.
      */
@@ -77,10 +89,21 @@ final class WebSocketAssembler {
      * @param maximumBytes maximum complete message bytes
      */
     WebSocketAssembler(final long maximumBytes) {
+        this(maximumBytes, null);
+    }
+
+    /**
+     * Creates an assembler that inflates compressed messages.
+     *
+     * @param maximumBytes maximum complete message bytes
+     * @param compressor   negotiated codec, or {@code null} when compression is off
+     */
+    WebSocketAssembler(final long maximumBytes, final WebSocketCompressor compressor) {
         if (maximumBytes < Normal._0) {
             throw new IllegalArgumentException("WebSocket maximum message bytes must be non-negative");
         }
         this.maximumBytes = maximumBytes;
+        this.compressor = compressor;
         this.opcode = Normal.__1;
     }
 
@@ -96,12 +119,16 @@ final class WebSocketAssembler {
             if (fragments != null) {
                 throw new ProtocolException("WebSocket fragmented message is already open");
             }
+            if (frame.compressed() && compressor == null) {
+                throw new ProtocolException("WebSocket compressed message without negotiated permessage-deflate");
+            }
             check(frame.payload().size());
             if (frame.fin()) {
-                return new Message(currentOpcode, frame.payload());
+                return new Message(currentOpcode, inflate(frame.compressed(), frame.payload()));
             }
             fragments = new Buffer();
             opcode = currentOpcode;
+            compressed = frame.compressed();
             append(frame.payload());
             return null;
         }
@@ -112,8 +139,11 @@ final class WebSocketAssembler {
         if (!frame.fin()) {
             return null;
         }
-        final Message complete = new Message(opcode, fragments.readByteString());
+        final boolean deflated = compressed;
+        final int first = opcode;
+        final ByteString payload = fragments.readByteString();
         reset();
+        final Message complete = new Message(first, inflate(deflated, payload));
         return complete;
     }
 
@@ -126,9 +156,21 @@ final class WebSocketAssembler {
         }
         fragments = null;
         opcode = Normal.__1;
+        compressed = false;
         bytes = Normal.LONG_ZERO;
     }
 
+    /**
+     * Inflates a complete compressed message.
+     *
+     * @param deflated whether the message carried the RSV1 bit
+     * @param payload  complete wire payload
+     * @return application payload
+     */
+    private ByteString inflate(final boolean deflated, final ByteString payload) {
+        return deflated ? compressor.decompress(payload, maximumBytes) : payload;
+    }
+
     /**
      * Appends one fragment with overflow and aggregate-size protection.
      *
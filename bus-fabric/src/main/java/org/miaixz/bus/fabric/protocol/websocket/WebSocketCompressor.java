@@ -0,0 +1,365 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.fabric.protocol.websocket;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.miaixz.bus.core.io.ByteString;
+import org.miaixz.bus.core.io.buffer.Buffer;
+import org.miaixz.bus.core.lang.Normal;
+import org.miaixz.bus.core.lang.exception.ProtocolException;
+import org.miaixz.bus.core.lang.exception.StatefulException;
+import org.miaixz.bus.fabric.protocol.websocket.upgrade.WebSocketDeflate;
+
+/**
+ * Per-session permessage-deflate codec.
+ * <p>
+ * Each direction keeps its {@link Deflater} or {@link Inflater} for the whole session only when context takeover was
+ * agreed for that direction; otherwise a native codec is borrowed from a small process-wide pool for one message and
+ * returned immediately. Compression runs on the session's single outbound drain and inflation on its single reader, so
+ * each direction is confined to one thread at a time.
+ * </p>
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+final class WebSocketCompressor {
+
+    /**
+     * Empty stored block emitted by a sync flush and removed from every compressed message.
+     */
+    private static final byte[] TAIL = { 0x00, 0x00, (byte) 0xFF, (byte) 0xFF };
+
+    /**
+     * Working chunk size for native codec calls.
+     */
+    private static final int CHUNK = Normal._8192;
+
+    /**
+     * Idle raw deflaters shared by all sessions.
+     */
+    private static final Queue<Deflater> DEFLATERS = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Idle raw inflaters shared by all sessions.
+     */
+    private static final Queue<Inflater> INFLATERS = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of pooled idle deflaters.
+     */
+    private static final AtomicInteger IDLE_DEFLATERS = new AtomicInteger();
+
+    /**
+     * Number of pooled idle inflaters.
+     */
+    private static final AtomicInteger IDLE_INFLATERS = new AtomicInteger();
+
+    /**
+     * Agreed parameters.
+     */
+    private final WebSocketDeflate deflate;
+
+    /**
+     * Whether this endpoint is the server.
+     */
+    private final boolean server;
+
+    /**
+     * Guards the outbound codec.
+     */
+    private final Object deflating;
+
+    /**
+     * Guards the inbound codec.
+     */
+    private final Object inflating;
+
+    /**
+     * Session-owned deflater when outbound context takeover is active.
+     */
+    private Deflater deflater;
+
+    /**
+     * Session-owned inflater when inbound context takeover is active.
+     */
+    private Inflater inflater;
+
+    /**
+     * Whether the native codecs were returned.
+     */
+    private volatile boolean released;
+
+    /**
+     * Creates a codec for agreed parameters.
+     *
+     * @param deflate agreed parameters
+     * @param role    local endpoint role
+     */
+    WebSocketCompressor(final WebSocketDeflate deflate, final WebSocketRole role) {
+        this.deflate = deflate;
+        this.server = role == WebSocketRole.SERVER;
+        this.deflating = new Object();
+        this.inflating = new Object();
+    }
+
+    /**
+     * Returns whether every outbound message is compressed independently, allowing shared compressed encodings.
+     *
+     * @return true when the outbound context is reset per message
+     */
+    boolean stateless() {
+        return deflate.noContextTakeover(server);
+    }
+
+    /**
+     * Returns whether a payload is large enough to compress.
+     *
+     * @param size payload bytes
+     * @return true when the payload reaches the configured threshold
+     */
+    boolean eligible(final long size) {
+        return size >= deflate.minimumBytes();
+    }
+
+    /**
+     * Compresses one complete outbound message.
+     *
+     * @param payload uncompressed payload
+     * @return compressed payload without the trailing empty stored block
+     */
+    ByteString compress(final ByteString payload) {
+        if (stateless()) {
+            return deflate(payload, deflate.level());
+        }
+        synchronized (deflating) {
+            if (released) {
+                throw new StatefulException("WebSocket compressor is released");
+            }
+            if (deflater == null) {
+                deflater = borrowDeflater(deflate.level());
+            }
+            return compress(deflater, payload);
+        }
+    }
+
+    /**
+     * Inflates one complete inbound message.
+     *
+     * @param payload      compressed payload without the trailing empty stored block
+     * @param maximumBytes maximum inflated bytes
+     * @return inflated payload
+     * @throws ProtocolException if the payload is malformed or inflates beyond {@code maximumBytes}
+     */
+    ByteString decompress(final ByteString payload, final long maximumBytes) {
+        synchronized (inflating) {
+            if (released) {
+                throw new StatefulException("WebSocket compressor is released");
+            }
+            final boolean reset = deflate.peerNoContextTakeover(server);
+            if (!reset && inflater == null) {
+                inflater = borrowInflater();
+            }
+            final Inflater current = reset ? borrowInflater() : inflater;
+            try {
+                final Buffer output = new Buffer();
+                final byte[] chunk = new byte[CHUNK];
+                final long total = inflate(current, payload.toByteArray(), chunk, output, Normal.LONG_ZERO,
+                        maximumBytes);
+                inflate(current, TAIL, chunk, output, total, maximumBytes);
+                if (current.finished() && !reset) {
+                    current.reset();
+                }
+                return output.readByteString();
+            } catch (final RuntimeException e) {
+                if (!reset) {
+                    inflater = null;
+                    current.end();
+                }
+                throw e;
+            } finally {
+                if (reset) {
+                    recycle(current);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns session-owned native codecs to the shared pool.
+     */
+    void release() {
+        released = true;
+        synchronized (deflating) {
+            if (deflater != null) {
+                recycle(deflater);
+                deflater = null;
+            }
+        }
+        synchronized (inflating) {
+            if (inflater != null) {
+                recycle(inflater);
+                inflater = null;
+            }
+        }
+    }
+
+    /**
+     * Compresses one payload with a pooled stateless deflater, as used for encodings shared across sessions.
+     *
+     * @param payload uncompressed payload
+     * @param level   deflate level
+     * @return compressed payload without the trailing empty stored block
+     */
+    static ByteString deflate(final ByteString payload, final int level) {
+        final Deflater borrowed = borrowDeflater(level);
+        try {
+            return compress(borrowed, payload);
+        } finally {
+            recycle(borrowed);
+        }
+    }
+
+    /**
+     * Runs one sync-flushed compression pass.
+     *
+     * @param deflater raw deflater
+     * @param payload  uncompressed payload
+     * @return compressed payload without the trailing empty stored block
+     */
+    private static ByteString compress(final Deflater deflater, final ByteString payload) {
+        deflater.setInput(payload.toByteArray());
+        final Buffer output = new Buffer();
+        final byte[] chunk = new byte[CHUNK];
+        int written;
+        do {
+            written = deflater.deflate(chunk, Normal._0, chunk.length, Deflater.SYNC_FLUSH);
+            output.write(chunk, Normal._0, written);
+        } while (written == chunk.length);
+        final long size = output.size();
+        if (size >= TAIL.length && output.rangeEquals(size - TAIL.length, ByteString.of(TAIL))) {
+            return output.readByteString().substring(Normal._0, (int) size - TAIL.length);
+        }
+        return output.readByteString();
+    }
+
+    /**
+     * Inflates one input block into the output buffer.
+     *
+     * @param inflater     raw inflater
+     * @param input        compressed input
+     * @param chunk        working chunk
+     * @param output       inflated output
+     * @param total        bytes already inflated for this message
+     * @param maximumBytes maximum inflated bytes
+     * @return bytes inflated for this message so far
+     */
+    private static long inflate(final Inflater inflater, final byte[] input, final byte[] chunk, final Buffer output,
+            long total, final long maximumBytes) {
+        inflater.setInput(input);
+        try {
+            while (!inflater.finished()) {
+                final int read = inflater.inflate(chunk);
+                if (read == Normal._0) {
+                    if (inflater.needsInput()) {
+                        break;
+                    }
+                    if (inflater.needsDictionary()) {
+                        throw new ProtocolException("Invalid permessage-deflate payload");
+                    }
+                }
+                total += read;
+                if (total > maximumBytes) {
+                    throw new ProtocolException("WebSocket aggregated message is too large");
+                }
+                output.write(chunk, Normal._0, read);
+            }
+            return total;
+        } catch (final DataFormatException e) {
+            throw new ProtocolException("Invalid permessage-deflate payload", e);
+        }
+    }
+
+    /**
+     * Borrows a raw deflater.
+     *
+     * @param level deflate level
+     * @return raw deflater set to {@code level}
+     */
+    private static Deflater borrowDeflater(final int level) {
+        final Deflater pooled = DEFLATERS.poll();
+        if (pooled == null) {
+            return new Deflater(level, true);
+        }
+        IDLE_DEFLATERS.decrementAndGet();
+        pooled.setLevel(level);
+        return pooled;
+    }
+
+    /**
+     * Borrows a raw inflater.
+     *
+     * @return raw inflater
+     */
+    private static Inflater borrowInflater() {
+        final Inflater pooled = INFLATERS.poll();
+        if (pooled == null) {
+            return new Inflater(true);
+        }
+        IDLE_INFLATERS.decrementAndGet();
+        return pooled;
+    }
+
+    /**
+     * Resets and pools a deflater, ending it when the pool is full.
+     *
+     * @param deflater raw deflater
+     */
+    private static void recycle(final Deflater deflater) {
+        deflater.reset();
+        if (IDLE_DEFLATERS.incrementAndGet() <= Normal._64) {
+            DEFLATERS.offer(deflater);
+            return;
+        }
+        IDLE_DEFLATERS.decrementAndGet();
+        deflater.end();
+    }
+
+    /**
+     * Resets and pools an inflater, ending it when the pool is full.
+     *
+     * @param inflater raw inflater
+     */
+    private static void recycle(final Inflater inflater) {
+        inflater.reset();
+        if (IDLE_INFLATERS.incrementAndGet() <= Normal._64) {
+            INFLATERS.offer(inflater);
+            return;
+        }
+        IDLE_INFLATERS.decrementAndGet();
+        inflater.end();
+    }
+
+}
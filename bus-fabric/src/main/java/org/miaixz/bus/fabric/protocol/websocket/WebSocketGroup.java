@@ -0,0 +1,245 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.fabric.protocol.websocket;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.miaixz.bus.core.io.ByteString;
+import org.miaixz.bus.core.lang.Assert;
+import org.miaixz.bus.core.lang.Normal;
+import org.miaixz.bus.core.lang.exception.ValidateException;
+import org.miaixz.bus.fabric.protocol.websocket.body.WebSocketBody;
+import org.miaixz.bus.fabric.protocol.websocket.frame.WebSocketEncoded;
+
+/**
+ * Named set of accepted server sessions that receive shared pre-encoded broadcast frames.
+ * <p>
+ * A broadcast filters and encodes its message once into a reference-counted {@link WebSocketEncoded} and offers the
+ * same bytes to every member's write queue. Each member applies the group's {@link WebSocketOverflow} policy against
+ * its own queued-byte cap, so one slow consumer never delays the others. Terminal sessions leave the group
+ * automatically on the next broadcast.
+ * </p>
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public final class WebSocketGroup {
+
+    /**
+     * Owning server that filters, guards, and encodes broadcast messages.
+     */
+    private final WebSocketServer server;
+
+    /**
+     * Member sessions.
+     */
+    private final Set<WebSocketSession> sessions;
+
+    /**
+     * Backpressure policy applied to slow members.
+     */
+    private final WebSocketOverflow overflow;
+
+    /**
+     * Per-member queued-byte cap.
+     */
+    private final long maxQueuedBytes;
+
+    /**
+     * Creates an empty group.
+     *
+     * @param server         owning server
+     * @param overflow       backpressure policy applied to slow members
+     * @param maxQueuedBytes per-member queued-byte cap
+     */
+    WebSocketGroup(final WebSocketServer server, final WebSocketOverflow overflow, final long maxQueuedBytes) {
+        this.server = require(server, "WebSocket server");
+        this.overflow = require(overflow, "WebSocket overflow policy");
+        this.maxQueuedBytes = validateMaxQueuedBytes(maxQueuedBytes);
+        this.sessions = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Adds one open server session.
+     *
+     * @param session accepted server session
+     * @return true when the session was not already a member
+     * @throws ValidateException if the session is {@code null} or is not a server-side session
+     */
+    public boolean join(final WebSocketSession session) {
+        final WebSocketSession checked = require(session, "WebSocket session");
+        if (checked.role() != WebSocketRole.SERVER) {
+            throw new ValidateException("WebSocket group members must be server sessions");
+        }
+        return sessions.add(checked);
+    }
+
+    /**
+     * Removes one session.
+     *
+     * @param session member session
+     * @return true when the session was a member
+     */
+    public boolean leave(final WebSocketSession session) {
+        return session != null && sessions.remove(session);
+    }
+
+    /**
+     * Returns the current member count.
+     *
+     * @return member count
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Returns an immutable member snapshot.
+     *
+     * @return member sessions
+     */
+    public List<WebSocketSession> sessions() {
+        return List.copyOf(sessions);
+    }
+
+    /**
+     * Returns the backpressure policy.
+     *
+     * @return overflow policy
+     */
+    public WebSocketOverflow overflow() {
+        return overflow;
+    }
+
+    /**
+     * Returns the per-member queued-byte cap.
+     *
+     * @return queued-byte cap
+     */
+    public long maxQueuedBytes() {
+        return maxQueuedBytes;
+    }
+
+    /**
+     * Broadcasts one text message to every member.
+     *
+     * @param text text message content
+     * @return per-member delivery counts
+     */
+    public Result broadcast(final String text) {
+        return broadcast(WebSocketBody.text(text));
+    }
+
+    /**
+     * Broadcasts one binary message to every member.
+     *
+     * @param bytes binary message bytes
+     * @return per-member delivery counts
+     */
+    public Result broadcast(final ByteString bytes) {
+        return broadcast(WebSocketBody.binary(bytes));
+    }
+
+    /**
+     * Broadcasts one text or binary message to every member.
+     *
+     * @param body WebSocket message body encoded once for all members
+     * @return per-member delivery counts
+     */
+    public Result broadcast(final WebSocketBody body) {
+        final WebSocketEncoded encoded = server.encode(body);
+        try {
+            return publish(encoded, overflow, maxQueuedBytes, sessions::forEach, sessions::remove);
+        } finally {
+            encoded.release();
+        }
+    }
+
+    /**
+     * Offers one encoded frame to every visited session and tallies the outcomes.
+     *
+     * @param encoded        shared frame encoding; callers keep and release their own reference
+     * @param overflow       backpressure policy
+     * @param maxQueuedBytes per-session queued-byte cap
+     * @param targets        visitor over target sessions
+     * @param closed         callback for sessions found terminal or disconnected
+     * @return per-session delivery counts
+     */
+    static Result publish(
+            final WebSocketEncoded encoded,
+            final WebSocketOverflow overflow,
+            final long maxQueuedBytes,
+            final Consumer<Consumer<WebSocketSession>> targets,
+            final Consumer<WebSocketSession> closed) {
+        final int[] counts = new int[Normal._3];
+        targets.accept(session -> {
+            switch (session.offer(encoded, overflow, maxQueuedBytes)) {
+                case QUEUED -> counts[Normal._0]++;
+                case DROPPED -> counts[Normal._1]++;
+                case DISCONNECTED -> {
+                    counts[Normal._2]++;
+                    closed.accept(session);
+                }
+                case CLOSED -> closed.accept(session);
+            }
+        });
+        return new Result(counts[Normal._0], counts[Normal._1], counts[Normal._2]);
+    }
+
+    /**
+     * Validates a queued-byte cap.
+     *
+     * @param value candidate cap
+     * @return validated cap
+     */
+    static long validateMaxQueuedBytes(final long value) {
+        if (value < Normal._1 || value > Normal.MEBI_64) {
+            throw new ValidateException("WebSocket broadcast queue cap must be between 1 byte and 64 MiB");
+        }
+        return value;
+    }
+
+    /**
+     * Validates a required value.
+     *
+     * @param value reference to validate
+     * @param name  field name included in the validation failure
+     * @param <T>   reference type
+     * @return validated non-null reference
+     */
+    private static <T> T require(final T value, final String name) {
+        return Assert.notNull(value, () -> new ValidateException(name + " must not be null"));
+    }
+
+    /**
+     * Delivery counts of one broadcast.
+     *
+     * @param queued       sessions whose write queue accepted the frame
+     * @param dropped      slow sessions that skipped the frame
+     * @param disconnected slow sessions closed by the {@link WebSocketOverflow#DISCONNECT} policy
+     */
+    public record Result(int queued, int dropped, int disconnected) {
+
+    }
+
+}
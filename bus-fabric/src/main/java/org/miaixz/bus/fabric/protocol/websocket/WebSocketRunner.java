@@ -26,6 +26,7 @@ import java.util.concurrent.CancellationException;
 import org.miaixz.bus.core.data.id.ID;
 import org.miaixz.bus.core.lang.Assert;
 import org.miaixz.bus.core.lang.Symbol;
+import org.miaixz.bus.core.lang.exception.ProtocolException;
 import org.miaixz.bus.core.lang.exception.SocketException;
 import org.miaixz.bus.core.lang.exception.ValidateException;
 import org.miaixz.bus.core.net.Http;
@@ -40,6 +41,7 @@ import org.miaixz.bus.fabric.protocol.Mediator;
 import org.miaixz.bus.fabric.protocol.Mediator.Type;
 import org.miaixz.bus.fabric.protocol.http.HttpRequest;
 import org.miaixz.bus.fabric.protocol.http.HttpRunner;
+import org.miaixz.bus.fabric.protocol.websocket.upgrade.WebSocketDeflate;
 import org.miaixz.bus.fabric.protocol.websocket.upgrade.WebSocketUpgrade;
 import org.miaixz.bus.fabric.registry.connection.ConnectionLease;
 import org.miaixz.bus.fabric.runtime.FilterChain;
@@ -110,7 +112,7 @@ public final class WebSocketRunner {
         final URI currentUri = require(uri, "WebSocket URI");
         return new WebSocketRunner(new WebSocketSpec(require(context, "Context"), currentUri, Address.from(currentUri),
                 require(headers, "Headers"), require(timeout, "Timeout"), require(proxy, "Proxy plan"), null, null,
-                EventObserver.noop(), require(handler, "Handler"), null));
+                EventObserver.noop(), require(handler, "Handler"), null, null));
     }
 
     /**
@@ -153,7 +155,7 @@ public final class WebSocketRunner {
             final WebSocketUpgrade upgrade = new WebSocketUpgrade();
             final HttpRequest request = HttpRequest.builder().method(Http.Method.GET)
                     .url(UnoUrl.parse(upgrade.httpUri(spec.uri()).toString()))
-                    .headers(upgrade.headers(opening.headers())).timeout(spec.timeout()).proxy(spec.proxy()).build();
+                    .headers(offer(upgrade.headers(opening.headers()))).timeout(spec.timeout()).proxy(spec.proxy()).build();
             upgraded = Mediator.convert(
                     Type.WEBSOCKET,
                     Type.HTTP_UPGRADE,
@@ -161,6 +163,7 @@ public final class WebSocketRunner {
                     current -> HttpRunner.upgrade(spec.context(), request, current));
             currentCancellation.throwIfCancelled();
             upgrade.validate(upgraded.status(), upgraded.headers());
+            final WebSocketDeflate deflate = extensions(upgraded.headers());
             final Connection connection = upgraded.connection();
             lease = upgraded.lease();
             upgraded = null;
@@ -175,7 +178,7 @@ public final class WebSocketRunner {
                             Builder.TAG_OPERATION_ID,
                             operationId),
                     null, FilterChain.compose(spec.context().filter(), spec.filter()), spec.observer(), spec.listener(),
-                    currentCancellation);
+                    currentCancellation, deflate);
             lease = null;
             Logger.info(
                     false,
@@ -216,6 +219,33 @@ public final class WebSocketRunner {
         }
     }
 
+    /**
+     * Adds the configured permessage-deflate offer to the upgrade request headers.
+     *
+     * @param headers upgrade request headers
+     * @return headers carrying the extension offer when compression is configured
+     */
+    private Headers offer(final Headers headers) {
+        return spec.deflate() == null ? headers : headers.with(Http.WebSocket.EXTENSIONS, spec.deflate().offer());
+    }
+
+    /**
+     * Validates the extensions selected by the server.
+     *
+     * @param headers upgrade response headers
+     * @return agreed permessage-deflate parameters, or {@code null} when compression is off
+     * @throws ProtocolException if the server selected an extension that was not offered
+     */
+    private WebSocketDeflate extensions(final Headers headers) {
+        if (spec.deflate() != null) {
+            return spec.deflate().accept(headers);
+        }
+        if (!headers.values(Http.WebSocket.EXTENSIONS).isEmpty()) {
+            throw new ProtocolException("WebSocket server selected an extension that was not offered");
+        }
+        return null;
+    }
+
     /**
      * Builds the origin-style dispatch key used by the resulting session.
      *
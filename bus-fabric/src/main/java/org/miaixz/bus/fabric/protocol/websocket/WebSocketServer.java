@@ -37,6 +37,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.miaixz.bus.core.Lifecycle;
+import org.miaixz.bus.core.io.ByteString;
 import org.miaixz.bus.core.lang.Assert;
 import org.miaixz.bus.core.lang.Charset;
 import org.miaixz.bus.core.lang.Normal;
@@ -59,6 +60,11 @@ import org.miaixz.bus.fabric.observe.EventObserver;
 import org.miaixz.bus.fabric.observe.ObservationMarker;
 import org.miaixz.bus.fabric.protocol.Demuxer;
 import org.miaixz.bus.fabric.protocol.socket.SocketOptions;
+import org.miaixz.bus.fabric.protocol.websocket.body.WebSocketBody;
+import org.miaixz.bus.fabric.protocol.websocket.frame.WebSocketEncoded;
+import org.miaixz.bus.fabric.protocol.websocket.frame.WebSocketFrame;
+import org.miaixz.bus.fabric.protocol.websocket.frame.WebSocketWriter;
+import org.miaixz.bus.fabric.protocol.websocket.upgrade.WebSocketDeflate;
 import org.miaixz.bus.fabric.protocol.websocket.upgrade.WebSocketUpgrade;
 import org.miaixz.bus.fabric.runtime.Activity;
 import org.miaixz.bus.fabric.runtime.FilterChain;
@@ -145,6 +151,21 @@ public final class WebSocketServer implements Lifecycle {
      */
     private final Listener<? super WebSocketSession> sessionListener;
 
+    /**
+     * Backpressure policy applied to slow sessions during broadcasts.
+     */
+    private final WebSocketOverflow overflow;
+
+    /**
+     * Per-session queued-byte cap applied during broadcasts.
+     */
+    private final long maxQueuedBytes;
+
+    /**
+     * Offered permessage-deflate configuration, or {@code null} when compression is declined.
+     */
+    private final WebSocketDeflate compression;
+
     /**
      * Context dispatcher shared by accept setup, TLS, and sessions.
      */
@@ -212,6 +233,9 @@ public final class WebSocketServer implements Lifecycle {
         this.observer = EventObserver.safe(builder.observer);
         this.listener = builder.listener;
         this.sessionListener = builder.sessionListener();
+        this.overflow = require(builder.overflow, "WebSocket overflow policy");
+        this.maxQueuedBytes = WebSocketGroup.validateMaxQueuedBytes(builder.maxQueuedBytes);
+        this.compression = builder.compression;
         this.dispatcher = context.reactor().dispatcher();
         this.runtime = ServerRuntime.create(this, "websocket-server", listener, observer);
         this.lifecycleLock = new Object();
@@ -339,6 +363,93 @@ public final class WebSocketServer implements Lifecycle {
         return Map.of(ATTRIBUTE_OBSERVER, observer, ATTRIBUTE_SOCKET_OPTIONS, socketOptions);
     }
 
+    /**
+     * Broadcasts one text message to every open session.
+     *
+     * @param text text message content
+     * @return per-session delivery counts
+     */
+    public WebSocketGroup.Result broadcast(final String text) {
+        return broadcast(WebSocketBody.text(text));
+    }
+
+    /**
+     * Broadcasts one binary message to every open session.
+     *
+     * @param bytes binary message bytes
+     * @return per-session delivery counts
+     */
+    public WebSocketGroup.Result broadcast(final ByteString bytes) {
+        return broadcast(WebSocketBody.binary(bytes));
+    }
+
+    /**
+     * Broadcasts one text or binary message to every open session. The message is filtered, guarded, and framed once;
+     * every session queues the same encoded bytes under the configured backpressure policy.
+     *
+     * @param body WebSocket message body
+     * @return per-session delivery counts
+     */
+    public WebSocketGroup.Result broadcast(final WebSocketBody body) {
+        final WebSocketEncoded encoded = encode(body);
+        try {
+            return WebSocketGroup.publish(encoded, overflow, maxQueuedBytes, runtime::forEachSession, session -> {
+            });
+        } finally {
+            encoded.release();
+        }
+    }
+
+    /**
+     * Creates an empty broadcast group using the configured backpressure policy.
+     *
+     * @return new broadcast group bound to this server
+     */
+    public WebSocketGroup group() {
+        return group(overflow, maxQueuedBytes);
+    }
+
+    /**
+     * Creates an empty broadcast group with an explicit backpressure policy.
+     *
+     * @param overflow       policy applied when a member's backlog would exceed the cap
+     * @param maxQueuedBytes per-member queued-byte cap
+     * @return new broadcast group bound to this server
+     */
+    public WebSocketGroup group(final WebSocketOverflow overflow, final long maxQueuedBytes) {
+        return new WebSocketGroup(this, overflow, maxQueuedBytes);
+    }
+
+    /**
+     * Filters, guards, and encodes one outbound message into a shared unmasked server frame. When compression is
+     * configured and the payload reaches its threshold, a compressed sibling is encoded once as well and is written to
+     * sessions that agreed to {@code server_no_context_takeover}.
+     *
+     * @param body WebSocket message body
+     * @return encoded frame holding one reference owned by the caller
+     */
+    WebSocketEncoded encode(final WebSocketBody body) {
+        final WebSocketBody checked = require(body, "WebSocket body");
+        Message outgoing = Message.of(address.protocol(), address, Headers.empty(), checked.payload(), WEBSOCKET_WRITE);
+        outgoing = FilterChain.apply(outgoing, context.filter(), filter);
+        if (guard != null) {
+            guard.check(outgoing).throwIfRejected();
+        }
+        final Payload payload = outgoing.payload();
+        if (payload.length() > BYTES_16_MIB) {
+            throw new ValidateException("WebSocket message is too large");
+        }
+        final long limit = Math.min(context.options().materializeMaxBytes(), BYTES_16_MIB);
+        final ByteString bytes = ByteString.of(Payload.materialize(payload, limit, "WebSocketServer.broadcast"));
+        final WebSocketFrame frame = checked.binaryMessage() ? WebSocketFrame.binary(bytes) : WebSocketFrame.text(bytes);
+        if (compression == null || bytes.size() < compression.minimumBytes()) {
+            return WebSocketWriter.encode(frame);
+        }
+        return WebSocketWriter.encode(
+                frame,
+                WebSocketFrame.deflated(frame.opcode(), WebSocketCompressor.deflate(bytes, compression.level())));
+    }
+
     /**
      * Accepts raw channels until shutdown closes the listening channel.
      */
@@ -406,8 +517,12 @@ public final class WebSocketServer implements Lifecycle {
             }
             final WebSocketUpgrade.Result upgrade;
             if (tlsContext == null) {
-                upgrade = WebSocketUpgrade
-                        .upgrade(ingress, path, responseHeaders, headers -> validateOpening(peerAddress, headers));
+                upgrade = WebSocketUpgrade.upgrade(
+                        ingress,
+                        path,
+                        responseHeaders,
+                        headers -> validateOpening(peerAddress, headers),
+                        compression);
             } else {
                 final TlsChannel tls = TlsChannel.wrap(
                         ingress,
@@ -422,7 +537,8 @@ public final class WebSocketServer implements Lifecycle {
                         tls.sink(),
                         path,
                         responseHeaders,
-                        headers -> validateOpening(peerAddress, headers));
+                        headers -> validateOpening(peerAddress, headers),
+                        compression);
             }
             if (runtime.shuttingDown()) {
                 transport.close();
@@ -432,7 +548,7 @@ public final class WebSocketServer implements Lifecycle {
             session = new WebSocketSession(peerAddress, upgrade.source(), upgrade.sink(), null, handler, context,
                     timeout, dispatchKey(peerAddress), guard, WebSocketRole.SERVER,
                     sessionAttributes(upgrade.requestHeaders(), proxy.header()), transport, sessionFilter, observer,
-                    registryListener(transport), Cancellation.create());
+                    registryListener(transport), Cancellation.create(), upgrade.deflate());
             if (runtime.shuttingDown()) {
                 session.close(WEBSOCKET_CLOSE_GOING_AWAY_CODE, "Server shutting down");
                 return;
@@ -1118,6 +1234,21 @@ public final class WebSocketServer implements Lifecycle {
          */
         private Listener<? super WebSocketSession> sessionListener;
 
+        /**
+         * Broadcast backpressure policy.
+         */
+        private WebSocketOverflow overflow = WebSocketOverflow.QUEUE;
+
+        /**
+         * Broadcast per-session queued-byte cap.
+         */
+        private long maxQueuedBytes = Normal.MEBI_64;
+
+        /**
+         * Offered permessage-deflate configuration.
+         */
+        private WebSocketDeflate compression;
+
         /**
          * Open handler.
          */
@@ -1296,6 +1427,30 @@ public final class WebSocketServer implements Lifecycle {
             return this;
         }
 
+        /**
+         * Sets the backpressure policy applied to slow sessions during broadcasts.
+         *
+         * @param overflow       policy applied when a session's backlog would exceed the cap
+         * @param maxQueuedBytes per-session queued-byte cap, at most 64 MiB
+         * @return this builder
+         */
+        public Builder backpressure(final WebSocketOverflow overflow, final long maxQueuedBytes) {
+            this.overflow = require(overflow, "WebSocket overflow policy");
+            this.maxQueuedBytes = WebSocketGroup.validateMaxQueuedBytes(maxQueuedBytes);
+            return this;
+        }
+
+        /**
+         * Enables permessage-deflate (RFC 7692) for clients that offer it.
+         *
+         * @param compression server parameters, or {@code null} to decline every offer
+         * @return this builder
+         */
+        public Builder compression(final WebSocketDeflate compression) {
+            this.compression = compression;
+            return this;
+        }
+
         /**
          * Sets message handler.
          *
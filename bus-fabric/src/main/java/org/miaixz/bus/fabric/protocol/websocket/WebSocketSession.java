@@ -26,6 +26,7 @@ import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayDeque;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -52,9 +53,11 @@ import org.miaixz.bus.fabric.observe.event.FabricEvent;
 import org.miaixz.bus.fabric.protocol.MonoCall;
 import org.miaixz.bus.fabric.protocol.websocket.body.WebSocketBody;
 import org.miaixz.bus.fabric.protocol.websocket.frame.WebSocketClose;
+import org.miaixz.bus.fabric.protocol.websocket.frame.WebSocketEncoded;
 import org.miaixz.bus.fabric.protocol.websocket.frame.WebSocketFrame;
 import org.miaixz.bus.fabric.protocol.websocket.frame.WebSocketReader;
 import org.miaixz.bus.fabric.protocol.websocket.frame.WebSocketWriter;
+import org.miaixz.bus.fabric.protocol.websocket.upgrade.WebSocketDeflate;
 import org.miaixz.bus.fabric.registry.connection.ConnectionLease;
 import org.miaixz.bus.fabric.runtime.Activity;
 import org.miaixz.bus.fabric.runtime.FilterChain;
@@ -102,6 +105,11 @@ public final class WebSocketSession implements Session {
      */
     private final WebSocketReader reader;
 
+    /**
+     * Negotiated permessage-deflate codec, or {@code null} when compression is off.
+     */
+    private final WebSocketCompressor compressor;
+
     /**
      * Output sink flushed after each complete outbound entry.
      */
@@ -261,7 +269,7 @@ public final class WebSocketSession implements Session {
     WebSocketSession(final Address address) {
         this(address, null, null, null, null, null, null, null, false, defaultDispatchKey(address), Clock.system(),
                 Timeout.defaults(), null, WebSocketRole.CLIENT, defaultAttributes(EventObserver.noop()), null,
-                EventObserver.noop(), null, Cancellation.create(), Normal.MEBI_64);
+                EventObserver.noop(), null, Cancellation.create(), Normal.MEBI_64, null);
     }
 
     /**
@@ -278,7 +286,7 @@ public final class WebSocketSession implements Session {
         this(address, writer, reader, null, lease, null, handler, Dispatcher.create(), true,
                 defaultDispatchKey(address), Clock.system(), Timeout.defaults(), null, WebSocketRole.CLIENT,
                 defaultAttributes(EventObserver.noop()), null, EventObserver.noop(), null, Cancellation.create(),
-                Normal.MEBI_64);
+                Normal.MEBI_64, null);
     }
 
     /**
@@ -296,7 +304,7 @@ public final class WebSocketSession implements Session {
             final ConnectionLease lease, final Handler handler, final Dispatcher dispatcher, final String dispatchKey) {
         this(address, writer, reader, null, lease, null, handler, dispatcher, false, dispatchKey, Clock.system(),
                 Timeout.defaults(), null, WebSocketRole.CLIENT, defaultAttributes(EventObserver.noop()), null,
-                EventObserver.noop(), null, Cancellation.create(), Normal.MEBI_64);
+                EventObserver.noop(), null, Cancellation.create(), Normal.MEBI_64, null);
     }
 
     /**
@@ -320,7 +328,7 @@ public final class WebSocketSession implements Session {
             final Listener<? super WebSocketSession> listener) {
         this(address, writer, reader, null, lease, null, handler, dispatcher, false, dispatchKey, Clock.system(),
                 timeout(ping), guard, WebSocketRole.CLIENT, defaultAttributes(observer), null, observer, listener,
-                Cancellation.create(), Normal.MEBI_64);
+                Cancellation.create(), Normal.MEBI_64, null);
     }
 
     /**
@@ -346,7 +354,7 @@ public final class WebSocketSession implements Session {
             final Listener<? super WebSocketSession> listener, final long materializeMaxBytes) {
         this(address, writer, reader, null, lease, null, handler, dispatcher, false, dispatchKey, Clock.system(),
                 timeout(ping), guard, WebSocketRole.CLIENT, defaultAttributes(observer), filter, observer, listener,
-                Cancellation.create(), materializeMaxBytes);
+                Cancellation.create(), materializeMaxBytes, null);
     }
 
     /**
@@ -376,7 +384,7 @@ public final class WebSocketSession implements Session {
             final Listener<? super WebSocketSession> listener, final long materializeMaxBytes) {
         this(address, writer, reader, null, lease, owner, handler, dispatcher, false, dispatchKey, Clock.system(),
                 timeout(ping), guard, role, attributes, filter, observer, listener, Cancellation.create(),
-                materializeMaxBytes);
+                materializeMaxBytes, null);
     }
 
     /**
@@ -404,11 +412,42 @@ public final class WebSocketSession implements Session {
             final GuardRule guard, final WebSocketRole role, final Map<String, Object> attributes,
             final AutoCloseable owner, final Filter filter, final EventObserver observer,
             final Listener<? super WebSocketSession> listener, final Cancellation cancellation) {
+        this(address, source, sink, lease, handler, context, timeout, dispatchKey, guard, role, attributes, owner,
+                filter, observer, listener, cancellation, null);
+    }
+
+    /**
+     * Creates the final source-and-sink owned session with negotiated permessage-deflate parameters.
+     *
+     * @param address      session address
+     * @param source       underlying source
+     * @param sink         underlying sink
+     * @param lease        native lease
+     * @param handler      native handler
+     * @param context      runtime context
+     * @param timeout      timeout policy
+     * @param dispatchKey  dispatch key
+     * @param guard        optional guard
+     * @param role         endpoint role
+     * @param attributes   initial session attributes
+     * @param owner        owner closed with native resources
+     * @param filter       optional filter
+     * @param observer     observer receiving session lifecycle and traffic events
+     * @param listener     lifecycle listener
+     * @param cancellation shared cancellation scope
+     * @param deflate      agreed permessage-deflate parameters, or {@code null} when compression is off
+     */
+    WebSocketSession(final Address address, final Source source, final Sink sink, final ConnectionLease lease,
+            final Handler handler, final Context context, final Timeout timeout, final String dispatchKey,
+            final GuardRule guard, final WebSocketRole role, final Map<String, Object> attributes,
+            final AutoCloseable owner, final Filter filter, final EventObserver observer,
+            final Listener<? super WebSocketSession> listener, final Cancellation cancellation,
+            final WebSocketDeflate deflate) {
         this(address, new WebSocketWriter(configureSink(sink, timeout), require(role, "WebSocket role").writerMask()),
-                new WebSocketReader(configureSource(source, timeout), role.readerExpectMasked()), sink, lease, owner,
-                handler, require(context, "Context").reactor().dispatcher(), false, dispatchKey, context.clock(),
-                require(timeout, "WebSocket timeout"), guard, role, attributes, filter, observer, listener,
-                cancellation, context.options().materializeMaxBytes());
+                new WebSocketReader(configureSource(source, timeout), role.readerExpectMasked(), deflate != null),
+                sink, lease, owner, handler, require(context, "Context").reactor().dispatcher(), false, dispatchKey,
+                context.clock(), require(timeout, "WebSocket timeout"), guard, role, attributes, filter, observer,
+                listener, cancellation, context.options().materializeMaxBytes(), deflate);
     }
 
     /**
@@ -461,6 +500,7 @@ public final class WebSocketSession implements Session {
      * @param listener            lifecycle listener
      * @param cancellation        shared cancellation scope
      * @param materializeMaxBytes materialize byte threshold
+     * @param deflate             agreed permessage-deflate parameters, or {@code null} when compression is off
      */
     private WebSocketSession(final Address address, final WebSocketWriter writer, final WebSocketReader reader,
             final Sink output, final ConnectionLease lease, final AutoCloseable owner, final Handler handler,
@@ -468,7 +508,7 @@ public final class WebSocketSession implements Session {
             final Timeout timeout, final GuardRule guard, final WebSocketRole role,
             final Map<String, Object> attributes, final Filter filter, final EventObserver observer,
             final Listener<? super WebSocketSession> listener, final Cancellation cancellation,
-            final long materializeMaxBytes) {
+            final long materializeMaxBytes, final WebSocketDeflate deflate) {
         this.address = require(address, "WebSocket address");
         Assert.isFalse(reader != null && handler == null, () -> new ValidateException("Handler must not be null"));
         Assert.isFalse(
@@ -478,6 +518,7 @@ public final class WebSocketSession implements Session {
         this.state = new WebSocketState(this.role);
         this.writer = writer;
         this.reader = reader;
+        this.compressor = deflate == null ? null : new WebSocketCompressor(deflate, this.role);
         this.output = output;
         this.lease = lease;
         this.owner = owner;
@@ -863,6 +904,106 @@ public final class WebSocketSession implements Session {
         outbound.addAll(ordered);
     }
 
+    /**
+     * Offers one shared pre-encoded application frame under a per-session backpressure policy.
+     * <p>
+     * The frame is queued behind earlier application entries without being re-filtered, re-framed, or copied. The
+     * entry retains its own reference to {@code encoded} and releases it once written, dropped, or cancelled.
+     * </p>
+     *
+     * @param encoded        shared unmasked frame encoding
+     * @param overflow       policy applied when the queued-byte cap would be exceeded
+     * @param maxQueuedBytes queued-byte cap for this session
+     * @return delivery outcome for this session
+     */
+    Offer offer(final WebSocketEncoded encoded, final WebSocketOverflow overflow, final long maxQueuedBytes) {
+        require(encoded, "WebSocket encoded frame");
+        require(overflow, "WebSocket overflow policy");
+        if (writer == null || terminalNotified.get() || scope.state() != State.RUNNING || cancellation.cancelled()) {
+            return Offer.CLOSED;
+        }
+        if (state.writerMask()) {
+            throw new ValidateException("Pre-encoded WebSocket frames require an unmasked server session");
+        }
+        final long limit = Math.min(maxQueuedBytes, Normal.MEBI_64);
+        final OutboundEntry entry = new OutboundEntry(encoded.retain(), EntryKind.APPLICATION);
+        final ArrayDeque<OutboundEntry> evicted = new ArrayDeque<>();
+        Offer outcome = Offer.CLOSED;
+        synchronized (outboundLock) {
+            if (!terminalNotified.get()) {
+                if (fits(entry.wireBytes(), limit)
+                        || overflow == WebSocketOverflow.QUEUE && evict(entry.wireBytes(), limit, evicted)) {
+                    entry.reserve();
+                    queuedBytes += entry.wireBytes();
+                    outbound.addLast(entry);
+                    outcome = Offer.QUEUED;
+                } else {
+                    outcome = overflow == WebSocketOverflow.DISCONNECT ? Offer.DISCONNECTED : Offer.DROPPED;
+                }
+            }
+        }
+        for (final OutboundEntry dropped : evicted) {
+            dropped.cancel(new CancellationException("Queued WebSocket broadcast frame was evicted"));
+        }
+        if (outcome != Offer.QUEUED) {
+            entry.cancel(new CancellationException("WebSocket broadcast frame was not queued"));
+            if (outcome == Offer.DISCONNECTED) {
+                close(Builder.WEBSOCKET_CLOSE_POLICY_VIOLATION, "Slow consumer");
+            }
+            return outcome;
+        }
+        startDrain();
+        return outcome;
+    }
+
+    /**
+     * Returns whether additional wire bytes fit below a queued-byte cap. Must be called while holding
+     * {@link #outboundLock}.
+     *
+     * @param wireBytes additional wire bytes
+     * @param limit     queued-byte cap
+     * @return true when the bytes fit
+     */
+    private boolean fits(final long wireBytes, final long limit) {
+        final long next = queuedBytes + wireBytes;
+        return next >= queuedBytes && next <= limit;
+    }
+
+    /**
+     * Evicts the oldest queued broadcast entries until additional wire bytes fit below a queued-byte cap. Nothing is
+     * evicted when even removing every queued broadcast entry would not make room. Must be called while holding
+     * {@link #outboundLock}.
+     *
+     * @param wireBytes additional wire bytes
+     * @param limit     queued-byte cap
+     * @param evicted   receives evicted entries, completed by the caller outside the lock
+     * @return true when the bytes fit after eviction
+     */
+    private boolean evict(final long wireBytes, final long limit, final ArrayDeque<OutboundEntry> evicted) {
+        if (wireBytes > limit) {
+            return false;
+        }
+        long reclaimable = Normal.LONG_ZERO;
+        for (final OutboundEntry queued : outbound) {
+            if (queued.encoded() != null) {
+                reclaimable += queued.wireBytes();
+            }
+        }
+        if (queuedBytes - reclaimable + wireBytes > limit) {
+            return false;
+        }
+        final Iterator<OutboundEntry> iterator = outbound.iterator();
+        while (!fits(wireBytes, limit) && iterator.hasNext()) {
+            final OutboundEntry queued = iterator.next();
+            if (queued.encoded() != null) {
+                iterator.remove();
+                releaseReservation(queued);
+                evicted.addLast(queued);
+            }
+        }
+        return fits(wireBytes, limit);
+    }
+
     /**
      * Enqueues the single internal close entry.
      *
@@ -949,7 +1090,8 @@ public final class WebSocketSession implements Session {
                 return;
             }
             try {
-                final long actualBytes = writer.write(entry.frame());
+                final long actualBytes = entry.encoded() == null ? writer.write(outgoing(entry))
+                        : writer.write(outgoing(entry.encoded()));
                 flushOutput();
                 finishReservation(entry);
                 if (!entry.succeed()) {
@@ -970,7 +1112,7 @@ public final class WebSocketSession implements Session {
                         address.scheme(),
                         address.host(),
                         address.port(),
-                        entry.frame().opcode(),
+                        entry.opcode(),
                         actualBytes);
                 if (entry.kind() == EntryKind.CLOSE) {
                     state.closeWritten();
@@ -991,6 +1133,34 @@ public final class WebSocketSession implements Session {
         }
     }
 
+    /**
+     * Compresses a complete application message when permessage-deflate is active and the payload is large enough.
+     * Compression runs here, in write order, so that a carried-over compression context matches the peer's.
+     *
+     * @param entry active entry
+     * @return frame to write
+     */
+    private WebSocketFrame outgoing(final OutboundEntry entry) {
+        final WebSocketFrame frame = entry.frame();
+        if (compressor == null || entry.kind() != EntryKind.APPLICATION || frame.control() || !frame.fin()
+                || frame.opcode() == WebSocketAssembler.CONTINUATION || !compressor.eligible(frame.payload().size())) {
+            return frame;
+        }
+        return WebSocketFrame.deflated(frame.opcode(), compressor.compress(frame.payload()));
+    }
+
+    /**
+     * Selects the shared compressed sibling of a pre-encoded frame when every message on this session is compressed
+     * independently, so the shared bytes are valid for this peer.
+     *
+     * @param encoded active pre-encoded frame
+     * @return encoding to write
+     */
+    private WebSocketEncoded outgoing(final WebSocketEncoded encoded) {
+        final WebSocketEncoded deflated = encoded.deflated();
+        return compressor != null && compressor.stateless() && deflated != null ? deflated : encoded;
+    }
+
     /**
      * Removes and activates the next queued entry.
      *
@@ -1131,7 +1301,7 @@ public final class WebSocketSession implements Session {
      * Reads frames, aggregates data messages, and handles control frames.
      */
     private void readFrames() {
-        final WebSocketAssembler assembler = new WebSocketAssembler(Builder.BYTES_16_MIB);
+        final WebSocketAssembler assembler = new WebSocketAssembler(Builder.BYTES_16_MIB, compressor);
         try {
             while (!terminalNotified.get() && !cancellation.cancelled()) {
                 final WebSocketFrame frame = reader.next();
@@ -1378,6 +1548,9 @@ public final class WebSocketSession implements Session {
         if (!resourcesClosed.compareAndSet(false, true)) {
             return null;
         }
+        if (compressor != null) {
+            compressor.release();
+        }
         RuntimeException failure = null;
         failure = closeLease(lease, failure);
         failure = closeResource(owner, failure, "WebSocket owner");
@@ -1841,10 +2014,20 @@ public final class WebSocketSession implements Session {
     private static final class OutboundEntry {
 
         /**
-         * Frame to encode.
+         * Frame to encode, or null for a shared pre-encoded frame.
          */
         private final WebSocketFrame frame;
 
+        /**
+         * Retained shared pre-encoded frame, or null for a frame encoded by the session writer.
+         */
+        private final WebSocketEncoded encoded;
+
+        /**
+         * Guard releasing the shared pre-encoded frame reference exactly once.
+         */
+        private final AtomicBoolean retained;
+
         /**
          * Entry ordering kind.
          */
@@ -1878,7 +2061,32 @@ public final class WebSocketSession implements Session {
          * @param wireBytes complete wire bytes
          */
         private OutboundEntry(final WebSocketFrame frame, final EntryKind kind, final long wireBytes) {
-            this.frame = require(frame, "WebSocket frame");
+            this(require(frame, "WebSocket frame"), null, kind, wireBytes);
+        }
+
+        /**
+         * Creates an outbound entry for a shared pre-encoded frame.
+         *
+         * @param encoded retained shared frame encoding owned by this entry
+         * @param kind    ordering kind
+         */
+        private OutboundEntry(final WebSocketEncoded encoded, final EntryKind kind) {
+            this(null, require(encoded, "WebSocket encoded frame"), kind, encoded.wireBytes());
+        }
+
+        /**
+         * Creates an outbound entry.
+         *
+         * @param frame     WebSocket frame to write, or null when pre-encoded
+         * @param encoded   retained shared frame encoding, or null when encoded by the writer
+         * @param kind      ordering kind
+         * @param wireBytes complete wire bytes
+         */
+        private OutboundEntry(final WebSocketFrame frame, final WebSocketEncoded encoded, final EntryKind kind,
+                final long wireBytes) {
+            this.frame = frame;
+            this.encoded = encoded;
+            this.retained = new AtomicBoolean(encoded != null);
             this.kind = require(kind, "WebSocket entry kind");
             if (wireBytes < Normal._2 || wireBytes > Builder.BYTES_16_MIB + Normal._14) {
                 throw new ValidateException("WebSocket entry wire size is invalid");
@@ -1898,6 +2106,24 @@ public final class WebSocketSession implements Session {
             return frame;
         }
 
+        /**
+         * Returns the shared pre-encoded frame.
+         *
+         * @return encoded frame or null
+         */
+        private WebSocketEncoded encoded() {
+            return encoded;
+        }
+
+        /**
+         * Returns the opcode of the frame written by this entry.
+         *
+         * @return frame opcode
+         */
+        private int opcode() {
+            return encoded == null ? frame.opcode() : encoded.opcode();
+        }
+
         /**
          * Returns the ordering kind.
          *
@@ -1967,7 +2193,11 @@ public final class WebSocketSession implements Session {
          * @return true when completed
          */
         private synchronized boolean succeed() {
-            return state.compareAndSet(EntryState.ACTIVE, EntryState.SUCCEEDED);
+            if (!state.compareAndSet(EntryState.ACTIVE, EntryState.SUCCEEDED)) {
+                return false;
+            }
+            releaseEncoded();
+            return true;
         }
 
         /**
@@ -2003,9 +2233,19 @@ public final class WebSocketSession implements Session {
             }
             cause.set(failure);
             state.set(target);
+            releaseEncoded();
             return true;
         }
 
+        /**
+         * Releases the retained shared frame reference once the entry is terminal.
+         */
+        private void releaseEncoded() {
+            if (retained.compareAndSet(true, false)) {
+                encoded.release();
+            }
+        }
+
         /**
          * Returns whether this entry is terminal.
          *
@@ -2090,6 +2330,33 @@ public final class WebSocketSession implements Session {
 
     }
 
+    /**
+     * Delivery outcome of one shared broadcast frame offered to this session.
+     */
+    enum Offer {
+
+        /**
+         * Frame was queued for writing.
+         */
+        QUEUED,
+
+        /**
+         * Frame was skipped because the session backlog exceeded its cap.
+         */
+        DROPPED,
+
+        /**
+         * Session was closed because its backlog exceeded its cap.
+         */
+        DISCONNECTED,
+
+        /**
+         * Session was no longer open.
+         */
+        CLOSED
+
+    }
+
     /**
      * Session terminal path selected by the exactly-once guard owner.
      */
@@ -27,6 +27,7 @@ import org.miaixz.bus.fabric.*;
 import org.miaixz.bus.fabric.guard.GuardRule;
 import org.miaixz.bus.fabric.network.proxy.ProxyPlan;
 import org.miaixz.bus.fabric.observe.EventObserver;
+import org.miaixz.bus.fabric.protocol.websocket.upgrade.WebSocketDeflate;
 
 /**
  * Immutable execution specification for a WebSocket exchange.
@@ -42,12 +43,13 @@ import org.miaixz.bus.fabric.observe.EventObserver;
  * @param observer observer receiving WebSocket lifecycle events
  * @param handler  inbound message handler
  * @param listener session lifecycle listener
+ * @param deflate  offered permessage-deflate parameters, or {@code null} when compression is not offered
  * @author Kimi Liu
  * @since Java 21+
  */
 record WebSocketSpec(Context context, URI uri, Address address, Headers headers, Timeout timeout, ProxyPlan proxy,
         GuardRule guard, Filter filter, EventObserver observer, Handler handler,
-        Listener<? super WebSocketSession> listener) {
+        Listener<? super WebSocketSession> listener, WebSocketDeflate deflate) {
 
     /**
      * Creates a validated specification.
@@ -63,6 +65,7 @@ record WebSocketSpec(Context context, URI uri, Address address, Headers headers,
      * @param observer WebSocket lifecycle observer
      * @param handler  inbound message handler
      * @param listener session lifecycle listener
+     * @param deflate  optional permessage-deflate offer
      */
     WebSocketSpec {
         context = require(context, "Context");
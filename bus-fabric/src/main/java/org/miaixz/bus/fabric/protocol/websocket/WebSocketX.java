@@ -44,6 +44,7 @@ import org.miaixz.bus.fabric.protocol.Itinerary;
 import org.miaixz.bus.fabric.protocol.Mediator;
 import org.miaixz.bus.fabric.protocol.Mediator.Type;
 import org.miaixz.bus.fabric.protocol.websocket.calls.WebSocketCall;
+import org.miaixz.bus.fabric.protocol.websocket.upgrade.WebSocketDeflate;
 
 /**
  * Immutable WebSocket exchange.
@@ -78,7 +79,7 @@ public final class WebSocketX {
         final EventObserver currentObserver = builder.observer == null ? EventObserver.noop() : builder.observer;
         this.spec = new WebSocketSpec(current, builder.uri, Address.from(builder.uri), builder.headers.build(),
                 builder.timeout, builder.proxy, builder.guard, builder.filter, currentObserver, builder.handler(),
-                builder.listener);
+                builder.listener, builder.compression);
         this.runner = new WebSocketRunner(spec);
         this.callback = builder.callback;
     }
@@ -335,6 +336,11 @@ public final class WebSocketX {
          */
         private Consumer<Throwable> errorHandler;
 
+        /**
+         * Offered permessage-deflate parameters.
+         */
+        private WebSocketDeflate compression;
+
         /**
          * Creates a builder.
          *
@@ -648,6 +654,17 @@ public final class WebSocketX {
             return this;
         }
 
+        /**
+         * Offers permessage-deflate (RFC 7692) during the opening handshake.
+         *
+         * @param compression client parameters, or {@code null} to send no extension offer
+         * @return this builder
+         */
+        public Builder compression(final WebSocketDeflate compression) {
+            this.compression = compression;
+            return this;
+        }
+
         /**
          * Builds an exchange specification.
          *
@@ -0,0 +1,201 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.fabric.protocol.websocket.frame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.miaixz.bus.core.lang.Assert;
+import org.miaixz.bus.core.lang.Normal;
+import org.miaixz.bus.core.lang.exception.StatefulException;
+import org.miaixz.bus.core.lang.exception.ValidateException;
+
+/**
+ * Immutable, reference-counted wire representation of one unmasked WebSocket frame.
+ * <p>
+ * The frame header and payload are encoded exactly once and the same bytes are handed to every target session. Each
+ * queued owner holds one reference; the wire bytes become unreachable when the last owner releases its reference. An
+ * optional permessage-deflate sibling shares the same references and is released together with this frame.
+ * </p>
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public final class WebSocketEncoded {
+
+    /**
+     * Encoded frame opcode.
+     */
+    private final int opcode;
+
+    /**
+     * Payload byte count carried by the encoded frame.
+     */
+    private final long payloadBytes;
+
+    /**
+     * Complete wire byte count including the frame header.
+     */
+    private final long wireBytes;
+
+    /**
+     * Outstanding owner references.
+     */
+    private final AtomicInteger references;
+
+    /**
+     * Complete encoded wire bytes, cleared after the last release.
+     */
+    private volatile byte[] wire;
+
+    /**
+     * Compressed sibling encoding, or {@code null} when none was produced.
+     */
+    private final WebSocketEncoded deflated;
+
+    /**
+     * Creates an encoded frame owned by its creator.
+     *
+     * @param opcode       encoded frame opcode
+     * @param wire         complete encoded wire bytes, owned by this instance
+     * @param payloadBytes payload byte count carried by the frame
+     */
+    WebSocketEncoded(final int opcode, final byte[] wire, final long payloadBytes) {
+        this(opcode, wire, payloadBytes, null);
+    }
+
+    /**
+     * Creates an encoded frame with a compressed sibling owned by its creator.
+     *
+     * @param opcode       encoded frame opcode
+     * @param wire         complete encoded wire bytes, owned by this instance
+     * @param payloadBytes payload byte count carried by the frame
+     * @param deflated     compressed sibling sharing this frame's references, or {@code null}
+     */
+    WebSocketEncoded(final int opcode, final byte[] wire, final long payloadBytes, final WebSocketEncoded deflated) {
+        this.wire = Assert.notNull(wire, () -> new ValidateException("WebSocket wire bytes must not be null"));
+        if (wire.length < Normal._2 || payloadBytes < Normal.LONG_ZERO || payloadBytes > wire.length) {
+            throw new ValidateException("WebSocket encoded frame size is invalid");
+        }
+        this.opcode = opcode;
+        this.payloadBytes = payloadBytes;
+        this.wireBytes = wire.length;
+        this.references = new AtomicInteger(Normal._1);
+        this.deflated = deflated;
+    }
+
+    /**
+     * Returns the encoded frame opcode.
+     *
+     * @return frame opcode
+     */
+    public int opcode() {
+        return opcode;
+    }
+
+    /**
+     * Returns the payload byte count.
+     *
+     * @return payload bytes
+     */
+    public long payloadBytes() {
+        return payloadBytes;
+    }
+
+    /**
+     * Returns the complete wire byte count.
+     *
+     * @return wire bytes including the frame header
+     */
+    public long wireBytes() {
+        return wireBytes;
+    }
+
+    /**
+     * Returns the compressed sibling encoding. The sibling is only valid while a reference to this frame is held.
+     *
+     * @return RSV1-marked sibling, or {@code null} when the payload was not compressed
+     */
+    public WebSocketEncoded deflated() {
+        return deflated;
+    }
+
+    /**
+     * Returns the outstanding owner references.
+     *
+     * @return reference count, zero after the last release
+     */
+    public int references() {
+        return references.get();
+    }
+
+    /**
+     * Adds one owner reference.
+     *
+     * @return this encoded frame
+     * @throws StatefulException if the last reference was already released
+     */
+    public WebSocketEncoded retain() {
+        int current;
+        do {
+            current = references.get();
+            if (current <= Normal._0) {
+                throw new StatefulException("WebSocket encoded frame is already released");
+            }
+        } while (!references.compareAndSet(current, current + Normal._1));
+        return this;
+    }
+
+    /**
+     * Releases one owner reference.
+     *
+     * @return true when this call released the last reference
+     * @throws StatefulException if the last reference was already released
+     */
+    public boolean release() {
+        final int remaining = references.decrementAndGet();
+        if (remaining < Normal._0) {
+            references.incrementAndGet();
+            throw new StatefulException("WebSocket encoded frame is already released");
+        }
+        if (remaining == Normal._0) {
+            wire = null;
+            if (deflated != null) {
+                deflated.wire = null;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the shared wire bytes for a writer that holds a reference.
+     *
+     * @return shared encoded bytes, never modified by callers
+     * @throws StatefulException if the last reference was already released
+     */
+    byte[] wire() {
+        final byte[] current = wire;
+        if (current == null) {
+            throw new StatefulException("WebSocket encoded frame is already released");
+        }
+        return current;
+    }
+
+}
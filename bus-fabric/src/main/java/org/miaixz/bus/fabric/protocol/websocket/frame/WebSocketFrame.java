@@ -37,20 +37,23 @@ import org.miaixz.bus.fabric.Builder;
  * @param opcode  frame opcode
  * @param fin     final-fragment flag
  * @param payload immutable payload snapshot
- * @param control derived control-frame flag; constructor input is ignored and recomputed from the opcode
+ * @param control    derived control-frame flag; constructor input is ignored and recomputed from the opcode
+ * @param compressed RSV1 flag marking the first frame of a permessage-deflate compressed message
  * @author Kimi Liu
  * @since Java 21+
  */
-public record WebSocketFrame(int opcode, boolean fin, ByteString payload, boolean control) {
+public record WebSocketFrame(int opcode, boolean fin, ByteString payload, boolean control, boolean compressed) {
 
     /**
      * Creates a frame snapshot.
      *
-     * @param opcode  supported continuation, data, close, ping, or pong opcode
-     * @param fin     whether this is the final fragment
-     * @param payload payload bytes copied into an immutable snapshot
-     * @param control compatibility argument ignored in favor of deriving control status from the opcode
-     * @throws ProtocolException if the opcode, control-frame finality, or payload size violates frame rules
+     * @param opcode     supported continuation, data, close, ping, or pong opcode
+     * @param fin        whether this is the final fragment
+     * @param payload    payload bytes copied into an immutable snapshot
+     * @param control    compatibility argument ignored in favor of deriving control status from the opcode
+     * @param compressed whether the RSV1 per-message compression bit is set
+     * @throws ProtocolException if the opcode, control-frame finality, compression bit, or payload size violates frame
+     *                           rules
      * @throws ValidateException if {@code payload} is {@code null}
      */
     public WebSocketFrame {
@@ -63,6 +66,23 @@ public record WebSocketFrame(int opcode, boolean fin, ByteString payload, boolea
         if (control && payload.size() > Builder.WEBSOCKET_CONTROL_PAYLOAD_MAX_BYTES) {
             throw new ProtocolException("WebSocket control payload is too large");
         }
+        if (compressed && opcode != Normal._1 && opcode != Builder.WEBSOCKET_OPCODE_BINARY) {
+            throw new ProtocolException("WebSocket compression bit is only valid on the first data frame");
+        }
+    }
+
+    /**
+     * Creates an uncompressed frame snapshot.
+     *
+     * @param opcode  supported continuation, data, close, ping, or pong opcode
+     * @param fin     whether this is the final fragment
+     * @param payload payload bytes copied into an immutable snapshot
+     * @param control compatibility argument ignored in favor of deriving control status from the opcode
+     * @throws ProtocolException if the opcode, control-frame finality, or payload size violates frame rules
+     * @throws ValidateException if {@code payload} is {@code null}
+     */
+    public WebSocketFrame(final int opcode, final boolean fin, final ByteString payload, final boolean control) {
+        this(opcode, fin, payload, control, false);
     }
 
     /**
@@ -100,6 +120,19 @@ public record WebSocketFrame(int opcode, boolean fin, ByteString payload, boolea
         return of(Builder.WEBSOCKET_OPCODE_BINARY, true, require(payload, "WebSocket payload"));
     }
 
+    /**
+     * Creates a final data frame whose payload is already compressed by permessage-deflate.
+     *
+     * @param opcode  text or binary opcode of the uncompressed message
+     * @param payload compressed payload without the trailing empty DEFLATE block
+     * @return final data frame with the RSV1 bit set
+     * @throws ProtocolException if the opcode is not a data opcode or the payload exceeds the snapshot limit
+     * @throws ValidateException if {@code payload} is {@code null}
+     */
+    public static WebSocketFrame deflated(final int opcode, final ByteString payload) {
+        return new WebSocketFrame(opcode, true, require(payload, "WebSocket payload"), false, true);
+    }
+
     /**
      * Creates a close frame.
      *
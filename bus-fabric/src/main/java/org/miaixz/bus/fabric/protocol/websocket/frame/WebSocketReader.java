@@ -57,6 +57,11 @@ public final class WebSocketReader {
      */
     private final boolean expectMasked;
 
+    /**
+     * Whether permessage-deflate was negotiated and RSV1 may mark compressed messages.
+     */
+    private final boolean compression;
+
     /**
      * Creates a single-frame reader.
      *
@@ -64,9 +69,21 @@ public final class WebSocketReader {
      * @param expectMasked required peer mask bit: true when reading client frames, false when reading server frames
      */
     public WebSocketReader(final Source source, final boolean expectMasked) {
+        this(source, expectMasked, false);
+    }
+
+    /**
+     * Creates a single-frame reader that optionally accepts the permessage-deflate RSV1 bit.
+     *
+     * @param source       non-null frame byte source borrowed from the owning session
+     * @param expectMasked required peer mask bit: true when reading client frames, false when reading server frames
+     * @param compression  true when permessage-deflate was negotiated for this connection
+     */
+    public WebSocketReader(final Source source, final boolean expectMasked, final boolean compression) {
         this.source = require(source, "WebSocket source");
         this.input = new Buffer();
         this.expectMasked = expectMasked;
+        this.compression = compression;
     }
 
     /**
@@ -77,11 +94,14 @@ public final class WebSocketReader {
     public WebSocketFrame next() {
         final int first = readByte();
         final int second = readByte();
-        if ((first & Builder.WEBSOCKET_RSV_MASK) != Normal._0) {
+        final int rsv = first & Builder.WEBSOCKET_RSV_MASK;
+        final int opcode = first & Builder.WEBSOCKET_OPCODE_MASK;
+        final boolean compressed = rsv == Builder.WEBSOCKET_RSV1 && compression
+                && (opcode == Normal._1 || opcode == Builder.WEBSOCKET_OPCODE_BINARY);
+        if (rsv != Normal._0 && !compressed) {
             throw new ProtocolException("WebSocket RSV bits must be zero");
         }
         final boolean fin = (first & Normal._128) != Normal._0;
-        final int opcode = first & Builder.WEBSOCKET_OPCODE_MASK;
         final boolean control = opcode >= Normal._8;
         final boolean masked = (second & Normal._128) != Normal._0;
         if (masked != expectMasked) {
@@ -99,9 +119,11 @@ public final class WebSocketReader {
             unmask(payload, mask, length);
         }
         final ByteString bytes = payload.readByteString();
-        validateText(opcode, fin, bytes);
+        if (!compressed) {
+            validateText(opcode, fin, bytes);
+        }
         validateClose(opcode, bytes);
-        return new WebSocketFrame(opcode, fin, bytes, control);
+        return new WebSocketFrame(opcode, fin, bytes, control, compressed);
     }
 
     /**
@@ -24,6 +24,7 @@ import java.security.SecureRandom;
 
 import org.miaixz.bus.core.io.ByteString;
 import org.miaixz.bus.core.io.buffer.Buffer;
+import org.miaixz.bus.core.io.buffer.Segment;
 import org.miaixz.bus.core.io.sink.Sink;
 import org.miaixz.bus.core.lang.Assert;
 import org.miaixz.bus.core.lang.Normal;
@@ -97,8 +98,8 @@ public final class WebSocketWriter {
             throw new ProtocolException("WebSocket frame exceeds the 16 MiB limit");
         }
         final Buffer encoded = new Buffer();
-        encoded.writeByte((checked.fin() ? Normal._128 : Normal._0) | checked.opcode());
-        writeLength(encoded, length);
+        encoded.writeByte(firstByte(checked));
+        writeLength(encoded, length, mask);
         if (mask) {
             final byte[] key = new byte[Normal._4];
             random.nextBytes(key);
@@ -116,13 +117,121 @@ public final class WebSocketWriter {
         }
     }
 
+    /**
+     * Writes one shared pre-encoded frame without flushing the sink. The wire bytes are handed to the sink as read-only
+     * shared segments, so writing one encoding to many sessions never copies the frame.
+     *
+     * @param encoded retained unmasked frame encoding
+     * @return complete wire byte count including header and payload
+     * @throws ValidateException if {@code encoded} is {@code null}
+     * @throws ProtocolException if this writer masks outbound frames
+     * @throws SocketException   if the complete encoded bytes cannot be written to the sink
+     */
+    public synchronized long write(final WebSocketEncoded encoded) {
+        final WebSocketEncoded checked = require(encoded, "WebSocket encoded frame");
+        if (mask) {
+            throw new ProtocolException("Pre-encoded WebSocket frames require an unmasked writer");
+        }
+        final byte[] wire = checked.wire();
+        final Buffer buffer = share(wire);
+        try {
+            output.write(buffer, wire.length);
+            return wire.length;
+        } catch (final IOException e) {
+            throw new SocketException("Unable to write complete WebSocket frame", e);
+        }
+    }
+
+    /**
+     * Encodes one unmasked server frame once so that it can be written to many sessions.
+     *
+     * @param frame immutable frame whose FIN bit, opcode, and payload are encoded
+     * @return encoded frame holding one reference owned by the caller
+     * @throws ValidateException if {@code frame} is {@code null}
+     * @throws ProtocolException if the payload exceeds 16 MiB
+     */
+    public static WebSocketEncoded encode(final WebSocketFrame frame) {
+        return encode(frame, null);
+    }
+
+    /**
+     * Encodes one unmasked server frame together with an optional permessage-deflate sibling.
+     *
+     * @param frame    immutable uncompressed frame
+     * @param deflated RSV1-marked compressed form of the same message, or {@code null}
+     * @return encoded frame holding one reference owned by the caller
+     * @throws ValidateException if {@code frame} is {@code null}
+     * @throws ProtocolException if a payload exceeds 16 MiB or {@code deflated} is not compressed
+     */
+    public static WebSocketEncoded encode(final WebSocketFrame frame, final WebSocketFrame deflated) {
+        final WebSocketFrame checked = require(frame, "WebSocket frame");
+        if (deflated != null && !deflated.compressed()) {
+            throw new ProtocolException("WebSocket deflated sibling must carry the RSV1 bit");
+        }
+        final WebSocketEncoded sibling = deflated == null ? null
+                : new WebSocketEncoded(deflated.opcode(), wire(deflated), deflated.payload().size());
+        return new WebSocketEncoded(checked.opcode(), wire(checked), checked.payload().size(), sibling);
+    }
+
+    /**
+     * Wraps immutable wire bytes in a buffer without copying them. The segments are marked shared and not owned, so
+     * neither the buffer nor any sink they move into writes to or recycles the array.
+     *
+     * @param wire complete encoded wire bytes that are never modified
+     * @return buffer whose segments read directly from {@code wire}
+     */
+    private static Buffer share(final byte[] wire) {
+        final Buffer buffer = new Buffer();
+        for (int pos = 0; pos < wire.length; pos += Segment.SIZE) {
+            final Segment segment = new Segment(wire, pos, Math.min(wire.length, pos + Segment.SIZE), true, false);
+            if (null == buffer.head) {
+                buffer.head = segment.next = segment.prev = segment;
+            } else {
+                buffer.head.prev.push(segment);
+            }
+        }
+        buffer.size = wire.length;
+        return buffer;
+    }
+
+    /**
+     * Encodes the unmasked wire bytes of one frame.
+     *
+     * @param frame frame to encode
+     * @return complete wire bytes
+     */
+    private static byte[] wire(final WebSocketFrame frame) {
+        final ByteString payload = frame.payload();
+        final long length = payload.size();
+        if (length > Builder.BYTES_16_MIB) {
+            throw new ProtocolException("WebSocket frame exceeds the 16 MiB limit");
+        }
+        final Buffer encoded = new Buffer();
+        encoded.writeByte(firstByte(frame));
+        writeLength(encoded, length, false);
+        encoded.write(payload);
+        return encoded.readByteArray();
+    }
+
+    /**
+     * Builds the first header byte from the FIN bit, RSV1 compression bit, and opcode.
+     *
+     * @param frame frame being encoded
+     * @return first frame-header byte
+     */
+    private static int firstByte(final WebSocketFrame frame) {
+        return (frame.fin() ? Normal._128 : Normal._0) | (frame.compressed() ? Builder.WEBSOCKET_RSV1 : Normal._0)
+                | frame.opcode();
+    }
+
     /**
      * Writes the canonical payload-length field.
      *
      * @param target encoded-frame buffer receiving the mask bit and canonical length representation
      * @param length non-negative payload byte count
+     * @param mask   whether the mask bit is set
      */
-    private void writeLength(final Buffer target, final long length) {
+    private static void writeLength(final Buffer target, final long length, final boolean mask) {
         final int maskBit = mask ? Normal._128 : Normal._0;
         if (length <= Builder.WEBSOCKET_CONTROL_PAYLOAD_MAX_BYTES) {
             target.writeByte(maskBit | (int) length);
@@ -26,7 +26,9 @@
  * {@code Mediator.convert(WEBSOCKET, HTTP_UPGRADE) -> HttpRunner} carrier transition. {@code WebSocketSession} owns
  * established-session frame read/write, ping/pong, close handshake, outbound queue limits and handler notification.
  * {@code WebSocketServer} accepts server upgrades outside the client Mediator route, while {@code WebSocketRole}
- * centralizes client and server mask expectations.
+ * centralizes client and server mask expectations. Server broadcasts and {@code WebSocketGroup} encode a frame once and
+ * share it across session queues under a {@code WebSocketOverflow} backpressure policy. When permessage-deflate is
+ * agreed, {@code WebSocketCompressor} compresses outbound messages in write order and inflates assembled inbound ones.
  * </p>
  *
  * @author Kimi Liu
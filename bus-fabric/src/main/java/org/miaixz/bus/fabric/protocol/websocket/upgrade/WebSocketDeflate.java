@@ -0,0 +1,342 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.fabric.protocol.websocket.upgrade;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+import org.miaixz.bus.core.lang.Assert;
+import org.miaixz.bus.core.lang.Normal;
+import org.miaixz.bus.core.lang.Symbol;
+import org.miaixz.bus.core.lang.exception.ProtocolException;
+import org.miaixz.bus.core.lang.exception.ValidateException;
+import org.miaixz.bus.core.net.Http;
+import org.miaixz.bus.fabric.Headers;
+
+/**
+ * Negotiated or configured permessage-deflate parameters (RFC 7692).
+ * <p>
+ * The same record is used as endpoint configuration and as the agreed outcome of one handshake. {@code java.util.zip}
+ * always compresses with a 32 KiB window, so offers that require a smaller server window are declined and
+ * {@code client_max_window_bits} is never requested.
+ * </p>
+ *
+ * @param serverNoContextTakeover whether the server resets its compression context after every message
+ * @param clientNoContextTakeover whether the client resets its compression context after every message
+ * @param level                   local {@link Deflater} level, or {@link Deflater#DEFAULT_COMPRESSION}
+ * @param minimumBytes            smallest payload compressed by this endpoint; smaller messages are sent as-is
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public record WebSocketDeflate(boolean serverNoContextTakeover, boolean clientNoContextTakeover, int level,
+        int minimumBytes) {
+
+    /**
+     * Window-bits value matching the fixed {@code java.util.zip} window.
+     */
+    private static final int WINDOW_BITS = 15;
+
+    /**
+     * Smallest window-bits value defined by RFC 7692.
+     */
+    private static final int MIN_WINDOW_BITS = 8;
+
+    /**
+     * Extension parameter asking the server to reset its context per message.
+     */
+    private static final String SERVER_NO_CONTEXT_TAKEOVER = "server_no_context_takeover";
+
+    /**
+     * Extension parameter asking the client to reset its context per message.
+     */
+    private static final String CLIENT_NO_CONTEXT_TAKEOVER = "client_no_context_takeover";
+
+    /**
+     * Extension parameter limiting the server window.
+     */
+    private static final String SERVER_MAX_WINDOW_BITS = "server_max_window_bits";
+
+    /**
+     * Extension parameter limiting the client window.
+     */
+    private static final String CLIENT_MAX_WINDOW_BITS = "client_max_window_bits";
+
+    /**
+     * Creates validated parameters.
+     *
+     * @throws ValidateException if the level or threshold is out of range
+     */
+    public WebSocketDeflate {
+        if (level != Deflater.DEFAULT_COMPRESSION
+                && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new ValidateException("WebSocket deflate level must be -1 or between 0 and 9");
+        }
+        if (minimumBytes < Normal._0) {
+            throw new ValidateException("WebSocket deflate minimum bytes must be non-negative");
+        }
+    }
+
+    /**
+     * Returns parameters with context takeover in both directions, the default level, and a 256-byte threshold.
+     *
+     * @return default parameters
+     */
+    public static WebSocketDeflate defaults() {
+        return new WebSocketDeflate(false, false, Deflater.DEFAULT_COMPRESSION, Normal._256);
+    }
+
+    /**
+     * Returns whether this endpoint resets its compression context after every message.
+     *
+     * @param server true for the server endpoint, false for the client endpoint
+     * @return true when the sending context must not be carried between messages
+     */
+    public boolean noContextTakeover(final boolean server) {
+        return server ? serverNoContextTakeover : clientNoContextTakeover;
+    }
+
+    /**
+     * Returns whether the peer resets its compression context after every message.
+     *
+     * @param server true for the server endpoint, false for the client endpoint
+     * @return true when the receiving context must not be carried between messages
+     */
+    public boolean peerNoContextTakeover(final boolean server) {
+        return noContextTakeover(!server);
+    }
+
+    /**
+     * Builds the client {@code Sec-WebSocket-Extensions} offer.
+     *
+     * @return extension offer value
+     */
+    public String offer() {
+        return value();
+    }
+
+    /**
+     * Builds the server {@code Sec-WebSocket-Extensions} response for accepted parameters.
+     *
+     * @return extension response value
+     */
+    public String response() {
+        return value();
+    }
+
+    /**
+     * Selects the first acceptable permessage-deflate offer from a client opening request.
+     *
+     * @param request validated opening request headers
+     * @param config  server configuration, or {@code null} when compression is disabled
+     * @return accepted parameters, or {@code null} when no offer is acceptable
+     * @throws ValidateException if {@code request} is {@code null}
+     */
+    public static WebSocketDeflate negotiate(final Headers request, final WebSocketDeflate config) {
+        final Headers checked = Assert
+                .notNull(request, () -> new ValidateException("WebSocket request headers must not be null"));
+        if (config == null) {
+            return null;
+        }
+        for (final String header : checked.values(Http.WebSocket.EXTENSIONS)) {
+            for (final String offer : header.split(Symbol.COMMA)) {
+                final WebSocketDeflate accepted = offer(offer, config);
+                if (accepted != null) {
+                    return accepted;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Validates the server response to an offer built by {@link #offer()}.
+     *
+     * @param response upgrade response headers
+     * @return agreed parameters, or {@code null} when the server declined compression
+     * @throws ProtocolException if the server selected an extension or parameter that was not offered
+     */
+    public WebSocketDeflate accept(final Headers response) {
+        final List<String> headers = Assert
+                .notNull(response, () -> new ValidateException("WebSocket response headers must not be null"))
+                .values(Http.WebSocket.EXTENSIONS);
+        WebSocketDeflate agreed = null;
+        for (final String header : headers) {
+            for (final String extension : header.split(Symbol.COMMA)) {
+                if (extension.isBlank()) {
+                    continue;
+                }
+                final String[] parts = extension.split(Symbol.SEMICOLON);
+                if (!Http.WebSocket.PERMESSAGE_DEFLATE.equalsIgnoreCase(parts[Normal._0].trim()) || agreed != null) {
+                    throw new ProtocolException("WebSocket server selected an extension that was not offered");
+                }
+                boolean server = false;
+                boolean client = false;
+                boolean windowBits = false;
+                for (int i = Normal._1; i < parts.length; i++) {
+                    final String[] parameter = parameter(parts[i]);
+                    switch (parameter[Normal._0]) {
+                        case SERVER_NO_CONTEXT_TAKEOVER -> {
+                            if (server || parameter[Normal._1] != null) {
+                                throw new ProtocolException("Invalid server_no_context_takeover parameter");
+                            }
+                            server = true;
+                        }
+                        case CLIENT_NO_CONTEXT_TAKEOVER -> {
+                            if (client || parameter[Normal._1] != null) {
+                                throw new ProtocolException("Invalid client_no_context_takeover parameter");
+                            }
+                            client = true;
+                        }
+                        case SERVER_MAX_WINDOW_BITS -> {
+                            if (windowBits || windowBits(parameter[Normal._1]) < MIN_WINDOW_BITS) {
+                                throw new ProtocolException("Invalid server_max_window_bits parameter");
+                            }
+                            windowBits = true;
+                        }
+                        default -> throw new ProtocolException(
+                                "WebSocket server selected an unsupported permessage-deflate parameter");
+                    }
+                }
+                agreed = new WebSocketDeflate(server, client || clientNoContextTakeover, level, minimumBytes);
+            }
+        }
+        return agreed;
+    }
+
+    /**
+     * Evaluates one client offer against the server configuration.
+     *
+     * @param offer  one comma-separated extension offer
+     * @param config server configuration
+     * @return accepted parameters, or {@code null} when the offer is declined
+     */
+    private static WebSocketDeflate offer(final String offer, final WebSocketDeflate config) {
+        final String[] parts = offer.split(Symbol.SEMICOLON);
+        if (!Http.WebSocket.PERMESSAGE_DEFLATE.equalsIgnoreCase(parts[Normal._0].trim())) {
+            return null;
+        }
+        boolean server = false;
+        boolean client = false;
+        boolean serverWindow = false;
+        boolean clientWindow = false;
+        for (int i = Normal._1; i < parts.length; i++) {
+            final String[] parameter;
+            try {
+                parameter = parameter(parts[i]);
+            } catch (final ProtocolException e) {
+                return null;
+            }
+            switch (parameter[Normal._0]) {
+                case SERVER_NO_CONTEXT_TAKEOVER -> {
+                    if (server || parameter[Normal._1] != null) {
+                        return null;
+                    }
+                    server = true;
+                }
+                case CLIENT_NO_CONTEXT_TAKEOVER -> {
+                    if (client || parameter[Normal._1] != null) {
+                        return null;
+                    }
+                    client = true;
+                }
+                case SERVER_MAX_WINDOW_BITS -> {
+                    if (serverWindow || parameter[Normal._1] == null
+                            || windowBits(parameter[Normal._1]) != WINDOW_BITS) {
+                        return null;
+                    }
+                    serverWindow = true;
+                }
+                case CLIENT_MAX_WINDOW_BITS -> {
+                    if (clientWindow || parameter[Normal._1] != null && windowBits(parameter[Normal._1]) < Normal._0) {
+                        return null;
+                    }
+                    clientWindow = true;
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+        return new WebSocketDeflate(server || config.serverNoContextTakeover,
+                client || config.clientNoContextTakeover, config.level, config.minimumBytes);
+    }
+
+    /**
+     * Splits one extension parameter into a lower-case name and an optional unquoted value.
+     *
+     * @param raw raw parameter text
+     * @return two-element array of name and value, the value being {@code null} when absent
+     * @throws ProtocolException if the parameter is blank
+     */
+    private static String[] parameter(final String raw) {
+        final int equals = raw.indexOf(Symbol.C_EQUAL);
+        final String name = (equals < Normal._0 ? raw : raw.substring(Normal._0, equals)).trim()
+                .toLowerCase(Locale.ROOT);
+        if (name.isEmpty()) {
+            throw new ProtocolException("Blank permessage-deflate parameter");
+        }
+        if (equals < Normal._0) {
+            return new String[] { name, null };
+        }
+        String value = raw.substring(equals + Normal._1).trim();
+        if (value.length() >= Normal._2 && value.charAt(Normal._0) == Symbol.C_DOUBLE_QUOTES
+                && value.charAt(value.length() - Normal._1) == Symbol.C_DOUBLE_QUOTES) {
+            value = value.substring(Normal._1, value.length() - Normal._1);
+        }
+        return new String[] { name, value };
+    }
+
+    /**
+     * Parses a window-bits value.
+     *
+     * @param value raw value, or {@code null}
+     * @return window bits between 8 and 15, or {@code -1} when the value is absent or invalid
+     */
+    private static int windowBits(final String value) {
+        if (value == null || value.isEmpty() || value.length() > Normal._2) {
+            return Normal.__1;
+        }
+        for (int i = Normal._0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return Normal.__1;
+            }
+        }
+        final int bits = Integer.parseInt(value);
+        return bits >= MIN_WINDOW_BITS && bits <= WINDOW_BITS ? bits : Normal.__1;
+    }
+
+    /**
+     * Builds an extension value carrying the context-takeover parameters.
+     *
+     * @return extension value
+     */
+    private String value() {
+        final StringBuilder builder = new StringBuilder(Http.WebSocket.PERMESSAGE_DEFLATE);
+        if (serverNoContextTakeover) {
+            builder.append(Symbol.SEMICOLON).append(Symbol.SPACE).append(SERVER_NO_CONTEXT_TAKEOVER);
+        }
+        if (clientNoContextTakeover) {
+            builder.append(Symbol.SEMICOLON).append(Symbol.SPACE).append(CLIENT_NO_CONTEXT_TAKEOVER);
+        }
+        return builder.toString();
+    }
+
+}
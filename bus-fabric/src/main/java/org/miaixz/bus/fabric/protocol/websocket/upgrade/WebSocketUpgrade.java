@@ -233,9 +233,29 @@ public final class WebSocketUpgrade {
             final String path,
             final Headers responseHeaders,
             final Consumer<Headers> validator) {
+        return upgrade(ingress, path, responseHeaders, validator, null);
+    }
+
+    /**
+     * Performs a plain WebSocket server upgrade directly on an ingress transport with optional permessage-deflate.
+     *
+     * @param ingress         accepted transport whose source and sink are transferred on success
+     * @param path            exact endpoint path required from the request target
+     * @param responseHeaders additional server response headers
+     * @param validator       callback that validates the parsed opening request headers
+     * @param compression     server permessage-deflate configuration, or {@code null} to decline every offer
+     * @return upgraded transport views, validated request headers, and the agreed compression parameters
+     * @throws RuntimeException if request validation or the handshake fails; the ingress is closed before rethrowing
+     */
+    public static Result upgrade(
+            final Ingress ingress,
+            final String path,
+            final Headers responseHeaders,
+            final Consumer<Headers> validator,
+            final WebSocketDeflate compression) {
         final Ingress current = require(ingress, "WebSocket ingress");
         try {
-            return upgrade(current.source(), current.sink(), path, responseHeaders, validator);
+            return upgrade(current.source(), current.sink(), path, responseHeaders, validator, compression);
         } catch (final RuntimeException e) {
             close(current);
             throw e;
@@ -260,6 +280,29 @@ public final class WebSocketUpgrade {
             final String path,
             final Headers responseHeaders,
             final Consumer<Headers> validator) {
+        return upgrade(source, sink, path, responseHeaders, validator, null);
+    }
+
+    /**
+     * Performs a secure WebSocket server upgrade with optional permessage-deflate negotiation.
+     *
+     * @param source          handshaken TLS source transferred to the result on success
+     * @param sink            handshaken TLS sink transferred to the result on success
+     * @param path            exact endpoint path required from the request target
+     * @param responseHeaders additional server response headers
+     * @param validator       callback that validates the parsed opening request headers
+     * @param compression     server permessage-deflate configuration, or {@code null} to decline every offer
+     * @return upgraded transport views, validated request headers, and the agreed compression parameters
+     * @throws RuntimeException if request validation or the handshake fails; both transport views are closed before
+     *                          rethrowing
+     */
+    public static Result upgrade(
+            final Source source,
+            final Sink sink,
+            final String path,
+            final Headers responseHeaders,
+            final Consumer<Headers> validator,
+            final WebSocketDeflate compression) {
         final Source currentSource = require(source, "WebSocket upgrade source");
         final Sink currentSink = require(sink, "WebSocket upgrade sink");
         final String requiredPath = validatePath(path);
@@ -270,9 +313,13 @@ public final class WebSocketUpgrade {
             final Request request = readRequest(buffered);
             validateRequest(request, requiredPath);
             openingValidator.accept(request.headers());
-            final Headers response = serverResponse(request.headers(), configured);
+            final WebSocketDeflate deflate = WebSocketDeflate.negotiate(request.headers(), compression);
+            Headers response = serverResponse(request.headers(), configured.without(Http.WebSocket.EXTENSIONS));
+            if (deflate != null) {
+                response = response.with(Http.WebSocket.EXTENSIONS, deflate.response());
+            }
             writeResponse(currentSink, response);
-            return new Result(buffered, currentSink, request.headers());
+            return new Result(buffered, currentSink, request.headers(), deflate);
         } catch (final RuntimeException e) {
             close(currentSource);
             close(currentSink);
@@ -486,17 +533,31 @@ public final class WebSocketUpgrade {
      * @param source         source retaining any bytes prefetched after the HTTP header terminator
      * @param sink           response sink
      * @param requestHeaders validated request headers
+     * @param deflate        agreed permessage-deflate parameters, or {@code null} when compression is off
      */
-    public record Result(Source source, Sink sink, Headers requestHeaders) {
+    public record Result(Source source, Sink sink, Headers requestHeaders, WebSocketDeflate deflate) {
 
         /**
-         * Creates a validated result.
+         * Creates a validated result without compression.
          *
          * @param source         source retaining prefetched post-header bytes
          * @param sink           sink used to write the upgrade response
          * @param requestHeaders validated request headers
          * @throws ValidateException if any component is {@code null}
          */
+        public Result(final Source source, final Sink sink, final Headers requestHeaders) {
+            this(source, sink, requestHeaders, null);
+        }
+
+        /**
+         * Creates a validated result.
+         *
+         * @param source         source retaining prefetched post-header bytes
+         * @param sink           sink used to write the upgrade response
+         * @param requestHeaders validated request headers
+         * @param deflate        agreed compression parameters, or {@code null}
+         * @throws ValidateException if the source, sink, or request headers are {@code null}
+         */
         public Result {
             source = require(source, "WebSocket result source");
             sink = require(sink, "WebSocket result sink");
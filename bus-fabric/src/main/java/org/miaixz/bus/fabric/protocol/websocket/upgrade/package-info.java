@@ -22,7 +22,8 @@
  *
  * <p>
  * Upgrade operations create the Sec-WebSocket-Key, validate the server accept value, and prepare HTTP request/response
- * metadata. They do not read or write WebSocket frames after the upgrade succeeds.
+ * metadata, including the permessage-deflate extension negotiated through {@code WebSocketDeflate}. They do not read or
+ * write WebSocket frames after the upgrade succeeds.
  * </p>
  *
  * @author Kimi Liu
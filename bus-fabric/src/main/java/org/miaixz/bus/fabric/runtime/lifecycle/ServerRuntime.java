@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import org.miaixz.bus.core.Lifecycle.State;
 import org.miaixz.bus.core.lang.Assert;
@@ -167,6 +168,18 @@ public final class ServerRuntime<S> {
         return List.copyOf(new ArrayList<>(sessions));
     }
 
+    /**
+     * Visits registered sessions with weakly consistent traversal and without copying the registry.
+     *
+     * @param action session visitor
+     */
+    public void forEachSession(final Consumer<? super S> action) {
+        require(action, "Session action");
+        for (final S session : sessions) {
+            action.accept(session);
+        }
+    }
+
     /**
      * Returns whether registered sessions remain.
      *
@@ -21,6 +21,7 @@ package org.miaixz.bus.office.csv;
 
 import java.io.*;
 import java.util.*;
+import java.util.function.ObjLongConsumer;
 
 import org.miaixz.bus.core.center.iterator.ComputeIterator;
 import org.miaixz.bus.core.lang.Symbol;
@@ -112,8 +113,23 @@ public final class CsvParser extends ComputeIterator<CsvRow> implements Closeabl
      * @param config The CSV read configuration. If {@code null}, default configuration will be used.
      */
     public CsvParser(final Reader reader, final CsvReadConfig config) {
+        this(reader, config, -1, -1);
+    }
+
+    /**
+     * Constructs a new {@code CsvParser} that continues parsing after a line end, as if the preceding lines had been
+     * read by this parser.
+     *
+     * @param reader  The {@link Reader} to read CSV data from.
+     * @param config  The CSV read configuration. If {@code null}, default configuration will be used.
+     * @param preChar The last special character read before, or -1 at the beginning of the data.
+     * @param lineNo  The number of the last line read before, or -1 at the beginning of the data.
+     */
+    CsvParser(final Reader reader, final CsvReadConfig config, final int preChar, final long lineNo) {
         this.config = ObjectKit.defaultIfNull(config, CsvReadConfig::of);
         this.tokener = new CsvTokener(reader);
+        this.preChar = preChar;
+        this.lineNo = lineNo;
     }
 
     /**
@@ -146,11 +162,10 @@ public final class CsvParser extends ComputeIterator<CsvRow> implements Closeabl
      */
     public CsvRow nextRow() throws InternalException {
         List<String> currentFields;
-        int fieldCount;
+        CsvRow row;
         while (!finished) {
             currentFields = readLine();
-            fieldCount = currentFields.size();
-            if (fieldCount < 1) {
+            if (currentFields.isEmpty()) {
                 // An empty list indicates the end of reading.
                 break;
             }
@@ -165,41 +180,79 @@ public final class CsvParser extends ComputeIterator<CsvRow> implements Closeabl
                 break;
             }
 
-            // Skip empty rows
-            if (config.skipEmptyRows && fieldCount == 1 && currentFields.get(0).isEmpty()) {
-                // [""] represents an empty row.
-                continue;
+            row = toRow(lineNo, currentFields);
+            if (null != row) {
+                return row;
             }
+        }
 
-            // Check if the number of fields in each row is consistent.
-            if (config.errorOnDifferentFieldCount) {
-                if (firstLineFieldCount < 0) {
-                    firstLineFieldCount = fieldCount;
-                } else if (fieldCount != firstLineFieldCount) {
-                    throw new InternalException(String.format(
-                            "Line %d has %d fields, but first line has %d fields",
-                            lineNo,
-                            fieldCount,
-                            firstLineFieldCount));
-                }
-            }
+        return null;
+    }
 
-            // Record the maximum number of fields.
-            if (fieldCount > maxFieldCount) {
-                maxFieldCount = fieldCount;
+    /**
+     * Reads all remaining lines as they are, without applying the read range, the header or the field count check.
+     * Used by {@link ParallelCsvParser} to parse a chunk of the input; the rows are assembled later by
+     * {@link #toRow(long, List)}.
+     *
+     * @param consumer Receives the fields and the line number of each line.
+     * @throws InternalException If an I/O error occurs.
+     */
+    void readLines(final ObjLongConsumer<List<String>> consumer) throws InternalException {
+        List<String> currentFields;
+        while (!finished) {
+            currentFields = readLine();
+            if (currentFields.isEmpty()) {
+                break;
             }
+            consumer.accept(currentFields, lineNo);
+        }
+    }
 
-            // Initialize header
-            if (lineNo == config.headerLineNo && null == header) {
-                initHeader(currentFields);
-                // After being used as a header row, this row is skipped, and the next row becomes the first data row.
-                continue;
+    /**
+     * Turns a line within the read range into a row and moves the parser to that line. This handles skipping empty
+     * rows, checking field counts, and initializing the header row based on the configuration.
+     *
+     * @param lineNo        The line number.
+     * @param currentFields The fields of the line.
+     * @return The row, or {@code null} if the line is skipped or used as the header.
+     * @throws InternalException If the field count consistency check fails.
+     */
+    CsvRow toRow(final long lineNo, final List<String> currentFields) throws InternalException {
+        this.lineNo = lineNo;
+        final int fieldCount = currentFields.size();
+
+        // Skip empty rows
+        if (config.skipEmptyRows && fieldCount == 1 && currentFields.get(0).isEmpty()) {
+            // [""] represents an empty row.
+            return null;
+        }
+
+        // Check if the number of fields in each row is consistent.
+        if (config.errorOnDifferentFieldCount) {
+            if (firstLineFieldCount < 0) {
+                firstLineFieldCount = fieldCount;
+            } else if (fieldCount != firstLineFieldCount) {
+                throw new InternalException(String.format(
+                        "Line %d has %d fields, but first line has %d fields",
+                        lineNo,
+                        fieldCount,
+                        firstLineFieldCount));
             }
+        }
 
-            return new CsvRow(lineNo, null == header ? null : header.headerMap, currentFields);
+        // Record the maximum number of fields.
+        if (fieldCount > maxFieldCount) {
+            maxFieldCount = fieldCount;
         }
 
-        return null;
+        // Initialize header
+        if (lineNo == config.headerLineNo && null == header) {
+            initHeader(currentFields);
+            // After being used as a header row, this row is skipped, and the next row becomes the first data row.
+            return null;
+        }
+
+        return new CsvRow(lineNo, null == header ? null : header.headerMap, currentFields);
     }
 
     /**
@@ -0,0 +1,608 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.office.csv;
+
+import java.io.CharArrayReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.miaixz.bus.core.center.iterator.ComputeIterator;
+import org.miaixz.bus.core.io.file.PathResolve;
+import org.miaixz.bus.core.lang.Symbol;
+import org.miaixz.bus.core.lang.exception.InternalException;
+import org.miaixz.bus.core.xyz.IoKit;
+import org.miaixz.bus.core.xyz.ObjectKit;
+
+/**
+ * CSV file parser that parses chunks of a memory-mapped file in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * The calling thread scans the raw bytes for record boundaries, following the same quoting and comment rules as
+ * {@link CsvParser}, and hands each chunk of whole records to the pool. The chunks are parsed by {@link CsvParser}
+ * itself, and the rows are assembled on the calling thread, so read ranges, headers, empty rows and field count checks
+ * behave exactly as with {@link CsvReader}. At most two chunks per worker are buffered at a time.
+ * <p>
+ * Rows are returned in file order by default. In unordered mode, once the header and the first row have been read,
+ * chunks are returned in the order they finish parsing; each row still carries its original line number.
+ * <p>
+ * Splitting on bytes requires a charset in which the special characters cannot appear inside other characters, that
+ * is UTF-8, US-ASCII or ISO-8859-1 with ASCII separators. For other charsets the file is parsed sequentially.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public final class ParallelCsvParser extends ComputeIterator<CsvRow> implements Closeable {
+
+    /**
+     * The minimum size of a chunk handed to the pool.
+     */
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    /**
+     * The size of the regions mapped while scanning for record boundaries.
+     */
+    private static final int WINDOW_SIZE = 1 << 26;
+
+    /**
+     * The number of bytes copied from the mapped region at a time while scanning.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The CSV read configuration.
+     */
+    private final CsvReadConfig config;
+
+    /**
+     * The charset of the file.
+     */
+    private final Charset charset;
+
+    /**
+     * The pool parsing the chunks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Whether rows are returned in file order.
+     */
+    private final boolean ordered;
+
+    /**
+     * The maximum number of chunks parsed or buffered at a time.
+     */
+    private final int maxPending;
+
+    /**
+     * Chunks being parsed, in file order.
+     */
+    private final Deque<Future<List<Line>>> pending = new ArrayDeque<>();
+
+    /**
+     * The file channel, {@code null} when the file is parsed sequentially.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Finds the chunks, {@code null} when the file is parsed sequentially or all chunks have been submitted.
+     */
+    private Splitter splitter;
+
+    /**
+     * Assembles the rows, or parses the whole file when it is parsed sequentially.
+     */
+    private final CsvParser rows;
+
+    /**
+     * The lines of the chunk being returned.
+     */
+    private List<Line> lines;
+
+    /**
+     * The index of the next line in {@link #lines}.
+     */
+    private int index;
+
+    /**
+     * The number of the last line assembled.
+     */
+    private long lineNo = -1;
+
+    /**
+     * Whether a row has been returned.
+     */
+    private boolean started;
+
+    /**
+     * Whether chunks may be returned out of order, once the header and the first row are known.
+     */
+    private boolean settled;
+
+    /**
+     * Constructs a new parser returning rows in file order, parsing on the common pool.
+     *
+     * @param path    The CSV file path.
+     * @param charset The charset of the file.
+     * @param config  The CSV read configuration. If {@code null}, default configuration will be used.
+     * @throws InternalException If the file cannot be opened.
+     */
+    public ParallelCsvParser(final Path path, final Charset charset, final CsvReadConfig config)
+            throws InternalException {
+        this(path, charset, config, ForkJoinPool.commonPool(), true);
+    }
+
+    /**
+     * Constructs a new parser.
+     *
+     * @param path    The CSV file path.
+     * @param charset The charset of the file.
+     * @param config  The CSV read configuration. If {@code null}, default configuration will be used.
+     * @param pool    The pool parsing the chunks.
+     * @param ordered {@code true} to return rows in file order, {@code false} to return chunks as they are parsed.
+     * @throws InternalException If the file cannot be opened.
+     */
+    public ParallelCsvParser(final Path path, final Charset charset, final CsvReadConfig config,
+            final ForkJoinPool pool, final boolean ordered) throws InternalException {
+        this.config = ObjectKit.defaultIfNull(config, CsvReadConfig::of);
+        this.charset = charset;
+        this.pool = pool;
+        this.ordered = ordered;
+        this.maxPending = Math.max(2, pool.getParallelism() * 2);
+        if (isSplittable(charset, this.config)) {
+            try {
+                this.channel = FileChannel.open(path, StandardOpenOption.READ);
+                this.splitter = new Splitter(this.channel, this.config);
+            } catch (final IOException e) {
+                throw new InternalException(e);
+            }
+            this.rows = new CsvParser(Reader.nullReader(), this.config);
+        } else {
+            this.channel = null;
+            this.rows = new CsvParser(PathResolve.getReader(path, charset), this.config);
+        }
+    }
+
+    /**
+     * Gets the header fields list. If {@code headerLineNo} in the configuration is less than 0, an exception is thrown.
+     *
+     * @return The list of header fields.
+     * @throws IllegalStateException If header parsing is disabled or no row has been read yet.
+     */
+    public List<String> getHeader() {
+        return this.rows.getHeader();
+    }
+
+    /**
+     * Creates a {@link Stream} of the rows. Closing the stream closes this parser.
+     *
+     * @return A {@link Stream} of {@link CsvRow} objects.
+     */
+    public Stream<CsvRow> stream() {
+        final int characteristics = this.ordered ? Spliterator.ORDERED | Spliterator.NONNULL : Spliterator.NONNULL;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, characteristics), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    protected CsvRow computeNext() {
+        if (null == this.channel) {
+            return this.rows.nextRow();
+        }
+
+        Line line;
+        CsvRow row;
+        while (true) {
+            while (null != this.lines && this.index < this.lines.size()) {
+                line = this.lines.get(this.index++);
+                this.lineNo = line.lineNo;
+                // Check read range
+                if (line.lineNo < config.beginLineNo) {
+                    continue;
+                }
+                if (line.lineNo > config.endLineNo) {
+                    if (this.ordered) {
+                        // Exceeded the end line, reading finished.
+                        cancel();
+                        return null;
+                    }
+                    continue;
+                }
+
+                row = this.rows.toRow(line.lineNo, line.fields);
+                if (null != row) {
+                    this.started = true;
+                    return row;
+                }
+            }
+
+            this.lines = take();
+            this.index = 0;
+            if (null == this.lines) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Closes the file and cancels the chunks still being parsed.
+     */
+    @Override
+    public void close() {
+        cancel();
+        IoKit.closeQuietly(this.channel);
+        IoKit.closeQuietly(this.rows);
+    }
+
+    /**
+     * Takes the lines of the next chunk, submitting further chunks to the pool.
+     *
+     * @return The lines, or {@code null} if all chunks have been taken.
+     * @throws InternalException If a chunk cannot be read.
+     */
+    private List<Line> take() throws InternalException {
+        submit();
+        if (this.pending.isEmpty()) {
+            return null;
+        }
+
+        // Rows may be returned out of order once the header and the first row have been read in order
+        if (!this.ordered && !this.settled) {
+            this.settled = this.started && this.lineNo >= config.headerLineNo;
+        }
+        Future<List<Line>> next = this.pending.peekFirst();
+        if (this.settled) {
+            for (final Future<List<Line>> future : this.pending) {
+                if (future.isDone()) {
+                    next = future;
+                    break;
+                }
+            }
+        }
+        this.pending.removeFirstOccurrence(next);
+        submit();
+
+        try {
+            return next.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalException(e);
+        } catch (final ExecutionException e) {
+            throw new InternalException(e.getCause());
+        }
+    }
+
+    /**
+     * Submits chunks to the pool until enough are pending.
+     *
+     * @throws InternalException If the file cannot be read.
+     */
+    private void submit() throws InternalException {
+        while (null != this.splitter && this.pending.size() < this.maxPending) {
+            final Chunk chunk;
+            try {
+                chunk = this.splitter.next();
+            } catch (final IOException e) {
+                throw new InternalException(e);
+            }
+            // Every line of the chunk lies after the end line
+            if (null == chunk || chunk.lineNo >= config.endLineNo) {
+                this.splitter = null;
+                break;
+            }
+            this.pending.addLast(this.pool.submit(() -> parse(chunk)));
+        }
+    }
+
+    /**
+     * Stops submitting chunks and cancels the chunks still being parsed.
+     */
+    private void cancel() {
+        this.splitter = null;
+        Future<List<Line>> future;
+        while (null != (future = this.pending.pollFirst())) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Parses the lines of a chunk.
+     *
+     * @param chunk The chunk.
+     * @return The lines.
+     * @throws IOException If the chunk cannot be read.
+     */
+    private List<Line> parse(final Chunk chunk) throws IOException {
+        final MappedByteBuffer bytes = this.channel.map(FileChannel.MapMode.READ_ONLY, chunk.start, chunk.length);
+        final CharBuffer chars = this.charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE).decode(bytes);
+        final CsvParser parser = new CsvParser(
+                new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining()),
+                this.config, chunk.preChar, chunk.lineNo);
+        final List<Line> result = new ArrayList<>();
+        parser.readLines((fields, lineNo) -> result.add(new Line(lineNo, fields)));
+        return result;
+    }
+
+    /**
+     * Checks whether record boundaries can be found by scanning the raw bytes.
+     *
+     * @param charset The charset of the file.
+     * @param config  The CSV read configuration.
+     * @return {@code true} if the file can be split into chunks.
+     */
+    private static boolean isSplittable(final Charset charset, final CsvReadConfig config) {
+        if (!StandardCharsets.UTF_8.equals(charset) && !StandardCharsets.US_ASCII.equals(charset)
+                && !StandardCharsets.ISO_8859_1.equals(charset)) {
+            return false;
+        }
+        return config.fieldSeparator < 0x80 && config.textDelimiter < 0x80
+                && (null == config.commentCharacter || config.commentCharacter < 0x80);
+    }
+
+    /**
+     * A parsed line.
+     *
+     * @param lineNo The line number.
+     * @param fields The fields.
+     */
+    private record Line(long lineNo, List<String> fields) {
+
+    }
+
+    /**
+     * A chunk of whole records.
+     *
+     * @param start   The offset of the chunk in the file.
+     * @param length  The length of the chunk in bytes.
+     * @param preChar The last special character before the chunk, as tracked by {@link CsvParser}.
+     * @param lineNo  The number of the last line before the chunk.
+     */
+    private record Chunk(long start, int length, int preChar, long lineNo) {
+
+    }
+
+    /**
+     * Finds record boundaries by scanning the raw bytes with the state machine of {@link CsvParser}, without building
+     * fields.
+     */
+    private static final class Splitter {
+
+        /**
+         * The file channel.
+         */
+        private final FileChannel channel;
+
+        /**
+         * The size of the file.
+         */
+        private final long size;
+
+        /**
+         * The field separator.
+         */
+        private final int separator;
+
+        /**
+         * The text delimiter.
+         */
+        private final int delimiter;
+
+        /**
+         * The comment character, or -1 if comments are disabled.
+         */
+        private final int comment;
+
+        /**
+         * The bytes being scanned, copied from {@link #window}.
+         */
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        /**
+         * The mapped region being scanned.
+         */
+        private MappedByteBuffer window;
+
+        /**
+         * The offset of {@link #window} in the file.
+         */
+        private long windowStart;
+
+        /**
+         * The end offset of {@link #window} in the file.
+         */
+        private long windowEnd;
+
+        /**
+         * The offset of {@link #buffer} in the file.
+         */
+        private long bufferStart;
+
+        /**
+         * The number of valid bytes in {@link #buffer}.
+         */
+        private int bufferLength;
+
+        /**
+         * The offset of the next byte to scan.
+         */
+        private long position;
+
+        /**
+         * The last special character read, as tracked by {@link CsvParser}.
+         */
+        private int preChar = -1;
+
+        /**
+         * The number of the last line read.
+         */
+        private long lineNo = -1;
+
+        /**
+         * Constructs a new splitter.
+         *
+         * @param channel The file channel.
+         * @param config  The CSV read configuration.
+         * @throws IOException If the size of the file cannot be read.
+         */
+        Splitter(final FileChannel channel, final CsvReadConfig config) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.separator = config.fieldSeparator;
+            this.delimiter = config.textDelimiter;
+            this.comment = null == config.commentCharacter ? -1 : config.commentCharacter;
+        }
+
+        /**
+         * Finds the next chunk, made of whole lines of at least {@link #CHUNK_SIZE} bytes unless the file ends.
+         *
+         * @return The chunk, or {@code null} at the end of the file.
+         * @throws IOException If the file cannot be read.
+         */
+        Chunk next() throws IOException {
+            if (this.position >= this.size) {
+                return null;
+            }
+            final long start = this.position;
+            final int startPreChar = this.preChar;
+            final long startLineNo = this.lineNo;
+            while (this.position < this.size && this.position - start < CHUNK_SIZE) {
+                scanLine();
+            }
+            if (this.position - start > Integer.MAX_VALUE) {
+                throw new IOException("CSV record at offset " + start + " is too large to be parsed in chunks");
+            }
+            return new Chunk(start, (int) (this.position - start), startPreChar, startLineNo);
+        }
+
+        /**
+         * Scans one line, mirroring {@code CsvParser.readLine()}, up to and including the line end that completes it.
+         *
+         * @throws IOException If the file cannot be read.
+         */
+        private void scanLine() throws IOException {
+            final byte[] buffer = this.buffer;
+            long inQuotesLineCount = 0;
+            int preChar = this.preChar;
+            boolean inQuotes = false;
+            boolean inComment = false;
+
+            int i = (int) (this.position - this.bufferStart);
+            int c;
+            while (true) {
+                if (i >= this.bufferLength) {
+                    if (!fill(this.bufferStart + i)) {
+                        break;
+                    }
+                    i = 0;
+                }
+                c = buffer[i++] & 0xff;
+
+                // Comment line marker
+                if ((preChar < 0 || preChar == Symbol.C_CR || preChar == Symbol.C_LF) && !inQuotes
+                        && c == this.comment) {
+                    inComment = true;
+                }
+                if (inComment) {
+                    if (c == Symbol.C_CR || c == Symbol.C_LF) {
+                        this.lineNo++;
+                        inComment = false;
+                    }
+                    continue;
+                }
+
+                if (inQuotes) {
+                    if (c == this.delimiter) {
+                        if (i >= this.bufferLength && fill(this.bufferStart + i)) {
+                            i = 0;
+                        }
+                        if (i < this.bufferLength && (buffer[i] & 0xff) == this.delimiter) {
+                            // Escaped delimiter
+                            i++;
+                        } else {
+                            inQuotes = false;
+                        }
+                    } else if ((c == Symbol.C_CR || c == Symbol.C_LF) && preChar != Symbol.C_CR) {
+                        inQuotesLineCount++;
+                    }
+                } else if (c == this.separator) {
+                    // End of a field
+                } else if (c == this.delimiter && (preChar == -1 || preChar == this.separator
+                        || preChar == Symbol.C_LF || preChar == Symbol.C_CR)) {
+                    inQuotes = true;
+                } else if (c == Symbol.C_CR || (c == Symbol.C_LF && preChar != Symbol.C_CR)) {
+                    preChar = c;
+                    break;
+                }
+
+                preChar = c;
+            }
+
+            this.position = this.bufferStart + i;
+            this.preChar = preChar;
+            // The parser adds the lines within quotes when it starts the next line
+            this.lineNo += 1 + inQuotesLineCount;
+        }
+
+        /**
+         * Copies the bytes starting at the given offset into {@link #buffer}, mapping the region around them if needed.
+         *
+         * @param offset The offset in the file.
+         * @return {@code false} if the offset is at the end of the file, in which case the buffer is unchanged.
+         * @throws IOException If the file cannot be read.
+         */
+        private boolean fill(final long offset) throws IOException {
+            if (offset >= this.size) {
+                return false;
+            }
+            if (offset >= this.windowEnd || offset < this.windowStart) {
+                final long length = Math.min(WINDOW_SIZE, this.size - offset);
+                this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                this.windowStart = offset;
+                this.windowEnd = offset + length;
+            }
+            final int length = (int) Math.min(this.buffer.length, this.windowEnd - offset);
+            this.window.get((int) (offset - this.windowStart), this.buffer, 0, length);
+            this.bufferStart = offset;
+            this.bufferLength = length;
+            return true;
+        }
+
+    }
+
+}
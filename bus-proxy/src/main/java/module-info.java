@@ -32,6 +32,7 @@ module bus.proxy {
     requires static org.aspectj.weaver;
 
     exports org.miaixz.bus.proxy;
+    exports org.miaixz.bus.proxy.direct;
     exports org.miaixz.bus.proxy.invoker;
     exports org.miaixz.bus.proxy.jdk;
     exports org.miaixz.bus.proxy.spring;
@@ -67,4 +67,16 @@ public interface Aspect {
      */
     boolean afterException(Object target, Method method, Object[] args, Throwable e);
 
+    /**
+     * Returns whether this aspect applies any advice to the given method. Providers may invoke methods that are not
+     * advised on the target directly, without calling {@link #before}, {@link #after} or {@link #afterException}, and
+     * generated proxies resolve this once per proxy class rather than per call.
+     *
+     * @param method The method that may be invoked through the proxy.
+     * @return {@code true} if the method is advised, which is the default.
+     */
+    default boolean advises(final Method method) {
+        return true;
+    }
+
 }
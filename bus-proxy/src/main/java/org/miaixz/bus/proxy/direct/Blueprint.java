@@ -0,0 +1,758 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.proxy.direct;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.miaixz.bus.core.lang.exception.InternalException;
+import org.miaixz.bus.core.xyz.ClassKit;
+import org.miaixz.bus.core.xyz.ReflectKit;
+import org.miaixz.bus.logger.Logger;
+import org.miaixz.bus.proxy.Aspect;
+
+/**
+ * A generated proxy class for one target class and one set of advised methods.
+ * <p>
+ * Classes implementing accessible interfaces are proxied by a class implementing those interfaces, exactly like JDK
+ * proxies, so no target constructor ever runs for them. Other non-final classes with a usable constructor are proxied
+ * by a subclass overriding every instance method, provided each of them can be overridden and invoked on the target
+ * from the proxy class. Each overridden method is a straight-line stub: methods the aspect advises box their arguments
+ * and call {@link DirectInterceptor#dispatch} with a constant index, and all other methods load the target and invoke
+ * the same method on it directly, which the JIT inlines like a hand-written delegate. The class is defined as a hidden
+ * class next to the target when the target's package is open to this module, and in a dedicated class loader
+ * otherwise, in which case only public types can be proxied.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+final class Blueprint {
+
+    /**
+     * Internal name of the dispatcher.
+     */
+    private static final String INTERCEPTOR = ClassWriter.internal(DirectInterceptor.class);
+
+    /**
+     * Name of the generated dispatcher field.
+     */
+    private static final String INTERCEPTOR_FIELD = "$interceptor";
+
+    /**
+     * Name of the generated target field.
+     */
+    private static final String TARGET_FIELD = "$target";
+
+    /**
+     * Descriptor of the generated target field.
+     */
+    private static final String OBJECT = "Ljava/lang/Object;";
+
+    /**
+     * Suffix marking generated proxy class names.
+     */
+    private static final String SUFFIX = "$$BusProxy";
+
+    /**
+     * Sequence distinguishing classes defined in dedicated class loaders.
+     */
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    /**
+     * Layouts by target class.
+     */
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<>() {
+
+        @Override
+        protected Layout computeValue(final Class<?> type) {
+            return new Layout(type);
+        }
+
+    };
+
+    /**
+     * The target class layout.
+     */
+    private final Layout layout;
+
+    /**
+     * Proxied methods by stub index.
+     */
+    private final Method[] methods;
+
+    /**
+     * Invokers of advised methods by stub index, {@code null} for directly delegated methods.
+     */
+    private final MethodHandle[] invokers;
+
+    /**
+     * Proxy constructors taking {@code [interceptor, target, super arguments...]} as one array.
+     */
+    private final MethodHandle[] constructors;
+
+    /**
+     * Default super constructor arguments per proxy constructor.
+     */
+    private final Object[][] defaults;
+
+    /**
+     * Index of the first constructor that succeeded, or {@code -1}.
+     */
+    private volatile int chosen = -1;
+
+    /**
+     * Generates and defines the proxy class.
+     *
+     * @param layout  the target class layout
+     * @param advised the stub indexes the aspect advises
+     */
+    private Blueprint(final Layout layout, final BitSet advised) {
+        this.layout = layout;
+        this.methods = layout.methods;
+        this.invokers = new MethodHandle[methods.length];
+        for (int i = advised.nextSetBit(0); i >= 0; i = advised.nextSetBit(i + 1)) {
+            invokers[i] = invoker(layout.lookup, methods[i]);
+        }
+        final Class<?> superclass = layout.subclass ? layout.type : Object.class;
+        final String base = baseName(layout.type);
+        final String name = layout.lookup != null ? base.replace('.', '/') + SUFFIX
+                : "org/miaixz/bus/proxy/direct/" + base.replace('.', '_') + SUFFIX + SEQUENCE.incrementAndGet();
+        final String[] interfaces = new String[layout.interfaces.length];
+        for (int i = 0; i < interfaces.length; i++) {
+            interfaces[i] = ClassWriter.internal(layout.interfaces[i]);
+        }
+        final ClassWriter writer = new ClassWriter(name, ClassWriter.internal(superclass), interfaces);
+        writer.declare(ClassWriter.PRIVATE | ClassWriter.FINAL, INTERCEPTOR_FIELD,
+                DirectInterceptor.class.descriptorString());
+        writer.declare(ClassWriter.PRIVATE | ClassWriter.FINAL, TARGET_FIELD, OBJECT);
+        final Class<?>[][] parameters = layout.subclass ? layout.constructors : new Class<?>[][] { {} };
+        for (final Class<?>[] types : parameters) {
+            constructor(writer, name, superclass, types);
+        }
+        for (int i = 0; i < methods.length; i++) {
+            if (invokers[i] != null) {
+                advised(writer, name, i, methods[i]);
+            } else {
+                direct(writer, name, layout.owners[i], methods[i]);
+            }
+        }
+        final Class<?> proxyClass;
+        final MethodHandles.Lookup proxyLookup;
+        try {
+            if (layout.lookup != null) {
+                proxyLookup = layout.lookup.defineHiddenClass(writer.toByteArray(), true);
+                proxyClass = proxyLookup.lookupClass();
+            } else {
+                proxyClass = new Loader(layout.type.getClassLoader()).define(name.replace('/', '.'),
+                        writer.toByteArray());
+                proxyLookup = MethodHandles.publicLookup();
+            }
+            this.constructors = new MethodHandle[parameters.length];
+            this.defaults = new Object[parameters.length][];
+            for (int i = 0; i < parameters.length; i++) {
+                final Class<?>[] types = new Class<?>[parameters[i].length + 2];
+                types[0] = DirectInterceptor.class;
+                types[1] = Object.class;
+                System.arraycopy(parameters[i], 0, types, 2, parameters[i].length);
+                final MethodHandle handle = proxyLookup.findConstructor(proxyClass,
+                        MethodType.methodType(void.class, types));
+                constructors[i] = handle.asType(handle.type().generic()).asSpreader(Object[].class, types.length);
+                defaults[i] = ClassKit.getDefaultValues(parameters[i]);
+            }
+        } catch (final ReflectiveOperationException e) {
+            throw new InternalException(e);
+        }
+        Logger.debug(
+                false,
+                "Proxy",
+                "Direct proxy class generated: targetClass={}, proxyClass={}, methodCount={}, advisedCount={}",
+                layout.type.getName(),
+                proxyClass.getName(),
+                methods.length,
+                advised.cardinality());
+    }
+
+    /**
+     * Returns the proxy class for the given target class and aspect, generating it on first use.
+     *
+     * @param type   the target class
+     * @param aspect the aspect
+     * @return the blueprint
+     */
+    static Blueprint of(final Class<?> type, final Aspect aspect) {
+        final Layout layout = LAYOUTS.get(type);
+        final BitSet advised = new BitSet(layout.methods.length);
+        for (int i = 0; i < layout.methods.length; i++) {
+            if (aspect.advises(layout.methods[i])) {
+                advised.set(i);
+            }
+        }
+        return layout.blueprints.computeIfAbsent(advised, key -> new Blueprint(layout, key));
+    }
+
+    /**
+     * Creates a proxy instance. In subclass mode the superclass constructors are tried in turn with default argument
+     * values, and the first that succeeds is remembered.
+     *
+     * @param <T>    the target type
+     * @param target the target
+     * @param aspect the aspect
+     * @return the proxy
+     */
+    <T> T newInstance(final T target, final Aspect aspect) {
+        final DirectInterceptor interceptor = new DirectInterceptor(target, aspect, methods, invokers);
+        final int known = chosen;
+        if (known >= 0) {
+            return create(known, interceptor, target);
+        }
+        RuntimeException failure = null;
+        for (int i = 0; i < constructors.length; i++) {
+            try {
+                final T proxy = create(i, interceptor, target);
+                chosen = i;
+                return proxy;
+            } catch (final RuntimeException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        throw new IllegalArgumentException("No constructor could be used for creating a proxy for " + layout.type);
+    }
+
+    /**
+     * Invokes one proxy constructor.
+     *
+     * @param <T>         the target type
+     * @param index       the constructor index
+     * @param interceptor the dispatcher
+     * @param target      the target
+     * @return the proxy
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T create(final int index, final DirectInterceptor interceptor, final Object target) {
+        final Object[] values = new Object[defaults[index].length + 2];
+        values[0] = interceptor;
+        values[1] = target;
+        System.arraycopy(defaults[index], 0, values, 2, defaults[index].length);
+        try {
+            return (T) (Object) constructors[index].invokeExact(values);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Writes a constructor that calls the given superclass constructor and stores the dispatcher and target.
+     *
+     * @param writer     the class writer
+     * @param name       the proxy class name
+     * @param superclass the superclass
+     * @param parameters the superclass constructor parameters
+     */
+    private static void constructor(final ClassWriter writer, final String name, final Class<?> superclass,
+            final Class<?>[] parameters) {
+        int slots = 0;
+        for (final Class<?> parameter : parameters) {
+            slots += ClassWriter.slots(parameter);
+        }
+        final ClassWriter.Code code = new ClassWriter.Code(slots + 2, slots + 3).op(0x2A);
+        int slot = 3;
+        for (final Class<?> parameter : parameters) {
+            code.load(parameter, slot);
+            slot += ClassWriter.slots(parameter);
+        }
+        final String superDescriptor = MethodType.methodType(void.class, parameters).toMethodDescriptorString();
+        code.op(0xB7, writer.method(ClassWriter.internal(superclass), "<init>", superDescriptor, false));
+        code.op(0x2A).op(0x2B)
+                .op(0xB5, writer.field(name, INTERCEPTOR_FIELD, DirectInterceptor.class.descriptorString()));
+        code.op(0x2A).op(0x2C).op(0xB5, writer.field(name, TARGET_FIELD, OBJECT));
+        code.op(0xB1);
+        writer.define(ClassWriter.PUBLIC, "<init>",
+                "(" + DirectInterceptor.class.descriptorString() + OBJECT + superDescriptor.substring(1), code);
+    }
+
+    /**
+     * Writes a stub that invokes the method on the target directly.
+     *
+     * @param writer the class writer
+     * @param name   the proxy class name
+     * @param owner  the class or interface the method is invoked through
+     * @param method the method
+     */
+    private static void direct(final ClassWriter writer, final String name, final Class<?> owner,
+            final Method method) {
+        final Class<?>[] parameters = method.getParameterTypes();
+        final int slots = slots(parameters);
+        final String descriptor = descriptor(method);
+        final ClassWriter.Code code = new ClassWriter.Code(slots + 2, slots + 1);
+        code.op(0x2A).op(0xB4, writer.field(name, TARGET_FIELD, OBJECT))
+                .op(0xC0, writer.type(ClassWriter.internal(owner)));
+        int slot = 1;
+        for (final Class<?> parameter : parameters) {
+            code.load(parameter, slot);
+            slot += ClassWriter.slots(parameter);
+        }
+        final String ownerName = ClassWriter.internal(owner);
+        if (owner.isInterface()) {
+            code.invokeinterface(writer.method(ownerName, method.getName(), descriptor, true), slots + 1);
+        } else {
+            code.op(0xB6, writer.method(ownerName, method.getName(), descriptor, false));
+        }
+        code.ret(method.getReturnType());
+        writer.define(ClassWriter.PUBLIC, method.getName(), descriptor, code);
+    }
+
+    /**
+     * Writes a stub that boxes the arguments and calls the dispatcher with the method's stub index.
+     *
+     * @param writer the class writer
+     * @param name   the proxy class name
+     * @param index  the stub index
+     * @param method the method
+     */
+    private static void advised(final ClassWriter writer, final String name, final int index, final Method method) {
+        final Class<?>[] parameters = method.getParameterTypes();
+        final ClassWriter.Code code = new ClassWriter.Code(8, slots(parameters) + 1);
+        code.op(0x2A).op(0xB4, writer.field(name, INTERCEPTOR_FIELD, DirectInterceptor.class.descriptorString()));
+        code.push(writer, index).push(writer, parameters.length).op(0xBD, writer.type("java/lang/Object"));
+        int slot = 1;
+        for (int i = 0; i < parameters.length; i++) {
+            code.op(0x59).push(writer, i).load(parameters[i], slot);
+            box(writer, code, parameters[i]);
+            code.op(0x53);
+            slot += ClassWriter.slots(parameters[i]);
+        }
+        code.op(0xB6, writer.method(INTERCEPTOR, "dispatch", "(I[Ljava/lang/Object;)Ljava/lang/Object;", false));
+        final Class<?> returnType = method.getReturnType();
+        if (returnType == void.class) {
+            code.op(0x57);
+        } else if (returnType.isPrimitive()) {
+            final String unbox = "as" + Character.toUpperCase(returnType.getName().charAt(0))
+                    + returnType.getName().substring(1);
+            code.op(0xB8,
+                    writer.method(INTERCEPTOR, unbox, "(Ljava/lang/Object;)" + returnType.descriptorString(), false));
+        } else if (returnType != Object.class) {
+            code.op(0xC0, writer.type(ClassWriter.internal(returnType)));
+        }
+        code.ret(returnType);
+        writer.define(ClassWriter.PUBLIC, method.getName(), descriptor(method), code);
+    }
+
+    /**
+     * Boxes the primitive value on top of the stack.
+     *
+     * @param writer the class writer
+     * @param code   the method body
+     * @param type   the value type
+     */
+    private static void box(final ClassWriter writer, final ClassWriter.Code code, final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return;
+        }
+        final Class<?> wrapper = MethodType.methodType(type).wrap().returnType();
+        final String owner = ClassWriter.internal(wrapper);
+        code.op(0xB8, writer.method(owner, "valueOf", "(" + type.descriptorString() + ")L" + owner + ";", false));
+    }
+
+    /**
+     * Returns the binary name a proxy class name is derived from. Hidden classes, such as lambda classes, carry a
+     * {@code /0x...} suffix that is not part of a valid class name and is dropped.
+     *
+     * @param type the target class
+     * @return the binary name
+     */
+    private static String baseName(final Class<?> type) {
+        final String name = type.getName();
+        if (type.isHidden()) {
+            final int slash = name.lastIndexOf('/');
+            if (slash > 0) {
+                return name.substring(0, slash);
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Returns the number of local variable slots taken by the given parameters.
+     *
+     * @param parameters the parameter types
+     * @return the slot count
+     */
+    private static int slots(final Class<?>[] parameters) {
+        int slots = 0;
+        for (final Class<?> parameter : parameters) {
+            slots += ClassWriter.slots(parameter);
+        }
+        return slots;
+    }
+
+    /**
+     * Returns the JVM descriptor of a method.
+     *
+     * @param method the method
+     * @return the descriptor
+     */
+    private static String descriptor(final Method method) {
+        return MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString();
+    }
+
+    /**
+     * Creates the spread invoker of an advised method, typed {@code (Object, Object[])Object}.
+     *
+     * @param lookup the private lookup in the target's package, or {@code null}
+     * @param method the method
+     * @return the invoker
+     */
+    private static MethodHandle invoker(final MethodHandles.Lookup lookup, final Method method) {
+        MethodHandle handle = null;
+        if (lookup != null) {
+            try {
+                handle = lookup.unreflect(method);
+            } catch (final IllegalAccessException e) {
+                // Fall through to the public and reflective lookups.
+            }
+        }
+        try {
+            if (handle == null) {
+                handle = MethodHandles.publicLookup().unreflect(method);
+            }
+        } catch (final IllegalAccessException e) {
+            try {
+                handle = MethodHandles.lookup().unreflect(ReflectKit.setAccessible(method));
+            } catch (final IllegalAccessException ex) {
+                throw new InternalException(ex);
+            }
+        }
+        return handle.asType(handle.type().generic()).asSpreader(Object[].class, method.getParameterCount());
+    }
+
+    /**
+     * The proxiable shape of a target class, shared by all proxy classes generated for it.
+     */
+    private static final class Layout {
+
+        /**
+         * The target class.
+         */
+        final Class<?> type;
+
+        /**
+         * Private lookup in the target's package, or {@code null} when the package is not open to this module.
+         */
+        final MethodHandles.Lookup lookup;
+
+        /**
+         * Whether the proxy subclasses the target class rather than implementing its interfaces.
+         */
+        final boolean subclass;
+
+        /**
+         * Implemented interfaces in interface mode.
+         */
+        final Class<?>[] interfaces;
+
+        /**
+         * Superclass constructor parameter lists in subclass mode.
+         */
+        final Class<?>[][] constructors;
+
+        /**
+         * Proxied methods by stub index.
+         */
+        final Method[] methods;
+
+        /**
+         * The class or interface each method is invoked through.
+         */
+        final Class<?>[] owners;
+
+        /**
+         * Generated proxy classes by advised stub indexes.
+         */
+        final Map<BitSet, Blueprint> blueprints = new ConcurrentHashMap<>();
+
+        /**
+         * Computes the layout of a target class.
+         *
+         * @param type the target class
+         */
+        Layout(final Class<?> type) {
+            this.type = type;
+            this.lookup = lookup(type);
+            final Set<Class<?>> found = new LinkedHashSet<>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (final Class<?> candidate : current.getInterfaces()) {
+                    interfaces(found, candidate);
+                }
+            }
+            // Targets with interfaces keep the interface proxy semantics and never run a constructor
+            final List<Class<?>[]> usable = new ArrayList<>();
+            if (found.isEmpty() && subclassable(type)) {
+                for (final Constructor<?> constructor : type.getDeclaredConstructors()) {
+                    final int modifiers = constructor.getModifiers();
+                    if (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)
+                            || (lookup != null && !Modifier.isPrivate(modifiers))) {
+                        usable.add(constructor.getParameterTypes());
+                    }
+                }
+            }
+            final Map<String, Method> methods = new TreeMap<>();
+            final Map<String, Class<?>> owners = new TreeMap<>();
+            this.subclass = !usable.isEmpty() && overridable(methods, owners);
+            this.constructors = subclass ? usable.toArray(new Class<?>[0][]) : new Class<?>[0][];
+            if (subclass) {
+                this.interfaces = new Class<?>[0];
+            } else {
+                methods.clear();
+                owners.clear();
+                this.interfaces = found.toArray(new Class<?>[0]);
+                if (interfaces.length == 0) {
+                    throw new IllegalArgumentException("Class " + type.getName()
+                            + " implements no accessible interface and cannot be subclassed with all its instance"
+                            + " methods delegated");
+                }
+                for (final Class<?> candidate : interfaces) {
+                    for (final Method method : candidate.getMethods()) {
+                        collect(methods, owners, candidate, method);
+                    }
+                }
+                for (final Method method : Object.class.getMethods()) {
+                    collect(methods, owners, Object.class, method);
+                }
+            }
+            this.methods = methods.values().toArray(new Method[0]);
+            this.owners = owners.values().toArray(new Class<?>[0]);
+        }
+
+        /**
+         * Collects every instance method of the target class for subclass mode. Subclass mode is only safe when each
+         * of them is overridden and delegated, since any method left to the proxy itself would run against the proxy's
+         * own, default-constructed state.
+         *
+         * @param methods the methods by signature
+         * @param owners  the owners by signature
+         * @return {@code false} if some instance method cannot be overridden or invoked on the target
+         */
+        private boolean overridable(final Map<String, Method> methods, final Map<String, Class<?>> owners) {
+            for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+                for (final Method method : current.getDeclaredMethods()) {
+                    final int modifiers = method.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers) || method.isBridge()
+                            || method.isSynthetic()) {
+                        continue;
+                    }
+                    final String key = method.getName() + descriptor(method);
+                    if (methods.containsKey(key)) {
+                        // Overridden further down the hierarchy
+                        continue;
+                    }
+                    if (Modifier.isFinal(modifiers) || !delegable(method)) {
+                        return false;
+                    }
+                    methods.put(key, method);
+                    owners.put(key, type);
+                }
+            }
+            // Default methods and the public methods of Object
+            for (final Method method : type.getMethods()) {
+                final String key = method.getName() + descriptor(method);
+                if (methods.containsKey(key) || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                if (method.getDeclaringClass() == Object.class) {
+                    collect(methods, owners, type, method);
+                } else if (!delegable(method)) {
+                    return false;
+                } else {
+                    methods.put(key, method);
+                    owners.put(key, type);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns whether the proxy class can override the given method and invoke it on the target.
+         *
+         * @param method the method
+         * @return {@code true} when the method can be delegated
+         */
+        private boolean delegable(final Method method) {
+            if (!visible(method.getReturnType())) {
+                return false;
+            }
+            if (Modifier.isPublic(method.getModifiers())) {
+                return true;
+            }
+            // Protected and package-private methods are only reachable on the target from the same runtime package
+            final Class<?> owner = method.getDeclaringClass();
+            return lookup != null && owner.getPackageName().equals(type.getPackageName())
+                    && owner.getClassLoader() == type.getClassLoader();
+        }
+
+        /**
+         * Adds a method to the layout if it can be overridden and its return type can be named by the proxy.
+         *
+         * @param methods the methods by signature
+         * @param owners  the owners by signature
+         * @param owner   the class or interface the method is invoked through
+         * @param method  the candidate method
+         */
+        private void collect(final Map<String, Method> methods, final Map<String, Class<?>> owners,
+                final Class<?> owner, final Method method) {
+            final int modifiers = method.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || method.isBridge()
+                    || method.isSynthetic() || !visible(method.getReturnType())) {
+                return;
+            }
+            final String key = method.getName() + descriptor(method);
+            final Method existing = methods.get(key);
+            if (existing == null || existing.getDeclaringClass().isInterface()
+                    && !method.getDeclaringClass().isInterface()) {
+                methods.put(key, method);
+                owners.put(key, owner);
+            }
+        }
+
+        /**
+         * Adds an interface and its super-interfaces when the proxy can implement them.
+         *
+         * @param found     the interfaces found so far
+         * @param candidate the interface
+         */
+        private void interfaces(final Set<Class<?>> found, final Class<?> candidate) {
+            if (visible(candidate) && !candidate.isSealed() && !candidate.isHidden()) {
+                found.add(candidate);
+            }
+            for (final Class<?> parent : candidate.getInterfaces()) {
+                interfaces(found, parent);
+            }
+        }
+
+        /**
+         * Returns whether the generated class can name the given type.
+         *
+         * @param candidate the type
+         * @return {@code true} when accessible from the proxy class
+         */
+        private boolean visible(final Class<?> candidate) {
+            Class<?> component = candidate;
+            while (component.isArray()) {
+                component = component.getComponentType();
+            }
+            return component.isPrimitive() || Modifier.isPublic(component.getModifiers())
+                    || (lookup != null && component.getPackageName().equals(type.getPackageName())
+                            && component.getClassLoader() == type.getClassLoader());
+        }
+
+        /**
+         * Returns whether the target class itself can be extended by the proxy.
+         *
+         * @param type the target class
+         * @return {@code true} when subclassing is possible
+         */
+        private boolean subclassable(final Class<?> type) {
+            final int modifiers = type.getModifiers();
+            return !Modifier.isFinal(modifiers) && !type.isSealed() && !type.isHidden() && !type.isInterface()
+                    && !type.isArray() && !type.isPrimitive() && (lookup != null || Modifier.isPublic(modifiers));
+        }
+
+        /**
+         * Obtains a private lookup in the target's package when it is open to this module and the target's module can
+         * read this one, which generated hidden classes need to reach {@link DirectInterceptor}.
+         *
+         * @param type the target class
+         * @return the lookup, or {@code null}
+         */
+        private static MethodHandles.Lookup lookup(final Class<?> type) {
+            final Module module = type.getModule();
+            if (module.isNamed() && !module.canRead(Blueprint.class.getModule())) {
+                return null;
+            }
+            try {
+                return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            } catch (final IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+
+    }
+
+    /**
+     * Class loader for proxies of classes whose package is not open to this module.
+     */
+    private static final class Loader extends ClassLoader {
+
+        /**
+         * Creates a loader delegating to the target's class loader.
+         *
+         * @param parent the target's class loader, or {@code null} for the bootstrap loader
+         */
+        Loader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        /**
+         * Resolves the dispatcher from this module and everything else through the parent.
+         *
+         * @param name    the class name
+         * @param resolve whether to resolve the class
+         * @return the class
+         * @throws ClassNotFoundException if the class cannot be found
+         */
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (name.equals(DirectInterceptor.class.getName())) {
+                return DirectInterceptor.class;
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        /**
+         * Defines a proxy class.
+         *
+         * @param name  the binary class name
+         * @param bytes the class file
+         * @return the class
+         */
+        Class<?> define(final String name, final byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+
+    }
+
+}
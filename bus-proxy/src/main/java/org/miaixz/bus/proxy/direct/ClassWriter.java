@@ -0,0 +1,522 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.proxy.direct;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.miaixz.bus.core.lang.exception.InternalException;
+
+/**
+ * Minimal class file writer for the proxy stubs generated by {@link DirectProvider}. Generated methods never branch,
+ * so version 52 class files without stack map frames are sufficient, and the writer only supports the handful of
+ * constant pool entries and instructions the stubs use.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+final class ClassWriter {
+
+    /**
+     * {@code ACC_PUBLIC} access flag.
+     */
+    static final int PUBLIC = 0x0001;
+
+    /**
+     * {@code ACC_PRIVATE} access flag.
+     */
+    static final int PRIVATE = 0x0002;
+
+    /**
+     * {@code ACC_FINAL} access flag.
+     */
+    static final int FINAL = 0x0010;
+
+    /**
+     * {@code ACC_SUPER} class flag.
+     */
+    static final int SUPER = 0x0020;
+
+    /**
+     * Constant pool bytes.
+     */
+    private final ByteArrayOutputStream pool = new ByteArrayOutputStream(1024);
+
+    /**
+     * Constant pool writer.
+     */
+    private final DataOutputStream poolOut = new DataOutputStream(pool);
+
+    /**
+     * Constant pool indexes by entry key.
+     */
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    /**
+     * Field bytes.
+     */
+    private final ByteArrayOutputStream fieldBytes = new ByteArrayOutputStream(128);
+
+    /**
+     * Method bytes.
+     */
+    private final ByteArrayOutputStream methodBytes = new ByteArrayOutputStream(4096);
+
+    /**
+     * Class name entry.
+     */
+    private final int thisClass;
+
+    /**
+     * Superclass entry.
+     */
+    private final int superClass;
+
+    /**
+     * Interface entries.
+     */
+    private final int[] interfaces;
+
+    /**
+     * Next constant pool index.
+     */
+    private int next = 1;
+
+    /**
+     * Field count.
+     */
+    private int fields;
+
+    /**
+     * Method count.
+     */
+    private int methods;
+
+    /**
+     * Index of the {@code Code} attribute name, allocated on first use.
+     */
+    private int code;
+
+    /**
+     * Creates a writer for a public final class.
+     *
+     * @param name       the internal class name
+     * @param superName  the internal superclass name
+     * @param interfaces the internal interface names
+     */
+    ClassWriter(final String name, final String superName, final String[] interfaces) {
+        this.thisClass = type(name);
+        this.superClass = type(superName);
+        this.interfaces = new int[interfaces.length];
+        for (int i = 0; i < interfaces.length; i++) {
+            this.interfaces[i] = type(interfaces[i]);
+        }
+    }
+
+    /**
+     * Returns the internal name of a class, which for arrays is its descriptor.
+     *
+     * @param type the class
+     * @return the internal name
+     */
+    static String internal(final Class<?> type) {
+        return type.isArray() ? type.descriptorString() : type.getName().replace('.', '/');
+    }
+
+    /**
+     * Returns the number of local variable slots a value of the given type occupies.
+     *
+     * @param type the type
+     * @return {@code 2} for {@code long} and {@code double}, otherwise {@code 1}
+     */
+    static int slots(final Class<?> type) {
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    /**
+     * Returns the {@code CONSTANT_Utf8} entry for a string.
+     *
+     * @param value the string
+     * @return the pool index
+     */
+    int utf8(final String value) {
+        return entry("U" + value, out -> {
+            out.writeByte(1);
+            out.writeUTF(value);
+        });
+    }
+
+    /**
+     * Returns the {@code CONSTANT_Class} entry for an internal name.
+     *
+     * @param name the internal name
+     * @return the pool index
+     */
+    int type(final String name) {
+        final int utf = utf8(name);
+        return entry("C" + name, out -> {
+            out.writeByte(7);
+            out.writeShort(utf);
+        });
+    }
+
+    /**
+     * Returns the {@code CONSTANT_Integer} entry for a value.
+     *
+     * @param value the value
+     * @return the pool index
+     */
+    int integer(final int value) {
+        return entry("I" + value, out -> {
+            out.writeByte(3);
+            out.writeInt(value);
+        });
+    }
+
+    /**
+     * Returns a field reference entry.
+     *
+     * @param owner      the internal owner name
+     * @param name       the field name
+     * @param descriptor the field descriptor
+     * @return the pool index
+     */
+    int field(final String owner, final String name, final String descriptor) {
+        return member(9, owner, name, descriptor);
+    }
+
+    /**
+     * Returns a method reference entry.
+     *
+     * @param owner      the internal owner name
+     * @param name       the method name
+     * @param descriptor the method descriptor
+     * @param itf        whether the owner is an interface
+     * @return the pool index
+     */
+    int method(final String owner, final String name, final String descriptor, final boolean itf) {
+        return member(itf ? 11 : 10, owner, name, descriptor);
+    }
+
+    /**
+     * Declares a field.
+     *
+     * @param access     the access flags
+     * @param name       the field name
+     * @param descriptor the field descriptor
+     */
+    void declare(final int access, final String name, final String descriptor) {
+        final int nameIndex = utf8(name);
+        final int descriptorIndex = utf8(descriptor);
+        write(fieldBytes, out -> {
+            out.writeShort(access);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+            out.writeShort(0);
+        });
+        fields++;
+    }
+
+    /**
+     * Declares a method with the given body.
+     *
+     * @param access     the access flags
+     * @param name       the method name
+     * @param descriptor the method descriptor
+     * @param body       the bytecode
+     */
+    void define(final int access, final String name, final String descriptor, final Code body) {
+        final int nameIndex = utf8(name);
+        final int descriptorIndex = utf8(descriptor);
+        if (code == 0) {
+            code = utf8("Code");
+        }
+        final byte[] bytes = body.bytes.toByteArray();
+        write(methodBytes, out -> {
+            out.writeShort(access);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+            out.writeShort(1);
+            out.writeShort(code);
+            out.writeInt(12 + bytes.length);
+            out.writeShort(body.stack);
+            out.writeShort(body.locals);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            out.writeShort(0);
+            out.writeShort(0);
+        });
+        methods++;
+    }
+
+    /**
+     * Assembles the class file.
+     *
+     * @return the class file bytes
+     */
+    byte[] toByteArray() {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                    pool.size() + fieldBytes.size() + methodBytes.size() + 64);
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+            out.writeShort(next);
+            pool.writeTo(out);
+            out.writeShort(PUBLIC | FINAL | SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(interfaces.length);
+            for (final int index : interfaces) {
+                out.writeShort(index);
+            }
+            out.writeShort(fields);
+            fieldBytes.writeTo(out);
+            out.writeShort(methods);
+            methodBytes.writeTo(out);
+            out.writeShort(0);
+            return bytes.toByteArray();
+        } catch (final IOException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Returns a field or method reference entry.
+     *
+     * @param tag        the constant pool tag
+     * @param owner      the internal owner name
+     * @param name       the member name
+     * @param descriptor the member descriptor
+     * @return the pool index
+     */
+    private int member(final int tag, final String owner, final String name, final String descriptor) {
+        final int ownerIndex = type(owner);
+        final int nameIndex = utf8(name);
+        final int descriptorIndex = utf8(descriptor);
+        final int nameAndType = entry("N" + name + ' ' + descriptor, out -> {
+            out.writeByte(12);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+        });
+        return entry(tag + owner + '.' + name + descriptor, out -> {
+            out.writeByte(tag);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndType);
+        });
+    }
+
+    /**
+     * Returns the index of a constant pool entry, appending it on first use.
+     *
+     * @param key    the entry key
+     * @param writer the entry serializer
+     * @return the pool index
+     */
+    private int entry(final String key, final Output writer) {
+        final Integer index = indexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        try {
+            writer.write(poolOut);
+        } catch (final IOException e) {
+            throw new InternalException(e);
+        }
+        indexes.put(key, next);
+        return next++;
+    }
+
+    /**
+     * Appends member bytes.
+     *
+     * @param target the field or method buffer
+     * @param writer the member serializer
+     */
+    private static void write(final ByteArrayOutputStream target, final Output writer) {
+        try {
+            writer.write(new DataOutputStream(target));
+        } catch (final IOException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Serializer callback.
+     */
+    @FunctionalInterface
+    private interface Output {
+
+        /**
+         * Writes bytes.
+         *
+         * @param out the destination
+         * @throws IOException never for in-memory streams
+         */
+        void write(DataOutputStream out) throws IOException;
+
+    }
+
+    /**
+     * Straight-line method body.
+     */
+    static final class Code {
+
+        /**
+         * Instruction bytes.
+         */
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+
+        /**
+         * Maximum operand stack depth.
+         */
+        private final int stack;
+
+        /**
+         * Number of local variable slots.
+         */
+        private final int locals;
+
+        /**
+         * Creates a body.
+         *
+         * @param stack  the maximum operand stack depth, may be an over-estimate
+         * @param locals the number of local variable slots
+         */
+        Code(final int stack, final int locals) {
+            this.stack = stack;
+            this.locals = locals;
+        }
+
+        /**
+         * Appends an instruction without operands.
+         *
+         * @param opcode the opcode
+         * @return this body
+         */
+        Code op(final int opcode) {
+            bytes.write(opcode);
+            return this;
+        }
+
+        /**
+         * Appends an instruction with a two-byte constant pool operand.
+         *
+         * @param opcode the opcode
+         * @param index  the pool index
+         * @return this body
+         */
+        Code op(final int opcode, final int index) {
+            bytes.write(opcode);
+            bytes.write(index >>> 8);
+            bytes.write(index);
+            return this;
+        }
+
+        /**
+         * Appends an {@code invokeinterface} instruction.
+         *
+         * @param index the interface method reference
+         * @param slots the argument slots including the receiver
+         * @return this body
+         */
+        Code invokeinterface(final int index, final int slots) {
+            op(0xB9, index);
+            bytes.write(slots);
+            bytes.write(0);
+            return this;
+        }
+
+        /**
+         * Loads a local variable.
+         *
+         * @param type the variable type
+         * @param slot the variable slot
+         * @return this body
+         */
+        Code load(final Class<?> type, final int slot) {
+            final int opcode;
+            if (!type.isPrimitive()) {
+                opcode = 0x19;
+            } else if (type == long.class) {
+                opcode = 0x16;
+            } else if (type == float.class) {
+                opcode = 0x17;
+            } else if (type == double.class) {
+                opcode = 0x18;
+            } else {
+                opcode = 0x15;
+            }
+            bytes.write(opcode);
+            bytes.write(slot);
+            return this;
+        }
+
+        /**
+         * Returns a value of the given type.
+         *
+         * @param type the return type
+         * @return this body
+         */
+        Code ret(final Class<?> type) {
+            if (type == void.class) {
+                return op(0xB1);
+            }
+            if (!type.isPrimitive()) {
+                return op(0xB0);
+            }
+            if (type == long.class) {
+                return op(0xAD);
+            }
+            if (type == float.class) {
+                return op(0xAE);
+            }
+            return op(type == double.class ? 0xAF : 0xAC);
+        }
+
+        /**
+         * Pushes an int constant.
+         *
+         * @param writer the class writer owning the constant pool
+         * @param value  the value
+         * @return this body
+         */
+        Code push(final ClassWriter writer, final int value) {
+            if (value >= -1 && value <= 5) {
+                return op(0x03 + value);
+            }
+            if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                bytes.write(0x10);
+                bytes.write(value);
+                return this;
+            }
+            if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                return op(0x11, value & 0xFFFF);
+            }
+            return op(0x13, writer.integer(value));
+        }
+
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.proxy.direct;
+
+import java.io.Serial;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+
+import org.miaixz.bus.proxy.Aspect;
+import org.miaixz.bus.proxy.invoker.Interceptor;
+
+/**
+ * Runtime dispatcher behind proxies generated by {@link DirectProvider}. Each advised method of a generated proxy calls
+ * {@link #dispatch(int, Object[])} with its own constant index, so the {@link Method} and the bound
+ * {@link MethodHandle} invoker are plain array reads rather than lookups, and the target is invoked without
+ * {@link Method#invoke}. Methods the aspect does not advise never reach this class.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class DirectInterceptor extends Interceptor {
+
+    @Serial
+    private static final long serialVersionUID = 2852260463131L;
+
+    /**
+     * Proxied methods by stub index.
+     */
+    private final transient Method[] methods;
+
+    /**
+     * Invokers by stub index, typed {@code (Object, Object[])Object}.
+     */
+    private final transient MethodHandle[] invokers;
+
+    /**
+     * Constructs a new {@code DirectInterceptor}.
+     *
+     * @param target   The object to be proxied.
+     * @param aspect   The aspect implementation containing the advice logic.
+     * @param methods  The proxied methods by stub index.
+     * @param invokers The invokers by stub index.
+     */
+    DirectInterceptor(final Object target, final Aspect aspect, final Method[] methods,
+            final MethodHandle[] invokers) {
+        super(target, aspect);
+        this.methods = methods;
+        this.invokers = invokers;
+    }
+
+    /**
+     * Applies the before, after and after-throwing advice around the target method with the given stub index. Called
+     * by generated proxy classes only.
+     *
+     * @param index The stub index of the invoked method.
+     * @param args  The arguments passed to the method.
+     * @return The value to return from the proxy method.
+     * @throws Throwable The exception thrown by the target method when the aspect lets it propagate.
+     */
+    public Object dispatch(final int index, final Object[] args) throws Throwable {
+        final Object target = this.target;
+        final Aspect aspect = this.aspect;
+        final Method method = methods[index];
+        Object result = null;
+        if (aspect.before(target, method, args)) {
+            try {
+                result = invokers[index].invokeExact(target, args);
+            } catch (final Throwable e) {
+                if (aspect.afterException(target, method, args, e)) {
+                    throw e;
+                }
+            }
+            if (aspect.after(target, method, args, result)) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Converts a dispatch result to {@code boolean}, mapping {@code null} to {@code false}.
+     *
+     * @param value The dispatch result.
+     * @return The primitive value.
+     */
+    public static boolean asBoolean(final Object value) {
+        return value != null && (Boolean) value;
+    }
+
+    /**
+     * Converts a dispatch result to {@code char}, mapping {@code null} to zero.
+     *
+     * @param value The dispatch result.
+     * @return The primitive value.
+     */
+    public static char asChar(final Object value) {
+        return value == null ? 0 : (Character) value;
+    }
+
+    /**
+     * Converts a dispatch result to {@code byte}, mapping {@code null} to zero.
+     *
+     * @param value The dispatch result.
+     * @return The primitive value.
+     */
+    public static byte asByte(final Object value) {
+        return value == null ? 0 : ((Number) value).byteValue();
+    }
+
+    /**
+     * Converts a dispatch result to {@code short}, mapping {@code null} to zero.
+     *
+     * @param value The dispatch result.
+     * @return The primitive value.
+     */
+    public static short asShort(final Object value) {
+        return value == null ? 0 : ((Number) value).shortValue();
+    }
+
+    /**
+     * Converts a dispatch result to {@code int}, mapping {@code null} to zero.
+     *
+     * @param value The dispatch result.
+     * @return The primitive value.
+     */
+    public static int asInt(final Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+    /**
+     * Converts a dispatch result to {@code long}, mapping {@code null} to zero.
+     *
+     * @param value The dispatch result.
+     * @return The primitive value.
+     */
+    public static long asLong(final Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    /**
+     * Converts a dispatch result to {@code float}, mapping {@code null} to zero.
+     *
+     * @param value The dispatch result.
+     * @return The primitive value.
+     */
+    public static float asFloat(final Object value) {
+        return value == null ? 0F : ((Number) value).floatValue();
+    }
+
+    /**
+     * Converts a dispatch result to {@code double}, mapping {@code null} to zero.
+     *
+     * @param value The dispatch result.
+     * @return The primitive value.
+     */
+    public static double asDouble(final Object value) {
+        return value == null ? 0D : ((Number) value).doubleValue();
+    }
+
+}
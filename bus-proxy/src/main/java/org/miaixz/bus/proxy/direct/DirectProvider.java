@@ -0,0 +1,76 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.proxy.direct;
+
+import org.miaixz.bus.logger.Logger;
+import org.miaixz.bus.proxy.Aspect;
+import org.miaixz.bus.proxy.Provider;
+
+/**
+ * A proxy provider that generates proxy classes at runtime. Targets implementing interfaces are proxied through those
+ * interfaces like JDK proxies; other non-final classes are proxied by subclassing, so targets need not implement an
+ * interface. Methods the aspect advises, as reported by {@link Aspect#advises(java.lang.reflect.Method)}, dispatch
+ * through bound method handles instead of {@link java.lang.reflect.Method#invoke}, and methods it does not advise cost
+ * a direct call on the target. Proxy classes are generated once per target class and set of advised methods.
+ * <p>
+ * Subclassing is only used for targets without interfaces, and only when every instance method of the target class can
+ * be overridden and delegated to the target. As with any subclassing proxy, a superclass constructor then still runs
+ * once per proxy, with default argument values.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class DirectProvider implements Provider {
+
+    /**
+     * Constructs a new DirectProvider instance.
+     */
+    public DirectProvider() {
+        // No initialization required.
+    }
+
+    /**
+     * Creates a proxy object for the given target, applying the specified aspect.
+     *
+     * @param <T>    The type of the target object.
+     * @param target The object to be proxied.
+     * @param aspect The aspect implementation containing the advice logic.
+     * @return The proxied object.
+     */
+    @Override
+    public <T> T proxy(final T target, final Aspect aspect) {
+        final Class<?> targetClass = target.getClass();
+        Logger.debug(
+                true,
+                "Proxy",
+                "Direct proxy creation started: targetClass={}, aspectClass={}",
+                targetClass.getName(),
+                aspect == null ? null : aspect.getClass().getName());
+        final T proxy = Blueprint.of(targetClass, aspect).newInstance(target, aspect);
+        Logger.debug(
+                false,
+                "Proxy",
+                "Direct proxy creation completed: targetClass={}, proxyClass={}",
+                targetClass.getName(),
+                proxy == null ? null : proxy.getClass().getName());
+        return proxy;
+    }
+
+}
@@ -69,6 +69,16 @@ public class JdkInterceptor extends Interceptor implements InvocationHandler {
         final Aspect aspect = this.aspect;
         Object result = null;
 
+        // Methods without advice go straight to the target
+        if (!aspect.advises(method)) {
+            ReflectKit.setAccessible(method);
+            try {
+                return method.invoke(ModifierKit.isStatic(method) ? null : target, args);
+            } catch (final InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
         // "Before" advice
         if (aspect.before(target, method, args)) {
             Logger.debug(
@@ -69,6 +69,11 @@ public class SpringCglibInterceptor extends Interceptor implements MethodInterce
         final Object target = this.target;
         Object result = null;
 
+        // Methods without advice go straight to the target
+        if (!aspect.advises(method)) {
+            return proxy.invoke(target, args);
+        }
+
         // "Before" advice
         if (aspect.before(target, method, args)) {
             Logger.debug(
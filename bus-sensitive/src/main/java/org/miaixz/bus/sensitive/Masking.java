@@ -0,0 +1,528 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.sensitive;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.*;
+import java.util.function.Supplier;
+
+import org.miaixz.bus.core.center.map.reference.WeakConcurrentMap;
+import org.miaixz.bus.core.lang.exception.InternalException;
+import org.miaixz.bus.core.xyz.*;
+import org.miaixz.bus.sensitive.magic.annotation.Condition;
+import org.miaixz.bus.sensitive.magic.annotation.Entry;
+import org.miaixz.bus.sensitive.magic.annotation.Shield;
+import org.miaixz.bus.sensitive.magic.annotation.Strategy;
+import org.miaixz.bus.sensitive.nimble.BuiltInProvider;
+import org.miaixz.bus.sensitive.nimble.ConditionProvider;
+import org.miaixz.bus.sensitive.nimble.StrategyProvider;
+
+/**
+ * A compiled, per-class masking plan used for JSON output.
+ * <p>
+ * The plan is built once per class: fields are made accessible up front and the {@link Shield}, {@link Condition} and
+ * {@link Strategy} annotation lookup that {@link Provider} repeats on every call is done at build time. Applying a plan
+ * never mutates or deep-clones the source; beans are shallow-copied only when one of their fields actually changes, so
+ * the result shares every untouched object with the source graph and can be handed directly to any JSON engine.
+ * <p>
+ * Custom condition and strategy classes may keep state, so, as in {@link Provider}, a fresh instance is created for
+ * every masked value; only the built-in strategies of the {@link Registry} are shared.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public final class Masking {
+
+    /**
+     * Compiled plans keyed by class; keys and plans are held weakly, so a plan never keeps its class or class loader
+     * reachable and is simply compiled again after being collected.
+     */
+    private static final Map<Class<?>, Masking> PLANS = new WeakConcurrentMap<>();
+
+    /**
+     * Condition used when an annotation declares the default {@link ConditionProvider} type.
+     */
+    private static final ConditionProvider ALWAYS = new ConditionProvider() {
+    };
+
+    /**
+     * Marker for fields whose value is left unchanged.
+     */
+    private static final Object SAME = new Object();
+
+    /**
+     * The planned class.
+     */
+    private final Class<?> type;
+
+    /**
+     * All non-static fields, used for shallow copies and exposed to strategies via {@link Context#getAllFieldList()}.
+     */
+    private final List<Field> fields;
+
+    /**
+     * Fields that may change the serialized value.
+     */
+    private final Slot[] slots;
+
+    /**
+     * The no-arg or canonical record constructor used for shallow copies, or {@code null} to fall back to a deep clone.
+     */
+    private final Constructor<?> constructor;
+
+    /**
+     * Compiles the plan of a class.
+     *
+     * @param type The class to plan.
+     */
+    private Masking(Class<?> type) {
+        this.type = type;
+        List<Field> all = new ArrayList<>();
+        List<Slot> planned = new ArrayList<>();
+        for (Field field : FieldKit.getFields(type)) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            all.add(field);
+            Slot slot = Slot.of(field);
+            if (slot != null) {
+                planned.add(slot);
+            }
+        }
+        this.fields = Collections.unmodifiableList(all);
+        this.slots = planned.toArray(new Slot[0]);
+        this.constructor = this.slots.length == 0 ? null : constructor(type);
+        if (this.slots.length > 0) {
+            for (Field field : all) {
+                field.setAccessible(true);
+            }
+        }
+    }
+
+    /**
+     * Returns the compiled plan of a class, building it on first use.
+     *
+     * @param type The class to plan.
+     * @return The plan.
+     */
+    public static Masking of(Class<?> type) {
+        return PLANS.computeIfAbsent(type, Masking::new);
+    }
+
+    /**
+     * Returns the masked view of an object.
+     *
+     * @param source The object to mask.
+     * @param names  The field names to consider, or {@code null} to consider every field.
+     * @return The source itself when nothing changes, otherwise a structurally shared copy with masked values.
+     */
+    public static Object apply(Object source, Set<String> names) {
+        if (source == null) {
+            return null;
+        }
+        return of(source.getClass()).apply(source, names, new Context());
+    }
+
+    /**
+     * Applies this plan to an instance of the planned class.
+     *
+     * @param source  The object to mask.
+     * @param names   The field names to consider, or {@code null} for every field.
+     * @param context The context shared with strategies and conditions.
+     * @return The source or a masked copy.
+     */
+    private Object apply(Object source, Set<String> names, Context context) {
+        if (slots.length == 0) {
+            return source;
+        }
+        Object[] replaced = null;
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                Slot slot = slots[i];
+                if (names != null && !names.contains(slot.field.getName())) {
+                    continue;
+                }
+                Object value = slot.field.get(source);
+                Object masked = slot.apply(this, source, value, names, context);
+                if (masked != value) {
+                    if (replaced == null) {
+                        replaced = new Object[slots.length];
+                        Arrays.fill(replaced, SAME);
+                    }
+                    replaced[i] = masked;
+                }
+            }
+            return replaced == null ? source : copy(source, replaced);
+        } catch (IllegalAccessException e) {
+            throw new InternalException("Field access failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates a shallow copy of the source carrying the replaced slot values.
+     *
+     * @param source   The source object.
+     * @param replaced Replacement values aligned with {@link #slots}, {@link #SAME} where unchanged.
+     * @return The copy.
+     * @throws IllegalAccessException If a field cannot be accessed.
+     */
+    private Object copy(Object source, Object[] replaced) throws IllegalAccessException {
+        if (constructor == null) {
+            Object copy = Provider.clone(source);
+            assign(copy, replaced);
+            return copy;
+        }
+        try {
+            if (type.isRecord()) {
+                Object[] values = new Object[fields.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = fields.get(i).get(source);
+                }
+                for (int i = 0; i < slots.length; i++) {
+                    if (replaced[i] != SAME) {
+                        values[fields.indexOf(slots[i].field)] = replaced[i];
+                    }
+                }
+                return constructor.newInstance(values);
+            }
+            Object copy = constructor.newInstance();
+            for (Field field : fields) {
+                field.set(copy, field.get(source));
+            }
+            assign(copy, replaced);
+            return copy;
+        } catch (ReflectiveOperationException e) {
+            throw new InternalException("Masked copy failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the replaced slot values into a copy.
+     *
+     * @param copy     The copy to update.
+     * @param replaced Replacement values aligned with {@link #slots}.
+     * @throws IllegalAccessException If a field cannot be written.
+     */
+    private void assign(Object copy, Object[] replaced) throws IllegalAccessException {
+        for (int i = 0; i < slots.length; i++) {
+            if (replaced[i] != SAME) {
+                slots[i].field.set(copy, replaced[i]);
+            }
+        }
+    }
+
+    /**
+     * Finds the constructor used for shallow copies.
+     *
+     * @param type The planned class.
+     * @return The canonical constructor of a record, the no-arg constructor of a class, or {@code null} if neither is
+     *         usable.
+     */
+    private static Constructor<?> constructor(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.isRecord()
+                    ? type.getDeclaredConstructor(
+                            Arrays.stream(type.getRecordComponents()).map(RecordComponent::getType)
+                                    .toArray(Class<?>[]::new))
+                    : type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks if an element type is a complex type that needs recursive handling.
+     *
+     * @param type The element class.
+     * @return {@code true} if elements of this type are masked through their own plan.
+     */
+    private static boolean nested(Class<?> type) {
+        return (TypeKit.isJavaBean(type) || TypeKit.isArray(type) || TypeKit.isCollection(type))
+                && !TypeKit.isBase(type) && !TypeKit.isMap(type);
+    }
+
+    /**
+     * How a planned field is processed.
+     */
+    private enum Kind {
+
+        /**
+         * A scalar value masked by a strategy.
+         */
+        VALUE,
+
+        /**
+         * A nested bean masked through its own plan.
+         */
+        BEAN,
+
+        /**
+         * An object array whose elements are masked.
+         */
+        ARRAY,
+
+        /**
+         * A collection whose elements are masked.
+         */
+        COLLECTION
+
+    }
+
+    /**
+     * A planned field with the factories of its conditions and strategies.
+     *
+     * @param field           The accessible field.
+     * @param kind            How the field is processed.
+     * @param shield          The {@link Shield} annotation, or {@code null}.
+     * @param shieldCondition Creates the condition of the shield, or {@code null}.
+     * @param shieldStrategy  Creates the strategy of the shield, or {@code null}.
+     * @param condition       Creates the condition resolved from meta-annotations, or {@code null}.
+     * @param strategy        Creates the strategy resolved from meta-annotations, or {@code null}.
+     */
+    private record Slot(Field field, Kind kind, Shield shield, Supplier<ConditionProvider> shieldCondition,
+            Supplier<StrategyProvider> shieldStrategy, Supplier<ConditionProvider> condition,
+            Supplier<StrategyProvider> strategy) {
+
+        /**
+         * Plans a field.
+         *
+         * @param field The field.
+         * @return The slot, or {@code null} if the field can never change the output.
+         */
+        static Slot of(Field field) {
+            Annotation[] annotations = field.getAnnotations();
+            Shield shield = field.getAnnotation(Shield.class);
+            Supplier<ConditionProvider> shieldCondition = shield == null ? null : condition(shield.condition());
+            Supplier<StrategyProvider> shieldStrategy = shield == null ? null : create(shield.strategy());
+            Supplier<ConditionProvider> condition = null;
+            Supplier<StrategyProvider> strategy = null;
+            for (Annotation annotation : annotations) {
+                Condition marker = annotation.annotationType().getAnnotation(Condition.class);
+                if (marker != null) {
+                    condition = condition(marker.value());
+                    break;
+                }
+            }
+            for (Annotation annotation : annotations) {
+                Strategy marker = annotation.annotationType().getAnnotation(Strategy.class);
+                if (marker != null) {
+                    if (BuiltInProvider.class.equals(marker.value())) {
+                        StrategyProvider builtIn = Registry.require(annotation.annotationType());
+                        strategy = () -> builtIn;
+                    } else {
+                        strategy = create(marker.value());
+                    }
+                    break;
+                }
+            }
+
+            Class<?> type = field.getType();
+            Kind kind = Kind.VALUE;
+            if (field.getAnnotation(Entry.class) != null) {
+                if (TypeKit.isJavaBean(type)) {
+                    kind = Kind.BEAN;
+                } else if (TypeKit.isArray(type)) {
+                    kind = Kind.ARRAY;
+                } else if (TypeKit.isCollection(type)) {
+                    kind = Kind.COLLECTION;
+                }
+            }
+            if (kind == Kind.VALUE && shieldStrategy == null && strategy == null) {
+                return null;
+            }
+            return new Slot(field, kind, shield, shieldCondition, shieldStrategy, condition, strategy);
+        }
+
+        /**
+         * Returns the factory of a condition, reusing a shared instance for the default interface type.
+         *
+         * @param type The condition class.
+         * @return The condition factory.
+         */
+        static Supplier<ConditionProvider> condition(Class<? extends ConditionProvider> type) {
+            return ConditionProvider.class.equals(type) ? () -> ALWAYS : create(type);
+        }
+
+        /**
+         * Returns a factory creating a new instance of a condition or strategy class on every call.
+         *
+         * @param type The class to instantiate.
+         * @param <T>  The provider type.
+         * @return The factory.
+         */
+        static <T> Supplier<T> create(Class<? extends T> type) {
+            return () -> ReflectKit.newInstance(type);
+        }
+
+        /**
+         * Masks the value of this field.
+         *
+         * @param owner   The plan of the declaring object.
+         * @param source  The declaring object.
+         * @param value   The current field value.
+         * @param names   The field names to consider, or {@code null}.
+         * @param context The shared context.
+         * @return The masked value, or {@code value} itself when unchanged.
+         */
+        Object apply(Masking owner, Object source, Object value, Set<String> names, Context context) {
+            return switch (kind) {
+                case VALUE -> mask(owner, source, value, context);
+                case BEAN -> value == null ? null : Masking.of(value.getClass()).apply(value, names, context);
+                case ARRAY -> array(owner, source, value, names, context);
+                case COLLECTION -> collection(owner, source, value, names, context);
+            };
+        }
+
+        /**
+         * Applies the resolved strategy to a value, giving {@link Shield} precedence as {@link Provider} does.
+         *
+         * @param owner   The plan of the declaring object.
+         * @param source  The declaring object.
+         * @param value   The value to mask.
+         * @param context The shared context.
+         * @return The masked value.
+         */
+        Object mask(Masking owner, Object source, Object value, Context context) {
+            context.setAllFieldList(owner.fields);
+            context.setCurrentObject(source);
+            context.setCurrentField(field);
+            if (shieldStrategy != null && shieldCondition.get().valid(context)) {
+                context.setShield(shield);
+                return shieldStrategy.get().build(value, context);
+            }
+            if (strategy != null && (condition == null || condition.get().valid(context))) {
+                return strategy.get().build(value, context);
+            }
+            return value;
+        }
+
+        /**
+         * Masks one array or collection element, either through its own plan or with this field's strategy.
+         *
+         * @param owner   The plan of the declaring object.
+         * @param source  The declaring object.
+         * @param element The element.
+         * @param nested  Whether elements are masked through their own plan.
+         * @param names   The field names to consider, or {@code null}.
+         * @param context The shared context.
+         * @return The masked element.
+         */
+        Object element(
+                Masking owner,
+                Object source,
+                Object element,
+                boolean nested,
+                Set<String> names,
+                Context context) {
+            if (!nested) {
+                return mask(owner, source, element, context);
+            }
+            return element == null ? null : Masking.of(element.getClass()).apply(element, names, context);
+        }
+
+        /**
+         * Masks the elements of an object array.
+         *
+         * @param owner   The plan of the declaring object.
+         * @param source  The declaring object.
+         * @param value   The array.
+         * @param names   The field names to consider, or {@code null}.
+         * @param context The shared context.
+         * @return A new array when any element changed, otherwise {@code value}.
+         */
+        Object array(Masking owner, Object source, Object value, Set<String> names, Context context) {
+            if (!(value instanceof Object[] elements) || elements.length == 0) {
+                return value;
+            }
+            Object first = ArrayKit.firstNonNull(elements);
+            if (first == null) {
+                return value;
+            }
+            boolean nested = nested(first.getClass());
+            Object[] result = null;
+            for (int i = 0; i < elements.length; i++) {
+                Object element = elements[i];
+                Object masked = element(owner, source, element, nested, names, context);
+                if (masked != element && result == null) {
+                    result = (Object[]) Array.newInstance(
+                            nested ? elements.getClass().getComponentType() : first.getClass(),
+                            elements.length);
+                    System.arraycopy(elements, 0, result, 0, i);
+                }
+                if (result != null) {
+                    result[i] = masked;
+                }
+            }
+            return result == null ? value : result;
+        }
+
+        /**
+         * Masks the elements of a collection.
+         *
+         * @param owner   The plan of the declaring object.
+         * @param source  The declaring object.
+         * @param value   The collection.
+         * @param names   The field names to consider, or {@code null}.
+         * @param context The shared context.
+         * @return A new collection when any element changed, otherwise {@code value}.
+         */
+        Object collection(Masking owner, Object source, Object value, Set<String> names, Context context) {
+            if (!(value instanceof Collection<?> elements) || elements.isEmpty()) {
+                return value;
+            }
+            Object first = elements.iterator().next();
+            if (first == null) {
+                return value;
+            }
+            boolean nested = nested(first.getClass());
+            List<Object> masked = new ArrayList<>(elements.size());
+            boolean changed = false;
+            for (Object element : elements) {
+                Object result = element(owner, source, element, nested, names, context);
+                changed |= result != element;
+                masked.add(result);
+            }
+            if (!changed) {
+                return value;
+            }
+            if (field.getType().isAssignableFrom(ArrayList.class)) {
+                return masked;
+            }
+            if (field.getType().isAssignableFrom(LinkedHashSet.class)) {
+                return new LinkedHashSet<>(masked);
+            }
+            Collection<Object> copy = CastKit.cast(ReflectKit.newInstanceIfPossible(value.getClass()));
+            if (copy == null) {
+                throw new InternalException("Cannot copy collection of type " + value.getClass().getName());
+            }
+            copy.addAll(masked);
+            return copy;
+        }
+
+    }
+
+}
@@ -26,7 +26,9 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.miaixz.bus.core.lang.Symbol;
 import org.miaixz.bus.core.lang.exception.InternalException;
@@ -141,7 +143,8 @@ public class Provider<T> {
     }
 
     /**
-     * Serializes the object to a JSON string after applying desensitization.
+     * Serializes the object to a JSON string after applying desensitization. The object is masked through its compiled
+     * {@link Masking} plan, which copies only the beans whose values change instead of deep-cloning the whole graph.
      *
      * @param object     The object to process and serialize.
      * @param annotation The annotation providing context for the operation (e.g., {@link Sensitive}).
@@ -158,20 +161,17 @@ public class Provider<T> {
                 object.getClass().getName(),
                 annotation == null ? null : annotation.annotationType().getName());
 
-        if (ObjectKit.isNotEmpty(annotation)) {
-            Sensitive sensitive = (Sensitive) annotation;
-            this.value = sensitive.field();
+        Set<String> names = null;
+        if (ObjectKit.isNotEmpty(annotation) && ArrayKit.isNotEmpty(((Sensitive) annotation).field())) {
+            names = new HashSet<>(Arrays.asList(((Sensitive) annotation).field()));
         }
 
-        final Context context = new Context();
-        T copy = clone(object);
-        handleClassField(context, copy, copy.getClass());
-        String json = JsonKit.toJsonString(copy);
+        String json = JsonKit.toJsonString(Masking.apply(object, names));
         Logger.debug(
                 false,
                 "Sensitive",
                 "Sensitive JSON processing completed: objectClass={}, jsonChars={}",
-                copy.getClass().getName(),
+                object.getClass().getName(),
                 json == null ? 0 : json.length());
         return json;
     }
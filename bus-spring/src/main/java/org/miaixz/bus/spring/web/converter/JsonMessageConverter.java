@@ -162,7 +162,7 @@ public class JsonMessageConverter implements MessageConverterRegistrar {
         @Override
         public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
             try {
-                return provider.read(inputMessage.getBody().readAllBytes(), type, readOptions);
+                return provider.read(inputMessage.getBody(), type, readOptions);
             } catch (RuntimeException e) {
                 throw new HttpMessageNotReadableException("JSON deserialization failed", e, inputMessage);
             }
@@ -196,7 +196,7 @@ public class JsonMessageConverter implements MessageConverterRegistrar {
         protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage)
                 throws IOException, HttpMessageNotWritableException {
             try {
-                outputMessage.getBody().write(provider.write(value, writeOptions));
+                provider.write(value, writeOptions, outputMessage.getBody());
             } catch (RuntimeException e) {
                 throw new HttpMessageNotWritableException("JSON serialization failed", e);
             }
@@ -114,4 +114,16 @@ public class Context {
     @Builder.Default
     private long readTimeout = 30;
 
+    /**
+     * The part size in bytes used by providers that split stream uploads into multipart requests. Default is 8 MiB.
+     */
+    @Builder.Default
+    private long partSize = 8L * 1024 * 1024;
+
+    /**
+     * The maximum number of parts uploaded concurrently for a single multipart upload. Default is 4.
+     */
+    @Builder.Default
+    private int parallelism = 4;
+
 }
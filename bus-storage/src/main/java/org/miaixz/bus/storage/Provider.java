@@ -158,6 +158,34 @@ public interface Provider extends org.miaixz.bus.core.Provider, AutoCloseable {
         return Message.<Blob>builder().errcode(ErrorCode._113013.getKey()).errmsg(ErrorCode._113013.getValue()).build();
     }
 
+    /**
+     * Opens a ranged stream for a file in the specified bucket using the provider's normal key-building rules. Only
+     * the requested bytes are transferred; the object is never materialized in memory.
+     *
+     * @param bucket   The bucket or container name.
+     * @param fileName The file name or provider-level logical name.
+     * @param offset   The zero-based offset of the first byte to read.
+     * @param length   The number of bytes to read, or a negative value to read until the end of the object.
+     * @return A {@link Message} containing a stream resource when successful.
+     */
+    default Message<Blob> stream(String bucket, String fileName, long offset, long length) {
+        return Message.<Blob>builder().errcode(ErrorCode._113013.getKey()).errmsg(ErrorCode._113013.getValue()).build();
+    }
+
+    /**
+     * Opens a ranged stream for an exact storage object key. Only the requested bytes are transferred; the object is
+     * never materialized in memory.
+     *
+     * @param bucket    The bucket or container name.
+     * @param objectKey The exact object key stored by the backend.
+     * @param offset    The zero-based offset of the first byte to read.
+     * @param length    The number of bytes to read, or a negative value to read until the end of the object.
+     * @return A {@link Message} containing a stream resource when successful.
+     */
+    default Message<Blob> streamKey(String bucket, String objectKey, long offset, long length) {
+        return Message.<Blob>builder().errcode(ErrorCode._113013.getKey()).errmsg(ErrorCode._113013.getValue()).build();
+    }
+
     /**
      * Renames a file.
      *
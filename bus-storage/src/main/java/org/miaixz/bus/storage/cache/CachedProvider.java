@@ -0,0 +1,816 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.storage.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.miaixz.bus.core.basic.entity.Message;
+import org.miaixz.bus.core.lang.Assert;
+import org.miaixz.bus.core.lang.Normal;
+import org.miaixz.bus.core.lang.Symbol;
+import org.miaixz.bus.core.lang.exception.InternalException;
+import org.miaixz.bus.core.xyz.StringKit;
+import org.miaixz.bus.logger.Logger;
+import org.miaixz.bus.storage.Builder;
+import org.miaixz.bus.storage.Provider;
+import org.miaixz.bus.storage.magic.Blob;
+import org.miaixz.bus.storage.magic.ErrorCode;
+
+/**
+ * Read-through decorator that serves hot objects of any {@link Provider} from a local {@link DiskCache}.
+ * <p>
+ * Whole-object reads ({@code download} and {@code stream} by file name) are answered from disk when the object is
+ * cached. Once an entry is older than the freshness window it is revalidated with {@code stat}: an unchanged ETag (or,
+ * for backends without one, an unchanged size and modification time) keeps the cached body, anything else refetches
+ * it. Backends that cannot {@code stat} cannot be revalidated, so their entries are refetched once they are older than
+ * a time-to-live, on top of the invalidation performed by writes made through this decorator. Concurrent misses for
+ * the same object share one fetch, and file downloads are served with {@link FileChannel#transferTo} so cached bytes
+ * never pass through the heap. A cached body that disappears while being served, for instance because it was evicted
+ * by a concurrent store, is fetched again once.
+ * <p>
+ * Ranged reads, exact-key reads, listings and all writes go straight to the wrapped provider; writes additionally drop
+ * the affected cache entries.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class CachedProvider implements Provider {
+
+    /**
+     * Default time-to-live in milliseconds of entries whose backend cannot {@code stat}.
+     */
+    public static final long DEFAULT_TTL = 60_000L;
+
+    /**
+     * The wrapped provider.
+     */
+    private final Provider provider;
+
+    /**
+     * The local content store.
+     */
+    private final DiskCache cache;
+
+    /**
+     * Milliseconds during which a fetched or revalidated entry is served without contacting the backend.
+     */
+    private final long freshness;
+
+    /**
+     * Milliseconds after which an entry that cannot be revalidated, because the backend does not support
+     * {@code stat}, is fetched again.
+     */
+    private final long ttl;
+
+    /**
+     * Creates a cache that revalidates every hit with the backend.
+     *
+     * @param provider  The provider to decorate.
+     * @param directory The directory owned by the cache.
+     * @param capacity  The maximum number of content bytes kept on disk.
+     */
+    public CachedProvider(Provider provider, Path directory, long capacity) {
+        this(provider, directory, capacity, 0);
+    }
+
+    /**
+     * Creates a cache with a freshness window.
+     *
+     * @param provider  The provider to decorate.
+     * @param directory The directory owned by the cache.
+     * @param capacity  The maximum number of content bytes kept on disk.
+     * @param freshness Milliseconds during which cached entries are served without revalidation.
+     */
+    public CachedProvider(Provider provider, Path directory, long capacity, long freshness) {
+        this(provider, directory, capacity, freshness, Math.max(freshness, DEFAULT_TTL));
+    }
+
+    /**
+     * Creates a cache with a freshness window and a time-to-live for backends that cannot {@code stat}.
+     *
+     * @param provider  The provider to decorate.
+     * @param directory The directory owned by the cache.
+     * @param capacity  The maximum number of content bytes kept on disk.
+     * @param freshness Milliseconds during which cached entries are served without revalidation.
+     * @param ttl       Milliseconds after which entries that cannot be revalidated are fetched again.
+     */
+    public CachedProvider(Provider provider, Path directory, long capacity, long freshness, long ttl) {
+        Assert.notNull(provider, "[provider] cannot be null");
+        Assert.isTrue(freshness >= 0, "[freshness] cannot be negative");
+        Assert.isTrue(ttl >= freshness, "[ttl] cannot be shorter than [freshness]");
+        this.provider = provider;
+        this.cache = new DiskCache(directory, capacity);
+        this.freshness = freshness;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns hit, miss, revalidation, bytes-saved and eviction counters of the cache.
+     *
+     * @return The current cache metrics.
+     */
+    public DiskCache.Metrics metrics() {
+        return cache.metrics();
+    }
+
+    /**
+     * Drops every cached object.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Downloads a file from the default bucket, serving it from the cache when possible.
+     *
+     * @param fileName The name of the file to download.
+     * @return A {@link Message} containing the file content.
+     */
+    @Override
+    public Message<byte[]> download(String fileName) {
+        return bytes(null, fileName);
+    }
+
+    /**
+     * Downloads a file from a bucket, serving it from the cache when possible.
+     *
+     * @param bucket   The name of the storage bucket.
+     * @param fileName The name of the file to download.
+     * @return A {@link Message} containing the file content.
+     */
+    @Override
+    public Message<byte[]> download(String bucket, String fileName) {
+        return bytes(bucket, fileName);
+    }
+
+    /**
+     * Downloads a file from a bucket into a local file, copying cached bytes with {@link FileChannel#transferTo}.
+     *
+     * @param bucket   The name of the storage bucket.
+     * @param fileName The name of the file to download.
+     * @param file     The target local file.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Void> download(String bucket, String fileName, File file) {
+        return file(bucket, fileName, file);
+    }
+
+    /**
+     * Downloads a file from the default bucket into a local file, copying cached bytes with
+     * {@link FileChannel#transferTo}.
+     *
+     * @param fileName The name of the file to download.
+     * @param file     The target local file.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Void> download(String fileName, File file) {
+        return file(null, fileName, file);
+    }
+
+    /**
+     * Writes a file to a channel, such as a socket, copying cached bytes with {@link FileChannel#transferTo}.
+     *
+     * @param bucket   The name of the storage bucket, or {@code null} for the default bucket.
+     * @param fileName The name of the file to send.
+     * @param target   The destination channel; it is not closed.
+     * @return A {@link Message} containing the number of bytes written.
+     */
+    public Message<Long> transfer(String bucket, String fileName, WritableByteChannel target) {
+        try {
+            long written = serve(bucket, fileName, entry -> cache.transfer(entry, target));
+            return Message.<Long>builder().errcode(ErrorCode._SUCCESS.getKey()).errmsg(ErrorCode._SUCCESS.getValue())
+                    .data(written).build();
+        } catch (Exception e) {
+            return failure(bucket, fileName, e);
+        }
+    }
+
+    /**
+     * Lists files through the wrapped provider.
+     *
+     * @return A {@link Message} containing the listing.
+     */
+    @Override
+    public Message<List<Blob>> list() {
+        return provider.list();
+    }
+
+    /**
+     * Lists files in a bucket through the wrapped provider.
+     *
+     * @param bucket The name of the storage bucket.
+     * @return A {@link Message} containing the listing.
+     */
+    @Override
+    public Message<List<Blob>> list(String bucket) {
+        return provider.list(bucket);
+    }
+
+    /**
+     * Reads metadata through the wrapped provider.
+     *
+     * @param fileName The file name.
+     * @return A {@link Message} containing storage metadata.
+     */
+    @Override
+    public Message<Blob> stat(String fileName) {
+        return provider.stat(fileName);
+    }
+
+    /**
+     * Reads metadata through the wrapped provider.
+     *
+     * @param bucket   The bucket name.
+     * @param fileName The file name.
+     * @return A {@link Message} containing storage metadata.
+     */
+    @Override
+    public Message<Blob> stat(String bucket, String fileName) {
+        return provider.stat(bucket, fileName);
+    }
+
+    /**
+     * Reads metadata for an exact key through the wrapped provider.
+     *
+     * @param bucket    The bucket name.
+     * @param objectKey The exact object key.
+     * @return A {@link Message} containing storage metadata.
+     */
+    @Override
+    public Message<Blob> statKey(String bucket, String objectKey) {
+        return provider.statKey(bucket, objectKey);
+    }
+
+    /**
+     * Opens a stream for a file in the default bucket, serving it from the cache when possible.
+     *
+     * @param fileName The file name.
+     * @return A {@link Message} containing a stream resource.
+     */
+    @Override
+    public Message<Blob> stream(String fileName) {
+        return blob(null, fileName);
+    }
+
+    /**
+     * Opens a stream for a file in a bucket, serving it from the cache when possible.
+     *
+     * @param bucket   The bucket name.
+     * @param fileName The file name.
+     * @return A {@link Message} containing a stream resource.
+     */
+    @Override
+    public Message<Blob> stream(String bucket, String fileName) {
+        return blob(bucket, fileName);
+    }
+
+    /**
+     * Opens a ranged stream through the wrapped provider.
+     *
+     * @param bucket   The bucket name.
+     * @param fileName The file name.
+     * @param offset   The zero-based offset of the first byte to read.
+     * @param length   The number of bytes to read, or a negative value to read until the end of the object.
+     * @return A {@link Message} containing a stream resource.
+     */
+    @Override
+    public Message<Blob> stream(String bucket, String fileName, long offset, long length) {
+        return provider.stream(bucket, fileName, offset, length);
+    }
+
+    /**
+     * Opens a stream for an exact key through the wrapped provider.
+     *
+     * @param bucket    The bucket name.
+     * @param objectKey The exact object key.
+     * @return A {@link Message} containing a stream resource.
+     */
+    @Override
+    public Message<Blob> streamKey(String bucket, String objectKey) {
+        return provider.streamKey(bucket, objectKey);
+    }
+
+    /**
+     * Opens a ranged stream for an exact key through the wrapped provider.
+     *
+     * @param bucket    The bucket name.
+     * @param objectKey The exact object key.
+     * @param offset    The zero-based offset of the first byte to read.
+     * @param length    The number of bytes to read, or a negative value to read until the end of the object.
+     * @return A {@link Message} containing a stream resource.
+     */
+    @Override
+    public Message<Blob> streamKey(String bucket, String objectKey, long offset, long length) {
+        return provider.streamKey(bucket, objectKey, offset, length);
+    }
+
+    /**
+     * Renames a file and drops both names from the cache.
+     *
+     * @param oldName The current name of the file.
+     * @param newName The new name for the file.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Void> rename(String oldName, String newName) {
+        invalidate(null, oldName);
+        invalidate(null, newName);
+        return provider.rename(oldName, newName);
+    }
+
+    /**
+     * Renames a file within a path and drops both names from the cache.
+     *
+     * @param path    The path where the file is located.
+     * @param oldName The current name of the file.
+     * @param newName The new name for the file.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Void> rename(String path, String oldName, String newName) {
+        invalidate(null, name(path, oldName));
+        invalidate(null, name(path, newName));
+        return provider.rename(path, oldName, newName);
+    }
+
+    /**
+     * Renames a file within a bucket and path and drops both names from the cache.
+     *
+     * @param bucket  The name of the storage bucket.
+     * @param path    The path where the file is located.
+     * @param oldName The current name of the file.
+     * @param newName The new name for the file.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Void> rename(String bucket, String path, String oldName, String newName) {
+        invalidate(bucket, name(path, oldName));
+        invalidate(bucket, name(path, newName));
+        return provider.rename(bucket, path, oldName, newName);
+    }
+
+    /**
+     * Uploads a file and drops its cached copy.
+     *
+     * @param fileName The name of the file to upload.
+     * @param content  The file content.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Blob> upload(String fileName, byte[] content) {
+        invalidate(null, fileName);
+        return provider.upload(fileName, content);
+    }
+
+    /**
+     * Uploads a file to a path and drops its cached copy.
+     *
+     * @param path     The target path for the file.
+     * @param fileName The name of the file to upload.
+     * @param content  The file content.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Blob> upload(String path, String fileName, byte[] content) {
+        invalidate(null, name(path, fileName));
+        return provider.upload(path, fileName, content);
+    }
+
+    /**
+     * Uploads a file to a bucket and path and drops its cached copy.
+     *
+     * @param bucket   The name of the storage bucket.
+     * @param path     The target path for the file.
+     * @param fileName The name of the file to upload.
+     * @param content  The file content.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Blob> upload(String bucket, String path, String fileName, byte[] content) {
+        invalidate(bucket, name(path, fileName));
+        return provider.upload(bucket, path, fileName, content);
+    }
+
+    /**
+     * Uploads a stream and drops its cached copy.
+     *
+     * @param fileName The name of the file to upload.
+     * @param content  The file content.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Blob> upload(String fileName, InputStream content) {
+        invalidate(null, fileName);
+        return provider.upload(fileName, content);
+    }
+
+    /**
+     * Uploads a stream to a path and drops its cached copy.
+     *
+     * @param path     The target path for the file.
+     * @param fileName The name of the file to upload.
+     * @param content  The file content.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Blob> upload(String path, String fileName, InputStream content) {
+        invalidate(null, name(path, fileName));
+        return provider.upload(path, fileName, content);
+    }
+
+    /**
+     * Uploads a stream to a bucket and path and drops its cached copy.
+     *
+     * @param bucket   The name of the storage bucket.
+     * @param path     The target path for the file.
+     * @param fileName The name of the file to upload.
+     * @param content  The file content.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Blob> upload(String bucket, String path, String fileName, InputStream content) {
+        invalidate(bucket, name(path, fileName));
+        return provider.upload(bucket, path, fileName, content);
+    }
+
+    /**
+     * Removes a file and drops its cached copy.
+     *
+     * @param fileName The name of the file to remove.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Void> remove(String fileName) {
+        invalidate(null, fileName);
+        return provider.remove(fileName);
+    }
+
+    /**
+     * Removes a file from a path and drops its cached copy.
+     *
+     * @param path     The storage path where the file is located.
+     * @param fileName The name of the file to remove.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Void> remove(String path, String fileName) {
+        invalidate(null, name(path, fileName));
+        return provider.remove(path, fileName);
+    }
+
+    /**
+     * Removes a file from a bucket and path and drops its cached copy.
+     *
+     * @param bucket   The name of the storage bucket.
+     * @param path     The storage path where the file is located.
+     * @param fileName The name of the file to remove.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Void> remove(String bucket, String path, String fileName) {
+        invalidate(bucket, name(path, fileName));
+        return provider.remove(bucket, path, fileName);
+    }
+
+    /**
+     * Removes a file or directory by target path and drops every cached object at or below that path.
+     *
+     * @param bucket The name of the storage bucket.
+     * @param path   The target path of the file to remove.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    @Override
+    public Message<Void> remove(String bucket, Path path) {
+        String prefix = Builder.buildNormalizedPrefix(path.toString());
+        String folder = prefix + Symbol.SLASH;
+        evict(bucket, name -> prefix.isEmpty() || name.equals(prefix) || name.startsWith(folder));
+        return provider.remove(bucket, path);
+    }
+
+    /**
+     * Returns the type of the wrapped provider.
+     *
+     * @return The provider type.
+     */
+    @Override
+    public Object type() {
+        return provider.type();
+    }
+
+    /**
+     * Closes the wrapped provider. Cached content stays on disk until the next cache is created in the directory.
+     */
+    @Override
+    public void close() {
+        provider.close();
+    }
+
+    /**
+     * Reads a whole object as bytes through the cache.
+     *
+     * @param bucket   The bucket name, or {@code null} for the default bucket.
+     * @param fileName The file name.
+     * @return A {@link Message} containing the object bytes.
+     */
+    private Message<byte[]> bytes(String bucket, String fileName) {
+        try {
+            byte[] bytes = serve(bucket, fileName, cache::read);
+            return Message.<byte[]>builder().errcode(ErrorCode._SUCCESS.getKey())
+                    .errmsg(ErrorCode._SUCCESS.getValue()).data(bytes).build();
+        } catch (Exception e) {
+            return failure(bucket, fileName, e);
+        }
+    }
+
+    /**
+     * Copies a whole object into a local file through the cache.
+     *
+     * @param bucket   The bucket name, or {@code null} for the default bucket.
+     * @param fileName The file name.
+     * @param file     The target local file.
+     * @return A {@link Message} containing the result of the operation.
+     */
+    private Message<Void> file(String bucket, String fileName, File file) {
+        try {
+            serve(bucket, fileName, entry -> {
+                try (FileChannel channel = FileChannel.open(
+                        file.toPath(),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    return cache.transfer(entry, channel);
+                }
+            });
+            return Message.<Void>builder().errcode(ErrorCode._SUCCESS.getKey()).errmsg(ErrorCode._SUCCESS.getValue())
+                    .build();
+        } catch (Exception e) {
+            return failure(bucket, fileName, e);
+        }
+    }
+
+    /**
+     * Opens a whole object as a stream through the cache.
+     *
+     * @param bucket   The bucket name, or {@code null} for the default bucket.
+     * @param fileName The file name.
+     * @return A {@link Message} containing a stream resource.
+     */
+    private Message<Blob> blob(String bucket, String fileName) {
+        try {
+            Blob blob = serve(bucket, fileName, entry -> {
+                Map<String, Object> extend = new HashMap<>();
+                extend.put("digest", entry.digest());
+                return Blob.builder().inputStream(cache.open(entry)).bucket(bucket).name(fileName).path(fileName)
+                        .size(StringKit.toString(entry.size())).hash(entry.validator()).extend(extend).build();
+            });
+            return Message.<Blob>builder().errcode(ErrorCode._SUCCESS.getKey()).errmsg(ErrorCode._SUCCESS.getValue())
+                    .data(blob).build();
+        } catch (Exception e) {
+            return failure(bucket, fileName, e);
+        }
+    }
+
+    /**
+     * Reads a current cache entry for an object. If its content file vanished between lookup and read, the key is
+     * dropped and the object is resolved, and so fetched, once more.
+     *
+     * @param bucket   The bucket name, or {@code null} for the default bucket.
+     * @param fileName The file name.
+     * @param reader   Reads the pinned content of the entry.
+     * @param <T>      The result type.
+     * @return The result of the reader.
+     * @throws IOException If the content cannot be read.
+     */
+    private <T> T serve(String bucket, String fileName, Reader<T> reader) throws IOException {
+        try {
+            return reader.read(resolve(bucket, fileName));
+        } catch (NoSuchFileException e) {
+            String key = key(bucket, fileName);
+            cache.invalidate(key::equals);
+            return reader.read(resolve(bucket, fileName));
+        }
+    }
+
+    /**
+     * Returns a current cache entry for an object, revalidating or fetching it as needed.
+     *
+     * @param bucket   The bucket name, or {@code null} for the default bucket.
+     * @param fileName The file name.
+     * @return The cache entry.
+     */
+    private DiskCache.Entry resolve(String bucket, String fileName) {
+        String key = key(bucket, fileName);
+        DiskCache.Entry entry = cache.lookup(key);
+        if (entry != null) {
+            if (System.currentTimeMillis() - entry.validated() < freshness) {
+                cache.hit(entry);
+                return entry;
+            }
+            Message<Blob> stat = bucket == null ? provider.stat(fileName) : provider.stat(bucket, fileName);
+            if (ErrorCode._113013.getKey().equals(stat.getErrcode())) {
+                if (System.currentTimeMillis() - entry.validated() < ttl) {
+                    cache.hit(entry);
+                    return entry;
+                }
+            } else if (success(stat) && entry.validator() != null
+                    && Objects.equals(entry.validator(), validator(stat.getData()))) {
+                cache.hit(entry);
+                return cache.revalidated(entry);
+            }
+        }
+        try {
+            return cache.load(key, () -> fetch(key, bucket, fileName));
+        } catch (RuntimeException e) {
+            cache.invalidate(key::equals);
+            throw e;
+        }
+    }
+
+    /**
+     * Fetches an object from the wrapped provider into the cache, preferring a stream so the body is never held in
+     * memory.
+     *
+     * @param key      The cache key.
+     * @param bucket   The bucket name, or {@code null} for the default bucket.
+     * @param fileName The file name.
+     * @return The stored entry.
+     * @throws Exception If the provider reports a failure or the body cannot be stored.
+     */
+    private DiskCache.Entry fetch(String key, String bucket, String fileName) throws Exception {
+        Message<Blob> stream = bucket == null ? provider.stream(fileName) : provider.stream(bucket, fileName);
+        if (success(stream) && stream.getData().getInputStream() != null) {
+            try (InputStream content = stream.getData().getInputStream()) {
+                return cache.store(key, validator(stream.getData()), content);
+            }
+        }
+        if (!ErrorCode._113013.getKey().equals(stream.getErrcode())) {
+            throw new InternalException(stream.getErrcode(), stream.getErrmsg());
+        }
+        Message<Blob> stat = bucket == null ? provider.stat(fileName) : provider.stat(bucket, fileName);
+        Message<byte[]> download = bucket == null ? provider.download(fileName) : provider.download(bucket, fileName);
+        if (!ErrorCode._SUCCESS.getKey().equals(download.getErrcode()) || download.getData() == null) {
+            throw new InternalException(download.getErrcode(), download.getErrmsg());
+        }
+        return cache.store(
+                key,
+                success(stat) ? validator(stat.getData()) : null,
+                new ByteArrayInputStream(download.getData()));
+    }
+
+    /**
+     * Drops cached entries that may hold a stale copy of an object. Entries of the default bucket are always dropped
+     * because it may alias the named bucket; a {@code null} bucket drops the name from every bucket.
+     *
+     * @param bucket   The bucket name, or {@code null} for the default bucket.
+     * @param fileName The file name.
+     */
+    private void invalidate(String bucket, String fileName) {
+        evict(bucket, fileName::equals);
+    }
+
+    /**
+     * Drops cached entries whose object name is accepted by the filter. Entries of the default bucket are always
+     * considered because it may alias the named bucket; a {@code null} bucket considers every bucket.
+     *
+     * @param bucket The bucket name, or {@code null} for the default bucket.
+     * @param names  The object name filter.
+     */
+    private void evict(String bucket, Predicate<String> names) {
+        String own = key(bucket, Normal.EMPTY);
+        String fallback = key(null, Normal.EMPTY);
+        cache.invalidate(key -> {
+            int colon = key.indexOf(Symbol.C_COLON);
+            String owner = key.substring(0, colon + 1);
+            return names.test(key.substring(colon + 1))
+                    && (bucket == null || owner.equals(own) || owner.equals(fallback));
+        });
+    }
+
+    /**
+     * Converts a failure into a message, keeping the provider error code when one is carried.
+     *
+     * @param bucket   The bucket name, or {@code null} for the default bucket.
+     * @param fileName The file name.
+     * @param e        The failure.
+     * @param <T>      The message payload type.
+     * @return The failure message.
+     */
+    private <T> Message<T> failure(String bucket, String fileName, Exception e) {
+        String errcode = e instanceof InternalException internal && StringKit.isNotBlank(internal.getErrcode())
+                ? internal.getErrcode()
+                : ErrorCode._113012.getKey();
+        String errmsg = e instanceof InternalException internal && StringKit.isNotBlank(internal.getErrcode())
+                ? internal.getMessage()
+                : ErrorCode._113012.getValue();
+        Logger.error(
+                false,
+                "Storage",
+                "Storage cache read failed; provider={}, bucket={}, object={}, code={}, status=failure, error={}",
+                provider.getClass().getSimpleName(),
+                bucket,
+                fileName,
+                errcode,
+                e.getMessage(),
+                e);
+        return Message.<T>builder().errcode(errcode).errmsg(errmsg).build();
+    }
+
+    /**
+     * Builds the cache key of an object.
+     *
+     * @param bucket   The bucket name, or {@code null} for the default bucket.
+     * @param fileName The file name.
+     * @return The cache key.
+     */
+    private static String key(String bucket, String fileName) {
+        return (bucket == null ? Normal.EMPTY : bucket) + Symbol.COLON + fileName;
+    }
+
+    /**
+     * Builds the object name addressed by a path and file name, matching the name passed to {@code download}.
+     *
+     * @param path     The storage path.
+     * @param fileName The file name.
+     * @return The object name.
+     */
+    private static String name(String path, String fileName) {
+        return Builder.buildObjectKey(Normal.EMPTY, path, fileName);
+    }
+
+    /**
+     * Checks whether a message reports success and carries data.
+     *
+     * @param message The message.
+     * @return {@code true} if the message is a successful result with data.
+     */
+    private static boolean success(Message<Blob> message) {
+        return ErrorCode._SUCCESS.getKey().equals(message.getErrcode()) && message.getData() != null;
+    }
+
+    /**
+     * Derives the validator of an object: its ETag when the backend reports one, otherwise its size and modification
+     * time.
+     *
+     * @param blob The object metadata.
+     * @return The validator, or {@code null} if the backend reports nothing usable.
+     */
+    private static String validator(Blob blob) {
+        if (StringKit.isNotBlank(blob.getHash())) {
+            return blob.getHash();
+        }
+        Object modified = blob.getExtend() == null ? null : blob.getExtend().get("lastModified");
+        return modified == null ? null : blob.getSize() + Symbol.AT + modified;
+    }
+
+    /**
+     * Reads the pinned content of a cache entry.
+     *
+     * @param <T> The result type.
+     */
+    @FunctionalInterface
+    private interface Reader<T> {
+
+        /**
+         * Reads the content of an entry.
+         *
+         * @param entry The cache entry.
+         * @return The result.
+         * @throws IOException If the content cannot be read; {@link NoSuchFileException} if it is gone.
+         */
+        T read(DiskCache.Entry entry) throws IOException;
+
+    }
+
+}
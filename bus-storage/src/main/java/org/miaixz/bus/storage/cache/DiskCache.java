@@ -0,0 +1,653 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.storage.cache;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.miaixz.bus.core.lang.Algorithm;
+import org.miaixz.bus.core.lang.Assert;
+import org.miaixz.bus.core.lang.exception.InternalException;
+import org.miaixz.bus.core.xyz.ExceptionKit;
+
+/**
+ * Disk-backed, size-bounded, content-addressed object store used by {@link CachedProvider}.
+ * <p>
+ * Object bodies are written once under their SHA-256 digest, so identical content cached under several keys occupies
+ * disk space only once. An in-memory index maps logical keys to content entries in least-recently-used order; when the
+ * total size of distinct content exceeds the capacity, the oldest keys are dropped and unreferenced content files are
+ * deleted. Concurrent loads of the same key are collapsed into a single fetch.
+ * <p>
+ * Reads pin the content file they serve: a file dropped while it is being read is only deleted once the last reader
+ * has finished. A content file that disappears before it could be pinned, for instance because it was evicted between
+ * lookup and read or removed behind the cache's back, is reported as a {@link NoSuchFileException} so the caller can
+ * fetch the object again. All file system work happens outside the index monitor.
+ * <p>
+ * Everything lives below a dedicated {@value #HOME} subdirectory of the configured directory. The index is not
+ * persisted, so content and scratch files left there by a previous process are removed on construction; other files,
+ * including anything outside that subdirectory, are never touched.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class DiskCache {
+
+    /**
+     * Name of the subdirectory owned by the cache.
+     */
+    private static final String HOME = "bus-storage-cache";
+
+    /**
+     * Prefix of scratch files.
+     */
+    private static final String PART_PREFIX = "body";
+
+    /**
+     * Suffix of scratch files.
+     */
+    private static final String PART_SUFFIX = ".part";
+
+    /**
+     * Name of a content file: a lowercase hexadecimal SHA-256 digest.
+     */
+    private static final Pattern DIGEST = Pattern.compile("[0-9a-f]{64}");
+
+    /**
+     * Name of a shard directory: the first two characters of a digest.
+     */
+    private static final Pattern SHARD = Pattern.compile("[0-9a-f]{2}");
+
+    /**
+     * Root directory holding content files, sharded by the first two digest characters.
+     */
+    private final Path objects;
+
+    /**
+     * Scratch directory for bodies that are still being written and hashed.
+     */
+    private final Path scratch;
+
+    /**
+     * Maximum number of bytes of distinct content kept on disk.
+     */
+    private final long capacity;
+
+    /**
+     * Logical key index in access order; guarded by its own monitor together with {@link #references}, {@link #pins}
+     * and {@link #size}.
+     */
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Number of index entries referring to each content digest.
+     */
+    private final Map<String, Integer> references = new HashMap<>();
+
+    /**
+     * Number of reads in progress on each content digest; an unreferenced digest is deleted when its last pin goes.
+     */
+    private final Map<String, Integer> pins = new HashMap<>();
+
+    /**
+     * In-flight loads keyed by logical key, used to deduplicate concurrent misses.
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * Number of requests served from disk.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Number of requests that had to fetch from the backing provider.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Number of cached entries confirmed unchanged by revalidation.
+     */
+    private final LongAdder revalidations = new LongAdder();
+
+    /**
+     * Number of bytes served from disk instead of the backing provider.
+     */
+    private final LongAdder saved = new LongAdder();
+
+    /**
+     * Number of keys dropped to respect the capacity.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Total number of bytes of distinct, referenced content currently on disk.
+     */
+    private long size;
+
+    /**
+     * Creates a cache rooted at the given directory.
+     *
+     * @param directory The directory below which the cache keeps its own {@value #HOME} subdirectory.
+     * @param capacity  The maximum number of content bytes kept on disk.
+     * @throws InternalException If the directory cannot be prepared.
+     */
+    public DiskCache(Path directory, long capacity) {
+        Assert.notNull(directory, "[directory] cannot be null");
+        Assert.isTrue(capacity > 0, "[capacity] must be positive");
+        Path home = directory.resolve(HOME);
+        this.objects = home.resolve("objects");
+        this.scratch = home.resolve("tmp");
+        this.capacity = capacity;
+        try {
+            purge(this.objects, DiskCache::isContent);
+            purge(this.scratch, DiskCache::isPart);
+            Files.createDirectories(this.objects);
+            Files.createDirectories(this.scratch);
+        } catch (IOException e) {
+            throw new InternalException("Failed to prepare storage cache directory " + home, e);
+        }
+    }
+
+    /**
+     * Returns the indexed entry for a key and marks it as recently used. The content file is not checked here; a
+     * missing file surfaces as a {@link NoSuchFileException} when the entry is read.
+     *
+     * @param key The logical key.
+     * @return The entry, or {@code null} if the key is not cached.
+     */
+    public Entry lookup(String key) {
+        synchronized (index) {
+            return index.get(key);
+        }
+    }
+
+    /**
+     * Records that an entry is about to be served from disk instead of the backing provider.
+     *
+     * @param entry The entry being served.
+     */
+    public void hit(Entry entry) {
+        hits.increment();
+        saved.add(entry.size());
+    }
+
+    /**
+     * Marks an entry as confirmed unchanged by the backing provider.
+     *
+     * @param entry The entry that was revalidated.
+     * @return The entry carrying the new validation time.
+     */
+    public Entry revalidated(Entry entry) {
+        revalidations.increment();
+        Entry refreshed = new Entry(entry.key(), entry.digest(), entry.validator(), entry.size(),
+                System.currentTimeMillis());
+        synchronized (index) {
+            index.computeIfPresent(entry.key(), (key, current) -> current == entry ? refreshed : current);
+        }
+        return refreshed;
+    }
+
+    /**
+     * Loads a key through the loader unless another thread is already loading it, in which case the caller waits for
+     * and shares that result. The leading caller counts as a miss, callers sharing its result count as hits.
+     *
+     * @param key    The logical key.
+     * @param loader The fetch that stores the body through {@link #store(String, String, InputStream)}.
+     * @return The stored entry.
+     * @throws InternalException If the loader fails.
+     */
+    public Entry load(String key, Loader loader) {
+        CompletableFuture<Entry> created = new CompletableFuture<>();
+        CompletableFuture<Entry> running = loading.putIfAbsent(key, created);
+        if (running != null) {
+            try {
+                Entry entry = running.join();
+                hit(entry);
+                return entry;
+            } catch (Exception e) {
+                throw rethrow(e.getCause() == null ? e : e.getCause());
+            }
+        }
+        misses.increment();
+        try {
+            Entry entry = loader.load();
+            created.complete(entry);
+            return entry;
+        } catch (Throwable e) {
+            created.completeExceptionally(e);
+            throw rethrow(e);
+        } finally {
+            loading.remove(key, created);
+        }
+    }
+
+    /**
+     * Writes a body to disk while hashing it, then indexes it under the key. If content with the same digest already
+     * exists the new copy is discarded.
+     *
+     * @param key       The logical key.
+     * @param validator The backend validator (ETag or equivalent), may be {@code null}.
+     * @param content   The body to store; it is fully read but not closed.
+     * @return The indexed entry.
+     * @throws IOException If the body cannot be written.
+     */
+    public Entry store(String key, String validator, InputStream content) throws IOException {
+        Path temp = Files.createTempFile(scratch, PART_PREFIX, PART_SUFFIX);
+        Set<String> doomed = new HashSet<>();
+        try {
+            MessageDigest digest = MessageDigest.getInstance(Algorithm.SHA256.getValue());
+            long length;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                length = content.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            boolean present;
+            synchronized (index) {
+                present = references.containsKey(hash) || pins.containsKey(hash);
+            }
+            if (!present) {
+                Path target = path(hash);
+                Files.createDirectories(target.getParent());
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Entry entry = new Entry(key, hash, validator, length, System.currentTimeMillis());
+            synchronized (index) {
+                drop(key, doomed);
+                if (!references.containsKey(hash)) {
+                    size += length;
+                }
+                index.put(key, entry);
+                references.merge(hash, 1, Integer::sum);
+                trim(key, doomed);
+                doomed.removeIf(references::containsKey);
+            }
+            return entry;
+        } catch (NoSuchAlgorithmException e) {
+            throw new InternalException(e);
+        } finally {
+            Files.deleteIfExists(temp);
+            delete(doomed);
+        }
+    }
+
+    /**
+     * Opens the body of an entry for reading. The content file stays pinned until the returned stream is closed.
+     *
+     * @param entry The entry to read.
+     * @return A stream over the cached body.
+     * @throws NoSuchFileException If the content file is no longer available.
+     * @throws IOException         If the content file cannot be opened.
+     */
+    public InputStream open(Entry entry) throws IOException {
+        Path path = pin(entry);
+        try {
+            return new Pinned(Files.newInputStream(path), entry);
+        } catch (IOException | RuntimeException e) {
+            unpin(entry);
+            throw e;
+        }
+    }
+
+    /**
+     * Copies the body of an entry to a channel using {@link FileChannel#transferTo}, letting the kernel move the bytes
+     * without copying them through the heap.
+     *
+     * @param entry  The entry to serve.
+     * @param target The destination channel.
+     * @return The number of bytes transferred.
+     * @throws NoSuchFileException If the content file is no longer available.
+     * @throws IOException         If the transfer fails.
+     */
+    public long transfer(Entry entry, WritableByteChannel target) throws IOException {
+        Path path = pin(entry);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = 0;
+            long length = channel.size();
+            while (position < length) {
+                position += channel.transferTo(position, length - position, target);
+            }
+            return position;
+        } finally {
+            unpin(entry);
+        }
+    }
+
+    /**
+     * Reads the whole body of an entry into memory.
+     *
+     * @param entry The entry to read.
+     * @return The cached bytes.
+     * @throws NoSuchFileException If the content file is no longer available.
+     * @throws IOException         If the content file cannot be read.
+     */
+    public byte[] read(Entry entry) throws IOException {
+        Path path = pin(entry);
+        try {
+            return Files.readAllBytes(path);
+        } finally {
+            unpin(entry);
+        }
+    }
+
+    /**
+     * Drops every key accepted by the filter.
+     *
+     * @param filter The key filter.
+     */
+    public void invalidate(Predicate<String> filter) {
+        Set<String> doomed = new HashSet<>();
+        synchronized (index) {
+            for (String key : new ArrayList<>(index.keySet())) {
+                if (filter.test(key)) {
+                    drop(key, doomed);
+                }
+            }
+        }
+        delete(doomed);
+    }
+
+    /**
+     * Drops every key and deletes all content files that are not being read.
+     */
+    public void clear() {
+        invalidate(key -> true);
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return The current metrics.
+     */
+    public Metrics metrics() {
+        synchronized (index) {
+            return new Metrics(hits.sum(), misses.sum(), revalidations.sum(), saved.sum(), evictions.sum(),
+                    index.size(), size);
+        }
+    }
+
+    /**
+     * Resolves the content file of a digest.
+     *
+     * @param digest The content digest.
+     * @return The path of its content file.
+     */
+    private Path path(String digest) {
+        return objects.resolve(digest.substring(0, 2)).resolve(digest);
+    }
+
+    /**
+     * Pins the content of an entry so that it outlives concurrent evictions until {@link #unpin(Entry)}.
+     *
+     * @param entry The entry about to be read.
+     * @return The path of its content file.
+     * @throws NoSuchFileException If the content is no longer referenced by the index nor pinned by another reader.
+     */
+    private Path pin(Entry entry) throws NoSuchFileException {
+        String digest = entry.digest();
+        synchronized (index) {
+            if (!references.containsKey(digest) && !pins.containsKey(digest)) {
+                throw new NoSuchFileException(path(digest).toString());
+            }
+            pins.merge(digest, 1, Integer::sum);
+        }
+        return path(digest);
+    }
+
+    /**
+     * Releases a pin taken by {@link #pin(Entry)}, deleting the content file if it was dropped in the meantime and
+     * this was its last reader.
+     *
+     * @param entry The entry that was read.
+     */
+    private void unpin(Entry entry) {
+        String digest = entry.digest();
+        synchronized (index) {
+            Integer remaining = pins.computeIfPresent(digest, (hash, count) -> count > 1 ? count - 1 : null);
+            if (remaining != null || references.containsKey(digest)) {
+                return;
+            }
+        }
+        delete(Set.of(digest));
+    }
+
+    /**
+     * Removes a key from the index. Once no other key refers to its content and no reader has it pinned, the digest
+     * is added to the set of content files to delete after the index monitor is released. The caller holds the index
+     * monitor.
+     *
+     * @param key    The key to remove.
+     * @param doomed Collects digests whose content files should be deleted.
+     */
+    private void drop(String key, Set<String> doomed) {
+        Entry entry = index.remove(key);
+        if (entry == null) {
+            return;
+        }
+        Integer remaining = references.computeIfPresent(entry.digest(), (hash, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            size -= entry.size();
+            if (!pins.containsKey(entry.digest())) {
+                doomed.add(entry.digest());
+            }
+        }
+    }
+
+    /**
+     * Evicts least-recently-used keys until the content size fits the capacity, never evicting the key just stored.
+     * The caller holds the index monitor.
+     *
+     * @param keep   The key that must stay cached.
+     * @param doomed Collects digests whose content files should be deleted.
+     */
+    private void trim(String keep, Set<String> doomed) {
+        Iterator<String> keys = new ArrayList<>(index.keySet()).iterator();
+        while (size > capacity && keys.hasNext()) {
+            String key = keys.next();
+            if (!key.equals(keep)) {
+                drop(key, doomed);
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Deletes the content files of dropped digests. Called without holding the index monitor.
+     *
+     * @param doomed The digests to delete.
+     */
+    private void delete(Set<String> doomed) {
+        for (String digest : doomed) {
+            try {
+                Files.deleteIfExists(path(digest));
+            } catch (IOException e) {
+                // The file may be open elsewhere; it is no longer referenced and will be purged on restart.
+            }
+        }
+    }
+
+    /**
+     * Deletes the files written by an earlier process below one of the cache directories, then any shard directory
+     * left empty. Files not matching the filter are kept.
+     *
+     * @param directory The directory to clean.
+     * @param owned     Accepts the files this cache writes into the directory.
+     * @throws IOException If a file cannot be deleted.
+     */
+    private static void purge(Path directory, Predicate<Path> owned) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (var paths = Files.walk(directory, 2)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                if (Files.isRegularFile(path) && owned.test(path)) {
+                    Files.deleteIfExists(path);
+                } else if (Files.isDirectory(path) && directory.equals(path.getParent())
+                        && SHARD.matcher(path.getFileName().toString()).matches()) {
+                    try {
+                        Files.deleteIfExists(path);
+                    } catch (DirectoryNotEmptyException e) {
+                        // Holds files the cache did not write; leave it in place.
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether a file below the objects directory is a content file written by this cache.
+     *
+     * @param path The file.
+     * @return {@code true} if the file sits in a shard directory and is named by a digest of that shard.
+     */
+    private static boolean isContent(Path path) {
+        String name = path.getFileName().toString();
+        Path shard = path.getParent().getFileName();
+        return DIGEST.matcher(name).matches() && name.startsWith(shard.toString());
+    }
+
+    /**
+     * Checks whether a file below the scratch directory is a partial body written by this cache.
+     *
+     * @param path The file.
+     * @return {@code true} if the file carries the scratch file prefix and suffix.
+     */
+    private static boolean isPart(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PART_PREFIX) && name.endsWith(PART_SUFFIX);
+    }
+
+    /**
+     * Converts a loader failure into an unchecked exception.
+     *
+     * @param e The failure.
+     * @return The exception to throw.
+     */
+    private static RuntimeException rethrow(Throwable e) {
+        return e instanceof RuntimeException runtime ? runtime : new InternalException(ExceptionKit.getMessage(e), e);
+    }
+
+    /**
+     * Fetches a body from the backing provider and stores it.
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * Fetches and stores the body.
+         *
+         * @return The stored entry.
+         * @throws Exception If the fetch or store fails.
+         */
+        Entry load() throws Exception;
+
+    }
+
+    /**
+     * One cached key.
+     *
+     * @param key       The logical key.
+     * @param digest    The SHA-256 digest of the body, naming its content file.
+     * @param validator The backend validator (ETag or equivalent), may be {@code null}.
+     * @param size      The body size in bytes.
+     * @param validated The time in milliseconds the entry was last fetched or revalidated.
+     */
+    public record Entry(String key, String digest, String validator, long size, long validated) {
+    }
+
+    /**
+     * Snapshot of cache counters.
+     *
+     * @param hits          Requests served from disk.
+     * @param misses        Requests fetched from the backing provider.
+     * @param revalidations Cached entries confirmed unchanged by the backend.
+     * @param bytesSaved    Bytes served from disk instead of the backend.
+     * @param evictions     Keys dropped to respect the capacity.
+     * @param entries       Keys currently cached.
+     * @param size          Bytes of distinct content currently on disk.
+     */
+    public record Metrics(long hits, long misses, long revalidations, long bytesSaved, long evictions, long entries,
+            long size) {
+    }
+
+    /**
+     * Stream over a pinned content file that releases the pin when closed.
+     */
+    private class Pinned extends FilterInputStream {
+
+        /**
+         * The entry whose content is pinned.
+         */
+        private final Entry entry;
+
+        /**
+         * Whether the pin has been released.
+         */
+        private boolean closed;
+
+        /**
+         * Wraps a stream over pinned content.
+         *
+         * @param in    The file stream.
+         * @param entry The pinned entry.
+         */
+        Pinned(InputStream in, Entry entry) {
+            super(in);
+            this.entry = entry;
+        }
+
+        /**
+         * Closes the file stream and releases the pin once.
+         *
+         * @throws IOException If the file stream cannot be closed.
+         */
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                super.close();
+            } finally {
+                unpin(entry);
+            }
+        }
+
+    }
+
+}
@@ -18,7 +18,8 @@
  ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
 */
 /**
- * Provides caching mechanisms for OSS (Object Storage Service) storage operations.
+ * Provides caching mechanisms for OSS (Object Storage Service) storage operations, including a disk-backed,
+ * content-addressed read-through cache that decorates any storage provider.
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -23,9 +23,16 @@ import java.io.*;
 import java.net.URI;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import org.miaixz.bus.core.basic.entity.Message;
@@ -69,6 +76,21 @@ import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequ
  */
 public class GenericS3Provider extends AbstractProvider {
 
+    /**
+     * The smallest part size S3 accepts for every part of a multipart upload except the last.
+     */
+    protected static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    /**
+     * The largest part size buffered by this provider; kept well below S3's 5 GiB ceiling to stay within array limits.
+     */
+    protected static final long MAX_PART_SIZE = 512L * 1024 * 1024;
+
+    /**
+     * The maximum number of parts S3 allows in a single multipart upload.
+     */
+    protected static final int MAX_PARTS = 10_000;
+
     /**
      * S3 client instance for interacting with the S3-compatible service.
      */
@@ -245,9 +267,46 @@ public class GenericS3Provider extends AbstractProvider {
      */
     @Override
     public Message<Blob> streamKey(String bucket, String objectKey) {
+        return streamKey(bucket, objectKey, 0, -1);
+    }
+
+    /**
+     * Opens a ranged stream for a file using the provider's normal key-building rules.
+     *
+     * @param bucket   The bucket name.
+     * @param fileName The file name to read.
+     * @param offset   The zero-based offset of the first byte to read.
+     * @param length   The number of bytes to read, or a negative value to read until the end of the object.
+     * @return A {@link Message} containing a storage resource.
+     */
+    @Override
+    public Message<Blob> stream(String bucket, String fileName, long offset, long length) {
+        String prefix = Builder.buildNormalizedPrefix(context.getPrefix());
+        return streamKey(bucket, Builder.buildObjectKey(prefix, Normal.EMPTY, fileName), offset, length);
+    }
+
+    /**
+     * Opens a ranged stream for an exact S3 object key. The range is sent as an HTTP {@code Range} header, so only the
+     * requested bytes leave the server.
+     *
+     * @param bucket    The bucket name.
+     * @param objectKey The exact S3 object key.
+     * @param offset    The zero-based offset of the first byte to read.
+     * @param length    The number of bytes to read, or a negative value to read until the end of the object.
+     * @return A {@link Message} containing a storage resource.
+     */
+    @Override
+    public Message<Blob> streamKey(String bucket, String objectKey, long offset, long length) {
         try {
-            ResponseInputStream<GetObjectResponse> stream = client
-                    .getObject(GetObjectRequest.builder().bucket(bucket).key(objectKey).build());
+            Assert.isTrue(offset >= 0, "[offset] cannot be negative");
+            Assert.isTrue(length != 0, "[length] cannot be zero");
+            GetObjectRequest.Builder request = GetObjectRequest.builder().bucket(bucket).key(objectKey);
+            if (offset > 0 || length > 0) {
+                request.range(
+                        "bytes=" + offset + Symbol.MINUS + (length > 0 ? StringKit.toString(offset + length - 1)
+                                : Normal.EMPTY));
+            }
+            ResponseInputStream<GetObjectResponse> stream = client.getObject(request.build());
             GetObjectResponse response = stream.response();
             String name = objectKey;
             if (StringKit.isNotBlank(objectKey)) {
@@ -260,6 +319,9 @@ public class GenericS3Provider extends AbstractProvider {
             if (response.metadata() != null && !response.metadata().isEmpty()) {
                 extend.put("metadata", new HashMap<>(response.metadata()));
             }
+            if (StringKit.isNotBlank(response.contentRange())) {
+                extend.put("contentRange", response.contentRange());
+            }
             return Message.<Blob>builder().errcode(ErrorCode._SUCCESS.getKey()).errmsg(ErrorCode._SUCCESS.getValue())
                     .data(
                             Blob.builder().inputStream(stream).bucket(bucket).key(objectKey).name(name).path(objectKey)
@@ -588,7 +650,9 @@ public class GenericS3Provider extends AbstractProvider {
     }
 
     /**
-     * Uploads an input stream to the specified storage bucket and path.
+     * Uploads an input stream to the specified storage bucket and path. Streams that fit into a single part are sent
+     * with one {@code PutObject} request; larger streams are split into a multipart upload whose parts are sent
+     * concurrently, so at most {@code parallelism + 1} parts are held in memory regardless of the object size.
      *
      * @param bucket   The name of the storage bucket.
      * @param path     The target path for the file.
@@ -601,9 +665,15 @@ public class GenericS3Provider extends AbstractProvider {
         try {
             String prefix = Builder.buildNormalizedPrefix(context.getPrefix());
             String objectKey = Builder.buildObjectKey(prefix, path, fileName);
-            PutObjectRequest request = PutObjectRequest.builder().bucket(bucket).key(objectKey)
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM).build();
-            client.putObject(request, RequestBody.fromInputStream(content, content.available()));
+            int partSize = (int) Math.clamp(context.getPartSize(), MIN_PART_SIZE, MAX_PART_SIZE);
+            byte[] first = content.readNBytes(partSize);
+            if (first.length < partSize) {
+                PutObjectRequest request = PutObjectRequest.builder().bucket(bucket).key(objectKey)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM).build();
+                client.putObject(request, RequestBody.fromBytes(first));
+            } else {
+                multipart(bucket, objectKey, first, content, partSize);
+            }
 
             GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
                     .signatureDuration(Duration.ofDays(7)).getObjectRequest(r -> r.bucket(bucket).key(objectKey))
@@ -629,6 +699,84 @@ public class GenericS3Provider extends AbstractProvider {
         }
     }
 
+    /**
+     * Sends a stream as an S3 multipart upload. Parts are read sequentially from the stream and uploaded on virtual
+     * threads; a semaphore bounds the number of parts in flight so memory use stays at roughly
+     * {@code (parallelism + 1) * partSize}. Any failure aborts the upload so that no orphaned parts remain billed.
+     *
+     * @param bucket    The name of the storage bucket.
+     * @param objectKey The exact S3 object key.
+     * @param first     The first part, already read from the stream.
+     * @param content   The remaining file content.
+     * @param partSize  The size in bytes of every part except the last.
+     * @throws Exception If reading the stream or any S3 request fails.
+     */
+    protected void multipart(String bucket, String objectKey, byte[] first, InputStream content, int partSize)
+            throws Exception {
+        String uploadId = client.createMultipartUpload(
+                CreateMultipartUploadRequest.builder().bucket(bucket).key(objectKey)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM).build())
+                .uploadId();
+        Semaphore permits = new Semaphore(Math.max(1, context.getParallelism()));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Future<CompletedPart>> parts = new ArrayList<>();
+        ExecutorService executor = Executors
+                .newThreadPerTaskExecutor(Thread.ofVirtual().name("storage-part-", 0).factory());
+        try {
+            byte[] chunk = first;
+            while (chunk.length > 0) {
+                if (parts.size() == MAX_PARTS) {
+                    throw new IllegalStateException("Stream exceeds " + MAX_PARTS + " parts of " + partSize + " bytes");
+                }
+                permits.acquire();
+                if (failure.get() != null) {
+                    permits.release();
+                    break;
+                }
+                int number = parts.size() + 1;
+                byte[] body = chunk;
+                parts.add(executor.submit(() -> {
+                    try {
+                        UploadPartResponse response = client.uploadPart(
+                                UploadPartRequest.builder().bucket(bucket).key(objectKey).uploadId(uploadId)
+                                        .partNumber(number).contentLength((long) body.length).build(),
+                                RequestBody.fromBytes(body));
+                        return CompletedPart.builder().partNumber(number).eTag(response.eTag()).build();
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+                chunk = content.readNBytes(partSize);
+            }
+            List<CompletedPart> completed = new ArrayList<>(parts.size());
+            for (Future<CompletedPart> part : parts) {
+                try {
+                    completed.add(part.get());
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+            client.completeMultipartUpload(
+                    CompleteMultipartUploadRequest.builder().bucket(bucket).key(objectKey).uploadId(uploadId)
+                            .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build()).build());
+        } catch (Exception e) {
+            executor.shutdownNow();
+            try {
+                client.abortMultipartUpload(
+                        AbortMultipartUploadRequest.builder().bucket(bucket).key(objectKey).uploadId(uploadId)
+                                .build());
+            } catch (Exception abort) {
+                e.addSuppressed(abort);
+            }
+            throw e;
+        } finally {
+            executor.close();
+        }
+    }
+
     /**
      * Removes a file from the default storage bucket.
      *
@@ -23,10 +23,13 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.HashMap;
 import java.util.List;
@@ -35,6 +38,7 @@ import java.util.stream.Collectors;
 
 import org.miaixz.bus.core.basic.entity.Message;
 import org.miaixz.bus.core.basic.normal.Errors;
+import org.miaixz.bus.core.io.stream.LimitedInputStream;
 import org.miaixz.bus.core.lang.Assert;
 import org.miaixz.bus.core.lang.Normal;
 import org.miaixz.bus.core.lang.Symbol;
@@ -182,11 +186,43 @@ public class LocalFileProvider extends AbstractProvider {
      */
     @Override
     public Message<Blob> streamKey(String bucket, String objectKey) {
+        return streamKey(bucket, objectKey, 0, -1);
+    }
+
+    /**
+     * Opens a ranged stream for a file using the provider's normal local path-building rules.
+     *
+     * @param bucket   The local bucket directory.
+     * @param fileName The file name to read.
+     * @param offset   The zero-based offset of the first byte to read.
+     * @param length   The number of bytes to read, or a negative value to read until the end of the file.
+     * @return A {@link Message} containing a storage resource.
+     */
+    @Override
+    public Message<Blob> stream(String bucket, String fileName, long offset, long length) {
+        String prefix = Builder.buildNormalizedPrefix(context.getPrefix());
+        return streamKey(bucket, Builder.buildObjectKey(prefix, Normal.EMPTY, fileName), offset, length);
+    }
+
+    /**
+     * Opens a ranged stream for an exact local object key. The file channel is positioned at the offset and the
+     * returned stream stops after {@code length} bytes, so no bytes outside the range are read.
+     *
+     * @param bucket    The local bucket directory.
+     * @param objectKey The exact object key inside the bucket.
+     * @param offset    The zero-based offset of the first byte to read.
+     * @param length    The number of bytes to read, or a negative value to read until the end of the file.
+     * @return A {@link Message} containing a storage resource.
+     */
+    @Override
+    public Message<Blob> streamKey(String bucket, String objectKey, long offset, long length) {
         try {
             if (StringKit.isBlank(objectKey)) {
                 return Message.<Blob>builder().errcode(ErrorCode._113008.getKey()).errmsg(ErrorCode._113008.getValue())
                         .build();
             }
+            Assert.isTrue(offset >= 0, "[offset] cannot be negative");
+            Assert.isTrue(length != 0, "[length] cannot be zero");
 
             Path filePath = Paths.get(context.getRegion(), bucket, objectKey);
             if (!Files.isRegularFile(filePath)) {
@@ -210,10 +246,23 @@ public class LocalFileProvider extends AbstractProvider {
             extend.put("other", attributes.isOther());
             extend.put("fileKey", attributes.fileKey());
 
+            long total = attributes.size();
+            Assert.isTrue(
+                    total > 0 ? offset < total : offset == 0,
+                    "[offset] {} is beyond the file size {}",
+                    offset,
+                    total);
+            long size = length < 0 ? total - offset : Math.min(length, total - offset);
+            if (size != total) {
+                extend.put("contentRange", "bytes " + offset + Symbol.MINUS + (offset + size - 1) + Symbol.SLASH + total);
+            }
+            FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ);
+            InputStream stream = new LimitedInputStream(Channels.newInputStream(channel.position(offset)), size, false);
+
             return Message.<Blob>builder().errcode(ErrorCode._SUCCESS.getKey()).errmsg(ErrorCode._SUCCESS.getValue())
                     .data(
-                            Blob.builder().inputStream(Files.newInputStream(filePath)).bucket(bucket).key(objectKey)
-                                    .name(name).path(objectKey).size(StringKit.toString(attributes.size()))
+                            Blob.builder().inputStream(stream).bucket(bucket).key(objectKey).name(name)
+                                    .path(objectKey).size(StringKit.toString(size))
                                     .type(Files.probeContentType(filePath)).extend(extend).build())
                     .build();
         } catch (Exception e) {
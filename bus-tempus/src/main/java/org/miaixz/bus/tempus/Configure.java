@@ -138,7 +138,7 @@ public class Configure {
      * Sets whether to use trigger queue<br>
      * {@code true} uses the trigger queue method, which pre-adds the next trigger time of tasks to the queue. When the
      * trigger time of tasks in the queue is less than the current time, they are taken out of the queue and
-     * executed.<br>
+     * executed. As the earliest trigger time is known, the timer sleeps until it instead of waking on every tick.<br>
      * {@code false} uses the normal trigger method, which checks the task table. When the expression in the task table
      * matches the specified time, the corresponding Task is executed.
      *
@@ -28,7 +28,9 @@ import org.miaixz.bus.logger.Logger;
 
 /**
  * The timer thread for the cron scheduler. This thread checks the task list every minute (or second, depending on
- * configuration) and executes any matching tasks.
+ * configuration) and executes any matching tasks. When the task table can tell when its earliest task is due (see
+ * {@link Repertoire#nextTriggerMillis()}), idle ticks are skipped and the thread sleeps until that deadline or until
+ * {@link #wakeup()} reports a change of the task table.
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -48,6 +50,21 @@ public class CronTimer extends Thread implements Serializable {
      */
     private final long TIMER_UNIT_MINUTE = Chrono.MINUTE.getMillis();
 
+    /**
+     * Upper bound of a single idle wait, so that wall-clock jumps are noticed while sleeping until a distant deadline.
+     */
+    private static final long MAX_IDLE_WAIT = Chrono.MINUTE.getMillis();
+
+    /**
+     * Monitor the timer waits on while idle.
+     */
+    private final Object monitor = new Object();
+
+    /**
+     * A flag indicating that the task table changed while the timer was idle, guarded by {@link #monitor}.
+     */
+    private boolean signalled;
+
     /**
      * The scheduler instance for managing cron tasks.
      */
@@ -93,7 +110,7 @@ public class CronTimer extends Thread implements Serializable {
      * The timer loop:
      * <ol>
      * <li>Spawns a launcher to check for matching tasks at the current time</li>
-     * <li>Calculates the next execution time point</li>
+     * <li>Calculates the next execution time point, skipping ahead to the earliest task deadline when it is known</li>
      * <li>Handles edge cases like time rollbacks and catching up with missed executions</li>
      * <li>Sleeps until the next scheduled time point</li>
      * </ol>
@@ -122,6 +139,16 @@ public class CronTimer extends Thread implements Serializable {
             // Dividing by the timer unit here is to clear the parts below the unit,
             // for example, if the unit is minute, seconds and milliseconds are cleared
             long nextTime = ((thisTime / timerUnit) + 1) * timerUnit;
+            final long idleUntil = idleUntil(nextTime, timerUnit);
+            if (idleUntil > nextTime) {
+                // Nothing is due before the deadline, sleep until it is reached or the task table changes
+                if (!awaitIdle(idleUntil)) {
+                    Logger.warn(false, "Tempus", "Cron timer interrupted while idle: idleUntil={}", idleUntil);
+                    break;
+                }
+                thisTime = (System.currentTimeMillis() / timerUnit) * timerUnit;
+                continue;
+            }
             final long sleep = nextTime - System.currentTimeMillis();
             if (sleep < 0) {
                 // Possible slow loop execution causing time points to lag behind system time,
@@ -147,7 +174,9 @@ public class CronTimer extends Thread implements Serializable {
                 continue;
             } else if (!ThreadKit.safeSleep(sleep)) {
                 // Wait until the next time point, exit Timer directly if interrupted by user
-                Logger.warn(false, "Tempus", "Cron timer interrupted during sleep: sleepMs={}", sleep);
+                if (!isStop) {
+                    Logger.warn(false, "Tempus", "Cron timer interrupted during sleep: sleepMs={}", sleep);
+                }
                 break;
             }
 
@@ -170,6 +199,60 @@ public class CronTimer extends Thread implements Serializable {
         ThreadKit.interrupt(this, true);
     }
 
+    /**
+     * Wakes the timer up if it is sleeping until a task deadline, so that a newly added or re-patterned task with an
+     * earlier deadline is not missed.
+     */
+    public void wakeup() {
+        synchronized (this.monitor) {
+            this.signalled = true;
+            this.monitor.notifyAll();
+        }
+    }
+
+    /**
+     * Computes the time point up to which the timer may stay idle.
+     *
+     * @param nextTime  The next regular time point.
+     * @param timerUnit The timer unit.
+     * @return The earliest deadline rounded up to the timer unit, {@link Long#MAX_VALUE} if no task is scheduled, or
+     *         {@code nextTime} if the task table cannot predict its deadlines.
+     */
+    private long idleUntil(final long nextTime, final long timerUnit) {
+        final long deadline = this.scheduler.repertoire.nextTriggerMillis();
+        if (deadline < 0) {
+            return nextTime;
+        }
+        if (deadline == Long.MAX_VALUE) {
+            return deadline;
+        }
+        return ((deadline + timerUnit - 1) / timerUnit) * timerUnit;
+    }
+
+    /**
+     * Waits until the given time point, a {@link #wakeup()} or a stop request, whichever comes first. Waits are sliced
+     * so the remaining time is re-evaluated against the wall clock.
+     *
+     * @param until The time point in milliseconds.
+     * @return {@code false} if the thread was interrupted without a stop request.
+     */
+    private boolean awaitIdle(final long until) {
+        synchronized (this.monitor) {
+            try {
+                long remaining;
+                while (!this.isStop && !this.signalled && (remaining = until - System.currentTimeMillis()) > 0) {
+                    this.monitor.wait(Math.min(remaining, MAX_IDLE_WAIT));
+                }
+            } catch (final InterruptedException e) {
+                // stopTimer interrupts the thread, the loop then ends on its own
+                return this.isStop;
+            } finally {
+                this.signalled = false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Spawns a launcher to check for matching tasks at the given time.
      *
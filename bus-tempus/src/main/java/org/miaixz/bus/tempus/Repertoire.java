@@ -21,7 +21,9 @@ package org.miaixz.bus.tempus;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -37,6 +39,9 @@ import org.miaixz.bus.tempus.pattern.CronPattern;
  * Task table for cron jobs. This class holds a mapping between task IDs, cron patterns, and the tasks themselves. The
  * scheduler periodically checks all tasks in this table to see if their patterns match the current time, and if so,
  * executes the corresponding task. Read-write locks are used to ensure thread safety for adding and removing tasks.
+ * <p>
+ * Implementations that know when their earliest task is due (see {@link #nextTriggerMillis()}) allow the
+ * {@link CronTimer} to sleep until that deadline instead of waking on every tick.
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -62,6 +67,11 @@ public abstract class Repertoire implements Serializable {
      */
     public final TripletTable<String, CronPattern, Crontab> table;
 
+    /**
+     * IDs of the registered tasks, used to reject duplicates without scanning the task table.
+     */
+    private final Set<String> ids;
+
     /**
      * Constructs a new Repertoire with the default capacity.
      */
@@ -77,6 +87,7 @@ public abstract class Repertoire implements Serializable {
     public Repertoire(final int initialCapacity) {
         lock = new ReentrantReadWriteLock();
         this.table = new TripletTable<>(initialCapacity);
+        this.ids = new HashSet<>(initialCapacity);
     }
 
     /**
@@ -218,7 +229,7 @@ public abstract class Repertoire implements Serializable {
         final Lock writeLock = lock.writeLock();
         writeLock.lock();
         try {
-            if (this.table.containLeft(id)) {
+            if (!this.ids.add(id)) {
                 Logger.warn(
                         false,
                         "Tempus",
@@ -252,9 +263,8 @@ public abstract class Repertoire implements Serializable {
         final Lock writeLock = lock.writeLock();
         writeLock.lock();
         try {
-            final int index = this.table.indexOfLeft(id);
-            if (index > -1) {
-                this.table.remove(index);
+            if (this.ids.remove(id)) {
+                this.table.remove(this.table.indexOfLeft(id));
                 Logger.debug(
                         false,
                         "Tempus",
@@ -286,9 +296,8 @@ public abstract class Repertoire implements Serializable {
         final Lock writeLock = lock.writeLock();
         writeLock.lock();
         try {
-            final int index = this.table.indexOfLeft(id);
-            if (index > -1) {
-                this.table.setMiddle(index, pattern);
+            if (this.ids.contains(id)) {
+                this.table.setMiddle(this.table.indexOfLeft(id), pattern);
                 Logger.debug(false, "Tempus", "Task table pattern updated: taskId={}, pattern={}", id, pattern);
                 return true;
             }
@@ -319,6 +328,17 @@ public abstract class Repertoire implements Serializable {
         return builder.toString();
     }
 
+    /**
+     * Returns the earliest time at which a task in this table is due. The {@link CronTimer} uses it to skip ticks on
+     * which nothing can run.
+     *
+     * @return The earliest trigger time in milliseconds, {@link Long#MAX_VALUE} if no task is scheduled, or a negative
+     *         value if the table cannot predict it and must be checked on every tick.
+     */
+    public long nextTriggerMillis() {
+        return -1;
+    }
+
     /**
      * Matches tasks based on the given timestamp, and if a match is successful, executes the corresponding Task using
      * the scheduler.
@@ -88,7 +88,7 @@ public class Scheduler implements Serializable {
     /**
      * Timer.
      */
-    private CronTimer timer;
+    private volatile CronTimer timer;
 
     /**
      * Scheduled task table.
@@ -337,6 +337,7 @@ public class Scheduler implements Serializable {
                 pattern,
                 crontab == null ? null : crontab.getClass().getName());
         repertoire.add(id, pattern, crontab);
+        wakeupTimer();
         Logger.info(
                 false,
                 "Tempus",
@@ -387,6 +388,9 @@ public class Scheduler implements Serializable {
     public Scheduler updatePattern(final String id, final CronPattern pattern) {
         Logger.info(true, "Tempus", "Scheduler task pattern update started: taskId={}, pattern={}", id, pattern);
         boolean updated = this.repertoire.updatePattern(id, pattern);
+        if (updated) {
+            wakeupTimer();
+        }
         Logger.info(
                 false,
                 "Tempus",
@@ -459,6 +463,7 @@ public class Scheduler implements Serializable {
                 before,
                 this.config.isUseTriggerQueue());
         this.repertoire = CrontabFactory.of(this.config);
+        wakeupTimer();
         Logger.info(
                 false,
                 "Tempus",
@@ -612,6 +617,16 @@ public class Scheduler implements Serializable {
         Logger.debug(false, "Tempus", "Scheduler immediate execution completed: millis={}", millis);
     }
 
+    /**
+     * Wakes the timer up after a change of the task table, so that it re-evaluates the earliest task deadline.
+     */
+    private void wakeupTimer() {
+        final CronTimer timer = this.timer;
+        if (null != timer) {
+            timer.wakeup();
+        }
+    }
+
     /**
      * Checks if the scheduler has already been started.
      *
@@ -50,7 +50,9 @@ public class CrontabFactory {
                 "Tempus",
                 "Task table factory selection started: triggerQueue={}",
                 config.isUseTriggerQueue());
-        Repertoire repertoire = config.isUseTriggerQueue() ? new TriggerCrontab() : new MatchCrontab();
+        Repertoire repertoire = config.isUseTriggerQueue()
+                ? new TriggerCrontab(Repertoire.DEFAULT_CAPACITY, config.getTimeZone())
+                : new MatchCrontab();
         Logger.debug(
                 false,
                 "Tempus",
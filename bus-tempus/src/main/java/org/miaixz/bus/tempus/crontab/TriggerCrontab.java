@@ -19,10 +19,13 @@
 */
 package org.miaixz.bus.tempus.crontab;
 
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TimeZone;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
-import org.miaixz.bus.core.xyz.StringKit;
 import org.miaixz.bus.logger.Logger;
 import org.miaixz.bus.tempus.Repertoire;
 import org.miaixz.bus.tempus.Scheduler;
@@ -30,11 +33,12 @@ import org.miaixz.bus.tempus.pattern.CronPattern;
 
 /**
  * Task table with trigger queue<br>
- * When a user adds a task, the next trigger time is added to the queue, and tasks are taken from the queue for
- * execution.<br>
- * When executing tasks, the queue is checked, and when the trigger time of tasks in the queue is less than the current
- * time, they are taken from the queue and executed.<br>
- * After execution, the next trigger time is added to the queue.
+ * When a user adds a task, its next trigger time is computed from the {@link CronPattern} and added to a min-heap keyed
+ * by that time.<br>
+ * When executing tasks, only the due head of the heap is inspected, so a tick costs O(due tasks * log n) instead of
+ * O(n), and {@link #nextTriggerMillis()} lets the timer sleep until the earliest deadline.<br>
+ * After execution, the next trigger time is added to the queue. Removed or re-patterned tasks leave stale entries
+ * behind, which are skipped lazily and purged once they outnumber the live ones.
  *
  * @author Kimi Liu
  * @since Java 21+
@@ -42,9 +46,24 @@ import org.miaixz.bus.tempus.pattern.CronPattern;
 public class TriggerCrontab extends Repertoire {
 
     /**
-     * Priority queue for managing trigger times of scheduled tasks.
+     * Priority queue for managing trigger times of scheduled tasks, guarded by {@link #queueLock}.
      */
-    private final PriorityBlockingQueue<TriggerTime> triggerQueue;
+    private final PriorityQueue<TriggerTime> triggerQueue;
+
+    /**
+     * Live trigger entry of each task, any queued entry not present here is stale.
+     */
+    private final Map<String, TriggerTime> triggers;
+
+    /**
+     * Lock guarding the trigger queue, so that the timer never observes a task between being polled and re-queued.
+     */
+    private final Lock queueLock;
+
+    /**
+     * Time zone in which the cron patterns are evaluated.
+     */
+    private final TimeZone timezone;
 
     /**
      * Constructor with default capacity of {@link Repertoire#DEFAULT_CAPACITY}.
@@ -59,8 +78,21 @@ public class TriggerCrontab extends Repertoire {
      * @param initialCapacity Initial capacity.
      */
     public TriggerCrontab(final int initialCapacity) {
+        this(initialCapacity, TimeZone.getDefault());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param initialCapacity Initial capacity.
+     * @param timezone        Time zone in which the cron patterns are evaluated.
+     */
+    public TriggerCrontab(final int initialCapacity, final TimeZone timezone) {
         super(initialCapacity);
-        this.triggerQueue = new PriorityBlockingQueue<>(initialCapacity);
+        this.triggerQueue = new PriorityQueue<>(initialCapacity);
+        this.triggers = new HashMap<>(initialCapacity);
+        this.queueLock = new ReentrantLock();
+        this.timezone = null == timezone ? TimeZone.getDefault() : timezone;
     }
 
     /**
@@ -73,24 +105,18 @@ public class TriggerCrontab extends Repertoire {
      */
     @Override
     public TriggerCrontab add(String id, CronPattern pattern, Crontab crontab) {
-        Logger.debug(
-                true,
-                "Tempus",
-                "Trigger task add started: taskId={}, pattern={}, queueSize={}",
-                id,
-                pattern,
-                this.triggerQueue.size());
+        Logger.debug(true, "Tempus", "Trigger task add started: taskId={}, pattern={}", id, pattern);
         super.add(id, pattern, crontab);
         // Add the next trigger time and task to the queue
-        long nextTrigger = pattern.nextMatchFromNow();
-        this.triggerQueue.offer(new TriggerTime(id, nextTrigger));
+        final long nextTrigger = pattern.nextMatch(System.currentTimeMillis(), this.timezone);
+        final int queueSize = offer(new TriggerTime(id, pattern, crontab, nextTrigger));
         Logger.debug(
                 false,
                 "Tempus",
                 "Trigger task added: taskId={}, nextTriggerMillis={}, queueSize={}",
                 id,
                 nextTrigger,
-                this.triggerQueue.size());
+                queueSize);
         return this;
     }
 
@@ -102,25 +128,25 @@ public class TriggerCrontab extends Repertoire {
      */
     @Override
     public boolean remove(String id) {
-        // Remove the task from the queue
-        Logger.debug(
-                true,
-                "Tempus",
-                "Trigger task remove started: taskId={}, queueSize={}",
-                id,
-                this.triggerQueue.size());
-        boolean queueRemoved = this.triggerQueue.removeIf(task -> StringKit.equals(task.id(), id));
-        boolean removed = super.remove(id);
+        Logger.debug(true, "Tempus", "Trigger task remove started: taskId={}", id);
+        final boolean removed = super.remove(id);
+        // The queued entry becomes stale and is dropped when it reaches the head
+        final boolean queueRemoved;
+        queueLock.lock();
+        try {
+            queueRemoved = null != this.triggers.remove(id);
+            purgeIfStale();
+        } finally {
+            queueLock.unlock();
+        }
         Logger.debug(
                 false,
                 "Tempus",
-                "Trigger task remove completed: taskId={}, queueRemoved={}, removed={}, queueSize={}",
+                "Trigger task remove completed: taskId={}, queueRemoved={}, removed={}",
                 id,
                 queueRemoved,
-                removed,
-                this.triggerQueue.size());
+                removed);
         return removed;
-
     }
 
     /**
@@ -132,31 +158,40 @@ public class TriggerCrontab extends Repertoire {
      */
     @Override
     public boolean updatePattern(String id, CronPattern pattern) {
-        // Remove the task from the queue
-        Logger.debug(
-                true,
-                "Tempus",
-                "Trigger task pattern update started: taskId={}, pattern={}, queueSize={}",
-                id,
-                pattern,
-                this.triggerQueue.size());
-        boolean queueRemoved = this.triggerQueue.removeIf(task -> StringKit.equals(task.id(), id));
-        // Add the next trigger time and task to the queue
-        long nextTrigger = pattern.nextMatchFromNow();
-        this.triggerQueue.offer(new TriggerTime(id, nextTrigger));
-        boolean updated = super.updatePattern(id, pattern);
+        Logger.debug(true, "Tempus", "Trigger task pattern update started: taskId={}, pattern={}", id, pattern);
+        final boolean updated = super.updatePattern(id, pattern);
+        long nextTrigger = -1;
+        if (updated) {
+            // Replace the live entry, the previous one becomes stale
+            nextTrigger = pattern.nextMatch(System.currentTimeMillis(), this.timezone);
+            offer(new TriggerTime(id, pattern, getTask(id), nextTrigger));
+        }
         Logger.debug(
                 false,
                 "Tempus",
-                "Trigger task pattern update completed: taskId={}, updated={}, queueRemoved={}, nextTriggerMillis={}, queueSize={}",
+                "Trigger task pattern update completed: taskId={}, updated={}, nextTriggerMillis={}",
                 id,
                 updated,
-                queueRemoved,
-                nextTrigger,
-                this.triggerQueue.size());
+                nextTrigger);
         return updated;
     }
 
+    /**
+     * Returns the trigger time at the head of the queue.
+     *
+     * @return The earliest trigger time in milliseconds, or {@link Long#MAX_VALUE} if no task is scheduled.
+     */
+    @Override
+    public long nextTriggerMillis() {
+        queueLock.lock();
+        try {
+            final TriggerTime head = peekLive();
+            return null == head ? Long.MAX_VALUE : head.timestamp();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
     /**
      * Executes all tasks scheduled to run at or before the given timestamp.
      * <p>
@@ -168,19 +203,18 @@ public class TriggerCrontab extends Repertoire {
      */
     @Override
     public void execute(final Scheduler scheduler, final long millis) {
-        final Lock readLock = lock.readLock();
-        readLock.lock();
+        queueLock.lock();
         try {
             executeTaskBeforeInternal(scheduler, millis);
         } finally {
-            readLock.unlock();
+            queueLock.unlock();
         }
     }
 
     /**
      * Execute all tasks at the given timestamp and before.
      * <p>
-     * This method depends on the trigger queue.
+     * This method depends on the trigger queue and must be called while holding {@link #queueLock}.
      * </p>
      *
      * @param scheduler {@link Scheduler}.
@@ -193,22 +227,17 @@ public class TriggerCrontab extends Repertoire {
                 "Tempus",
                 "Trigger task scan started: millis={}, queueSize={}",
                 millis,
-                this.triggerQueue.size());
+                this.triggers.size());
         while (true) {
-            final TriggerTime triggerTime = this.triggerQueue.poll();
-            if (null == triggerTime) {
-                // Queue is empty
-                break;
-            }
-
-            final long triggerTimestamp = triggerTime.timestamp();
-            if (triggerTimestamp > millis) {
-                // Task time has not arrived yet
-                this.triggerQueue.offer(triggerTime);
+            final TriggerTime triggerTime = peekLive();
+            if (null == triggerTime || triggerTime.timestamp() > millis) {
+                // Queue is empty or task time has not arrived yet
                 break;
             }
+            this.triggerQueue.poll();
 
             // Execute the task
+            final long triggerTimestamp = triggerTime.timestamp();
             final String id = triggerTime.id();
             Logger.debug(
                     true,
@@ -217,7 +246,7 @@ public class TriggerCrontab extends Repertoire {
                     id,
                     triggerTimestamp,
                     millis);
-            scheduler.manager.spawnExecutor(getCronTask(id));
+            scheduler.manager.spawnExecutor(new CronCrontab(id, triggerTime.pattern(), triggerTime.crontab()));
             dispatchedCount++;
 
             // Add the next trigger time and task to the queue
@@ -226,7 +255,9 @@ public class TriggerCrontab extends Repertoire {
                 // Same second level, indicating this second has already been executed, start from the next second
                 nextMillis += 1000;
             }
-            this.triggerQueue.offer(new TriggerTime(id, getPattern(id).nextMatch(nextMillis)));
+            final TriggerTime next = triggerTime.next(triggerTime.pattern().nextMatch(nextMillis, this.timezone));
+            this.triggers.put(id, next);
+            this.triggerQueue.offer(next);
         }
         Logger.debug(
                 false,
@@ -234,29 +265,74 @@ public class TriggerCrontab extends Repertoire {
                 "Trigger task scan completed: millis={}, dispatchedCount={}, queueSize={}",
                 millis,
                 dispatchedCount,
-                this.triggerQueue.size());
+                this.triggers.size());
+    }
+
+    /**
+     * Registers a trigger entry as the live one of its task and adds it to the queue.
+     *
+     * @param triggerTime The trigger entry.
+     * @return The number of live entries.
+     */
+    private int offer(final TriggerTime triggerTime) {
+        queueLock.lock();
+        try {
+            this.triggers.put(triggerTime.id(), triggerTime);
+            this.triggerQueue.offer(triggerTime);
+            purgeIfStale();
+            return this.triggers.size();
+        } finally {
+            queueLock.unlock();
+        }
     }
 
     /**
-     * Get a {@link CronCrontab} without lock.
+     * Drops stale entries from the head of the queue and returns the first live one, without removing it.
      *
-     * @param id ID.
-     * @return {@link CronCrontab}.
+     * @return The earliest live entry, or {@code null} if the queue is empty.
      */
-    private CronCrontab getCronTask(final String id) {
-        final int index = this.table.indexOfLeft(id);
-        return index > -1 ? new CronCrontab(id, this.table.getMiddle(index), this.table.getRight(index)) : null;
+    private TriggerTime peekLive() {
+        TriggerTime head;
+        while (null != (head = this.triggerQueue.peek()) && this.triggers.get(head.id()) != head) {
+            this.triggerQueue.poll();
+        }
+        return head;
+    }
+
+    /**
+     * Rebuilds the queue from the live entries once stale entries outnumber them, bounding the memory held by removed
+     * and re-patterned tasks.
+     */
+    private void purgeIfStale() {
+        final int live = this.triggers.size();
+        if (this.triggerQueue.size() - live > Math.max(live, DEFAULT_CAPACITY)) {
+            this.triggerQueue.clear();
+            this.triggerQueue.addAll(this.triggers.values());
+        }
     }
 
     /**
      * Trigger time record.
      *
      * @param id        ID.
+     * @param pattern   Pattern the trigger time was computed from.
+     * @param crontab   Task to execute.
      * @param timestamp Trigger time.
      * @author Kimi Liu
      * @since Java 21+
      */
-    private record TriggerTime(String id, long timestamp) implements Comparable<TriggerTime> {
+    private record TriggerTime(String id, CronPattern pattern, Crontab crontab, long timestamp)
+            implements Comparable<TriggerTime> {
+
+        /**
+         * Creates the entry of the same task for its next trigger time.
+         *
+         * @param timestamp Next trigger time.
+         * @return The new entry.
+         */
+        private TriggerTime next(final long timestamp) {
+            return new TriggerTime(this.id, this.pattern, this.crontab, timestamp);
+        }
 
         /**
          * Compares this trigger time with another based on timestamp.
@@ -313,6 +313,18 @@ public class CronPattern {
         return nextMatch(Calendar.calendar(millis)).getTimeInMillis();
     }
 
+    /**
+     * Starting from the specified timestamp, returns the next matching time in the given time zone. If the current time
+     * matches, returns directly.
+     *
+     * @param millis   Timestamp
+     * @param timezone Time zone in which the pattern is evaluated
+     * @return Timestamp of the next matching time
+     */
+    public long nextMatch(final long millis, final TimeZone timezone) {
+        return nextMatch(Calendar.calendar(millis, timezone)).getTimeInMillis();
+    }
+
     /**
      * Returns the next matching time. If the given time matches the pattern, the time itself is returned.
      *
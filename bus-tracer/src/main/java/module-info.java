@@ -25,6 +25,10 @@
  */
 module bus.tracer {
 
+    requires bus.core;
+    requires bus.logger;
+
     exports org.miaixz.bus.tracer;
+    exports org.miaixz.bus.tracer.builtin;
 
 }
@@ -0,0 +1,175 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.tracer;
+
+import org.miaixz.bus.tracer.builtin.Traceparent;
+
+/**
+ * Immutable identity of a span as it travels between threads and processes. The 128-bit trace id and 64-bit span id
+ * are held as primitive longs so that creating, comparing and propagating a context never formats a string; the hex
+ * forms are rendered only on demand.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public class Context {
+
+    /**
+     * Trace flag bit signalling that the caller recorded the trace.
+     */
+    public static final byte SAMPLED = 0x01;
+
+    /**
+     * High 64 bits of the trace id.
+     */
+    private final long traceHigh;
+
+    /**
+     * Low 64 bits of the trace id.
+     */
+    private final long traceLow;
+
+    /**
+     * The span id.
+     */
+    private final long spanId;
+
+    /**
+     * The W3C trace flags.
+     */
+    private final byte flags;
+
+    /**
+     * Creates a context.
+     *
+     * @param traceHigh high 64 bits of the trace id
+     * @param traceLow  low 64 bits of the trace id
+     * @param spanId    the span id
+     * @param flags     the W3C trace flags
+     */
+    protected Context(final long traceHigh, final long traceLow, final long spanId, final byte flags) {
+        this.traceHigh = traceHigh;
+        this.traceLow = traceLow;
+        this.spanId = spanId;
+        this.flags = flags;
+    }
+
+    /**
+     * Creates a context from its primitive parts, typically one received from a remote caller.
+     *
+     * @param traceHigh high 64 bits of the trace id
+     * @param traceLow  low 64 bits of the trace id
+     * @param spanId    the span id
+     * @param flags     the W3C trace flags
+     * @return the context
+     */
+    public static Context of(final long traceHigh, final long traceLow, final long spanId, final byte flags) {
+        return new Context(traceHigh, traceLow, spanId, flags);
+    }
+
+    /**
+     * Returns the high 64 bits of the trace id.
+     *
+     * @return the high trace id bits
+     */
+    public long traceHigh() {
+        return traceHigh;
+    }
+
+    /**
+     * Returns the low 64 bits of the trace id.
+     *
+     * @return the low trace id bits
+     */
+    public long traceLow() {
+        return traceLow;
+    }
+
+    /**
+     * Returns the span id.
+     *
+     * @return the span id
+     */
+    public long spanId() {
+        return spanId;
+    }
+
+    /**
+     * Returns the W3C trace flags.
+     *
+     * @return the trace flags
+     */
+    public byte flags() {
+        return flags;
+    }
+
+    /**
+     * Returns whether the trace was head-sampled.
+     *
+     * @return {@code true} when the sampled flag is set
+     */
+    public boolean sampled() {
+        return (flags & SAMPLED) != 0;
+    }
+
+    /**
+     * Returns the 32-character lowercase hex trace id.
+     *
+     * @return the trace id
+     */
+    public String traceId() {
+        final char[] chars = new char[32];
+        Traceparent.hex(traceHigh, chars, 0);
+        Traceparent.hex(traceLow, chars, 16);
+        return new String(chars);
+    }
+
+    /**
+     * Returns the 16-character lowercase hex span id.
+     *
+     * @return the span id
+     */
+    public String spanHex() {
+        final char[] chars = new char[16];
+        Traceparent.hex(spanId, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Returns whether another context belongs to the same trace.
+     *
+     * @param other the context to compare with
+     * @return {@code true} when both trace ids are equal
+     */
+    public boolean sameTrace(final Context other) {
+        return other != null && other.traceHigh == traceHigh && other.traceLow == traceLow;
+    }
+
+    /**
+     * Renders this context as a W3C {@code traceparent} value.
+     *
+     * @return the traceparent value
+     */
+    @Override
+    public String toString() {
+        return Traceparent.format(this);
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.tracer;
+
+import java.util.List;
+
+/**
+ * Destination of finished spans. A tracer hands spans to its exporter in batches from a single background thread, so
+ * implementations need not be thread-safe and may block on I/O without slowing traced code.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+@FunctionalInterface
+public interface Exporter {
+
+    /**
+     * Exports a batch of finished spans. The list is only valid for the duration of the call.
+     *
+     * @param spans the finished spans
+     */
+    void export(List<Span> spans);
+
+    /**
+     * Flushes any buffered output, called after the final batch when the tracer closes.
+     */
+    default void flush() {
+        // Nothing is buffered by default.
+    }
+
+    /**
+     * Releases exporter resources, called once when the tracer closes.
+     */
+    default void close() {
+        // No resources are held by default.
+    }
+
+    /**
+     * Returns the exporter that discards everything. A tracer using it never enqueues spans.
+     *
+     * @return the exporter
+     */
+    static Exporter noop() {
+        return Holder.NOOP;
+    }
+
+    /**
+     * Holds the shared no-op exporter so that it can be recognised by identity.
+     */
+    final class Holder {
+
+        /**
+         * The exporter discarding everything.
+         */
+        static final Exporter NOOP = spans -> {
+        };
+
+        /**
+         * Utility class constructor.
+         */
+        private Holder() {
+            // No initialization required.
+        }
+
+    }
+
+}
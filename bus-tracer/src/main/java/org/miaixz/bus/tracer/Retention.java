@@ -0,0 +1,106 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.tracer;
+
+import java.time.Duration;
+
+import org.miaixz.bus.core.lang.Assert;
+
+/**
+ * Tail sampling decision taken when a span ends. A tracer configured with a retention policy records spans the head
+ * sampler rejected as well, and exports them only if the policy keeps them once their outcome is known, such as a
+ * failure or an unusually slow call. Head-sampled spans are always exported. The decision is made per span and is not
+ * propagated, because the trace flags have already been sent downstream when it is taken.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+@FunctionalInterface
+public interface Retention {
+
+    /**
+     * Decides whether a finished span that was not head-sampled is exported.
+     *
+     * @param span the finished span
+     * @return {@code true} to export the span
+     */
+    boolean retain(Span span);
+
+    /**
+     * Returns the policy that keeps nothing, which disables tail sampling altogether.
+     *
+     * @return the policy
+     */
+    static Retention none() {
+        return Holder.NONE;
+    }
+
+    /**
+     * Returns a policy keeping spans that ended with an error.
+     *
+     * @return the policy
+     */
+    static Retention errors() {
+        return span -> span.error() != null;
+    }
+
+    /**
+     * Returns a policy keeping spans that lasted at least the given duration.
+     *
+     * @param threshold the minimum duration
+     * @return the policy
+     */
+    static Retention slower(final Duration threshold) {
+        Assert.notNull(threshold, "Threshold must not be null");
+        final long nanos = threshold.toNanos();
+        return span -> span.duration() >= nanos;
+    }
+
+    /**
+     * Returns a policy keeping spans kept by this policy or the other.
+     *
+     * @param other the other policy
+     * @return the combined policy
+     */
+    default Retention or(final Retention other) {
+        Assert.notNull(other, "Retention must not be null");
+        return span -> retain(span) || other.retain(span);
+    }
+
+    /**
+     * Holds the shared no-op policy so that it can be recognised by identity.
+     */
+    final class Holder {
+
+        /**
+         * The policy keeping nothing.
+         */
+        static final Retention NONE = span -> false;
+
+        /**
+         * Utility class constructor.
+         */
+        private Holder() {
+            // No initialization required.
+        }
+
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.tracer;
+
+import org.miaixz.bus.core.lang.Assert;
+
+/**
+ * Head sampling decision taken when a root or child span starts. The decision is stored in the span's trace flags and
+ * propagated downstream, so every hop of a trace agrees on it without coordination.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+@FunctionalInterface
+public interface Sampler {
+
+    /**
+     * Decides whether a new span is sampled.
+     *
+     * @param parent    the parent context, or {@code null} for a root span
+     * @param traceHigh high 64 bits of the trace id
+     * @param traceLow  low 64 bits of the trace id
+     * @param name      the span name
+     * @return {@code true} to sample the span
+     */
+    boolean sample(Context parent, long traceHigh, long traceLow, String name);
+
+    /**
+     * Returns a sampler that samples every span.
+     *
+     * @return the sampler
+     */
+    static Sampler always() {
+        return (parent, traceHigh, traceLow, name) -> true;
+    }
+
+    /**
+     * Returns a sampler that samples no span.
+     *
+     * @return the sampler
+     */
+    static Sampler never() {
+        return (parent, traceHigh, traceLow, name) -> false;
+    }
+
+    /**
+     * Returns a sampler keeping the given fraction of traces. The decision is a pure function of the trace id, so
+     * independent processes using the same ratio reach the same verdict for a trace.
+     *
+     * @param ratio the fraction of traces to keep, between 0 and 1
+     * @return the sampler
+     */
+    static Sampler ratio(final double ratio) {
+        Assert.isTrue(ratio >= 0 && ratio <= 1, "Sampling ratio must be between 0 and 1");
+        if (ratio == 0) {
+            return never();
+        }
+        if (ratio == 1) {
+            return always();
+        }
+        final long bound = (long) (ratio * Long.MAX_VALUE);
+        return (parent, traceHigh, traceLow, name) -> (traceLow & Long.MAX_VALUE) < bound;
+    }
+
+    /**
+     * Returns a sampler that follows the parent's decision and consults the given sampler only for root spans.
+     *
+     * @param root the sampler used for root spans
+     * @return the sampler
+     */
+    static Sampler parent(final Sampler root) {
+        Assert.notNull(root, "Root sampler must not be null");
+        return (parent, traceHigh, traceLow, name) -> parent == null ? root.sample(null, traceHigh, traceLow, name)
+                : parent.sampled();
+    }
+
+}
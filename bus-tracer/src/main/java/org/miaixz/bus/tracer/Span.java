@@ -0,0 +1,326 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.tracer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * A timed operation within a trace. A span is its own {@link Context}, so starting one allocates a single object;
+ * tags are kept in lazily grown parallel arrays and timestamps come from {@link System#nanoTime()}. Spans the tracer
+ * does not record still carry ids for propagation but ignore tags and are never exported.
+ * <p>
+ * Spans obtained from {@link Tracer#start(String)} are current on the calling thread until closed, and closing restores
+ * the previously current span. Spans obtained from {@link Tracer#begin} are detached and may be ended on any thread,
+ * which suits reactive pipelines.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public final class Span extends Context implements AutoCloseable {
+
+    /**
+     * Updater guarding the single transition to the ended state.
+     */
+    private static final AtomicLongFieldUpdater<Span> END = AtomicLongFieldUpdater.newUpdater(Span.class,
+            "endNanos");
+
+    /**
+     * The owning tracer.
+     */
+    private final Tracer tracer;
+
+    /**
+     * The parent span id, or {@code 0} for a root span.
+     */
+    private final long parentId;
+
+    /**
+     * The span name.
+     */
+    private final String name;
+
+    /**
+     * The span kind.
+     */
+    private final Kind kind;
+
+    /**
+     * Whether tags and timing are recorded.
+     */
+    private final boolean recording;
+
+    /**
+     * Start timestamp from {@link System#nanoTime()}.
+     */
+    private final long startNanos;
+
+    /**
+     * End timestamp from {@link System#nanoTime()}, {@code 0} while open, updated through {@link #END}.
+     */
+    private volatile long endNanos;
+
+    /**
+     * The recorded failure, if any.
+     */
+    private Throwable error;
+
+    /**
+     * Tag keys, allocated on first use.
+     */
+    private String[] keys;
+
+    /**
+     * Tag values, allocated on first use.
+     */
+    private Object[] values;
+
+    /**
+     * Number of tags.
+     */
+    private int tags;
+
+    /**
+     * The span that was current before this one was attached.
+     */
+    private Span previous;
+
+    /**
+     * Creates a span.
+     *
+     * @param tracer    the owning tracer
+     * @param traceHigh high 64 bits of the trace id
+     * @param traceLow  low 64 bits of the trace id
+     * @param spanId    the span id
+     * @param flags     the W3C trace flags
+     * @param parentId  the parent span id, or {@code 0}
+     * @param name      the span name
+     * @param kind      the span kind
+     * @param recording whether tags and timing are recorded
+     */
+    Span(final Tracer tracer, final long traceHigh, final long traceLow, final long spanId, final byte flags,
+            final long parentId, final String name, final Kind kind, final boolean recording) {
+        super(traceHigh, traceLow, spanId, flags);
+        this.tracer = tracer;
+        this.parentId = parentId;
+        this.name = name;
+        this.kind = kind;
+        this.recording = recording;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns the span name.
+     *
+     * @return the name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the span kind.
+     *
+     * @return the kind
+     */
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Returns the parent span id.
+     *
+     * @return the parent span id, or {@code 0} for a root span
+     */
+    public long parentId() {
+        return parentId;
+    }
+
+    /**
+     * Returns whether this span records tags and is eligible for export.
+     *
+     * @return {@code true} when recording
+     */
+    public boolean recording() {
+        return recording;
+    }
+
+    /**
+     * Returns the start time as nanoseconds since the epoch.
+     *
+     * @return the epoch start time
+     */
+    public long start() {
+        return tracer.epochNanos(startNanos);
+    }
+
+    /**
+     * Returns the elapsed time, measured up to now while the span is still open.
+     *
+     * @return the duration in nanoseconds
+     */
+    public long duration() {
+        final long end = endNanos;
+        return (end == 0 ? System.nanoTime() : end) - startNanos;
+    }
+
+    /**
+     * Returns the recorded failure.
+     *
+     * @return the failure, or {@code null}
+     */
+    public Throwable error() {
+        return error;
+    }
+
+    /**
+     * Returns whether this span has ended.
+     *
+     * @return {@code true} once ended
+     */
+    public boolean ended() {
+        return endNanos != 0;
+    }
+
+    /**
+     * Adds a tag. Ignored when the span is not recording or has ended.
+     *
+     * @param key   the tag key
+     * @param value the tag value
+     * @return this span
+     */
+    public Span tag(final String key, final Object value) {
+        if (!recording || endNanos != 0 || key == null) {
+            return this;
+        }
+        if (keys == null) {
+            keys = new String[4];
+            values = new Object[4];
+        } else if (tags == keys.length) {
+            keys = Arrays.copyOf(keys, tags << 1);
+            values = Arrays.copyOf(values, tags << 1);
+        }
+        keys[tags] = key;
+        values[tags++] = value;
+        return this;
+    }
+
+    /**
+     * Returns a copy of the tags in insertion order, intended for exporters.
+     *
+     * @return the tags
+     */
+    public Map<String, Object> tags() {
+        if (tags == 0) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Object> map = new LinkedHashMap<>(tags << 1);
+        for (int i = 0; i < tags; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    /**
+     * Records a failure. Ignored when the span is not recording or has ended.
+     *
+     * @param error the failure
+     * @return this span
+     */
+    public Span error(final Throwable error) {
+        if (recording && endNanos == 0) {
+            this.error = error;
+        }
+        return this;
+    }
+
+    /**
+     * Ends this span and hands it to the tracer for export. Only the first call has an effect.
+     */
+    public void end() {
+        final long now = System.nanoTime();
+        if (END.compareAndSet(this, 0, now == 0 ? 1 : now)) {
+            tracer.finish(this);
+        }
+    }
+
+    /**
+     * Ends this span and, if it is current on the calling thread, restores the previously current span.
+     */
+    @Override
+    public void close() {
+        end();
+        tracer.detach(this);
+    }
+
+    /**
+     * Returns the span that was current before this one was attached.
+     *
+     * @return the previous span, or {@code null}
+     */
+    Span previous() {
+        return previous;
+    }
+
+    /**
+     * Remembers the span that was current before this one was attached.
+     *
+     * @param previous the previous span
+     */
+    void previous(final Span previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * The role a span plays in an exchange.
+     */
+    public enum Kind {
+
+        /**
+         * An operation internal to the process.
+         */
+        INTERNAL,
+
+        /**
+         * The server side of a synchronous remote call.
+         */
+        SERVER,
+
+        /**
+         * The client side of a synchronous remote call.
+         */
+        CLIENT,
+
+        /**
+         * The initiator of an asynchronous message.
+         */
+        PRODUCER,
+
+        /**
+         * The receiver of an asynchronous message.
+         */
+        CONSUMER
+
+    }
+
+}
@@ -19,20 +19,595 @@
 */
 package org.miaixz.bus.tracer;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.miaixz.bus.core.lang.Assert;
+import org.miaixz.bus.logger.Logger;
+import org.miaixz.bus.tracer.builtin.Ring;
+import org.miaixz.bus.tracer.builtin.Traceparent;
+
 /**
  * Provides core functionality for distributed tracing. This class serves as a central point for managing and accessing
  * tracing-related components.
+ * <p>
+ * Spans are created on the traced thread with a sampling decision and a single allocation, handed to a lock-free
+ * {@link Ring} when they end and exported in batches by one background daemon thread, so the traced code never blocks
+ * on an exporter. The current span is held per thread, which includes virtual threads; {@link #wrap(Runnable)} and its
+ * overloads carry it across executor and thread hand-offs. Reactive pipelines should store the span in their own
+ * context under the {@link Span} class key and use detached spans from {@link #begin(String, Span.Kind, Context)}.
  *
  * @author Kimi Liu
  * @since Java 21+
  */
-public class Tracer {
+public class Tracer implements AutoCloseable {
+
+    /**
+     * The span current on each thread.
+     */
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The process-wide tracer.
+     */
+    private static volatile Tracer global = new Tracer();
+
+    /**
+     * Head sampler.
+     */
+    private final Sampler sampler;
+
+    /**
+     * Tail retention policy.
+     */
+    private final Retention retention;
+
+    /**
+     * Span exporter.
+     */
+    private final Exporter exporter;
+
+    /**
+     * Buffer between ended spans and the exporter thread.
+     */
+    private final Ring<Span> ring;
+
+    /**
+     * Maximum number of spans per exported batch.
+     */
+    private final int batch;
+
+    /**
+     * Exporter thread idle poll interval in nanoseconds.
+     */
+    private final long interval;
+
+    /**
+     * Whether spans are recorded at all, {@code false} when the exporter discards everything.
+     */
+    private final boolean exporting;
+
+    /**
+     * Whether spans rejected by the head sampler are still recorded for tail retention.
+     */
+    private final boolean tail;
+
+    /**
+     * Wall clock anchor in epoch nanoseconds.
+     */
+    private final long epochAnchor;
+
+    /**
+     * Monotonic clock anchor taken together with {@link #epochAnchor}.
+     */
+    private final long nanoAnchor;
+
+    /**
+     * Guards the lazy start of the exporter thread.
+     */
+    private final AtomicBoolean started = new AtomicBoolean();
 
     /**
-     * Constructs a new Tracer instance.
+     * Set once the tracer is closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * The exporter thread, once started.
+     */
+    private volatile Thread drainer;
+
+    /**
+     * Constructs a new Tracer instance that samples root spans, follows the caller's decision for child spans and
+     * discards every span, so that only propagation takes place until an exporter is configured.
      */
     public Tracer() {
-        // No initialization required.
+        this(new Builder());
+    }
+
+    /**
+     * Creates a tracer from a builder.
+     *
+     * @param builder the builder
+     */
+    private Tracer(final Builder builder) {
+        this.sampler = builder.sampler;
+        this.retention = builder.retention;
+        this.exporter = builder.exporter;
+        this.ring = new Ring<>(builder.capacity);
+        this.batch = builder.batch;
+        this.interval = builder.interval.toNanos();
+        this.exporting = builder.exporter != Exporter.noop();
+        this.tail = builder.retention != Retention.none();
+        final Instant now = Instant.now();
+        this.nanoAnchor = System.nanoTime();
+        this.epochAnchor = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    /**
+     * Creates a tracer builder.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the process-wide tracer.
+     *
+     * @return the global tracer
+     */
+    public static Tracer global() {
+        return global;
+    }
+
+    /**
+     * Replaces the process-wide tracer. The previous tracer is not closed.
+     *
+     * @param tracer the new global tracer
+     */
+    public static void global(final Tracer tracer) {
+        Assert.notNull(tracer, "Tracer must not be null");
+        global = tracer;
+    }
+
+    /**
+     * Returns the span current on the calling thread.
+     *
+     * @return the current span, or {@code null}
+     */
+    public static Span current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Writes the current span's context into an outgoing carrier as a W3C {@code traceparent} header.
+     *
+     * @param setter the header setter of the outgoing carrier
+     */
+    public static void inject(final BiConsumer<String, String> setter) {
+        Traceparent.inject(CURRENT.get(), setter);
+    }
+
+    /**
+     * Reads a remote context from an incoming carrier's W3C {@code traceparent} header.
+     *
+     * @param getter the header getter of the incoming carrier
+     * @return the remote context, or {@code null} when absent or malformed
+     */
+    public static Context extract(final Function<String, String> getter) {
+        return Traceparent.extract(getter);
+    }
+
+    /**
+     * Wraps a task so that it runs with the calling thread's current span, for hand-off to executors and virtual
+     * threads.
+     *
+     * @param task the task
+     * @return the wrapped task, or the task itself when no span is current
+     */
+    public static Runnable wrap(final Runnable task) {
+        final Span span = CURRENT.get();
+        if (span == null) {
+            return task;
+        }
+        return () -> {
+            final Span previous = CURRENT.get();
+            CURRENT.set(span);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so that it runs with the calling thread's current span, for hand-off to executors and virtual
+     * threads.
+     *
+     * @param task the task
+     * @param <V>  the result type
+     * @return the wrapped task, or the task itself when no span is current
+     */
+    public static <V> Callable<V> wrap(final Callable<V> task) {
+        final Span span = CURRENT.get();
+        if (span == null) {
+            return task;
+        }
+        return () -> {
+            final Span previous = CURRENT.get();
+            CURRENT.set(span);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Wraps an executor so that every submitted task runs with the span current at submission time.
+     *
+     * @param executor the executor
+     * @return the propagating executor
+     */
+    public static Executor wrap(final Executor executor) {
+        Assert.notNull(executor, "Executor must not be null");
+        return task -> executor.execute(wrap(task));
+    }
+
+    /**
+     * Runs a task with the given span current on the calling thread, typically to restore a span taken from a
+     * reactive context inside an operator.
+     *
+     * @param span the span to make current, may be {@code null}
+     * @param task the task
+     */
+    public static void within(final Span span, final Runnable task) {
+        final Span previous = CURRENT.get();
+        CURRENT.set(span);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Starts an internal span as a child of the current span and makes it current.
+     *
+     * @param name the span name
+     * @return the span, to be closed by the caller
+     */
+    public Span start(final String name) {
+        return start(name, Span.Kind.INTERNAL, CURRENT.get());
+    }
+
+    /**
+     * Starts a span as a child of the current span and makes it current.
+     *
+     * @param name the span name
+     * @param kind the span kind
+     * @return the span, to be closed by the caller
+     */
+    public Span start(final String name, final Span.Kind kind) {
+        return start(name, kind, CURRENT.get());
+    }
+
+    /**
+     * Starts a span as a child of the given parent, which may be a remote context, and makes it current.
+     *
+     * @param name   the span name
+     * @param kind   the span kind
+     * @param parent the parent context, or {@code null} for a new trace
+     * @return the span, to be closed by the caller
+     */
+    public Span start(final String name, final Span.Kind kind, final Context parent) {
+        final Span span = create(name, kind, parent);
+        span.previous(CURRENT.get());
+        CURRENT.set(span);
+        return span;
+    }
+
+    /**
+     * Begins a detached span that is never made current and may be ended on any thread.
+     *
+     * @param name   the span name
+     * @param kind   the span kind
+     * @param parent the parent context, or {@code null} for a new trace
+     * @return the span, to be ended by the caller
+     */
+    public Span begin(final String name, final Span.Kind kind, final Context parent) {
+        return create(name, kind, parent);
+    }
+
+    /**
+     * Returns the number of spans dropped because the exporter could not keep up.
+     *
+     * @return the dropped span count
+     */
+    public long dropped() {
+        return ring.dropped();
+    }
+
+    /**
+     * Stops accepting spans, exports everything already buffered and closes the exporter.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        final Thread thread = drainer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        exporter.close();
+    }
+
+    /**
+     * Creates a span with fresh ids and a head sampling decision.
+     *
+     * @param name   the span name
+     * @param kind   the span kind
+     * @param parent the parent context, or {@code null}
+     * @return the span
+     */
+    private Span create(final String name, final Span.Kind kind, final Context parent) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        long traceHigh;
+        long traceLow;
+        if (parent != null) {
+            traceHigh = parent.traceHigh();
+            traceLow = parent.traceLow();
+        } else {
+            do {
+                traceHigh = random.nextLong();
+                traceLow = random.nextLong();
+            } while ((traceHigh | traceLow) == 0);
+        }
+        long spanId;
+        do {
+            spanId = random.nextLong();
+        } while (spanId == 0);
+        final boolean sampled = sampler.sample(parent, traceHigh, traceLow, name);
+        final byte inherited = parent == null ? 0 : parent.flags();
+        final byte flags = (byte) (sampled ? inherited | Context.SAMPLED : inherited & ~Context.SAMPLED);
+        return new Span(this, traceHigh, traceLow, spanId, flags, parent == null ? 0 : parent.spanId(), name,
+                kind == null ? Span.Kind.INTERNAL : kind, exporting && (sampled || tail));
+    }
+
+    /**
+     * Accepts an ended span for export when it is recorded and kept by sampling.
+     *
+     * @param span the ended span
+     */
+    void finish(final Span span) {
+        if (!span.recording() || closed || (!span.sampled() && !retention.retain(span))) {
+            return;
+        }
+        ring.offer(span);
+        if (drainer == null && started.compareAndSet(false, true)) {
+            final Thread thread = new Thread(this::drain, "bus-tracer-exporter");
+            thread.setDaemon(true);
+            drainer = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Restores the previously current span if the given span is current on the calling thread.
+     *
+     * @param span the span being closed
+     */
+    void detach(final Span span) {
+        if (CURRENT.get() == span) {
+            restore(span.previous());
+        }
+    }
+
+    /**
+     * Converts a monotonic timestamp into epoch nanoseconds.
+     *
+     * @param nanos a {@link System#nanoTime()} value
+     * @return the epoch nanoseconds
+     */
+    long epochNanos(final long nanos) {
+        return epochAnchor + (nanos - nanoAnchor);
+    }
+
+    /**
+     * Exporter thread loop: drains the ring in batches until the tracer closes, then exports the remainder.
+     */
+    private void drain() {
+        final Span[] spans = new Span[batch];
+        while (!closed) {
+            if (export(spans) == 0) {
+                LockSupport.parkNanos(this, interval);
+            }
+        }
+        while (export(spans) > 0) {
+            // Drain the spans buffered before the tracer was closed.
+        }
+        try {
+            exporter.flush();
+        } catch (final RuntimeException e) {
+            Logger.warn(e, "Span exporter failed to flush");
+        }
+    }
+
+    /**
+     * Exports one batch.
+     *
+     * @param spans the reusable batch array
+     * @return the number of spans taken from the ring
+     */
+    private int export(final Span[] spans) {
+        final int count = ring.drain(spans);
+        if (count > 0) {
+            try {
+                exporter.export(Arrays.asList(spans).subList(0, count));
+            } catch (final RuntimeException e) {
+                Logger.warn(e, "Span exporter failed, {} spans discarded", count);
+            } finally {
+                Arrays.fill(spans, 0, count, null);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Restores a previously current span on the calling thread.
+     *
+     * @param previous the span to restore, or {@code null}
+     */
+    private static void restore(final Span previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Builder for {@link Tracer}.
+     */
+    public static final class Builder {
+
+        /**
+         * Head sampler.
+         */
+        private Sampler sampler = Sampler.parent(Sampler.always());
+
+        /**
+         * Tail retention policy.
+         */
+        private Retention retention = Retention.none();
+
+        /**
+         * Span exporter.
+         */
+        private Exporter exporter = Exporter.noop();
+
+        /**
+         * Ring capacity.
+         */
+        private int capacity = 8192;
+
+        /**
+         * Maximum batch size.
+         */
+        private int batch = 512;
+
+        /**
+         * Exporter thread idle poll interval.
+         */
+        private Duration interval = Duration.ofMillis(100);
+
+        /**
+         * Creates a builder.
+         */
+        private Builder() {
+            // No initialization required.
+        }
+
+        /**
+         * Sets the head sampler.
+         *
+         * @param sampler the sampler
+         * @return this builder
+         */
+        public Builder sampler(final Sampler sampler) {
+            Assert.notNull(sampler, "Sampler must not be null");
+            this.sampler = sampler;
+            return this;
+        }
+
+        /**
+         * Sets the tail retention policy applied to spans the head sampler rejected.
+         *
+         * @param retention the policy
+         * @return this builder
+         */
+        public Builder retention(final Retention retention) {
+            Assert.notNull(retention, "Retention must not be null");
+            this.retention = retention;
+            return this;
+        }
+
+        /**
+         * Sets the span exporter.
+         *
+         * @param exporter the exporter
+         * @return this builder
+         */
+        public Builder exporter(final Exporter exporter) {
+            Assert.notNull(exporter, "Exporter must not be null");
+            this.exporter = exporter;
+            return this;
+        }
+
+        /**
+         * Sets the ring capacity; spans ending while the ring is full are dropped.
+         *
+         * @param capacity the capacity, rounded up to a power of two
+         * @return this builder
+         */
+        public Builder capacity(final int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of spans per exported batch.
+         *
+         * @param batch the batch size
+         * @return this builder
+         */
+        public Builder batch(final int batch) {
+            Assert.isTrue(batch > 0, "Batch size must be positive");
+            this.batch = batch;
+            return this;
+        }
+
+        /**
+         * Sets how long the exporter thread sleeps when the ring is empty.
+         *
+         * @param interval the poll interval
+         * @return this builder
+         */
+        public Builder interval(final Duration interval) {
+            Assert.isTrue(interval != null && !interval.isNegative() && !interval.isZero(),
+                    "Interval must be positive");
+            this.interval = interval;
+            return this;
+        }
+
+        /**
+         * Builds the tracer.
+         *
+         * @return the tracer
+         */
+        public Tracer build() {
+            return new Tracer(this);
+        }
+
     }
 
 }
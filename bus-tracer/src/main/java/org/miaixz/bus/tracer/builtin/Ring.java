@@ -0,0 +1,176 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.tracer.builtin;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.miaixz.bus.core.lang.Assert;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring buffer. Every slot carries a sequence number: producers claim
+ * a position with one CAS on the tail and publish the element with a release store of the slot sequence, and the
+ * single consumer reads slots in order without any CAS at all. A full ring rejects new elements instead of blocking,
+ * so a slow exporter can never stall the traced code path.
+ *
+ * @param <T> the element type
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public final class Ring<T> {
+
+    /**
+     * Index mask, {@code capacity - 1}.
+     */
+    private final int mask;
+
+    /**
+     * Element slots.
+     */
+    private final Object[] buffer;
+
+    /**
+     * Per-slot sequence numbers.
+     */
+    private final AtomicLongArray sequence;
+
+    /**
+     * Next position claimed by a producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Number of elements rejected because the ring was full.
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Next position read by the consumer, only touched by the consumer thread.
+     */
+    private long head;
+
+    /**
+     * Creates a ring.
+     *
+     * @param capacity the requested capacity, rounded up to a power of two
+     */
+    public Ring(final int capacity) {
+        Assert.isTrue(capacity >= 2 && capacity <= (1 << 30), "Ring capacity must be between 2 and 2^30");
+        final int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.buffer = new Object[size];
+        this.sequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequence.setPlain(i, i);
+        }
+    }
+
+    /**
+     * Offers an element, callable from any thread.
+     *
+     * @param element the element
+     * @return {@code true} when enqueued, {@code false} when the ring was full and the element was dropped
+     */
+    public boolean offer(final T element) {
+        long position = tail.get();
+        while (true) {
+            final int index = (int) position & mask;
+            final long delta = sequence.getAcquire(index) - position;
+            if (delta == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = element;
+                    sequence.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (delta < 0) {
+                dropped.incrementAndGet();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest published element; only the single consumer thread may call this.
+     *
+     * @return the element, or {@code null} when empty
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        final long position = head;
+        final int index = (int) position & mask;
+        if (sequence.getAcquire(index) != position + 1) {
+            return null;
+        }
+        final T element = (T) buffer[index];
+        buffer[index] = null;
+        sequence.setRelease(index, position + mask + 1);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Moves up to {@code batch.length} elements into the given array; only the single consumer thread may call this.
+     *
+     * @param batch the destination
+     * @return the number of elements moved
+     */
+    public int drain(final T[] batch) {
+        int count = 0;
+        while (count < batch.length) {
+            final T element = poll();
+            if (element == null) {
+                break;
+            }
+            batch[count++] = element;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the approximate number of buffered elements.
+     *
+     * @return the buffered element count
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(mask + 1, tail.get() - head));
+    }
+
+    /**
+     * Returns the number of elements rejected because the ring was full.
+     *
+     * @return the dropped element count
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.tracer.builtin;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.miaixz.bus.tracer.Context;
+
+/**
+ * Codec for the W3C Trace Context {@code traceparent} header ({@code version-traceid-parentid-flags}). Encoding writes
+ * into a single pre-sized char array and decoding parses hex digits in place, so neither direction allocates beyond
+ * the resulting string or context.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public final class Traceparent {
+
+    /**
+     * The propagation header name.
+     */
+    public static final String HEADER = "traceparent";
+
+    /**
+     * Length of a version 00 traceparent value.
+     */
+    private static final int LENGTH = 55;
+
+    /**
+     * Lowercase hex digits.
+     */
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Utility class constructor.
+     */
+    private Traceparent() {
+        // No initialization required.
+    }
+
+    /**
+     * Writes a context into a carrier through the given header setter.
+     *
+     * @param context the context to propagate, ignored when {@code null}
+     * @param setter  the header setter of the outgoing carrier
+     */
+    public static void inject(final Context context, final BiConsumer<String, String> setter) {
+        if (context != null) {
+            setter.accept(HEADER, format(context));
+        }
+    }
+
+    /**
+     * Reads a context from a carrier through the given header getter.
+     *
+     * @param getter the header getter of the incoming carrier
+     * @return the remote context, or {@code null} when absent or malformed
+     */
+    public static Context extract(final Function<String, String> getter) {
+        return parse(getter.apply(HEADER));
+    }
+
+    /**
+     * Formats a context as a version 00 traceparent value.
+     *
+     * @param context the context
+     * @return the traceparent value
+     */
+    public static String format(final Context context) {
+        final char[] chars = new char[LENGTH];
+        chars[0] = '0';
+        chars[1] = '0';
+        chars[2] = '-';
+        hex(context.traceHigh(), chars, 3);
+        hex(context.traceLow(), chars, 19);
+        chars[35] = '-';
+        hex(context.spanId(), chars, 36);
+        chars[52] = '-';
+        chars[53] = DIGITS[(context.flags() >> 4) & 0xF];
+        chars[54] = DIGITS[context.flags() & 0xF];
+        return new String(chars);
+    }
+
+    /**
+     * Parses a traceparent value. Future versions are accepted as long as the version 00 prefix is well formed, as the
+     * specification requires; version {@code ff}, all-zero ids and malformed fields are rejected.
+     *
+     * @param value the header value
+     * @return the context, or {@code null} when the value is absent or invalid
+     */
+    public static Context parse(final CharSequence value) {
+        if (value == null || value.length() < LENGTH) {
+            return null;
+        }
+        final int version = (int) parseHex(value, 0, 2);
+        if (version < 0 || version == 0xFF || (version == 0 && value.length() != LENGTH)
+                || (value.length() > LENGTH && value.charAt(LENGTH) != '-')) {
+            return null;
+        }
+        if (value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-') {
+            return null;
+        }
+        final long traceHigh = parseHex(value, 3, 16);
+        final long traceLow = parseHex(value, 19, 16);
+        final long spanId = parseHex(value, 36, 16);
+        final long flags = parseHex(value, 53, 2);
+        if (traceHigh == -1 && invalid(value, 3) || traceLow == -1 && invalid(value, 19)
+                || spanId == -1 && invalid(value, 36) || flags < 0) {
+            return null;
+        }
+        if ((traceHigh | traceLow) == 0 || spanId == 0) {
+            return null;
+        }
+        return Context.of(traceHigh, traceLow, spanId, (byte) flags);
+    }
+
+    /**
+     * Writes the 16 lowercase hex digits of a long.
+     *
+     * @param value  the value
+     * @param chars  the destination
+     * @param offset the first destination index
+     */
+    public static void hex(final long value, final char[] chars, final int offset) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + 15 - i] = DIGITS[(int) (value >>> (i << 2)) & 0xF];
+        }
+    }
+
+    /**
+     * Parses lowercase hex digits. A result of {@code -1} is ambiguous for 16 digits and is disambiguated by
+     * {@link #invalid(CharSequence, int)}.
+     *
+     * @param value  the source
+     * @param offset the first index
+     * @param length the number of digits, at most 16
+     * @return the parsed value, or {@code -1} on a non-hex digit
+     */
+    private static long parseHex(final CharSequence value, final int offset, final int length) {
+        long result = 0;
+        for (int i = offset; i < offset + length; i++) {
+            final char c = value.charAt(i);
+            final int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else {
+                return -1;
+            }
+            result = (result << 4) | digit;
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether a 16-digit field that parsed to {@code -1} contains a non-hex digit rather than {@code f}s.
+     *
+     * @param value  the source
+     * @param offset the first index of the field
+     * @return {@code true} when the field is malformed
+     */
+    private static boolean invalid(final CharSequence value, final int offset) {
+        for (int i = offset; i < offset + 16; i++) {
+            if (value.charAt(i) != 'f') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -88,6 +88,11 @@ public class Context {
      */
     private boolean inside = false;
 
+    /**
+     * Whether large arrays and collections are validated element-wise in parallel. Default is {@code false}.
+     */
+    private boolean parallel = false;
+
     /**
      * Default constructor for creating a new validation context.
      */
@@ -95,6 +100,26 @@ public class Context {
         // No initialization required.
     }
 
+    /**
+     * Creates an independent copy of this context for validating one element on another thread. The group list is
+     * copied so that groups added while validating the element do not leak into other elements.
+     *
+     * @return a new {@code Context} with the same settings.
+     */
+    public Context copy() {
+        Context context = new Context();
+        context.setErrcode(this.errcode);
+        context.setGroup(null == this.group ? new ArrayList<>() : new ArrayList<>(this.group));
+        context.setException(this.exception);
+        context.setField(this.field);
+        context.setSkip(this.skip);
+        context.setChecker(this.checker);
+        context.setFast(this.fast);
+        context.setInside(this.inside);
+        context.setParallel(this.parallel);
+        return context;
+    }
+
     /**
      * Creates a new validation context instance with a default checker registry.
      *
@@ -20,8 +20,6 @@
 package org.miaixz.bus.validate;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -30,14 +28,13 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 
-import org.miaixz.bus.core.basic.normal.Consts;
 import org.miaixz.bus.core.lang.Assert;
-import org.miaixz.bus.core.lang.exception.InternalException;
 import org.miaixz.bus.core.xyz.ObjectKit;
-import org.miaixz.bus.core.xyz.StringKit;
 import org.miaixz.bus.logger.Logger;
 import org.miaixz.bus.validate.magic.Checker;
 import org.miaixz.bus.validate.magic.Criterion;
+import org.miaixz.bus.validate.magic.Plan;
+import org.miaixz.bus.validate.magic.Template;
 import org.miaixz.bus.validate.magic.annotation.*;
 
 /**
@@ -149,18 +146,17 @@ public class Verified extends Provider {
      */
     private List<Criterion> resolve(Annotation[] annotations) {
         List<Criterion> list = new ArrayList<>();
+        String value = null;
         for (Annotation annotation : annotations) {
             if (isAnnotation(annotation)) {
-                Criterion criterion = build(annotation, this.object);
-                list.add(criterion);
+                value = null == value ? render(this.object) : value;
+                list.add(build(Template.of(annotation), value));
             }
         }
         if (ObjectKit.isNotEmpty(this.object)) {
-            Class<?> clazz = this.object.getClass();
-            List<Annotation> clazzAnnotations = getAnnotation(clazz);
-            for (Annotation annotation : clazzAnnotations) {
-                Criterion criterion = build(annotation, this.object);
-                list.add(criterion);
+            for (Template template : Plan.of(this.object.getClass()).templates()) {
+                value = null == value ? render(this.object) : value;
+                list.add(build(template, value));
             }
         }
         return list;
@@ -180,18 +176,15 @@ public class Verified extends Provider {
                 "Validation context resolution started: objectClass={}, annotationCount={}",
                 this.object == null ? null : this.object.getClass().getName(),
                 annotations == null ? 0 : annotations.length);
-        if (ObjectKit.isNotEmpty(this.object)) {
-            Class<?> clazz = this.object.getClass();
-            Inside inside = clazz.getAnnotation(Inside.class);
-            if (ObjectKit.isNotEmpty(inside)) {
-                context.setInside(true);
-            }
+        if (ObjectKit.isNotEmpty(this.object) && Plan.of(this.object.getClass()).inside()) {
+            context.setInside(true);
         }
         for (Annotation annotation : annotations) {
             if (annotation instanceof Valid) {
                 context.setInside(((Valid) annotation).inside());
                 context.setField(((Valid) annotation).value());
                 context.setSkip(((Valid) annotation).skip());
+                context.setParallel(((Valid) annotation).parallel());
             } else if (annotation instanceof Group) {
                 context.addGroups(((Group) annotation).value());
             } else if (annotation instanceof ValidEx) {
@@ -256,81 +249,37 @@ public class Verified extends Provider {
         Assert.isTrue(
                 isAnnotation(annotation),
                 "Attempt to get information from a non-validation annotation:" + annotation);
-        Class<? extends Annotation> annotationType = annotation.annotationType();
-        try {
-            String[] groups = (String[]) annotationType.getMethod(Builder.GROUP).invoke(annotation);
-            String errmsg = (String) annotationType.getMethod(Consts.ERRMSG).invoke(annotation);
-            String errcode = (String) annotationType.getMethod(Consts.ERRCODE).invoke(annotation);
-            String name = (String) annotationType.getMethod(Builder.FIELD).invoke(annotation);
-            this.field = Builder.DEFAULT_FIELD.equals(name) ? this.field : name;
-            Criterion criterion = new Criterion();
-            criterion.setAnnotation(annotation);
-            criterion.setErrcode(errcode);
-            criterion.setErrmsg(errmsg);
-            criterion.setField(this.field);
-            criterion.setGroup(groups);
-            criterion.addParam(Builder.FIELD, this.field);
-            if (ObjectKit.isNotEmpty(object) && object.getClass().isArray()) {
-                criterion.addParam(Builder.VALUE, Arrays.toString((Object[]) object));
-            } else {
-                criterion.addParam(Builder.VALUE, String.valueOf(object));
-            }
-            Method[] declaredMethods = annotationType.getDeclaredMethods();
-            for (Method m : declaredMethods) {
-                Filler filler = m.getAnnotation(Filler.class);
-                if (ObjectKit.isNotEmpty(filler)) {
-                    Class<?> returnType = m.getReturnType();
-                    Object invoke = m.invoke(annotation);
-                    if (returnType.isArray()) {
-                        criterion.addParam(filler.value(), Arrays.toString((Object[]) invoke));
-                    } else {
-                        criterion.addParam(filler.value(), invoke);
-                    }
-                }
-            }
-            Annotation[] parentAnnos = annotationType.getAnnotations();
-            for (Annotation anno : parentAnnos) {
-                if (isAnnotation(anno)) {
-                    criterion.addParentProperty(build(anno, object));
-                } else if (anno instanceof Array) {
-                    criterion.setArray(true);
-                } else if (anno instanceof Complex) {
-                    criterion.setClazz(((Complex) anno).clazz());
-                    criterion.setName(((Complex) anno).value());
-                } else if (anno instanceof ValidEx) {
-                    criterion.setException(((ValidEx) anno).value());
-                }
-            }
-            if (ObjectKit.isEmpty(criterion.getClazz()) || StringKit.isEmpty(criterion.getName())) {
-                Logger.warn(
-                        false,
-                        "Validate",
-                        "Validation annotation parsing failed: annotation={}, reason=missingComplexMetadata",
-                        annotationType.getName());
-                throw new InternalException(
-                        "Invalid validation annotation, missing Complex meta-annotation to specify validator:"
-                                + annotationType.getName());
-            }
-            Logger.debug(
-                    false,
-                    "Validate",
-                    "Validation criterion built: annotation={}, field={}, validator={}",
-                    annotationType.getName(),
-                    this.field,
-                    criterion.getName());
-            return criterion;
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-            Logger.warn(
-                    false,
-                    "Validate",
-                    e,
-                    "Validation annotation parsing failed: annotation={}, exception={}",
-                    annotationType.getName(),
-                    e.getClass().getSimpleName());
-            throw new InternalException(
-                    "Invalid validation annotation, missing common validation attributes:" + annotationType.getName(),
-                    e);
+        return build(Template.of(annotation), render(object));
+    }
+
+    /**
+     * Creates a validation criterion object from a compiled annotation template, including the criteria of its parent
+     * annotations.
+     *
+     * @param template The compiled annotation.
+     * @param value    The rendered value of the validated object.
+     * @return The validation criterion object.
+     */
+    private Criterion build(Template template, String value) {
+        this.field = template.field(this.field);
+        Criterion criterion = template.criterion(this.field, value);
+        for (Template parent : template.parents()) {
+            criterion.addParentProperty(build(parent, value));
+        }
+        return criterion;
+    }
+
+    /**
+     * Renders the validated object for the {@code value} message parameter.
+     *
+     * @param object The object.
+     * @return The rendered value.
+     */
+    private static String render(Object object) {
+        if (ObjectKit.isNotEmpty(object) && object.getClass().isArray()) {
+            return Arrays.toString((Object[]) object);
         }
+        return String.valueOf(object);
     }
 
 }
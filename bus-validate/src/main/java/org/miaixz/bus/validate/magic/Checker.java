@@ -22,15 +22,21 @@ package org.miaixz.bus.validate.magic;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 
 import org.miaixz.bus.core.lang.Normal;
 import org.miaixz.bus.core.lang.exception.NoSuchException;
 import org.miaixz.bus.core.lang.exception.ValidateException;
 import org.miaixz.bus.core.xyz.ArrayKit;
-import org.miaixz.bus.core.xyz.FieldKit;
+import org.miaixz.bus.core.xyz.CastKit;
 import org.miaixz.bus.core.xyz.ObjectKit;
 import org.miaixz.bus.logger.Logger;
 import org.miaixz.bus.validate.*;
@@ -46,6 +52,11 @@ import org.miaixz.bus.validate.magic.annotation.NotBlank;
  */
 public class Checker {
 
+    /**
+     * The minimum number of elements for which parallel element validation is used.
+     */
+    private static final int PARALLEL_THRESHOLD = 64;
+
     /**
      * Constructs a new Checker instance.
      */
@@ -94,35 +105,34 @@ public class Checker {
             return collector;
         }
 
-        Field[] fields = FieldKit.getFields(object.getClass());
-        for (Field field : fields) {
-            Object value = FieldKit.getFieldValue(object, field);
-            Annotation[] annotations = field.getDeclaredAnnotations();
+        for (Plan.Member member : Plan.of(object.getClass()).members()) {
+            Object value = member.get(object);
+            Annotation[] annotations = member.annotations();
             String[] xFields = verified.getContext().getField();
             String[] xSkip = null == verified.getContext().getSkip() ? null : verified.getContext().getSkip();
             // Filter out fields that should be skipped.
-            if (ArrayKit.isNotEmpty(xSkip) && Arrays.asList(xSkip).contains(field.getName())) {
+            if (ArrayKit.isNotEmpty(xSkip) && Arrays.asList(xSkip).contains(member.name())) {
                 continue;
             }
             // Filter for fields that should be validated.
-            if (ArrayKit.isNotEmpty(xFields) && !Arrays.asList(xFields).contains(field.getName())) {
+            if (ArrayKit.isNotEmpty(xFields) && !Arrays.asList(xFields).contains(member.name())) {
                 continue;
             }
 
             // Start field validation.
             verified.getContext().setInside(false);
-            verified = new Verified(value, annotations, verified.getContext(), field.getName());
-            if (null != value && Provider.isCollection(value) && hasInside(annotations)) {
+            verified = new Verified(value, annotations, verified.getContext(), member.name());
+            if (null != value && Provider.isCollection(value) && member.inside()) {
                 collector.collect(doCollectionInside(verified));
-            } else if (null != value && Provider.isArray(value) && hasInside(annotations)) {
+            } else if (null != value && Provider.isArray(value) && member.inside()) {
                 collector.collect(doArrayInside(verified));
             }
 
             if (verified.getList().isEmpty()) {
-                Logger.warn(true, "Validate", "Please check the annotation on property: {}", field.getName());
+                Logger.warn(true, "Validate", "Please check the annotation on property: {}", member.name());
                 // Create a Verified object with a default Criterion.
-                verified = new Verified(value, new Annotation[0], verified.getContext(), field.getName());
-                verified.getList().add(without(field));
+                verified = new Verified(value, new Annotation[0], verified.getContext(), member.name());
+                verified.getList().add(without(member.field()));
             }
 
             collector.collect(verified.access());
@@ -196,7 +206,8 @@ public class Checker {
      * @return A {@link Collector} containing the validation result.
      */
     public Collector doObject(Verified verified, Criterion criterion) {
-        Matcher matcher = (Matcher) Registry.getInstance().require(criterion.getName(), criterion.getClazz());
+        Matcher<Object, Annotation> matcher = CastKit
+                .cast(Registry.getInstance().require(criterion.getName(), criterion.getClazz()));
         if (ObjectKit.isEmpty(matcher)) {
             throw new NoSuchException(String.format(
                     "Cannot find the specified validator, name:%s, class:%s",
@@ -230,16 +241,11 @@ public class Checker {
      * @return A {@link Collector} containing the results for each element.
      */
     public Collector doCollection(Verified verified, Criterion criterion) {
-        Collector collector = new Collector(verified);
-        Collection<?> collection = (Collection<?>) verified.getObject();
-        for (Object item : collection) {
-            Verified itemTarget = new Verified(item, new Annotation[] { criterion.getAnnotation() },
-                    verified.getContext());
-            Collector checked = itemTarget.access();
-            collector.collect(checked);
-        }
-
-        return collector;
+        Annotation[] annotations = new Annotation[] { criterion.getAnnotation() };
+        return each(
+                verified,
+                (Collection<?>) verified.getObject(),
+                (item, context) -> new Verified(item, annotations, context).access());
     }
 
     /**
@@ -250,15 +256,11 @@ public class Checker {
      * @return A {@link Collector} containing the results for each element.
      */
     public Collector doArrayObject(Verified verified, Criterion criterion) {
-        Collector collector = new Collector(verified);
-        Object[] array = (Object[]) verified.getObject();
-        for (int i = 0; i < array.length; i++) {
-            Verified itemTarget = new Verified(array[i], new Annotation[] { criterion.getAnnotation() },
-                    verified.getContext());
-            Collector checked = itemTarget.access();
-            collector.collect(checked);
-        }
-        return collector;
+        Annotation[] annotations = new Annotation[] { criterion.getAnnotation() };
+        return each(
+                verified,
+                Arrays.asList((Object[]) verified.getObject()),
+                (item, context) -> new Verified(item, annotations, context).access());
     }
 
     /**
@@ -268,12 +270,10 @@ public class Checker {
      * @return A {@link Collector} containing the deep validation results for each element.
      */
     public Collector doArrayInside(Verified verified) {
-        Collector collector = new Collector(verified);
-        Object[] array = (Object[]) verified.getObject();
-        for (Object object : array) {
-            collector.collect(inside(new Verified(object, verified.getContext())));
-        }
-        return collector;
+        return each(
+                verified,
+                Arrays.asList((Object[]) verified.getObject()),
+                (item, context) -> inside(new Verified(item, context)));
     }
 
     /**
@@ -283,14 +283,101 @@ public class Checker {
      * @return A {@link Collector} containing the deep validation results for each element.
      */
     private Collector doCollectionInside(Verified verified) {
+        return each(
+                verified,
+                (Collection<?>) verified.getObject(),
+                (item, context) -> inside(new Verified(item, context)));
+    }
+
+    /**
+     * Validates every element of an array or collection. Elements are validated sequentially with the shared context
+     * unless the context enables parallel validation and there are at least {@link #PARALLEL_THRESHOLD} elements. In
+     * that case contiguous chunks are forked as {@link ForkJoinTask}s, each element with its own
+     * {@link Context#copy()}: the calling thread validates the first chunk itself and then joins the others in element
+     * order, so nested containers validated from a worker thread help with pending tasks instead of blocking it. In
+     * fail-fast mode a chunk stops as soon as an earlier chunk has failed, and the failure of the lowest-indexed
+     * element is rethrown, matching sequential validation. The last element is validated with the shared context once
+     * the chunks are done, so the context is left in the same state as after a sequential run.
+     *
+     * @param verified The container being validated.
+     * @param items    The elements.
+     * @param task     Validates one element with the given context.
+     * @return A {@link Collector} containing the results for each element.
+     */
+    private Collector each(Verified verified, Collection<?> items, BiFunction<Object, Context, Collector> task) {
         Collector collector = new Collector(verified);
-        Collection<?> collection = (Collection<?>) verified.getObject();
-        for (Object item : collection) {
-            collector.collect(inside(new Verified(item, verified.getContext())));
+        Context context = verified.getContext();
+        if (!context.isParallel() || items.size() < PARALLEL_THRESHOLD) {
+            for (Object item : items) {
+                collector.collect(task.apply(item, context));
+            }
+            return collector;
+        }
+
+        List<?> list = items instanceof List<?> && items instanceof RandomAccess ? (List<?>) items
+                : new ArrayList<>(items);
+        int count = list.size() - 1;
+        int chunks = Math.min(Runtime.getRuntime().availableProcessors(), count);
+        int size = (count + chunks - 1) / chunks;
+        AtomicInteger failed = new AtomicInteger(Integer.MAX_VALUE);
+        List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(chunks);
+        for (int from = 0, index = 0; from < count; from += size, index++) {
+            int start = from;
+            int end = Math.min(count, from + size);
+            int chunk = index;
+            Callable<Chunk> work = () -> chunk(list, start, end, chunk, failed, context, task);
+            tasks.add(ForkJoinTask.adapt(work));
+        }
+        for (int i = 1; i < tasks.size(); i++) {
+            tasks.get(i).fork();
         }
+        for (int i = 0; i < tasks.size(); i++) {
+            Chunk chunk = i == 0 ? tasks.get(i).invoke() : tasks.get(i).join();
+            if (chunk.failure() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (chunk.failure() instanceof Error cause) {
+                throw cause;
+            }
+            chunk.results().forEach(collector::collect);
+        }
+        collector.collect(task.apply(list.get(count), context));
         return collector;
     }
 
+    /**
+     * Validates one contiguous chunk of elements, each with its own context copy. A failure is recorded rather than
+     * thrown, so it reaches the caller unchanged instead of being wrapped or cloned by the fork/join framework.
+     *
+     * @param list    The elements.
+     * @param start   The index of the first element of the chunk.
+     * @param end     The index after the last element of the chunk.
+     * @param chunk   The index of the chunk.
+     * @param failed  The lowest index of a failed chunk so far.
+     * @param context The shared context to copy for every element.
+     * @param task    Validates one element with the given context.
+     * @return The results of the chunk, or its failure.
+     */
+    private static Chunk chunk(
+            List<?> list,
+            int start,
+            int end,
+            int chunk,
+            AtomicInteger failed,
+            Context context,
+            BiFunction<Object, Context, Collector> task) {
+        List<Collector> results = new ArrayList<>(end - start);
+        for (int i = start; i < end && failed.get() > chunk; i++) {
+            try {
+                results.add(task.apply(list.get(i), context.copy()));
+            } catch (RuntimeException | Error e) {
+                failed.accumulateAndGet(chunk, Math::min);
+                return new Chunk(results, e);
+            }
+        }
+        return new Chunk(results, null);
+    }
+
     /**
      * Checks if the given array of annotations contains the {@link Inside} annotation.
      *
@@ -301,4 +388,13 @@ public class Checker {
         return Arrays.stream(annotations).anyMatch(an -> an instanceof Inside);
     }
 
+    /**
+     * The outcome of one parallel chunk.
+     *
+     * @param results The results of the elements validated before the chunk stopped.
+     * @param failure The failure that stopped the chunk, or {@code null} if it completed.
+     */
+    private record Chunk(List<Collector> results, Throwable failure) {
+    }
+
 }
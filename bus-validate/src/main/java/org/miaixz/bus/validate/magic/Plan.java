@@ -0,0 +1,163 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.validate.magic;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.miaixz.bus.core.center.map.reference.WeakConcurrentMap;
+import org.miaixz.bus.core.lang.exception.InternalException;
+import org.miaixz.bus.core.xyz.FieldKit;
+import org.miaixz.bus.core.xyz.ReflectKit;
+import org.miaixz.bus.validate.Provider;
+import org.miaixz.bus.validate.magic.annotation.Inside;
+
+/**
+ * The compiled validation metadata of a class: its accessible fields with their declared annotations and
+ * {@link Inside} flags, and the templates of its class-level validation annotations. A plan is built once per class;
+ * group filtering stays a per-call decision because the active groups are accumulated while validating.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public final class Plan {
+
+    /**
+     * Compiled plans keyed by class; keys and plans are held weakly, so a plan never keeps its class or class loader
+     * reachable and is simply compiled again after being collected.
+     */
+    private static final Map<Class<?>, Plan> CACHE = new WeakConcurrentMap<>();
+
+    /**
+     * The planned class.
+     */
+    private final Class<?> type;
+
+    /**
+     * The fields of the class in {@link FieldKit#getFields(Class)} order, compiled on first deep validation.
+     */
+    private volatile Member[] members;
+
+    /**
+     * Templates of the class-level validation annotations.
+     */
+    private final Template[] templates;
+
+    /**
+     * Whether the class is annotated with {@link Inside}.
+     */
+    private final boolean inside;
+
+    /**
+     * Compiles a class.
+     *
+     * @param type The class to compile.
+     */
+    private Plan(Class<?> type) {
+        this.type = type;
+        List<Template> templates = new ArrayList<>();
+        for (Annotation annotation : Provider.getAnnotation(type)) {
+            templates.add(Template.of(annotation));
+        }
+        this.templates = templates.toArray(new Template[0]);
+        this.inside = type.getAnnotation(Inside.class) != null;
+    }
+
+    /**
+     * Returns the compiled plan of a class, building it on first use.
+     *
+     * @param type The class.
+     * @return The plan.
+     */
+    public static Plan of(Class<?> type) {
+        return CACHE.computeIfAbsent(type, Plan::new);
+    }
+
+    /**
+     * Returns the fields of the class.
+     *
+     * @return The members in declaration order, superclass fields included, already made accessible.
+     */
+    public Member[] members() {
+        Member[] members = this.members;
+        if (members == null) {
+            Field[] fields = FieldKit.getFields(this.type);
+            members = new Member[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                Field field = ReflectKit.setAccessible(fields[i]);
+                Annotation[] annotations = field.getDeclaredAnnotations();
+                members[i] = new Member(field, field.getName(), annotations,
+                        Arrays.stream(annotations).anyMatch(an -> an instanceof Inside));
+            }
+            this.members = members;
+        }
+        return members;
+    }
+
+    /**
+     * Returns the templates of the class-level validation annotations.
+     *
+     * @return The class templates.
+     */
+    public Template[] templates() {
+        return this.templates;
+    }
+
+    /**
+     * Returns whether the class is annotated with {@link Inside}.
+     *
+     * @return {@code true} if instances are always validated deeply.
+     */
+    public boolean inside() {
+        return this.inside;
+    }
+
+    /**
+     * One field of a planned class.
+     *
+     * @param field       The field.
+     * @param name        The field name.
+     * @param annotations The annotations declared on the field.
+     * @param inside      Whether the field is annotated with {@link Inside}.
+     */
+    public record Member(Field field, String name, Annotation[] annotations, boolean inside) {
+
+        /**
+         * Reads the field value from an instance.
+         *
+         * @param object The instance.
+         * @return The field value.
+         * @throws InternalException If the field cannot be read.
+         */
+        public Object get(Object object) {
+            try {
+                return field.get(object);
+            } catch (IllegalAccessException e) {
+                throw new InternalException(e, "IllegalAccess for {}.{}", field.getDeclaringClass(), name);
+            }
+        }
+
+    }
+
+}
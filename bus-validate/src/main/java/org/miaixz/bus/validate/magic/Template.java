@@ -0,0 +1,252 @@
+/*
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+ ~                                                                           ~
+ ~ Copyright (c) 2015-2026 miaixz.org and other contributors.                ~
+ ~                                                                           ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");           ~
+ ~ you may not use this file except in compliance with the License.          ~
+ ~ You may obtain a copy of the License at                                   ~
+ ~                                                                           ~
+ ~      https://www.apache.org/licenses/LICENSE-2.0                          ~
+ ~                                                                           ~
+ ~ Unless required by applicable law or agreed to in writing, software       ~
+ ~ distributed under the License is distributed on an "AS IS" BASIS,         ~
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  ~
+ ~ See the License for the specific language governing permissions and       ~
+ ~ limitations under the License.                                            ~
+ ~                                                                           ~
+ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ~
+*/
+package org.miaixz.bus.validate.magic;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.miaixz.bus.core.basic.normal.Consts;
+import org.miaixz.bus.core.center.map.reference.WeakConcurrentMap;
+import org.miaixz.bus.core.lang.exception.InternalException;
+import org.miaixz.bus.core.lang.exception.ValidateException;
+import org.miaixz.bus.core.xyz.ObjectKit;
+import org.miaixz.bus.core.xyz.StringKit;
+import org.miaixz.bus.logger.Logger;
+import org.miaixz.bus.validate.Builder;
+import org.miaixz.bus.validate.Provider;
+import org.miaixz.bus.validate.magic.annotation.Array;
+import org.miaixz.bus.validate.magic.annotation.Complex;
+import org.miaixz.bus.validate.magic.annotation.Filler;
+import org.miaixz.bus.validate.magic.annotation.ValidEx;
+
+/**
+ * The compiled, value-independent part of a validation annotation. Attribute values, {@link Filler} parameters,
+ * meta-annotations and parent annotations are read reflectively once per distinct annotation; {@link Criterion}
+ * instances for a concrete value are then stamped out without further reflection.
+ *
+ * @author Kimi Liu
+ * @since Java 21+
+ */
+public final class Template {
+
+    /**
+     * Compiled templates keyed by annotation; annotations compare by value, so equal declarations share a template.
+     * Keys and templates are held weakly, so a template never keeps its annotation type or class loader reachable.
+     */
+    private static final Map<Annotation, Template> CACHE = new WeakConcurrentMap<>();
+
+    /**
+     * The source annotation.
+     */
+    private final Annotation annotation;
+
+    /**
+     * The error code declared by the annotation.
+     */
+    private final String errcode;
+
+    /**
+     * The error message template declared by the annotation.
+     */
+    private final String errmsg;
+
+    /**
+     * The field name declared by the annotation, or {@code null} when it keeps the default.
+     */
+    private final String field;
+
+    /**
+     * The groups declared by the annotation.
+     */
+    private final String[] group;
+
+    /**
+     * The {@link Filler} parameters in declaration order, as name and value pairs.
+     */
+    private final Object[][] fillers;
+
+    /**
+     * Whether the annotation applies to each element of arrays and collections.
+     */
+    private final boolean array;
+
+    /**
+     * The matcher class from {@link Complex}.
+     */
+    private final Class<?> clazz;
+
+    /**
+     * The matcher name from {@link Complex}.
+     */
+    private final String name;
+
+    /**
+     * The exception class from {@link ValidEx}, or {@code null}.
+     */
+    private final Class<? extends ValidateException> exception;
+
+    /**
+     * Templates of validation annotations placed on this annotation's type.
+     */
+    private final Template[] parents;
+
+    /**
+     * Compiles an annotation.
+     *
+     * @param annotation The validation annotation.
+     * @throws ReflectiveOperationException If a common validation attribute is missing or cannot be read.
+     */
+    private Template(Annotation annotation) throws ReflectiveOperationException {
+        Class<? extends Annotation> annotationType = annotation.annotationType();
+        this.annotation = annotation;
+        this.group = (String[]) annotationType.getMethod(Builder.GROUP).invoke(annotation);
+        this.errmsg = (String) annotationType.getMethod(Consts.ERRMSG).invoke(annotation);
+        this.errcode = (String) annotationType.getMethod(Consts.ERRCODE).invoke(annotation);
+        String declared = (String) annotationType.getMethod(Builder.FIELD).invoke(annotation);
+        this.field = Builder.DEFAULT_FIELD.equals(declared) ? null : declared;
+
+        List<Object[]> fillers = new ArrayList<>();
+        for (Method m : annotationType.getDeclaredMethods()) {
+            Filler filler = m.getAnnotation(Filler.class);
+            if (ObjectKit.isNotEmpty(filler)) {
+                Object invoke = m.invoke(annotation);
+                fillers.add(new Object[] { filler.value(),
+                        m.getReturnType().isArray() ? Arrays.toString((Object[]) invoke) : invoke });
+            }
+        }
+        this.fillers = fillers.toArray(new Object[0][]);
+
+        boolean array = false;
+        Class<?> clazz = null;
+        String name = null;
+        Class<? extends ValidateException> exception = null;
+        List<Template> parents = new ArrayList<>();
+        for (Annotation anno : annotationType.getAnnotations()) {
+            if (Provider.isAnnotation(anno)) {
+                parents.add(of(anno));
+            } else if (anno instanceof Array) {
+                array = true;
+            } else if (anno instanceof Complex complex) {
+                clazz = complex.clazz();
+                name = complex.value();
+            } else if (anno instanceof ValidEx validEx) {
+                exception = validEx.value();
+            }
+        }
+        if (ObjectKit.isEmpty(clazz) || StringKit.isEmpty(name)) {
+            Logger.warn(
+                    false,
+                    "Validate",
+                    "Validation annotation parsing failed: annotation={}, reason=missingComplexMetadata",
+                    annotationType.getName());
+            throw new InternalException(
+                    "Invalid validation annotation, missing Complex meta-annotation to specify validator:"
+                            + annotationType.getName());
+        }
+        this.array = array;
+        this.clazz = clazz;
+        this.name = name;
+        this.exception = exception;
+        this.parents = parents.toArray(new Template[0]);
+    }
+
+    /**
+     * Returns the compiled template of a validation annotation, compiling it on first use.
+     *
+     * @param annotation The validation annotation.
+     * @return The template.
+     * @throws InternalException If the annotation lacks the common validation attributes or {@link Complex} metadata.
+     */
+    public static Template of(Annotation annotation) {
+        Template template = CACHE.get(annotation);
+        if (template != null) {
+            return template;
+        }
+        try {
+            template = new Template(annotation);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            Logger.warn(
+                    false,
+                    "Validate",
+                    e,
+                    "Validation annotation parsing failed: annotation={}, exception={}",
+                    annotation.annotationType().getName(),
+                    e.getClass().getSimpleName());
+            throw new InternalException("Invalid validation annotation, missing common validation attributes:"
+                    + annotation.annotationType().getName(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new InternalException(e);
+        }
+        Template existing = CACHE.putIfAbsent(annotation, template);
+        return existing == null ? template : existing;
+    }
+
+    /**
+     * Returns the field name declared by the annotation.
+     *
+     * @param current The field name in effect so far.
+     * @return The declared name, or {@code current} when the annotation keeps the default.
+     */
+    public String field(String current) {
+        return this.field == null ? current : this.field;
+    }
+
+    /**
+     * Returns the templates of validation annotations placed on this annotation's type.
+     *
+     * @return The parent templates.
+     */
+    public Template[] parents() {
+        return this.parents;
+    }
+
+    /**
+     * Creates a criterion for a concrete value, without parent criteria.
+     *
+     * @param field The resolved field name.
+     * @param value The rendered value used by the {@code value} message parameter.
+     * @return A new criterion.
+     * @throws ValidateException If a filler parameter collides with another parameter name.
+     */
+    public Criterion criterion(String field, String value) {
+        Criterion criterion = new Criterion();
+        criterion.setAnnotation(this.annotation);
+        criterion.setErrcode(this.errcode);
+        criterion.setErrmsg(this.errmsg);
+        criterion.setField(field);
+        criterion.setGroup(this.group);
+        criterion.addParam(Builder.FIELD, field);
+        criterion.addParam(Builder.VALUE, value);
+        for (Object[] filler : this.fillers) {
+            criterion.addParam((String) filler[0], filler[1]);
+        }
+        criterion.setArray(this.array);
+        criterion.setClazz(this.clazz);
+        criterion.setName(this.name);
+        criterion.setException(this.exception);
+        return criterion;
+    }
+
+}
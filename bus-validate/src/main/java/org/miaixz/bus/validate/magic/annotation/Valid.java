@@ -55,4 +55,13 @@ public @interface Valid {
      */
     boolean inside() default true;
 
+    /**
+     * Specifies whether large arrays and collections are validated element-wise in parallel. Each element is then
+     * validated with its own copy of the context; in fail-fast mode the failure of the lowest-indexed element is
+     * reported, as in sequential validation.
+     *
+     * @return {@code true} for parallel element validation, {@code false} otherwise.
+     */
+    boolean parallel() default false;
+
 }
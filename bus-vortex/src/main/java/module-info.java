@@ -55,6 +55,7 @@ module bus.vortex {
     requires bus.extra;
     requires bus.health;
     requires bus.logger;
+    requires bus.tracer;
 
     requires static lombok;
     requires static jakarta.annotation;
@@ -49,6 +49,9 @@ import org.miaixz.bus.core.xyz.UrlKit;
 import org.miaixz.bus.cortex.Assets;
 import org.miaixz.bus.extra.json.JsonKit;
 import org.miaixz.bus.logger.Logger;
+import org.miaixz.bus.tracer.Span;
+import org.miaixz.bus.tracer.Tracer;
+import org.miaixz.bus.tracer.builtin.Traceparent;
 import org.miaixz.bus.vortex.Args;
 import org.miaixz.bus.vortex.Context;
 import org.miaixz.bus.vortex.Delivery;
@@ -79,6 +82,11 @@ import reactor.core.publisher.Mono;
  */
 public class RestExecutor extends Coordinator<ServerRequest, ServerResponse> {
 
+    /**
+     * Name of the span covering one routed REST exchange.
+     */
+    private static final String SPAN_NAME = "vortex.rest";
+
     /**
      * Default constructor.
      */
@@ -90,7 +98,8 @@ public class RestExecutor extends Coordinator<ServerRequest, ServerResponse> {
      * Executes the HTTP request using the provided context and ServerRequest.
      * <p>
      * This method is required by the {@link org.miaixz.bus.vortex.Executor} interface. For REST executors, the
-     * {@code input} parameter is typed as {@link ServerRequest} for compile-time type safety.
+     * {@code input} parameter is typed as {@link ServerRequest} for compile-time type safety. The routing span begins
+     * when the returned Mono is subscribed and ends with it, also when building the outgoing request fails.
      *
      * @param context The request context
      * @param request The ServerRequest object (strongly typed)
@@ -99,6 +108,31 @@ public class RestExecutor extends Coordinator<ServerRequest, ServerResponse> {
     @NonNull
     @Override
     public Mono<ServerResponse> execute(Context context, ServerRequest request) {
+        return Mono.defer(() -> {
+            final Span span = Tracer.global().begin(SPAN_NAME, Span.Kind.SERVER,
+                    Tracer.extract(request.headers()::firstHeader));
+            span.tag("http.method", request.method().name()).tag("http.path", request.path());
+            final Mono<ServerResponse> response;
+            try {
+                response = route(context, request, span);
+            } catch (RuntimeException e) {
+                span.error(e);
+                span.end();
+                return Mono.error(e);
+            }
+            return traced(response, span);
+        });
+    }
+
+    /**
+     * Builds the request to the target service and assembles the response pipeline.
+     *
+     * @param context The request context
+     * @param request The ServerRequest object
+     * @param span    The routing span whose context is propagated to the target service
+     * @return The untraced response pipeline
+     */
+    private Mono<ServerResponse> route(Context context, ServerRequest request, Span span) {
         final String method = request.method().name();
         final String path = request.path();
         final String ip = context.getX_request_ip();
@@ -144,6 +178,7 @@ public class RestExecutor extends Coordinator<ServerRequest, ServerResponse> {
                 }
             });
             headers.clearContentHeaders();
+            Traceparent.inject(span, headers::set);
         });
         Logger.debug(
                 true,
@@ -249,6 +284,20 @@ public class RestExecutor extends Coordinator<ServerRequest, ServerResponse> {
         }
     }
 
+    /**
+     * Ties a routing span to the response pipeline. The span ends when the pipeline completes, fails or is cancelled,
+     * and is published in the Reactor context under the {@link Span} class key for downstream operators.
+     *
+     * @param response the response pipeline
+     * @param span     the routing span
+     * @return the traced pipeline
+     */
+    private Mono<ServerResponse> traced(Mono<ServerResponse> response, Span span) {
+        return response.doOnNext(serverResponse -> span.tag("http.status_code", serverResponse.statusCode().value()))
+                .doOnError(span::error).doFinally(signal -> span.end())
+                .contextWrite(view -> view.put(Span.class, span));
+    }
+
     /**
      * Handles a JSON request body.
      *